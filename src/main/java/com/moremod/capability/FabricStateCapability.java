@@ -0,0 +1,104 @@
+package com.moremod.capability;
+
+import com.moremod.fabric.handler.FabricEventHandler.PlayerFabricData;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityInject;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * 织印运行时状态 Capability
+ *
+ * 挂在玩家实体上，持有 {@link PlayerFabricData}。
+ * 不做序列化：持久化仍以盔甲上的 WovenFabric 标签为准（保存/卸下时写回），
+ * 这里只负责让运行时状态跟随玩家实体，死亡/跨维度复制时把同一份数据转给新实体。
+ */
+@Mod.EventBusSubscriber(modid = "moremod")
+public class FabricStateCapability {
+
+    @CapabilityInject(FabricStateCapability.class)
+    public static final Capability<FabricStateCapability> FABRIC_STATE = null;
+
+    private static final ResourceLocation KEY = new ResourceLocation("moremod", "fabric_state");
+
+    private PlayerFabricData data = new PlayerFabricData();
+
+    public PlayerFabricData getData() {
+        return data;
+    }
+
+    public static void register() {
+        CapabilityManager.INSTANCE.register(
+                FabricStateCapability.class,
+                new Capability.IStorage<FabricStateCapability>() {
+                    @Nullable
+                    @Override
+                    public NBTBase writeNBT(Capability<FabricStateCapability> capability,
+                                            FabricStateCapability instance, EnumFacing side) {
+                        return null;
+                    }
+
+                    @Override
+                    public void readNBT(Capability<FabricStateCapability> capability,
+                                        FabricStateCapability instance, EnumFacing side, NBTBase nbt) {
+                    }
+                },
+                FabricStateCapability::new
+        );
+    }
+
+    /**
+     * 获取玩家的织印状态（Capability 未注册/未附加时返回 null）
+     */
+    @Nullable
+    public static PlayerFabricData get(EntityPlayer player) {
+        if (FABRIC_STATE == null) return null;
+        FabricStateCapability cap = player.getCapability(FABRIC_STATE, null);
+        return cap != null ? cap.data : null;
+    }
+
+    @SubscribeEvent
+    public static void onAttachCapability(AttachCapabilitiesEvent<Entity> event) {
+        if (FABRIC_STATE != null && event.getObject() instanceof EntityPlayer) {
+            event.addCapability(KEY, new Provider());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerClone(PlayerEvent.Clone event) {
+        if (FABRIC_STATE == null) return;
+        FabricStateCapability oldCap = event.getOriginal().getCapability(FABRIC_STATE, null);
+        FabricStateCapability newCap = event.getEntityPlayer().getCapability(FABRIC_STATE, null);
+        if (oldCap != null && newCap != null) {
+            newCap.data = oldCap.data;
+        }
+    }
+
+    private static class Provider implements ICapabilityProvider {
+        private final FabricStateCapability instance = new FabricStateCapability();
+
+        @Override
+        public boolean hasCapability(@Nonnull Capability<?> capability, @Nullable EnumFacing facing) {
+            return capability == FABRIC_STATE;
+        }
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getCapability(@Nonnull Capability<T> capability, @Nullable EnumFacing facing) {
+            return capability == FABRIC_STATE ? (T) instance : null;
+        }
+    }
+}
@@ -4,8 +4,7 @@ import com.moremod.compat.crafttweaker.GemAffix;
 import com.moremod.compat.crafttweaker.GemNBTHelper;
 import com.moremod.compat.crafttweaker.GemSocketHelper;
 import com.moremod.compat.crafttweaker.IdentifiedAffix;
-import com.moremod.network.MessageAutoAttackTrigger;
-import com.moremod.network.PacketHandler;
+import com.moremod.network.MessageClientInputFrame;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayer;
@@ -60,8 +59,9 @@ public class ClientAutoAttackHandler {
             // 获取目标实体ID
             int targetId = getTargetEntityId(mc);
             
-            // 发送到服务器处理
-            PacketHandler.INSTANCE.sendToServer(new MessageAutoAttackTrigger(true, targetId));
+            // 写入输入帧，由服务器处理
+            ClientInputFrame.queueAttack(targetId);
+            ClientInputFrame.setHeld(MessageClientInputFrame.AUTO_ATTACK, true);
             
             // 客户端播放动画
             mc.player.swingArm(EnumHand.MAIN_HAND);
@@ -71,7 +71,7 @@ public class ClientAutoAttackHandler {
             tickCounter = 0;
         } else {
             if (wasAttacking) {
-                PacketHandler.INSTANCE.sendToServer(new MessageAutoAttackTrigger(false, -1));
+                ClientInputFrame.setHeld(MessageClientInputFrame.AUTO_ATTACK, false);
             }
             wasAttacking = false;
             tickCounter = 0;
@@ -95,7 +95,7 @@ public class ClientAutoAttackHandler {
         ItemStack weapon = player.getHeldItemMainhand();
         if (weapon.isEmpty() || !(weapon.getItem() instanceof ItemSword)) {
             if (wasAttacking) {
-                PacketHandler.INSTANCE.sendToServer(new MessageAutoAttackTrigger(false, -1));
+                ClientInputFrame.setHeld(MessageClientInputFrame.AUTO_ATTACK, false);
                 wasAttacking = false;
             }
             mouseHeld = false;
@@ -106,7 +106,7 @@ public class ClientAutoAttackHandler {
         
         if (!hasAutoAttack) {
             if (wasAttacking) {
-                PacketHandler.INSTANCE.sendToServer(new MessageAutoAttackTrigger(false, -1));
+                ClientInputFrame.setHeld(MessageClientInputFrame.AUTO_ATTACK, false);
                 wasAttacking = false;
             }
             mouseHeld = false;
@@ -135,8 +135,8 @@ public class ClientAutoAttackHandler {
                 // 获取目标实体ID
                 int targetId = getTargetEntityId(mc);
                 
-                // 发送到服务器处理
-                PacketHandler.INSTANCE.sendToServer(new MessageAutoAttackTrigger(true, targetId));
+                // 写入输入帧，由服务器处理
+                ClientInputFrame.queueAttack(targetId);
                 
                 // 客户端播放动画
                 mc.player.swingArm(EnumHand.MAIN_HAND);
@@ -145,7 +145,7 @@ public class ClientAutoAttackHandler {
                 tickCounter = 0;
             }
         } else if (!mouseHeld && wasAttacking) {
-            PacketHandler.INSTANCE.sendToServer(new MessageAutoAttackTrigger(false, -1));
+            ClientInputFrame.setHeld(MessageClientInputFrame.AUTO_ATTACK, false);
             wasAttacking = false;
             tickCounter = 0;
         }
@@ -0,0 +1,68 @@
+package com.moremod.client;
+
+import com.moremod.network.MessageClientInputFrame;
+import com.moremod.network.PacketHandler;
+import net.minecraft.client.Minecraft;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * 客户端输入帧收集器
+ *
+ * 喷气背包、机械核心、自动攻击的输入处理只往这里写状态/事件，
+ * 每个客户端 tick 结束时（最低优先级，排在所有输入处理之后）合并成一个
+ * {@link MessageClientInputFrame}；持续状态没变且没有事件时不发包。
+ */
+@SideOnly(Side.CLIENT)
+@Mod.EventBusSubscriber(modid = "moremod", value = Side.CLIENT)
+public final class ClientInputFrame {
+
+    private ClientInputFrame() {}
+
+    private static int held = 0;
+    private static int sentHeld = -1;
+    private static int events = 0;
+    private static int attackTarget = -1;
+    private static int sequence = 0;
+
+    /** 设置持续状态位（{@link MessageClientInputFrame#JUMP} 等） */
+    public static void setHeld(int bit, boolean down) {
+        held = down ? held | bit : held & ~bit;
+    }
+
+    /** 排队一次模式切换（mode 同 MessageToggleJetpackMode） */
+    public static void queueToggle(int mode) {
+        events |= MessageClientInputFrame.toggleBit(mode);
+    }
+
+    /** 排队一次自动攻击（同一帧内以最后一次目标为准） */
+    public static void queueAttack(int targetEntityId) {
+        events |= MessageClientInputFrame.ATTACK_SWING;
+        attackTarget = targetEntityId;
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+
+        if (Minecraft.getMinecraft().player == null || Minecraft.getMinecraft().getConnection() == null) {
+            // 断线：下次进入世界时重新发送完整状态
+            held = 0;
+            sentHeld = -1;
+            events = 0;
+            attackTarget = -1;
+            return;
+        }
+
+        if (held == sentHeld && events == 0) return;
+
+        PacketHandler.INSTANCE.sendToServer(new MessageClientInputFrame(sequence++, held | events, attackTarget));
+        sentHeld = held;
+        events = 0;
+        attackTarget = -1;
+    }
+}
@@ -1,7 +1,5 @@
 package com.moremod.client;
 
-import com.moremod.network.MessageToggleJetpackMode;
-import com.moremod.network.PacketHandler;
 import net.minecraft.client.settings.KeyBinding;
 import net.minecraftforge.fml.client.registry.ClientRegistry;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -33,16 +31,16 @@ public class JetpackKeyHandler {
     @SubscribeEvent
     public void onKeyInput(InputEvent.KeyInputEvent event) {
         if (keyToggleJetpack.isPressed()) {
-            PacketHandler.INSTANCE.sendToServer(new MessageToggleJetpackMode(1)); // 喷气背包开关
+            ClientInputFrame.queueToggle(1); // 喷气背包开关
         }
 
         if (keyToggleHover.isPressed()) {
-            PacketHandler.INSTANCE.sendToServer(new MessageToggleJetpackMode(0)); // 悬停模式
+            ClientInputFrame.queueToggle(0); // 悬停模式
         }
 
         // 新增：速度模式切换
         if (keyToggleSpeedMode.isPressed()) {
-            PacketHandler.INSTANCE.sendToServer(new MessageToggleJetpackMode(2)); // 速度模式
+            ClientInputFrame.queueToggle(2); // 速度模式
         }
     }
 }
\ No newline at end of file
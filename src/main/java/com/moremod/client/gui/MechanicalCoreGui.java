@@ -9,6 +9,7 @@ import com.moremod.item.ItemBatteryBauble;
 import com.moremod.item.ItemCreativeBatteryBauble;
 import com.moremod.item.ItemMechanicalCore;
 import com.moremod.item.ItemMechanicalCoreExtended;
+import com.moremod.item.MechanicalCoreSnapshot;
 import com.moremod.network.NetworkHandler;
 import com.moremod.network.PacketMechanicalCoreUpdate;
 import com.moremod.system.ascension.BrokenGodHandler;
@@ -1849,6 +1850,7 @@ public class MechanicalCoreGui extends GuiScreen {
                 }
             } catch (Exception ignored) {}
         }
+        MechanicalCoreSnapshot.markDirty();
     }
 
     private void writePauseMeta(ItemStack core, String upgradeId, int lastLevel, boolean paused) {
@@ -1894,6 +1896,7 @@ public class MechanicalCoreGui extends GuiScreen {
                 nbt.setBoolean("IsPaused_" + k, paused);
             }
         }
+        MechanicalCoreSnapshot.markDirty();
     }
 
     private void sendSetLevel(String id, int level) {
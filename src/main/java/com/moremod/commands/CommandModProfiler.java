@@ -0,0 +1,115 @@
+package com.moremod.commands;
+
+import com.moremod.util.ModProfiler;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * 模组性能采样命令（OP权限）
+ * /moreprof start [秒] - 开始采样（默认 30 秒，0 = 直到 stop）
+ * /moreprof stop - 停止采样
+ * /moreprof report [条数] - 按总耗时列出最耗时的事件处理器/方块实体
+ * /moreprof reset - 清空已收集的数据
+ */
+public class CommandModProfiler extends CommandBase {
+
+    private static final int DEFAULT_WINDOW_SECONDS = 30;
+    private static final int DEFAULT_REPORT_LINES = 15;
+
+    @Override
+    public String getName() {
+        return "moreprof";
+    }
+
+    @Override
+    public String getUsage(ICommandSender sender) {
+        return "/moreprof <start [seconds]|stop|report [lines]|reset>";
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return 2;
+    }
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        if (args.length == 0) {
+            throw new WrongUsageException(getUsage(sender));
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "start": {
+                int seconds = args.length > 1 ? parseInt(args[1], 0, 3600) : DEFAULT_WINDOW_SECONDS;
+                int wrapped = ModProfiler.enable(seconds);
+                sender.sendMessage(new TextComponentString("§a性能采样已开始 §7(" + wrapped + " 个事件监听器"
+                        + (seconds > 0 ? "，" + seconds + " 秒后自动停止" : "，使用 /moreprof stop 停止") + ")"));
+                if (!ModProfiler.isAllocationSupported()) {
+                    sender.sendMessage(new TextComponentString("§7当前 JVM 不支持线程分配统计，分配列将显示为 -"));
+                }
+                break;
+            }
+            case "stop":
+                ModProfiler.disable();
+                sender.sendMessage(new TextComponentString("§e性能采样已停止，使用 /moreprof report 查看结果"));
+                break;
+
+            case "report":
+                report(sender, args.length > 1 ? parseInt(args[1], 1, 100) : DEFAULT_REPORT_LINES);
+                break;
+
+            case "reset":
+                ModProfiler.reset();
+                sender.sendMessage(new TextComponentString("§e已清空采样数据"));
+                break;
+
+            default:
+                throw new WrongUsageException(getUsage(sender));
+        }
+    }
+
+    private void report(ICommandSender sender, int lines) {
+        List<ModProfiler.Stats> stats = ModProfiler.snapshot();
+        double windowSeconds = ModProfiler.getWindowNanos() / 1.0e9;
+
+        sender.sendMessage(new TextComponentString(String.format("§6===== moremod 性能采样 §7(%.1f 秒%s) §6=====",
+                windowSeconds, ModProfiler.isEnabled() ? "，采样中" : "")));
+        if (stats.isEmpty()) {
+            sender.sendMessage(new TextComponentString("§7没有数据，使用 /moreprof start 开始采样"));
+            return;
+        }
+
+        sender.sendMessage(new TextComponentString("§7总耗时ms | 每秒ms | 调用 | 平均µs | 最大µs | 分配KB | 名称"));
+        boolean alloc = ModProfiler.isAllocationSupported();
+        for (int i = 0; i < Math.min(lines, stats.size()); i++) {
+            ModProfiler.Stats s = stats.get(i);
+            long calls = s.getCalls();
+            if (calls == 0) continue;
+            double totalMs = s.getTotalNanos() / 1.0e6;
+            sender.sendMessage(new TextComponentString(String.format("§f%8.2f §7| §f%6.2f §7| §f%d §7| §f%.1f §7| §f%.1f §7| §f%s §7| §b%s",
+                    totalMs,
+                    windowSeconds > 0 ? totalMs / windowSeconds : 0,
+                    calls,
+                    s.getTotalNanos() / 1.0e3 / calls,
+                    s.getMaxNanos() / 1.0e3,
+                    alloc ? String.valueOf(s.getAllocBytes() / 1024) : "-",
+                    s.getName())));
+        }
+    }
+
+    @Override
+    public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender,
+                                          String[] args, @Nullable BlockPos targetPos) {
+        if (args.length == 1) {
+            return getListOfStringsMatchingLastWord(args, "start", "stop", "report", "reset");
+        }
+        return super.getTabCompletions(server, sender, args, targetPos);
+    }
+}
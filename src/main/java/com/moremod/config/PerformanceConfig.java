@@ -0,0 +1,78 @@
+package com.moremod.config;
+
+import net.minecraftforge.common.config.Config;
+import net.minecraftforge.common.config.ConfigManager;
+import net.minecraftforge.fml.client.event.ConfigChangedEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * 性能配置（每 tick 工作量预算等）
+ */
+@Config(modid = "moremod", name = "moremod/performance")
+@Config.LangKey("config.moremod.performance")
+public class PerformanceConfig {
+
+    @Config.Comment("矿物透视扫描设置")
+    @Config.LangKey("config.moremod.performance.oreVision")
+    public static OreVisionSettings oreVision = new OreVisionSettings();
+
+    @Config.Comment("地牢分帧生成设置")
+    @Config.LangKey("config.moremod.performance.dungeon")
+    public static DungeonSettings dungeon = new DungeonSettings();
+
+    @Config.Comment("多方块结构检测设置")
+    @Config.LangKey("config.moremod.performance.multiblock")
+    public static MultiblockSettings multiblock = new MultiblockSettings();
+
+    public static class OreVisionSettings {
+
+        @Config.Comment({
+                "矿物透视每 tick 的扫描时间预算（微秒）",
+                "所有玩家共享，超出预算的区段留到下一 tick 继续扫描"
+        })
+        @Config.LangKey("config.moremod.performance.oreVision.budget")
+        @Config.RangeInt(min = 100, max = 20000)
+        public int scanBudgetMicros = 1000;
+
+        @Config.Comment("是否按区段调色板跳过不含矿物的区段（关闭后逐方块扫描每个区段）")
+        @Config.LangKey("config.moremod.performance.oreVision.paletteSkip")
+        public boolean paletteSkip = true;
+    }
+
+    public static class DungeonSettings {
+
+        @Config.Comment({
+                "地牢生成每 tick 的时间预算（微秒）",
+                "每 tick 至少放置一个房间；超出预算后剩余房间留到后续 tick"
+        })
+        @Config.LangKey("config.moremod.performance.dungeon.budget")
+        @Config.RangeInt(min = 1000, max = 45000)
+        public int tickBudgetMicros = 10000;
+
+        @Config.Comment("向发起生成的玩家显示进度")
+        @Config.LangKey("config.moremod.performance.dungeon.progress")
+        public boolean reportProgress = true;
+    }
+
+    public static class MultiblockSettings {
+
+        @Config.Comment({
+                "多方块结构的兜底重新检测间隔（tick）",
+                "结构平时只在范围内方块变化时重新检测；兜底用于覆盖不触发方块更新的写入，0 = 关闭"
+        })
+        @Config.LangKey("config.moremod.performance.multiblock.fallback")
+        @Config.RangeInt(min = 0, max = 72000)
+        public int fallbackRecheckTicks = 600;
+    }
+
+    @Mod.EventBusSubscriber(modid = "moremod")
+    private static class EventHandler {
+        @SubscribeEvent
+        public static void onConfigChanged(ConfigChangedEvent.OnConfigChangedEvent event) {
+            if (event.getModID().equals("moremod")) {
+                ConfigManager.sync("moremod", Config.Type.INSTANCE);
+            }
+        }
+    }
+}
@@ -2,6 +2,8 @@
 package com.moremod.dimension;
 
 import com.moremod.init.ModBlocks;
+import com.moremod.util.ServerTimers;
+import com.moremod.util.TickTimerWheel;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
@@ -57,9 +59,13 @@ public class PersonalDimensionManager {
     private static final Map<Integer, UUID> spaceIndexToPlayer = new ConcurrentHashMap<>();
     private static final Map<BlockPos, WeakReference<UUID>> spaceOwners = new ConcurrentHashMap<>();
 
+    // 空间网格索引：按中心点所在网格（SPACE_PADDING 为边长）分桶，位置→空间查询只看附近几个格子
+    // 桶内列表写时复制，读取无需加锁
+    private static final Map<Long, List<PersonalSpace>> spaceCells = new ConcurrentHashMap<>();
+
     // 门洞 & 墙恢复
     private static final Map<UUID, List<BlockPos>> doorHoles = new ConcurrentHashMap<>();
-    private static final Map<UUID, WallRestoreTask> wallRestoreTasks = new ConcurrentHashMap<>();
+    private static final Map<UUID, TickTimerWheel.Timeout> wallRestoreTasks = new ConcurrentHashMap<>();
 
     // 待生成
     private static final Map<UUID, Long> pendingGenerations = new ConcurrentHashMap<>();
@@ -77,12 +83,6 @@ public class PersonalDimensionManager {
 
     // ---------------- 内部类 ----------------
 
-    public static class WallRestoreTask {
-        public final UUID playerId;
-        public final long restoreTime;
-        public WallRestoreTask(UUID playerId, long restoreTime) { this.playerId = playerId; this.restoreTime = restoreTime; }
-    }
-
     private static class BatchBlockUpdater {
         private final Map<BlockPos, IBlockState> pending = new HashMap<>();
         private static final int BATCH = 100;
@@ -203,8 +203,10 @@ public class PersonalDimensionManager {
     }
 
     public static void reset(){
+        // 停服前立即补上未到期的门洞（需在清空空间数据之前），世界随后保存
+        for(TickTimerWheel.Timeout t:new ArrayList<>(wallRestoreTasks.values())) t.runNow();
         batchUpdater.flush();
-        playerSpaces.clear(); playerToSpaceIndex.clear(); spaceIndexToPlayer.clear(); spaceOwners.clear();
+        playerSpaces.clear(); playerToSpaceIndex.clear(); spaceIndexToPlayer.clear(); spaceOwners.clear(); spaceCells.clear();
         wallRestoreTasks.clear(); pendingGenerations.clear(); doorHoles.clear();
         isDimensionInitialized=false; isDataLoaded=false; lastSaveTime=0; lastCleanupTime=0;
         shouldCheckUnload = false;
@@ -373,7 +375,7 @@ public class PersonalDimensionManager {
                 UUID rev = spaceIndexToPlayer.get(bound);
                 if(pid.equals(rev)){
                     PersonalSpace restored = new PersonalSpace(pid, name, bound);
-                    playerSpaces.put(pid, restored);
+                    putSpace(pid, restored);
                     registerSpaceOwnership(restored);
                     return restored;
                 }else{
@@ -382,7 +384,7 @@ public class PersonalDimensionManager {
             }
             int idx=allocateNewSpaceIndex();
             PersonalSpace s=new PersonalSpace(pid,name,idx);
-            playerSpaces.put(pid,s);
+            putSpace(pid,s);
             playerToSpaceIndex.put(pid,idx);
             spaceIndexToPlayer.put(idx,pid);
             registerSpaceOwnership(s);
@@ -447,23 +449,6 @@ public class PersonalDimensionManager {
             }
         }
 
-        // 墙恢复
-        if(!wallRestoreTasks.isEmpty()){
-            long now=System.currentTimeMillis();
-            Iterator<Map.Entry<UUID,WallRestoreTask>> it=wallRestoreTasks.entrySet().iterator();
-            while(it.hasNext()){
-                Map.Entry<UUID,WallRestoreTask> en=it.next();
-                if(now>=en.getValue().restoreTime){
-                    PersonalSpace s=playerSpaces.get(en.getKey());
-                    if(s!=null && s.isGenerated){
-                        WorldServer w=DimensionManager.getWorld(PERSONAL_DIM_ID);
-                        if(w!=null) restoreAnchorWalls(w,s);
-                    }
-                    it.remove();
-                }
-            }
-        }
-
         // 定期保存/清理
         if(e.side.isServer()){
             long now=System.currentTimeMillis();
@@ -668,7 +653,8 @@ public class PersonalDimensionManager {
     // -------------- 辅助 --------------
 
     private static PersonalSpace findSpaceByPos(BlockPos p){
-        for(PersonalSpace s:playerSpaces.values()) if(s.isInOuterSpace(p)) return s; return null;
+        int reach=Math.max(SPACE_WIDTH, SPACE_DEPTH)/2+WALL_THICKNESS;
+        for(PersonalSpace s:getSpacesNear(p.getX(), p.getZ(), reach)) if(s.isInOuterSpace(p)) return s; return null;
     }
 
     public static PersonalSpace getPlayerSpace(UUID id){ return playerSpaces.get(id); }
@@ -676,11 +662,53 @@ public class PersonalDimensionManager {
     public static Collection<PersonalSpace> getAllSpaces(){ return playerSpaces.values(); }
 
     public static UUID findSpaceOwner(BlockPos p){
-        for(Map.Entry<UUID,PersonalSpace> e:playerSpaces.entrySet())
-            if(e.getValue().isInTerritory(p)) return e.getKey();
+        for(PersonalSpace s:getSpacesNear(p.getX(), p.getZ(), TERRITORY_RADIUS))
+            if(s.isInTerritory(p)) return s.playerId;
         return null;
     }
 
+    /**
+     * 中心点落在 (x,z) 周围 radius 方形范围内的所有空间。
+     * 只遍历覆盖该范围的网格格子，与空间总数无关（radius < SPACE_PADDING 时最多 3x3 格）。
+     */
+    public static List<PersonalSpace> getSpacesNear(int x, int z, int radius){
+        int minCX=cellOf(x-radius), maxCX=cellOf(x+radius), minCZ=cellOf(z-radius), maxCZ=cellOf(z+radius);
+        List<PersonalSpace> out=null;
+        for(int cx=minCX; cx<=maxCX; cx++) for(int cz=minCZ; cz<=maxCZ; cz++){
+            List<PersonalSpace> cell=spaceCells.get(cellKey(cx,cz)); if(cell==null) continue;
+            for(PersonalSpace s:cell){
+                if(Math.abs(s.centerPos.getX()-x)>radius || Math.abs(s.centerPos.getZ()-z)>radius) continue;
+                if(out==null) out=new ArrayList<>(2);
+                out.add(s);
+            }
+        }
+        return out==null ? Collections.emptyList() : out;
+    }
+
+    private static void putSpace(UUID pid, PersonalSpace s){
+        PersonalSpace old=playerSpaces.put(pid,s);
+        if(old!=null) unindexSpace(old);
+        indexSpace(s);
+    }
+
+    private static void indexSpace(PersonalSpace s){
+        spaceCells.compute(cellKey(cellOf(s.centerPos.getX()), cellOf(s.centerPos.getZ())), (k,l)->{
+            List<PersonalSpace> n=l==null ? new ArrayList<>(1) : new ArrayList<>(l);
+            n.add(s); return n;
+        });
+    }
+
+    private static void unindexSpace(PersonalSpace s){
+        spaceCells.computeIfPresent(cellKey(cellOf(s.centerPos.getX()), cellOf(s.centerPos.getZ())), (k,l)->{
+            List<PersonalSpace> n=new ArrayList<>(l); n.remove(s);
+            return n.isEmpty() ? null : n;
+        });
+    }
+
+    /** 螺旋布局下每个空间中心恰好落在自己的格子中心 */
+    private static int cellOf(int v){ return Math.floorDiv(v+SPACE_PADDING/2, SPACE_PADDING); }
+    private static long cellKey(int cx, int cz){ return ((long)cx<<32) | (cz & 0xFFFFFFFFL); }
+
     public static List<EntityPlayer> getPlayersInDimension(World w){
         List<EntityPlayer> list=new ArrayList<>();
         if(w instanceof WorldServer){
@@ -760,7 +788,7 @@ public class PersonalDimensionManager {
             try(FileInputStream fis=new FileInputStream(f);
                 DataInputStream dis=new DataInputStream(fis)){
                 NBTTagCompound root= net.minecraft.nbt.CompressedStreamTools.readCompressed(dis);
-                playerSpaces.clear(); spaceOwners.clear();
+                playerSpaces.clear(); spaceOwners.clear(); spaceCells.clear();
                 NBTTagCompound spaces=root.getCompoundTag("spaces");
                 for(String key: spaces.getKeySet()){
                     try{
@@ -768,7 +796,7 @@ public class PersonalDimensionManager {
                         NBTTagCompound data=spaces.getCompoundTag(key);
                         String name=data.getString("playerName");
                         PersonalSpace s=PersonalSpace.fromNBT(pid,name,data);
-                        playerSpaces.put(pid,s);
+                        putSpace(pid,s);
                         playerToSpaceIndex.put(pid, s.index);
                         spaceIndexToPlayer.put(s.index, pid);
                         registerSpaceOwnership(s);
@@ -834,7 +862,16 @@ public class PersonalDimensionManager {
 
     public static void scheduleWallRestore(UUID playerId,int ticks){
         if(ticks<=0) ticks=1;
-        wallRestoreTasks.put(playerId, new WallRestoreTask(playerId, System.currentTimeMillis()+ticks*50L));
+        // 由 ServerTimers 到期执行，同一玩家重复开门时以最后一次为准
+        TickTimerWheel.Timeout previous=wallRestoreTasks.put(playerId, ServerTimers.schedule(ticks, ()->{
+            wallRestoreTasks.remove(playerId);
+            PersonalSpace s=playerSpaces.get(playerId);
+            if(s!=null && s.isGenerated){
+                WorldServer w=DimensionManager.getWorld(PERSONAL_DIM_ID);
+                if(w!=null) restoreAnchorWalls(w,s);
+            }
+        }));
+        if(previous!=null) previous.cancel();
     }
     public static void setDoorHoles(UUID playerId, List<BlockPos> holes){
         if(holes==null || holes.isEmpty()) return;
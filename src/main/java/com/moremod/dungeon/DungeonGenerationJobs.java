@@ -0,0 +1,272 @@
+package com.moremod.dungeon;
+
+import com.moremod.config.PerformanceConfig;
+import com.moremod.dungeon.DungeonTypes.DungeonLayout;
+import com.moremod.world.VoidStructureWorldGenerator;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.storage.MapStorage;
+import net.minecraft.world.storage.WorldSavedData;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 地牢分帧生成任务
+ *
+ * 提交时立即生成布局（纯计算）并连同游标一起持久化到主世界存档；
+ * 之后每个服务器 tick 在时间预算内逐个放置房间，最后一步放置并链接水晶。
+ * 服务器在生成途中重启时，从保存的布局和游标继续，已放置的房间不会重复放置。
+ */
+@Mod.EventBusSubscriber(modid = "moremod")
+public class DungeonGenerationJobs extends WorldSavedData {
+
+    private static final String DATA_NAME = "MoreModDungeonJobs";
+
+    /** 进度提示间隔（tick） */
+    private static final int PROGRESS_INTERVAL = 20;
+
+    private final List<Job> jobs = new ArrayList<>();
+
+    private static DungeonGenerationJobs instance;
+
+    public DungeonGenerationJobs() {
+        super(DATA_NAME);
+    }
+
+    public DungeonGenerationJobs(String name) {
+        super(name);
+    }
+
+    /**
+     * 单个地牢的生成任务
+     */
+    private static class Job {
+        final int dimId;
+        final BlockPos origin;
+        @Nullable final UUID requester;
+        final NBTTagCompound layoutTag;
+        /** 下一个要放置的房间下标；等于房间数时进入水晶链接阶段 */
+        int cursor;
+
+        // ===== 运行期状态（不持久化）=====
+        DungeonLayout layout;
+        TreeDungeonPlacer placer;
+        World placerWorld;
+        int ticksSinceReport;
+
+        Job(int dimId, BlockPos origin, @Nullable UUID requester, NBTTagCompound layoutTag, int cursor) {
+            this.dimId = dimId;
+            this.origin = origin;
+            this.requester = requester;
+            this.layoutTag = layoutTag;
+            this.cursor = cursor;
+        }
+
+        NBTTagCompound toNBT() {
+            NBTTagCompound t = new NBTTagCompound();
+            t.setInteger("dim", dimId);
+            t.setLong("origin", origin.toLong());
+            if (requester != null) t.setUniqueId("requester", requester);
+            t.setTag("layout", layoutTag);
+            t.setInteger("cursor", cursor);
+            return t;
+        }
+
+        static Job fromNBT(NBTTagCompound t) {
+            UUID requester = t.hasUniqueId("requester") ? t.getUniqueId("requester") : null;
+            return new Job(t.getInteger("dim"), BlockPos.fromLong(t.getLong("origin")), requester,
+                    t.getCompoundTag("layout"), t.getInteger("cursor"));
+        }
+    }
+
+    // ==================== 提交 ====================
+
+    /**
+     * 提交一个地牢生成任务（布局立即生成，方块放置分摊到后续 tick）
+     */
+    public static void submit(World world, BlockPos pos, long seed, int size, int floorCount, @Nullable UUID requester) {
+        DungeonGenerationJobs data = getInstance();
+        if (data == null) {
+            System.err.println("[地牢生成] 主世界未加载，无法提交生成任务: " + pos);
+            return;
+        }
+
+        DungeonLayout layout = new DungeonLayoutGenerator().generateMultiFloorLayout(pos, size, seed, floorCount);
+        Job job = new Job(world.provider.getDimension(), pos, requester, layout.toNBT(), 0);
+        job.layout = layout;
+        data.jobs.add(job);
+        data.markDirty();
+
+        System.out.println("[地牢生成] 已提交分帧生成任务于 " + pos + "，房间数: " + layout.getRooms().size()
+                + "，排队任务: " + data.jobs.size());
+        sendProgress(world, job, TextFormatting.GOLD + "⚒ 地牢开始生成 (" + layout.getRooms().size() + " 个房间)");
+    }
+
+    public static int getPendingCount() {
+        DungeonGenerationJobs data = instance;
+        return data == null ? 0 : data.jobs.size();
+    }
+
+    // ==================== 执行 ====================
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+        DungeonGenerationJobs data = instance;
+        if (data == null || data.jobs.isEmpty()) return;
+
+        // 按提交顺序处理第一个维度已加载的任务；维度未加载的任务等待（私人维度无人时会卸载）
+        for (Job job : data.jobs) {
+            WorldServer world = DimensionManager.getWorld(job.dimId);
+            if (world == null) continue;
+            data.runSlice(job, world);
+            return;
+        }
+    }
+
+    private void runSlice(Job job, WorldServer world) {
+        try {
+            prepare(job, world);
+        } catch (Exception e) {
+            System.err.println("[地牢生成] 任务恢复失败，已丢弃: " + job.origin + " - " + e.getMessage());
+            e.printStackTrace();
+            jobs.remove(job);
+            markDirty();
+            return;
+        }
+
+        int total = job.layout.getRooms().size();
+        long deadline = System.nanoTime() + PerformanceConfig.dungeon.tickBudgetMicros * 1000L;
+
+        // 每 tick 至少推进一步
+        do {
+            if (job.cursor < total) {
+                job.placer.placeRoomAt(job.layout, job.cursor);
+                job.cursor++;
+            } else {
+                job.placer.flushBlocks();
+                job.placer.linkDungeon(job.layout);
+                jobs.remove(job);
+                markDirty();
+                System.out.println("[地牢生成] 分帧生成完成: " + job.origin);
+                VoidStructureWorldGenerator.onDungeonCompleted(job.dimId, job.origin);
+                sendProgress(world, job, TextFormatting.GREEN + "✔ 地牢生成完成");
+                return;
+            }
+        } while (System.nanoTime() < deadline);
+
+        // 本 tick 写入的区块统一重算光照并重发，保证存档时已放置的房间是完整的
+        job.placer.flushBlocks();
+        markDirty();
+
+        if (++job.ticksSinceReport >= PROGRESS_INTERVAL) {
+            job.ticksSinceReport = 0;
+            int pct = total == 0 ? 100 : job.cursor * 100 / total;
+            sendProgress(world, job, TextFormatting.YELLOW + "⚒ 地牢生成中 " + job.cursor + "/" + total + " (" + pct + "%)");
+        }
+    }
+
+    /** 首次执行或维度重新加载后：重建布局与放置器，恢复已放置房间的状态 */
+    private static void prepare(Job job, WorldServer world) {
+        if (job.layout == null) job.layout = DungeonLayout.fromNBT(job.layoutTag);
+        if (job.placer != null && job.placerWorld == world) return;
+
+        job.placer = new TreeDungeonPlacer(world);
+        job.placerWorld = world;
+        job.placer.beginDungeon(job.layout);
+        int placed = Math.min(job.cursor, job.layout.getRooms().size());
+        for (int i = 0; i < placed; i++) {
+            job.placer.restorePlacedRoom(job.layout, i);
+        }
+        if (placed > 0) {
+            System.out.println("[地牢生成] 续建任务 " + job.origin + "，已放置 " + placed + "/" + job.layout.getRooms().size());
+        }
+    }
+
+    private static void sendProgress(World world, Job job, String message) {
+        if (!PerformanceConfig.dungeon.reportProgress || job.requester == null) return;
+        if (world.getMinecraftServer() == null) return;
+        EntityPlayer p = world.getMinecraftServer().getPlayerList().getPlayerByUUID(job.requester);
+        if (p != null) p.sendStatusMessage(new TextComponentString(message), true);
+    }
+
+    // ==================== 存档 ====================
+
+    @Nullable
+    private static DungeonGenerationJobs getInstance() {
+        if (instance != null) return instance;
+        WorldServer overworld = DimensionManager.getWorld(0);
+        if (overworld == null) return null;
+
+        MapStorage storage = overworld.getPerWorldStorage();
+        DungeonGenerationJobs data = (DungeonGenerationJobs) storage.getOrLoadData(DungeonGenerationJobs.class, DATA_NAME);
+        if (data == null) {
+            data = new DungeonGenerationJobs();
+            storage.setData(DATA_NAME, data);
+        }
+        instance = data;
+        return data;
+    }
+
+    @Override
+    public void readFromNBT(NBTTagCompound nbt) {
+        jobs.clear();
+        NBTTagList list = nbt.getTagList("jobs", Constants.NBT.TAG_COMPOUND);
+        for (int i = 0; i < list.tagCount(); i++) {
+            jobs.add(Job.fromNBT(list.getCompoundTagAt(i)));
+        }
+        if (!jobs.isEmpty()) {
+            System.out.println("[地牢生成] 载入未完成的地牢生成任务: " + jobs.size());
+        }
+    }
+
+    @Override
+    public NBTTagCompound writeToNBT(NBTTagCompound compound) {
+        NBTTagList list = new NBTTagList();
+        for (Job job : jobs) list.appendTag(job.toNBT());
+        compound.setTag("jobs", list);
+        return compound;
+    }
+
+    @SubscribeEvent
+    public static void onWorldLoad(WorldEvent.Load event) {
+        World world = event.getWorld();
+        if (world.isRemote || world.provider.getDimension() != 0) return;
+        // 主世界加载时读入存档中的未完成任务
+        instance = null;
+        getInstance();
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        World world = event.getWorld();
+        if (world.isRemote) return;
+        DungeonGenerationJobs data = instance;
+        if (world.provider.getDimension() == 0) {
+            instance = null;
+        } else if (data != null) {
+            // 维度卸载：丢弃持有旧世界引用的放置器，重新加载后从游标恢复
+            for (Job job : data.jobs) {
+                if (job.placerWorld == world) {
+                    job.placer = null;
+                    job.placerWorld = null;
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.moremod.dungeon;
 
 import com.moremod.dungeon.schematic.BoxRoomTemplates;
 import com.moremod.dungeon.schematic.EnhancedRoomTemplates;
+import com.moremod.dungeon.schematic.RoomTemplateCache;
 import com.moremod.dungeon.tree.DungeonTree;
 import com.moremod.schematic.Schematic;
 import net.minecraft.nbt.CompressedStreamTools;
@@ -21,11 +22,22 @@ public class DungeonTemplateRegistry {
     // 设为 false 可彻底禁用磁盘上的旧 .schematic 模板
     private static final boolean LOAD_FILE_TEMPLATES = false;
 
+    /** 文件/资源模板是否已加载；箱内模板按房间类型在首次使用时生成 */
+    private boolean templatesLoaded = false;
+
+    /**
+     * 可以随机旋转/镜像的房间类型
+     * 入口/出口有固定朝向的门洞，楼梯房间的传送水晶按固定位置放置，不参与旋转
+     */
+    private static final Set<DungeonTree.RoomType> ROTATABLE_TYPES = EnumSet.of(
+            DungeonTree.RoomType.NORMAL, DungeonTree.RoomType.MONSTER, DungeonTree.RoomType.TREASURE,
+            DungeonTree.RoomType.TRAP, DungeonTree.RoomType.HUB,
+            DungeonTree.RoomType.BOSS, DungeonTree.RoomType.MINI_BOSS);
+
     private DungeonTemplateRegistry() {
         for (DungeonTree.RoomType type : DungeonTree.RoomType.values()) {
             templatesByType.put(type, new ArrayList<>());
         }
-        loadTemplates();
     }
 
     public static DungeonTemplateRegistry getInstance() {
@@ -39,12 +51,15 @@ public class DungeonTemplateRegistry {
     public static void reloadTemplates() {
         if (INSTANCE != null) {
             for (List<Schematic> list : INSTANCE.templatesByType.values()) list.clear();
+            INSTANCE.templatesLoaded = false;
+            RoomTemplateCache.clear();
             INSTANCE.loadTemplates();
             System.out.println("[DungeonTemplateRegistry] Reloaded templates.");
         }
     }
 
     public Schematic getRandomTemplate(DungeonTree.RoomType type) {
+        loadTemplates();
         List<Schematic> templates = templatesByType.get(type);
         if (templates == null || templates.isEmpty()) {
             ensureBuiltinsFor(type); // 兜底：箱内模板
@@ -59,13 +74,23 @@ public class DungeonTemplateRegistry {
             }
         }
         int i = random.nextInt(templates.size());
-        return templates.get(i);
+        Schematic template = templates.get(i);
+        // 模板已冻结共享，旋转/镜像变体只变换调色板和坐标，不重新构建
+        if (ROTATABLE_TYPES.contains(type) && template.width == template.length) {
+            template = RoomTemplateCache.randomVariant(template, random);
+        }
+        return template;
     }
 
+    /**
+     * 首次取模板时才读取文件/资源模板；箱内模板不在这里生成，
+     * 由 getRandomTemplate 在该类型没有模板时通过 ensureBuiltinsFor 补齐
+     */
     private void loadTemplates() {
+        if (templatesLoaded) return;
+        templatesLoaded = true;
         if (LOAD_FILE_TEMPLATES) loadFromFiles();
         loadFromResources(); // 从 resources 加载 .schem 文件
-        ensureAllBuiltins(); // 无论是否读磁盘，都保证箱内模板齐全
     }
 
     /**
@@ -80,11 +105,13 @@ public class DungeonTemplateRegistry {
             String resourcePath = "/assets/moremod/schematics/dungeon_room.schem";
             InputStream is = getClass().getResourceAsStream(resourcePath);
             if (is != null) {
+                long start = System.nanoTime();
                 NBTTagCompound nbt = CompressedStreamTools.readCompressed(is);
                 Schematic fullSchematic = Schematic.loadFromNBT(nbt);
                 is.close();
 
-                System.out.println("[DungeonTemplateRegistry] 加载大型 schematic: " + fullSchematic.width + "x" + fullSchematic.height + "x" + fullSchematic.length);
+                System.out.println("[DungeonTemplateRegistry] 加载大型 schematic: " + fullSchematic.width + "x" + fullSchematic.height + "x" + fullSchematic.length
+                        + "，紧凑数据 " + fullSchematic.getBlockDataBytes() + " 字节，耗时 " + (System.nanoTime() - start) / 1000000 + "ms");
 
                 // 定义房间布局: {startX, startZ, width, length, roomType}
                 // 用户自定义房间: HUB, ENTRANCE, NORMAL, TREASURE, TRAP×4, MONSTER, EXIT
@@ -141,9 +168,10 @@ public class DungeonTemplateRegistry {
 
                     if (typeIdx < types.length) {
                         DungeonTree.RoomType roomType = types[typeIdx];
-                        templatesByType.get(roomType).add(roomSchematic);
+                        templatesByType.get(roomType).add(roomSchematic.freeze());
                         System.out.println("[DungeonTemplateRegistry] 提取房间 [" + startX + "," + startZ + "] "
-                            + roomWidth + "x" + fullSchematic.height + "x" + roomLength + " -> " + roomType);
+                            + roomWidth + "x" + fullSchematic.height + "x" + roomLength + " -> " + roomType
+                            + " (" + roomSchematic.getBlockDataBytes() + " 字节)");
                     }
                 }
             } else {
@@ -167,7 +195,7 @@ public class DungeonTemplateRegistry {
                 DungeonTree.RoomType type = parseRoomType(fileName);
                 NBTTagCompound nbt = CompressedStreamTools.readCompressed(new FileInputStream(file));
                 Schematic schematic = Schematic.loadFromNBT(nbt);
-                templatesByType.get(type).add(schematic);
+                templatesByType.get(type).add(schematic.freeze());
                 System.out.println("加载地牢模板: " + fileName + " -> " + type);
             } catch (Exception e) {
                 System.err.println("无法加载模板: " + file.getName());
@@ -185,87 +213,83 @@ public class DungeonTemplateRegistry {
         return DungeonTree.RoomType.NORMAL;
     }
 
-    private void ensureAllBuiltins() {
-        for (DungeonTree.RoomType t : DungeonTree.RoomType.values()) ensureBuiltinsFor(t);
-    }
-
     private void ensureBuiltinsFor(DungeonTree.RoomType type) {
         List<Schematic> list = templatesByType.get(type);
         if (list == null || !list.isEmpty()) return;
 
         switch (type) {
             case ENTRANCE:
-                list.add(EnhancedRoomTemplates.entranceRoom());
-                list.add(EnhancedRoomTemplates.entranceRoomRuins());
-                list.add(EnhancedRoomTemplates.entranceRoomTemple());
+                list.add(RoomTemplateCache.get("entranceRoom", EnhancedRoomTemplates::entranceRoom));
+                list.add(RoomTemplateCache.get("entranceRoomRuins", EnhancedRoomTemplates::entranceRoomRuins));
+                list.add(RoomTemplateCache.get("entranceRoomTemple", EnhancedRoomTemplates::entranceRoomTemple));
                 break;
             case TREASURE:
-                list.add(EnhancedRoomTemplates.treasureRoom());
-                list.add(EnhancedRoomTemplates.treasureRoomVault());
-                list.add(EnhancedRoomTemplates.treasureRoomRoyal());
-                list.add(EnhancedRoomTemplates.treasureRoomOcean());
-                list.add(EnhancedRoomTemplates.treasureRoomRitualChamber()); // 黑暗祭祀场
-                list.add(EnhancedRoomTemplates.voidObservatory()); // 虚空观测室
-                list.add(EnhancedRoomTemplates.normalRoomCrystalCave()); // 水晶洞穴 (稀有)
+                list.add(RoomTemplateCache.get("treasureRoom", EnhancedRoomTemplates::treasureRoom));
+                list.add(RoomTemplateCache.get("treasureRoomVault", EnhancedRoomTemplates::treasureRoomVault));
+                list.add(RoomTemplateCache.get("treasureRoomRoyal", EnhancedRoomTemplates::treasureRoomRoyal));
+                list.add(RoomTemplateCache.get("treasureRoomOcean", EnhancedRoomTemplates::treasureRoomOcean));
+                list.add(RoomTemplateCache.get("treasureRoomRitualChamber", EnhancedRoomTemplates::treasureRoomRitualChamber)); // 黑暗祭祀场
+                list.add(RoomTemplateCache.get("voidObservatory", EnhancedRoomTemplates::voidObservatory)); // 虚空观测室
+                list.add(RoomTemplateCache.get("normalRoomCrystalCave", EnhancedRoomTemplates::normalRoomCrystalCave)); // 水晶洞穴 (稀有)
                 break;
             case TRAP:
-                list.add(EnhancedRoomTemplates.trapRoom());
-                list.add(EnhancedRoomTemplates.trapRoomArrowCorridor());
-                list.add(EnhancedRoomTemplates.trapRoomPitfall());
-                list.add(EnhancedRoomTemplates.mazeRoom());
-                list.add(EnhancedRoomTemplates.mazeRoomGarden());
-                list.add(EnhancedRoomTemplates.treasureRoomRitualChamber()); // 黑暗祭祀场 (陷阱变种)
+                list.add(RoomTemplateCache.get("trapRoom", EnhancedRoomTemplates::trapRoom));
+                list.add(RoomTemplateCache.get("trapRoomArrowCorridor", EnhancedRoomTemplates::trapRoomArrowCorridor));
+                list.add(RoomTemplateCache.get("trapRoomPitfall", EnhancedRoomTemplates::trapRoomPitfall));
+                list.add(RoomTemplateCache.get("mazeRoom", EnhancedRoomTemplates::mazeRoom));
+                list.add(RoomTemplateCache.get("mazeRoomGarden", EnhancedRoomTemplates::mazeRoomGarden));
+                list.add(RoomTemplateCache.get("treasureRoomRitualChamber", EnhancedRoomTemplates::treasureRoomRitualChamber)); // 黑暗祭祀场 (陷阱变种)
                 break;
             case BOSS:
-                list.add(EnhancedRoomTemplates.bossArena());
+                list.add(RoomTemplateCache.get("bossArena", EnhancedRoomTemplates::bossArena));
                 break;
             case MINI_BOSS:
                 // 道中Boss房间 - 召唤两只血量较低的VoidRipper
-                list.add(EnhancedRoomTemplates.miniBossArena());
-                list.add(EnhancedRoomTemplates.miniBossArenaDark());
+                list.add(RoomTemplateCache.get("miniBossArena", EnhancedRoomTemplates::miniBossArena));
+                list.add(RoomTemplateCache.get("miniBossArenaDark", EnhancedRoomTemplates::miniBossArenaDark));
                 break;
             case HUB:
-                list.add(EnhancedRoomTemplates.fountainRoom());
-                list.add(EnhancedRoomTemplates.hubRoomCamp());
-                list.add(EnhancedRoomTemplates.hubRoomLibrary());
-                list.add(EnhancedRoomTemplates.netherBreach()); // 地狱裂隙
-                list.add(EnhancedRoomTemplates.hubRoomGrandFoyer()); // 宏伟门厅
-                list.add(EnhancedRoomTemplates.voidObservatory()); // 虚空观测室 (枢纽变种)
+                list.add(RoomTemplateCache.get("fountainRoom", EnhancedRoomTemplates::fountainRoom));
+                list.add(RoomTemplateCache.get("hubRoomCamp", EnhancedRoomTemplates::hubRoomCamp));
+                list.add(RoomTemplateCache.get("hubRoomLibrary", EnhancedRoomTemplates::hubRoomLibrary));
+                list.add(RoomTemplateCache.get("netherBreach", EnhancedRoomTemplates::netherBreach)); // 地狱裂隙
+                list.add(RoomTemplateCache.get("hubRoomGrandFoyer", EnhancedRoomTemplates::hubRoomGrandFoyer)); // 宏伟门厅
+                list.add(RoomTemplateCache.get("voidObservatory", EnhancedRoomTemplates::voidObservatory)); // 虚空观测室 (枢纽变种)
                 break;
             case EXIT:
                 // 出口房间 - 使用入口房间模板作为后备
-                list.add(EnhancedRoomTemplates.entranceRoom());
+                list.add(RoomTemplateCache.get("entranceRoom", EnhancedRoomTemplates::entranceRoom));
                 break;
             case MONSTER:
                 // 怪物房间 - 使用战斗房间模板
-                list.add(EnhancedRoomTemplates.combatRoom());
-                list.add(EnhancedRoomTemplates.combatRoomArena());
+                list.add(RoomTemplateCache.get("combatRoom", EnhancedRoomTemplates::combatRoom));
+                list.add(RoomTemplateCache.get("combatRoomArena", EnhancedRoomTemplates::combatRoomArena));
                 break;
             case NORMAL:
             default:
-                list.add(EnhancedRoomTemplates.normalRoomAlchemy());
-                list.add(EnhancedRoomTemplates.normalRoomGreenhouse());
-                list.add(EnhancedRoomTemplates.normalRoomMine());
-                list.add(EnhancedRoomTemplates.normalRoomStorage());
-                list.add(EnhancedRoomTemplates.combatRoom());
-                list.add(EnhancedRoomTemplates.combatRoomTrainingGround());
-                list.add(EnhancedRoomTemplates.combatRoomColosseum());
-                list.add(EnhancedRoomTemplates.combatRoomArena());
-                list.add(EnhancedRoomTemplates.puzzleRoomMaze());
-                list.add(EnhancedRoomTemplates.normalRoomCrystalCave()); // 水晶洞穴
-                list.add(EnhancedRoomTemplates.clockworkWorkshop()); // 齿轮工坊
-                list.add(EnhancedRoomTemplates.netherBreach()); // 地狱裂隙
+                list.add(RoomTemplateCache.get("normalRoomAlchemy", EnhancedRoomTemplates::normalRoomAlchemy));
+                list.add(RoomTemplateCache.get("normalRoomGreenhouse", EnhancedRoomTemplates::normalRoomGreenhouse));
+                list.add(RoomTemplateCache.get("normalRoomMine", EnhancedRoomTemplates::normalRoomMine));
+                list.add(RoomTemplateCache.get("normalRoomStorage", EnhancedRoomTemplates::normalRoomStorage));
+                list.add(RoomTemplateCache.get("combatRoom", EnhancedRoomTemplates::combatRoom));
+                list.add(RoomTemplateCache.get("combatRoomTrainingGround", EnhancedRoomTemplates::combatRoomTrainingGround));
+                list.add(RoomTemplateCache.get("combatRoomColosseum", EnhancedRoomTemplates::combatRoomColosseum));
+                list.add(RoomTemplateCache.get("combatRoomArena", EnhancedRoomTemplates::combatRoomArena));
+                list.add(RoomTemplateCache.get("puzzleRoomMaze", EnhancedRoomTemplates::puzzleRoomMaze));
+                list.add(RoomTemplateCache.get("normalRoomCrystalCave", EnhancedRoomTemplates::normalRoomCrystalCave)); // 水晶洞穴
+                list.add(RoomTemplateCache.get("clockworkWorkshop", EnhancedRoomTemplates::clockworkWorkshop)); // 齿轮工坊
+                list.add(RoomTemplateCache.get("netherBreach", EnhancedRoomTemplates::netherBreach)); // 地狱裂隙
                 break;
 
             // 三维地牢楼梯房间
             case STAIRCASE_UP:
-                list.add(EnhancedRoomTemplates.staircaseRoomUp());
+                list.add(RoomTemplateCache.get("staircaseRoomUp", EnhancedRoomTemplates::staircaseRoomUp));
                 break;
             case STAIRCASE_DOWN:
-                list.add(EnhancedRoomTemplates.staircaseRoomDown());
+                list.add(RoomTemplateCache.get("staircaseRoomDown", EnhancedRoomTemplates::staircaseRoomDown));
                 break;
             case STAIRCASE_BOTH:
-                list.add(EnhancedRoomTemplates.staircaseRoomBoth());
+                list.add(RoomTemplateCache.get("staircaseRoomBoth", EnhancedRoomTemplates::staircaseRoomBoth));
                 break;
         }
     }
@@ -1,9 +1,12 @@
 // 文件: com/moremod/dungeon/DungeonTypes.java
 package com.moremod.dungeon;
 
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.common.util.Constants;
 import java.util.*;
 
 /**
@@ -293,6 +296,96 @@ public class DungeonTypes {
             }
             return staircases;
         }
+
+        /**
+         * 序列化布局（房间引用按 rooms 下标保存），用于分帧生成任务的断点续建
+         */
+        public NBTTagCompound toNBT() {
+            NBTTagCompound tag = new NBTTagCompound();
+            tag.setInteger("cx", center.getX());
+            tag.setInteger("cy", center.getY());
+            tag.setInteger("cz", center.getZ());
+            tag.setInteger("size", size);
+            tag.setInteger("floorCount", floorCount);
+            tag.setInteger("floorHeight", floorHeight);
+
+            Map<RoomNode, Integer> index = new IdentityHashMap<>();
+            for (int i = 0; i < rooms.size(); i++) index.put(rooms.get(i), i);
+
+            NBTTagList roomList = new NBTTagList();
+            for (RoomNode r : rooms) {
+                NBTTagCompound rt = new NBTTagCompound();
+                rt.setInteger("x", r.position.getX());
+                rt.setInteger("y", r.position.getY());
+                rt.setInteger("z", r.position.getZ());
+                rt.setInteger("size", r.size);
+                rt.setString("type", r.type.name());
+                rt.setString("rotation", r.rotation.name());
+                rt.setDouble("difficulty", r.difficulty);
+                rt.setInteger("floor", r.floorIndex);
+                Integer linked = r.linkedStaircase == null ? null : index.get(r.linkedStaircase);
+                rt.setInteger("linked", linked == null ? -1 : linked);
+                roomList.appendTag(rt);
+            }
+            tag.setTag("rooms", roomList);
+
+            NBTTagList connList = new NBTTagList();
+            for (RoomConnection c : connections) {
+                Integer from = index.get(c.from), to = index.get(c.to);
+                if (from == null || to == null) continue;
+                NBTTagCompound ct = new NBTTagCompound();
+                ct.setInteger("from", from);
+                ct.setInteger("to", to);
+                ct.setString("type", c.type.name());
+                connList.appendTag(ct);
+            }
+            tag.setTag("connections", connList);
+            return tag;
+        }
+
+        public static DungeonLayout fromNBT(NBTTagCompound tag) {
+            DungeonLayout layout = new DungeonLayout(
+                    new BlockPos(tag.getInteger("cx"), tag.getInteger("cy"), tag.getInteger("cz")),
+                    tag.getInteger("size"));
+            layout.setFloorCount(tag.getInteger("floorCount"));
+            layout.setFloorHeight(tag.getInteger("floorHeight"));
+
+            NBTTagList roomList = tag.getTagList("rooms", Constants.NBT.TAG_COMPOUND);
+            List<RoomNode> rooms = new ArrayList<>();
+            for (int i = 0; i < roomList.tagCount(); i++) {
+                NBTTagCompound rt = roomList.getCompoundTagAt(i);
+                RoomNode r = new RoomNode(new BlockPos(rt.getInteger("x"), rt.getInteger("y"), rt.getInteger("z")),
+                        rt.getInteger("size"), RoomType.valueOf(rt.getString("type")));
+                r.rotation = Rotation.valueOf(rt.getString("rotation"));
+                r.difficulty = rt.getDouble("difficulty");
+                r.floorIndex = rt.getInteger("floor");
+                rooms.add(r);
+            }
+            for (int i = 0; i < roomList.tagCount(); i++) {
+                int linked = roomList.getCompoundTagAt(i).getInteger("linked");
+                if (linked >= 0 && linked < rooms.size()) rooms.get(i).linkedStaircase = rooms.get(linked);
+            }
+
+            List<RoomConnection> connections = new ArrayList<>();
+            NBTTagList connList = tag.getTagList("connections", Constants.NBT.TAG_COMPOUND);
+            for (int i = 0; i < connList.tagCount(); i++) {
+                NBTTagCompound ct = connList.getCompoundTagAt(i);
+                int from = ct.getInteger("from"), to = ct.getInteger("to");
+                if (from < 0 || from >= rooms.size() || to < 0 || to >= rooms.size()) continue;
+                connections.add(new RoomConnection(rooms.get(from), rooms.get(to), ConnectionType.valueOf(ct.getString("type"))));
+            }
+
+            List<List<RoomNode>> floorRooms = new ArrayList<>();
+            for (int f = 0; f < layout.getFloorCount(); f++) floorRooms.add(new ArrayList<>());
+            for (RoomNode r : rooms) {
+                if (r.floorIndex >= 0 && r.floorIndex < floorRooms.size()) floorRooms.get(r.floorIndex).add(r);
+            }
+
+            layout.setRooms(rooms);
+            layout.setConnections(connections);
+            layout.setFloorRooms(floorRooms);
+            return layout;
+        }
     }
 
     public static class ConnectionPoint {
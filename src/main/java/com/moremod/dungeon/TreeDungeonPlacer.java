@@ -5,6 +5,7 @@ import com.moremod.dungeon.tree.DungeonTree;
 import com.moremod.dungeon.crystal.ImprovedCrystalLinker;
 import com.moremod.dungeon.loot.DungeonLootManager;
 import com.moremod.util.ReflectionHelper;
+import com.moremod.schematic.BulkBlockWriter;
 import com.moremod.schematic.Schematic;
 import com.moremod.init.ModBlocks;
 import net.minecraft.block.state.IBlockState;
@@ -41,6 +42,7 @@ public class TreeDungeonPlacer {
     private static final int INNER_Y      = 2;
 
     private final World world;
+    private final BulkBlockWriter writer;
     private final ImprovedCrystalLinker crystalLinker;
     private final DungeonLootManager lootManager;
     private final Map<RoomNode, BlockPos> roomBases = new HashMap<>();
@@ -54,6 +56,7 @@ public class TreeDungeonPlacer {
 
     public TreeDungeonPlacer(World world) {
         this.world = world;
+        this.writer = new BulkBlockWriter(world);
         this.crystalLinker = new ImprovedCrystalLinker(world);
         this.lootManager = DungeonLootManager.getInstance();
     }
@@ -65,19 +68,67 @@ public class TreeDungeonPlacer {
         System.out.println("[地牢生成] 開始放置地牢，房間數: " + layout.getRooms().size());
 
         // 第一步：放置所有房間
+        beginDungeon(layout);
+        for (int i = 0; i < layout.getRooms().size(); i++) {
+            placeRoomAt(layout, i);
+        }
+        flushBlocks();
+
+        // 第二、三步：水晶連接與特殊連接
+        linkDungeon(layout);
+
+        System.out.println("[地牢生成] 地牢放置完成");
+    }
+
+    // ===== 分步接口（供 DungeonGenerationJobs 分幀調用）=====
+
+    /**
+     * 計算所有房間基點（不放置方塊）
+     */
+    public void beginDungeon(DungeonLayout layout) {
         for (RoomNode room : layout.getRooms()) {
-            BlockPos base = layout.getCenter().add(room.position);
-            roomBases.put(room, base);
-            placeRoom(base, room);
+            roomBases.put(room, layout.getCenter().add(room.position));
         }
+    }
 
-        // 第二步：使用改進的水晶連接系統
-        crystalLinker.placeAndLinkCrystals(layout, roomBases);
+    /**
+     * 放置第 index 個房間（外殼、模板、內容、門洞）
+     */
+    public void placeRoomAt(DungeonLayout layout, int index) {
+        RoomNode room = layout.getRooms().get(index);
+        placeRoom(roomBases.get(room), room);
+    }
 
-        // 第三步：添加特殊連接（如秘密通道）
-        addSpecialConnections(layout);
+    /**
+     * 斷點續建：恢復已放置房間的內存狀態（樓梯水晶位置），不重新放置方塊
+     */
+    public void restorePlacedRoom(DungeonLayout layout, int index) {
+        RoomNode room = layout.getRooms().get(index);
+        if (!room.isStaircase() || room.linkedStaircase == null) return;
+        BlockPos base = roomBases.get(room);
+        int innerSize = getRoomDimensions(room).size - THICK * 2;
+        BlockPos origin = base.add(THICK, INNER_Y, THICK);
+        if (room.type == RoomType.STAIRCASE_UP || room.type == RoomType.STAIRCASE_BOTH) {
+            crystalLinker.recordStaircaseCrystal(staircaseCrystalPos(origin, innerSize, true), room, true);
+        }
+        if (room.type == RoomType.STAIRCASE_DOWN || room.type == RoomType.STAIRCASE_BOTH) {
+            crystalLinker.recordStaircaseCrystal(staircaseCrystalPos(origin, innerSize, false), room, false);
+        }
+    }
 
-        System.out.println("[地牢生成] 地牢放置完成");
+    /**
+     * 對已批量寫入的區塊統一重算光照並重發
+     */
+    public void flushBlocks() {
+        writer.finish();
+    }
+
+    /**
+     * 放置並鏈接水晶、添加特殊連接（需在所有房間放置完成後調用）
+     */
+    public void linkDungeon(DungeonLayout layout) {
+        crystalLinker.placeAndLinkCrystals(layout, roomBases);
+        addSpecialConnections(layout);
     }
 
     private RoomDimensions getRoomDimensions(RoomNode room) {
@@ -117,7 +168,7 @@ public class TreeDungeonPlacer {
                 return;
             }
             System.out.println("[房间放置] 模板尺寸=" + template.width + "x" + template.height + "x" + template.length);
-            template.place(world, base.getX() + THICK, base.getY() + INNER_Y, base.getZ() + THICK);
+            template.place(writer, base.getX() + THICK, base.getY() + INNER_Y, base.getZ() + THICK);
 
             // 3) 根據房間類型添加特定內容
             enhanceRoomContent(base, room, dims);
@@ -140,19 +191,7 @@ public class TreeDungeonPlacer {
 
     private void generateRoomShell(BlockPos base, int shellSize, int shellHeight) {
         IBlockState wallBlock = ModBlocks.UNBREAKABLE_BARRIER_ANCHOR.getDefaultState();
-
-        for (int x = 0; x < shellSize; x++) {
-            for (int y = 0; y < shellHeight; y++) {
-                for (int z = 0; z < shellSize; z++) {
-                    boolean isWall = x < THICK || x >= shellSize - THICK ||
-                            y < THICK || y >= shellHeight - THICK ||
-                            z < THICK || z >= shellSize - THICK;
-
-                    IBlockState state = isWall ? wallBlock : Blocks.AIR.getDefaultState();
-                    world.setBlockState(base.add(x, y, z), state, 2);
-                }
-            }
-        }
+        writer.fillHollowBox(base, shellSize, shellHeight, shellSize, THICK, wallBlock, Blocks.AIR.getDefaultState());
     }
 
     private void enhanceRoomContent(BlockPos base, RoomNode room, RoomDimensions dims) {
@@ -225,7 +264,7 @@ public class TreeDungeonPlacer {
 
             // 放置連接水晶 - 由 CrystalLinker 處理跨層連接
             if (room.linkedStaircase != null) {
-                BlockPos crystalPos = origin.add(center, 1, center - 1);
+                BlockPos crystalPos = staircaseCrystalPos(origin, innerSize, true);
                 crystalLinker.placeStaircaseCrystal(crystalPos, room, true);
             }
         }
@@ -239,7 +278,7 @@ public class TreeDungeonPlacer {
 
             // 放置連接水晶
             if (room.linkedStaircase != null) {
-                BlockPos crystalPos = origin.add(center, 1, center + 1);
+                BlockPos crystalPos = staircaseCrystalPos(origin, innerSize, false);
                 crystalLinker.placeStaircaseCrystal(crystalPos, room, false);
             }
         }
@@ -265,6 +304,11 @@ public class TreeDungeonPlacer {
         }
     }
 
+    private static BlockPos staircaseCrystalPos(BlockPos origin, int innerSize, boolean upward) {
+        int center = innerSize / 2;
+        return origin.add(center, 1, upward ? center - 1 : center + 1);
+    }
+
     private void placeStaircasePillar(BlockPos pos) {
         for (int y = 1; y <= 4; y++) {
             world.setBlockState(pos.up(y), Blocks.QUARTZ_BLOCK.getStateFromMeta(2), 2); // 柱狀石英
@@ -273,6 +273,17 @@ public class ImprovedCrystalLinker {
         }
     }
 
+    /**
+     * 只记录楼梯水晶位置（断点续建时恢复已放置房间的状态，不放置方块也不重复注册链接）
+     */
+    public void recordStaircaseCrystal(BlockPos pos, RoomNode room, boolean isUpward) {
+        if (isUpward) {
+            staircaseUpCrystals.put(room, pos);
+        } else {
+            staircaseDownCrystals.put(room, pos);
+        }
+    }
+
     /**
      * 完成所有楼梯水晶的连接（在所有房间放置完成后调用）
      */
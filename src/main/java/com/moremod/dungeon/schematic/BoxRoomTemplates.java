@@ -37,7 +37,7 @@ public class BoxRoomTemplates {
     }
 
     public static Schematic treasure() {
-        return EnhancedRoomTemplates.treasureRoom();
+        return RoomTemplateCache.get("treasureRoom", EnhancedRoomTemplates::treasureRoom);
     }
 
     public static Schematic library() {
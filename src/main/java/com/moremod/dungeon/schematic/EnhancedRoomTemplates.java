@@ -14,6 +14,8 @@ import java.util.Random;
 /**
  * 增强版房间模板
  * 包含丰富的装饰、多样化的变种、道中Boss房间
+ *
+ * 每个方法都会重新逐方块构建模板，地牢生成请通过 {@link RoomTemplateCache} 获取冻结的共享实例
  */
 public class EnhancedRoomTemplates {
 
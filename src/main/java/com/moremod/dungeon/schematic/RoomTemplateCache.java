@@ -0,0 +1,62 @@
+package com.moremod.dungeon.schematic;
+
+import com.moremod.schematic.Schematic;
+import net.minecraft.util.Mirror;
+import net.minecraft.util.Rotation;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 房间模板缓存
+ *
+ * EnhancedRoomTemplates / BoxRoomTemplates 的每个模板方法会逐方块构建 Schematic，
+ * 这里按 ID 只构建一次并冻结，之后所有地牢共享同一个实例；
+ * 旋转/镜像变体由 {@link Schematic#variant} 生成，共享方块数据，不需要重新构建。
+ */
+public final class RoomTemplateCache {
+
+    private RoomTemplateCache() {}
+
+    private static final Map<String, Schematic> CACHE = new ConcurrentHashMap<>();
+
+    /** 旋转 × 镜像（不镜像 / 左右镜像）组成的 8 种朝向 */
+    private static final Mirror[] VARIANT_MIRRORS = {Mirror.NONE, Mirror.LEFT_RIGHT};
+
+    /**
+     * 取缓存的模板，不存在时调用 builder 构建并冻结
+     */
+    public static Schematic get(String id, Supplier<Schematic> builder) {
+        Schematic cached = CACHE.get(id);
+        if (cached != null) return cached;
+
+        long start = System.nanoTime();
+        Schematic built = builder.get().freeze();
+        Schematic previous = CACHE.putIfAbsent(id, built);
+        if (previous != null) return previous;
+
+        System.out.println("[RoomTemplateCache] 构建模板 " + id + " (" + built.width + "x" + built.height + "x" + built.length
+                + ")，耗时 " + (System.nanoTime() - start) / 1000000 + "ms");
+        return built;
+    }
+
+    /**
+     * 随机旋转/镜像变体（8 种朝向之一，变体本身在模板上缓存）
+     */
+    public static Schematic randomVariant(Schematic template, Random random) {
+        Rotation rotation = Rotation.values()[random.nextInt(Rotation.values().length)];
+        Mirror mirror = VARIANT_MIRRORS[random.nextInt(VARIANT_MIRRORS.length)];
+        return template.variant(rotation, mirror);
+    }
+
+    /** 开发期热重载：丢弃所有已构建的模板 */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    public static int size() {
+        return CACHE.size();
+    }
+}
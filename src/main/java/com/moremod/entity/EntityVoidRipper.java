@@ -1,6 +1,7 @@
 package com.moremod.entity;
 
 import com.moremod.entity.fx.EntityLaserBeam;
+import com.moremod.util.ServerTimers;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
@@ -1851,12 +1852,9 @@ protected ResourceLocation getLootTable() {return new ResourceLocation(MODID, "e
         dualSlamCooldown = 100;
 
         if (world instanceof WorldServer) {
-            ((WorldServer)world).addScheduledTask(() -> {
-                try {
-                    Thread.sleep(500);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
+            // 抬手 10 tick 后落地（时间轮调度，不阻塞主线程）
+            ServerTimers.schedule(10, () -> {
+                if (isDead) return;
 
                 List<EntityLivingBase> targets = world.getEntitiesWithinAABB(
                         EntityLivingBase.class,
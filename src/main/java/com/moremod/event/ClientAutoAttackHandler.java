@@ -1,8 +1,8 @@
 package com.moremod.event;
 
 import com.moremod.compat.crafttweaker.GemSocketHelper;
-import com.moremod.network.MessageAutoAttackTrigger;
-import com.moremod.network.PacketHandler;
+import com.moremod.client.ClientInputFrame;
+import com.moremod.network.MessageClientInputFrame;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
@@ -81,7 +81,7 @@ public class  ClientAutoAttackHandler {
         ItemStack weapon = player.getHeldItemMainhand();
         if (weapon.isEmpty() || !(weapon.getItem() instanceof ItemSword)) {
             if (wasAttacking) {
-                PacketHandler.INSTANCE.sendToServer(new MessageAutoAttackTrigger(false));
+                ClientInputFrame.setHeld(MessageClientInputFrame.AUTO_ATTACK, false);
                 wasAttacking = false;
             }
             return;
@@ -91,7 +91,7 @@ public class  ClientAutoAttackHandler {
         
         if (!hasAutoAttack) {
             if (wasAttacking) {
-                PacketHandler.INSTANCE.sendToServer(new MessageAutoAttackTrigger(false));
+                ClientInputFrame.setHeld(MessageClientInputFrame.AUTO_ATTACK, false);
                 wasAttacking = false;
             }
             return;
@@ -125,11 +125,11 @@ public class  ClientAutoAttackHandler {
             }
             
             if (!wasAttacking) {
-                PacketHandler.INSTANCE.sendToServer(new MessageAutoAttackTrigger(true));
+                ClientInputFrame.setHeld(MessageClientInputFrame.AUTO_ATTACK, true);
                 wasAttacking = true;
             }
         } else if (!mouseHeld && wasAttacking) {
-            PacketHandler.INSTANCE.sendToServer(new MessageAutoAttackTrigger(false));
+            ClientInputFrame.setHeld(MessageClientInputFrame.AUTO_ATTACK, false);
             wasAttacking = false;
             tickCounter = 0;
         }
@@ -5,6 +5,7 @@ import baubles.api.BaublesApi;
 import baubles.api.cap.IBaublesItemHandler;
 import com.moremod.item.ItemMechanicalCore;
 import com.moremod.item.ItemMechanicalCoreExtended;
+import com.moremod.item.MechanicalCoreSnapshot;
 import com.moremod.item.upgrades.ItemUpgradeComponent;
 import com.moremod.upgrades.energy.EnergyDepletionManager;
 import com.moremod.util.UpgradeKeys;
@@ -584,6 +585,7 @@ public class EnergyPunishmentSystem {
         for (String var : variants) {
             nbt.setInteger("upgrade_" + var, level);
         }
+        MechanicalCoreSnapshot.markDirty();
 
         try { ItemMechanicalCore.setUpgradeLevel(core, id, level); } catch (Exception ignored) {}
         try { ItemMechanicalCoreExtended.setUpgradeLevel(core, id, level); } catch (Exception ignored) {}
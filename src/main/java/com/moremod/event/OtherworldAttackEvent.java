@@ -2,6 +2,7 @@ package com.moremod.event;
 
 import com.moremod.util.combat.TrueDamageHelper;
 import com.moremod.fabric.data.UpdatedFabricPlayerData;
+import com.moremod.fabric.handler.FabricEventHandler;
 import com.moremod.fabric.system.FabricWeavingSystem;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.SharedMonsterAttributes;
@@ -492,7 +493,7 @@ public class OtherworldAttackEvent {
     private static NBTTagCompound getOtherworldData(EntityPlayer player) {
         for (ItemStack armor : player.getArmorInventoryList()) {
             if (FabricWeavingSystem.getFabricType(armor) == UpdatedFabricPlayerData.FabricType.OTHERWORLD) {
-                return FabricWeavingSystem.getFabricData(armor);
+                return FabricEventHandler.getLiveFabricData(player, armor);
             }
         }
         return null;
@@ -4,6 +4,7 @@ import baubles.api.BaublesApi;
 import baubles.api.cap.IBaublesItemHandler;
 import com.moremod.item.ItemMechanicalCore;
 import com.moremod.item.ItemMechanicalCoreExtended;
+import com.moremod.item.MechanicalCoreSnapshot;
 import com.moremod.util.UpgradeKeys;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.SoundEvents;
@@ -509,6 +510,7 @@ public class SoulboundDeathHandler {
         for (String k : vs) {
             nbt.setInteger("upgrade_" + k, val);
         }
+        MechanicalCoreSnapshot.markDirty();
 
         try {
             for (ItemMechanicalCore.UpgradeType t : ItemMechanicalCore.UpgradeType.values()){
@@ -530,6 +532,7 @@ public class SoulboundDeathHandler {
                 nbt.setInteger("upgrade_" + wid, val);
                 nbt.setInteger("upgrade_" + wid.toUpperCase(Locale.ROOT), val);
                 nbt.setInteger("upgrade_" + wid.toLowerCase(Locale.ROOT), val);
+                MechanicalCoreSnapshot.markDirty();
                 try {
                     ItemMechanicalCoreExtended.setUpgradeLevel(core, wid, val);
                 } catch (Throwable ignored) {}
@@ -6,6 +6,7 @@ import com.moremod.item.ItemMechanicalCore;
 import com.moremod.item.ItemBatteryBauble;
 import com.moremod.item.ItemCreativeBatteryBauble;
 import com.moremod.item.battery.ItemBatteryBase;
+import com.moremod.util.PlayerEquipmentIndex;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
@@ -285,17 +286,11 @@ public class BatteryChargeHandler {
             }
         }
 
-        try {
-            IBaublesItemHandler baubles = BaublesApi.getBaublesHandler(player);
-            if (baubles != null) {
-                for (int i = 0; i < baubles.getSlots(); i++) {
-                    ItemStack stack = baubles.getStackInSlot(i);
-                    if (stack.getItem() instanceof ItemCreativeBatteryBauble) {
-                        return stack;
-                    }
-                }
-            }
-        } catch (Exception ignored) {}
+        // 装备索引中的电池优先返回创造电池
+        ItemStack equipped = PlayerEquipmentIndex.getBattery(player);
+        if (equipped.getItem() instanceof ItemCreativeBatteryBauble) {
+            return equipped;
+        }
 
         // 找有电的普通电池
         for (ItemStack stack : player.inventory.mainInventory) {
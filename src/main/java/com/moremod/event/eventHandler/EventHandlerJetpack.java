@@ -5,6 +5,7 @@ import baubles.api.cap.IBaublesItemHandler;
 import com.moremod.item.ItemJetpackBauble;
 import com.moremod.item.ItemCreativeJetpackBauble;
 import com.moremod.item.ItemMechanicalCore;
+import com.moremod.util.PlayerEquipmentIndex;
 import com.moremod.upgrades.EnergyEfficiencyManager;
 
 import net.minecraft.client.Minecraft;
@@ -229,58 +230,49 @@ public class EventHandlerJetpack {
         cache.activeDevice    = ItemStack.EMPTY;
         cache.lastUpdate      = player.world.getTotalWorldTime();
 
-        IBaublesItemHandler h = BaublesApi.getBaublesHandler(player);
-        if (h == null) return;
-
-        for (int i = 0; i < h.getSlots(); i++) {
-            ItemStack stack = h.getStackInSlot(i);
-            if (stack.isEmpty()) continue;
+        // 机械核心（头部槽位在身体槽位之前，沿用原先的槽位顺序优先级）
+        ItemStack core = PlayerEquipmentIndex.getCore(player);
+        if (!core.isEmpty()) {
+            int flightLevel = ItemMechanicalCore.getUpgradeLevel(core,
+                    ItemMechanicalCore.UpgradeType.FLIGHT_MODULE);
+            if (flightLevel > 0) {
+                cache.hasFlightDevice = true;
+                cache.activeDevice    = core;
+                NBTTagCompound nbt    = core.getTagCompound();
 
-            // 喷气背包
-            if (stack.getItem() instanceof ItemJetpackBauble ||
-                    stack.getItem() instanceof ItemCreativeJetpackBauble) {
+                cache.isDeviceActive = (nbt != null && nbt.getBoolean("FlightModuleEnabled"));
 
-                cache.hasFlightDevice = true;
-                cache.activeDevice    = stack;
-                NBTTagCompound tag    = stack.getTagCompound();
-
-                cache.isDeviceActive = (tag != null && tag.getBoolean("JetpackEnabled"));
-
-                if (cache.isDeviceActive && stack.getItem() instanceof ItemJetpackBauble) {
-                    ItemJetpackBauble jetpack = (ItemJetpackBauble) stack.getItem();
-                    cache.deviceTier    = jetpack.getTier();
-                    cache.ascendSpeed   = jetpack.getActualAscendSpeed(stack);
-                    cache.descendSpeed  = jetpack.getActualDescendSpeed(stack);
-                    cache.moveSpeed     = jetpack.getActualMoveSpeed(stack);
-                    cache.energyPerTick = jetpack.getActualEnergyPerTick(stack);
+                if (cache.isDeviceActive) {
+                    cache.deviceTier    = flightLevel;
+                    cache.ascendSpeed   = 0.15 * flightLevel;
+                    cache.descendSpeed  = 0.05 * flightLevel;
+                    cache.moveSpeed     = 0.05 * flightLevel;
+                    cache.energyPerTick = 30 * flightLevel;
+                } else {
+                    cache.deviceTier = 0;
+                    cache.ascendSpeed = cache.descendSpeed = cache.moveSpeed = 0;
+                    cache.energyPerTick = 0;
                 }
-                break;
+                return;
             }
+        }
 
-            // 机械核心
-            if (ItemMechanicalCore.isMechanicalCore(stack)) {
-                int flightLevel = ItemMechanicalCore.getUpgradeLevel(stack,
-                        ItemMechanicalCore.UpgradeType.FLIGHT_MODULE);
-                if (flightLevel > 0) {
-                    cache.hasFlightDevice = true;
-                    cache.activeDevice    = stack;
-                    NBTTagCompound nbt    = stack.getTagCompound();
-
-                    cache.isDeviceActive = (nbt != null && nbt.getBoolean("FlightModuleEnabled"));
-
-                    if (cache.isDeviceActive) {
-                        cache.deviceTier    = flightLevel;
-                        cache.ascendSpeed   = 0.15 * flightLevel;
-                        cache.descendSpeed  = 0.05 * flightLevel;
-                        cache.moveSpeed     = 0.05 * flightLevel;
-                        cache.energyPerTick = 30 * flightLevel;
-                    } else {
-                        cache.deviceTier = 0;
-                        cache.ascendSpeed = cache.descendSpeed = cache.moveSpeed = 0;
-                        cache.energyPerTick = 0;
-                    }
-                    break;
-                }
+        // 喷气背包
+        ItemStack stack = PlayerEquipmentIndex.getJetpack(player);
+        if (!stack.isEmpty()) {
+            cache.hasFlightDevice = true;
+            cache.activeDevice    = stack;
+            NBTTagCompound tag    = stack.getTagCompound();
+
+            cache.isDeviceActive = (tag != null && tag.getBoolean("JetpackEnabled"));
+
+            if (cache.isDeviceActive && stack.getItem() instanceof ItemJetpackBauble) {
+                ItemJetpackBauble jetpack = (ItemJetpackBauble) stack.getItem();
+                cache.deviceTier    = jetpack.getTier();
+                cache.ascendSpeed   = jetpack.getActualAscendSpeed(stack);
+                cache.descendSpeed  = jetpack.getActualDescendSpeed(stack);
+                cache.moveSpeed     = jetpack.getActualMoveSpeed(stack);
+                cache.energyPerTick = jetpack.getActualEnergyPerTick(stack);
             }
         }
     }
@@ -345,33 +337,24 @@ public class EventHandlerJetpack {
         if (mc.player == null || mc.world == null) return;
 
         UUID playerId = mc.player.getUniqueID();
-        if (mc.world.getTotalWorldTime() % 2 != 0) return;
 
-        // 仍然更新缓存（用于本地粒子/能量判断）
+        // 缓存每 2 tick 更新一次（用于本地粒子/能量判断）
         PlayerCache cache = playerCaches.computeIfAbsent(playerId, k -> new PlayerCache());
-        updatePlayerEquipmentCache(mc.player, cache);
+        if (mc.world.getTotalWorldTime() % 2 == 0) {
+            updatePlayerEquipmentCache(mc.player, cache);
+        }
 
         boolean isJumping  = mc.gameSettings.keyBindJump.isKeyDown();
         boolean isSneaking = mc.gameSettings.keyBindSneak.isKeyDown();
 
-        Boolean lastJump  = jetpackJumping.get(playerId);
-        Boolean lastSneak = jetpackSneaking.get(playerId);
+        jetpackJumping.put(playerId, isJumping);
+        jetpackSneaking.put(playerId, isSneaking);
 
-        boolean jumpChanged  = (lastJump == null  || lastJump  != isJumping);
-        boolean sneakChanged = (lastSneak == null || lastSneak != isSneaking);
-
-        if (jumpChanged)  jetpackJumping.put(playerId, isJumping);
-        if (sneakChanged) jetpackSneaking.put(playerId, isSneaking);
-
-        if (jumpChanged || sneakChanged) {
-            net.minecraftforge.fml.common.network.simpleimpl.IMessage jumpMsg =
-                    new com.moremod.network.MessageJetpackJumping(cache.hasFlightDevice && isJumping);
-            net.minecraftforge.fml.common.network.simpleimpl.IMessage sneakMsg =
-                    new com.moremod.network.MessageJetpackSneaking(cache.hasFlightDevice && isSneaking);
-
-            com.moremod.network.PacketHandler.INSTANCE.sendToServer(jumpMsg);
-            com.moremod.network.PacketHandler.INSTANCE.sendToServer(sneakMsg);
-        }
+        // 喷气背包与机械核心共用：写入输入帧，tick 末尾与其他输入合并为一个包（变化时才发）
+        com.moremod.client.ClientInputFrame.setHeld(
+                com.moremod.network.MessageClientInputFrame.JUMP, cache.hasFlightDevice && isJumping);
+        com.moremod.client.ClientInputFrame.setHeld(
+                com.moremod.network.MessageClientInputFrame.SNEAK, cache.hasFlightDevice && isSneaking);
     }
 
     // ========== 服务器：逻辑主循环（仅推力，不动能力位） ==========
@@ -658,6 +641,7 @@ public class EventHandlerJetpack {
         hoverAscendSpeeds.remove(id);
         playerCaches.remove(id);
         lastSyncedEnergy.remove(id);
+        com.moremod.network.MessageClientInputFrame.cleanupPlayer(id);
     }
 
     // ========== 监听交互：刷新缓存；若手持机械核心且模块关，则清理内部状态 ==========
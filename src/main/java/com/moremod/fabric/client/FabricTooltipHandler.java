@@ -1,6 +1,7 @@
 package com.moremod.fabric.client;
 
 import com.moremod.fabric.data.UpdatedFabricPlayerData;
+import com.moremod.fabric.handler.FabricEventHandler;
 import com.moremod.fabric.system.FabricWeavingSystem;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
@@ -32,7 +33,8 @@ public class FabricTooltipHandler {
         EntityPlayer player = event.getEntityPlayer();
 
         UpdatedFabricPlayerData.FabricType type = FabricWeavingSystem.getFabricType(stack);
-        NBTTagCompound fabricData = FabricWeavingSystem.getFabricData(stack);
+        // 穿在身上的织印：运行时状态经增量包同步到客户端，盔甲 NBT 只在保存/卸下时更新
+        NBTTagCompound fabricData = FabricEventHandler.getLiveFabricData(player, stack);
 
         if (type == null) {
             tooltip.add("");
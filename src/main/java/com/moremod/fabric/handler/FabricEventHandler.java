@@ -4,9 +4,17 @@ import java.util.*;
 import java.util.Collections;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.moremod.capability.FabricStateCapability;
 import com.moremod.event.OtherworldAttackEvent;
 import com.moremod.fabric.data.UpdatedFabricPlayerData;
 import com.moremod.fabric.system.FabricWeavingSystem;
+import com.moremod.network.PacketFabricStateDelta;
+import com.moremod.network.PacketHandler;
+import com.moremod.util.EntityFreezeService;
+import com.moremod.util.PlayerEquipmentIndex;
+import com.moremod.util.PlayerTickScheduler;
+import com.moremod.util.ServerTimers;
+import com.moremod.util.TickTimerWheel;
 
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
@@ -19,6 +27,7 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.init.MobEffects;
 import net.minecraft.init.SoundEvents;
+import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.potion.PotionEffect;
@@ -48,8 +57,17 @@ import net.minecraftforge.fml.common.gameevent.TickEvent;
 public class FabricEventHandler {
 
     private static final Random RANDOM = new Random();
+    // 在线玩家索引（离线清理用）；运行时状态本身挂在 FabricStateCapability 上
     private static final Map<UUID, PlayerFabricData> PLAYER_DATA = new ConcurrentHashMap<>();
-    private static final Map<UUID, FrozenEntityData> FROZEN_ENTITIES = new ConcurrentHashMap<>();
+
+    // 每秒/同步任务按玩家错峰（PlayerTickScheduler）
+    private static final String SECOND_TASK = "fabric_second";
+    private static final String SYNC_TASK = "fabric_sync";
+
+    /** 注册每秒任务（由 moremod#registerPlayerTickTasks 统一调用） */
+    public static void registerTasks() {
+        PlayerTickScheduler.register(SECOND_TASK, 20, FabricEventHandler::onPlayerSecond);
+    }
     private static final Map<Integer, List<TimeStopZone>> ACTIVE_TIME_ZONES = new ConcurrentHashMap<>();
     private static final List<CollapseField> ACTIVE_COLLAPSE_FIELDS = new ArrayList<>();
     private static int tickCount = 0;
@@ -364,15 +382,15 @@ public class FabricEventHandler {
         public int rewindCount = 0;
         public long lastTimeStopTime = 0;
         public boolean chronoAccelerated = false;
-        public long chronoEndTime = 0;
+        public TickTimerWheel.Timeout chronoTimer;
         public float temporalEnergy = 100f;
 
         // 时序回溯保护状态 (ASM Hook 用)
         public boolean inTemporalRewind = false;
-        public long rewindProtectionEndTime = 0;
+        public TickTimerWheel.Timeout rewindProtectionTimer;
 
-        // 延迟任务字段（替代 Thread.sleep）
-        public long protectiveInvulEndTime = 0;  // 保护性时停无敌结束时间
+        // 延迟任务（ServerTimers 时间轮，替代 Thread.sleep 与每 tick 轮询）
+        public TickTimerWheel.Timeout protectiveInvulTimer;  // 保护性时停无敌结束
 
         // 时空布料
         public int spatialCount = 0;
@@ -392,6 +410,21 @@ public class FabricEventHandler {
         public int forbiddenKnowledge = 0;
         public int abyssGazeStacks = 0;
 
+        // ===== 同步 / 持久化状态 =====
+        /** 参与客户端同步与盔甲持久化的字段数（编号见 getSyncField） */
+        public static final int SYNC_FIELD_COUNT = 15;
+        /** 以 float 编码的字段（按位）：abyssPower, temporalEnergy, storedDamage, dimensionalEnergy, insight, sanity */
+        public static final int SYNC_FLOAT_FIELDS = (1 << 1) | (1 << 4) | (1 << 6) | (1 << 7) | (1 << 11) | (1 << 12);
+        /** 服务端：上次发给客户端的各字段值 */
+        private final long[] syncedFields = new long[SYNC_FIELD_COUNT];
+        private boolean syncBaseline = false;
+        /** 运行时状态比盔甲 NBT 新，保存/卸下/死亡时需要写回 */
+        public boolean armorDirty = false;
+        /** 服务端已从盔甲加载 / 客户端已收到首个同步包 */
+        public boolean stateLoaded = false;
+        /** 各护甲槽上次看到的物品实例（卸下时写回用） */
+        private final ItemStack[] wornArmor = new ItemStack[4];
+
         public boolean hasAbyssFabric() { return abyssCount > 0; }
         public boolean hasTemporalFabric() { return temporalCount > 0; }
         public boolean hasSpatialFabric() { return spatialCount > 0; }
@@ -403,22 +436,11 @@ public class FabricEventHandler {
             lastSpatialCount = spatialCount;
             lastOtherworldCount = otherworldCount;
 
-            abyssCount = 0;
-            temporalCount = 0;
-            spatialCount = 0;
-            otherworldCount = 0;
-
-            for (ItemStack armor : player.getArmorInventoryList()) {
-                UpdatedFabricPlayerData.FabricType type = FabricWeavingSystem.getFabricType(armor);
-                if (type != null) {
-                    switch (type) {
-                        case ABYSS: abyssCount++; break;
-                        case TEMPORAL: temporalCount++; break;
-                        case SPATIAL: spatialCount++; break;
-                        case OTHERWORLD: otherworldCount++; break;
-                    }
-                }
-            }
+            // 走装备索引（装备变化时失效），不再每 tick 解析四件盔甲的 NBT
+            abyssCount = PlayerEquipmentIndex.getFabricCount(player, UpdatedFabricPlayerData.FabricType.ABYSS);
+            temporalCount = PlayerEquipmentIndex.getFabricCount(player, UpdatedFabricPlayerData.FabricType.TEMPORAL);
+            spatialCount = PlayerEquipmentIndex.getFabricCount(player, UpdatedFabricPlayerData.FabricType.SPATIAL);
+            otherworldCount = PlayerEquipmentIndex.getFabricCount(player, UpdatedFabricPlayerData.FabricType.OTHERWORLD);
         }
 
         public boolean hasEquipmentChanged() {
@@ -428,6 +450,72 @@ public class FabricEventHandler {
                     otherworldCount != lastOtherworldCount;
         }
 
+        /**
+         * 同步字段读取（float 以位模式编码）
+         * 0-2 深渊 / 3-5 时序 / 6-10 时空 / 11-14 异界
+         */
+        public long getSyncField(int index) {
+            switch (index) {
+                case 0: return abyssKills;
+                case 1: return Float.floatToIntBits(abyssPower);
+                case 2: return lastKillTime;
+                case 3: return rewindCount;
+                case 4: return Float.floatToIntBits(temporalEnergy);
+                case 5: return lastTimeStopTime;
+                case 6: return Float.floatToIntBits(storedDamage);
+                case 7: return Float.floatToIntBits(dimensionalEnergy);
+                case 8: return phaseStrikeCount;
+                case 9: return collapseFieldReady ? 1 : 0;
+                case 10: return lastCollapseTime;
+                case 11: return Float.floatToIntBits(insight);
+                case 12: return Float.floatToIntBits(sanity);
+                case 13: return forbiddenKnowledge;
+                case 14: return abyssGazeStacks;
+                default: return 0;
+            }
+        }
+
+        public void setSyncField(int index, long value) {
+            switch (index) {
+                case 0: abyssKills = (int) value; break;
+                case 1: abyssPower = Float.intBitsToFloat((int) value); break;
+                case 2: lastKillTime = value; break;
+                case 3: rewindCount = (int) value; break;
+                case 4: temporalEnergy = Float.intBitsToFloat((int) value); break;
+                case 5: lastTimeStopTime = value; break;
+                case 6: storedDamage = Float.intBitsToFloat((int) value); break;
+                case 7: dimensionalEnergy = Float.intBitsToFloat((int) value); break;
+                case 8: phaseStrikeCount = (int) value; break;
+                case 9: collapseFieldReady = value != 0; break;
+                case 10: lastCollapseTime = value; break;
+                case 11: insight = Float.intBitsToFloat((int) value); break;
+                case 12: sanity = Float.intBitsToFloat((int) value); break;
+                case 13: forbiddenKnowledge = (int) value; break;
+                case 14: abyssGazeStacks = (int) value; break;
+            }
+        }
+
+        /**
+         * 与上次同步的值比较，返回变化字段的位掩码并记为已同步
+         */
+        int collectDirtyFields() {
+            int mask = 0;
+            for (int i = 0; i < SYNC_FIELD_COUNT; i++) {
+                long value = getSyncField(i);
+                if (!syncBaseline || value != syncedFields[i]) {
+                    syncedFields[i] = value;
+                    mask |= 1 << i;
+                }
+            }
+            syncBaseline = true;
+            return mask;
+        }
+
+        /** 客户端玩家实体重建（重生/换维度）后需要一次全量同步 */
+        public void resetSyncBaseline() {
+            syncBaseline = false;
+        }
+
         public static class TemporalSnapshot {
             public final double x, y, z;
             public final float health;
@@ -454,7 +542,7 @@ public class FabricEventHandler {
         public final int maxDuration;
         public int currentAge = 0;
         public boolean active = true;
-        public final Set<UUID> affectedEntities = new HashSet<>();
+        public final List<EntityLivingBase> affectedEntities = new ArrayList<>();
 
         public TimeStopZone(World world, BlockPos center, double range, EntityPlayer caster, int duration) {
             this.world = world;
@@ -480,9 +568,9 @@ public class FabricEventHandler {
             );
 
             for (EntityLivingBase entity : entities) {
-                if (!affectedEntities.contains(entity.getUniqueID())) {
-                    freezeEntity(entity);
-                    affectedEntities.add(entity.getUniqueID());
+                if (!EntityFreezeService.isFrozen(entity)
+                        && EntityFreezeService.freeze(entity, this, FABRIC_FREEZE) != null) {
+                    affectedEntities.add(entity);
                 }
             }
 
@@ -491,11 +579,6 @@ public class FabricEventHandler {
             }
         }
 
-        private void freezeEntity(EntityLivingBase entity) {
-            FrozenEntityData data = new FrozenEntityData(entity);
-            FROZEN_ENTITIES.put(entity.getUniqueID(), data);
-        }
-
         private void spawnZoneParticles() {
             WorldServer ws = (WorldServer) world;
             for (int i = 0; i < 36; i++) {
@@ -512,45 +595,35 @@ public class FabricEventHandler {
         public void deactivate() {
             active = false;
 
-            for (UUID id : affectedEntities) {
-                FrozenEntityData data = FROZEN_ENTITIES.remove(id);
-                Entity entity = world.getEntityByID(id.hashCode());
-                if (data != null && entity instanceof EntityLivingBase) {
-                    data.restore((EntityLivingBase) entity);
-                }
+            for (EntityLivingBase entity : affectedEntities) {
+                EntityFreezeService.unfreeze(entity, this);
             }
 
             affectedEntities.clear();
         }
     }
 
-    // ========== 冻结实体数据 ==========
-    private static class FrozenEntityData {
-        final Vec3d motion;
-        final float yaw, pitch, yawHead;
-        final int hurtTime;
-        final BlockPos position;
-
-        FrozenEntityData(EntityLivingBase entity) {
-            this.motion = new Vec3d(entity.motionX, entity.motionY, entity.motionZ);
-            this.yaw = entity.rotationYaw;
-            this.pitch = entity.rotationPitch;
-            this.yawHead = entity.rotationYawHead;
-            this.hurtTime = entity.hurtTime;
-            this.position = entity.getPosition();
+    // ========== 冻结处理（EntityFreezeService 回调） ==========
+    private static final EntityFreezeService.FrozenTickHandler FABRIC_FREEZE = new EntityFreezeService.FrozenTickHandler() {
+        @Override
+        public void onFrozenTick(EntityLivingBase entity, EntityFreezeService.FreezeState state) {
+            handleFrozenEntityTicks(entity, state);
         }
 
-        void restore(EntityLivingBase entity) {
-            if (entity != null && entity.isEntityAlive()) {
-                entity.motionX = motion.x;
-                entity.motionY = motion.y;
-                entity.motionZ = motion.z;
+        @Override
+        public void onRelease(EntityLivingBase entity, EntityFreezeService.FreezeState state) {
+            if (entity.isEntityAlive()) {
+                entity.motionX = state.motionX;
+                entity.motionY = state.motionY;
+                entity.motionZ = state.motionZ;
             }
         }
-    }
+    };
 
     // ========== 核心方法 ==========
     public static PlayerFabricData getPlayerData(EntityPlayer player) {
+        PlayerFabricData data = FabricStateCapability.get(player);
+        if (data != null) return data;
         return PLAYER_DATA.computeIfAbsent(player.getUniqueID(), k -> new PlayerFabricData());
     }
 
@@ -618,7 +691,12 @@ public class FabricEventHandler {
         data.temporalEnergy = Math.max(0, data.temporalEnergy - 30);
 
         // 3秒后解除回溯保护状态
-        data.rewindProtectionEndTime = System.currentTimeMillis() + 3000;
+        if (data.rewindProtectionTimer != null) data.rewindProtectionTimer.cancel();
+        data.rewindProtectionTimer = ServerTimers.schedule(player, 60, p -> {
+            PlayerFabricData d = getPlayerData(p);
+            d.inTemporalRewind = false;
+            d.rewindProtectionTimer = null;
+        });
 
         // 播放特效
         spawnRewindEffects(player);
@@ -626,55 +704,108 @@ public class FabricEventHandler {
         player.sendStatusMessage(new TextComponentString(
                 String.format("§b⏮ 时序回溯！完全恢复！(第%d次)", data.rewindCount)), false);
 
-        syncAllFabricDataToArmor(player, data);
+        syncFabricState(player, data);
     }
 
-    public static void syncAllFabricDataToArmor(EntityPlayer player, PlayerFabricData data) {
-        for (ItemStack armor : player.getArmorInventoryList()) {
-            if (!FabricWeavingSystem.hasFabric(armor)) continue;
+    // ========== 状态同步与持久化 ==========
 
-            UpdatedFabricPlayerData.FabricType type = FabricWeavingSystem.getFabricType(armor);
-            if (type == null) continue;
+    /**
+     * 运行时状态变化后调用：只把变化的字段增量发给客户端，并标记盔甲 NBT 待写回。
+     * 盔甲 NBT 不在这里改写（改写会让整件物品连同 NBT 重新发送）。
+     */
+    public static void syncFabricState(EntityPlayer player, PlayerFabricData data) {
+        if (!(player instanceof EntityPlayerMP) || !data.stateLoaded) return;
 
-            NBTTagCompound armorTag = armor.getTagCompound();
-            if (armorTag == null) continue;
+        int mask = data.collectDirtyFields();
+        if (mask == 0) return;
 
-            NBTTagCompound fabricData = armorTag.getCompoundTag("WovenFabric");
+        data.armorDirty = true;
+        PacketHandler.INSTANCE.sendTo(new PacketFabricStateDelta(mask, data), (EntityPlayerMP) player);
+    }
 
-            switch (type) {
-                case ABYSS:
-                    fabricData.setInteger("AbyssKills", data.abyssKills);
-                    fabricData.setFloat("AbyssPower", data.abyssPower);
-                    fabricData.setLong("LastKillTime", data.lastKillTime);
-                    break;
+    /**
+     * 把运行时状态写回当前穿戴的织印盔甲（保存/登出/死亡时）
+     */
+    public static void flushFabricDataToArmor(EntityPlayer player, PlayerFabricData data) {
+        if (!data.armorDirty) return;
 
-                case TEMPORAL:
-                    fabricData.setInteger("RewindCount", data.rewindCount);
-                    fabricData.setFloat("TemporalEnergy", data.temporalEnergy);
-                    fabricData.setLong("LastTimeStop", data.lastTimeStopTime);
-                    break;
+        for (ItemStack armor : player.getArmorInventoryList()) {
+            writeFabricFields(armor, data);
+        }
+        data.armorDirty = false;
+    }
 
-                case SPATIAL:
-                    fabricData.setFloat("StoredDamage", data.storedDamage);
-                    fabricData.setFloat("DimensionalEnergy", data.dimensionalEnergy);
-                    fabricData.setInteger("PhaseStrikeCount", data.phaseStrikeCount);
-                    fabricData.setBoolean("CollapseReady", data.collapseFieldReady);
-                    fabricData.setLong("LastCollapseTime", data.lastCollapseTime);
-                    break;
+    /**
+     * 读取盔甲上的织印数据；若该盔甲正穿在玩家身上，用运行时状态覆盖后返回副本。
+     * 只读场景使用，不要把返回值当作盔甲上的实时标签修改。
+     */
+    public static NBTTagCompound getLiveFabricData(EntityPlayer player, ItemStack armor) {
+        NBTTagCompound stored = FabricWeavingSystem.getFabricData(armor);
+        if (player == null) return stored;
 
-                case OTHERWORLD:
-                    fabricData.setInteger("Insight", (int)data.insight);
-                    fabricData.setInteger("Sanity", (int)data.sanity);
-                    fabricData.setInteger("ForbiddenKnowledge", data.forbiddenKnowledge);
-                    fabricData.setInteger("AbyssGazeStacks", data.abyssGazeStacks);
-                    break;
+        PlayerFabricData data = getPlayerData(player);
+        if (!data.stateLoaded) return stored;
+
+        UpdatedFabricPlayerData.FabricType type = FabricWeavingSystem.getFabricType(armor);
+        if (type == null) return stored;
+
+        for (ItemStack worn : player.getArmorInventoryList()) {
+            if (worn == armor) {
+                NBTTagCompound live = stored.copy();
+                writeFabricFields(live, type, data);
+                return live;
             }
+        }
+        return stored;
+    }
+
+    private static void writeFabricFields(ItemStack armor, PlayerFabricData data) {
+        if (!FabricWeavingSystem.hasFabric(armor)) return;
+
+        UpdatedFabricPlayerData.FabricType type = FabricWeavingSystem.getFabricType(armor);
+        if (type == null) return;
+
+        NBTTagCompound armorTag = armor.getTagCompound();
+        if (armorTag == null) return;
+
+        NBTTagCompound fabricData = armorTag.getCompoundTag("WovenFabric");
+        writeFabricFields(fabricData, type, data);
+        armorTag.setTag("WovenFabric", fabricData);
+    }
+
+    private static void writeFabricFields(NBTTagCompound fabricData, UpdatedFabricPlayerData.FabricType type,
+                                          PlayerFabricData data) {
+        switch (type) {
+            case ABYSS:
+                fabricData.setInteger("AbyssKills", data.abyssKills);
+                fabricData.setFloat("AbyssPower", data.abyssPower);
+                fabricData.setLong("LastKillTime", data.lastKillTime);
+                break;
 
-            int power = calculateFabricPower(type, data);
-            fabricData.setInteger("FabricPower", power);
+            case TEMPORAL:
+                fabricData.setInteger("RewindCount", data.rewindCount);
+                fabricData.setFloat("TemporalEnergy", data.temporalEnergy);
+                fabricData.setLong("LastTimeStop", data.lastTimeStopTime);
+                break;
+
+            case SPATIAL:
+                fabricData.setFloat("StoredDamage", data.storedDamage);
+                fabricData.setFloat("DimensionalEnergy", data.dimensionalEnergy);
+                fabricData.setInteger("PhaseStrikeCount", data.phaseStrikeCount);
+                fabricData.setBoolean("CollapseReady", data.collapseFieldReady);
+                fabricData.setLong("LastCollapseTime", data.lastCollapseTime);
+                break;
 
-            armorTag.setTag("WovenFabric", fabricData);
+            case OTHERWORLD:
+                fabricData.setInteger("Insight", (int)data.insight);
+                fabricData.setInteger("Sanity", (int)data.sanity);
+                fabricData.setInteger("ForbiddenKnowledge", data.forbiddenKnowledge);
+                fabricData.setInteger("AbyssGazeStacks", data.abyssGazeStacks);
+                break;
         }
+
+        int power = calculateFabricPower(type, data);
+        fabricData.setInteger("FabricPower", power);
     }
 
     private static int calculateFabricPower(UpdatedFabricPlayerData.FabricType type, PlayerFabricData data) {
@@ -740,6 +871,10 @@ public class FabricEventHandler {
         PlayerFabricData data = getPlayerData(player);
 
         loadFabricDataFromArmor(player, data);
+        data.stateLoaded = true;
+        data.armorDirty = false;
+        data.resetSyncBaseline();
+        PLAYER_DATA.put(player.getUniqueID(), data);
 
         player.sendStatusMessage(new TextComponentString("§7[织印系统] 数据已加载"), true);
     }
@@ -754,9 +889,76 @@ public class FabricEventHandler {
         if (data.hasSpatialFabric()) removeSpatialEffects(player, data);
         if (data.hasOtherworldFabric()) removeOtherworldEffects(player, data);
 
+        // 未到期的延迟任务登出时立即收尾，避免无敌/加速残留到下次登录
+        if (data.protectiveInvulTimer != null) data.protectiveInvulTimer.runNow();
+        if (data.chronoTimer != null) data.chronoTimer.runNow();
+        if (data.rewindProtectionTimer != null) data.rewindProtectionTimer.runNow();
+
+        syncFabricState(player, data);
+        flushFabricDataToArmor(player, data);
         PLAYER_DATA.remove(player.getUniqueID());
     }
 
+    /**
+     * 玩家存档前写回盔甲
+     */
+    @SubscribeEvent
+    public static void onPlayerSave(net.minecraftforge.event.entity.player.PlayerEvent.SaveToFile event) {
+        EntityPlayer player = event.getEntityPlayer();
+        PlayerFabricData data = getPlayerData(player);
+        syncFabricState(player, data);
+        flushFabricDataToArmor(player, data);
+    }
+
+    /**
+     * 死亡掉落前写回盔甲（掉落物要带上最新状态）
+     */
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onFabricWearerDeath(LivingDeathEvent event) {
+        if (!(event.getEntityLiving() instanceof EntityPlayer) || event.getEntityLiving().world.isRemote) return;
+
+        EntityPlayer player = (EntityPlayer) event.getEntityLiving();
+        PlayerFabricData data = getPlayerData(player);
+        syncFabricState(player, data);
+        flushFabricDataToArmor(player, data);
+    }
+
+    /**
+     * 卸下/替换盔甲时，把最新状态写回被换下的那件
+     */
+    @SubscribeEvent
+    public static void onArmorChange(LivingEquipmentChangeEvent event) {
+        if (event.getSlot().getSlotType() != EntityEquipmentSlot.Type.ARMOR) return;
+        if (!(event.getEntityLiving() instanceof EntityPlayer) || event.getEntityLiving().world.isRemote) return;
+
+        EntityPlayer player = (EntityPlayer) event.getEntityLiving();
+        PlayerFabricData data = getPlayerData(player);
+        int index = event.getSlot().getIndex();
+        ItemStack previous = data.wornArmor[index];
+        ItemStack current = event.getTo();
+
+        if (previous != null && previous != current && !previous.isEmpty()) {
+            syncFabricState(player, data);
+            if (data.armorDirty) {
+                writeFabricFields(previous, data);
+            }
+        }
+        data.wornArmor[index] = current;
+    }
+
+    /**
+     * 重生/换维度后客户端玩家实体是新的，下次同步发全量
+     */
+    @SubscribeEvent
+    public static void onPlayerRespawn(PlayerEvent.PlayerRespawnEvent event) {
+        getPlayerData(event.player).resetSyncBaseline();
+    }
+
+    @SubscribeEvent
+    public static void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        getPlayerData(event.player).resetSyncBaseline();
+    }
+
     @SubscribeEvent
     public static void onPlayerTick(TickEvent.PlayerTickEvent event) {
         if (event.phase != TickEvent.Phase.END || event.player.world.isRemote) return;
@@ -770,72 +972,57 @@ public class FabricEventHandler {
             handleEquipmentChange(player, data);
         }
 
-        // 处理延迟任务（替代 Thread.sleep）
-        long now = System.currentTimeMillis();
-
-        // 保护性时停无敌结束
-        if (data.protectiveInvulEndTime > 0 && now >= data.protectiveInvulEndTime) {
-            data.protectiveInvulEndTime = 0;
-            player.setEntityInvulnerable(false);
-        }
-
-        // 时间加速结束
-        if (data.chronoAccelerated && data.chronoEndTime > 0 && now >= data.chronoEndTime) {
-            removeChronoAttributes(player, data);
-        }
-
-        // 时序回溯保护结束
-        if (data.inTemporalRewind && data.rewindProtectionEndTime > 0 && now >= data.rewindProtectionEndTime) {
-            data.inTemporalRewind = false;
-            data.rewindProtectionEndTime = 0;
+        if (PlayerTickScheduler.isDue(player, 10, SYNC_TASK)) {
+            syncFabricState(player, data);
         }
+    }
 
-        if (player.ticksExisted % 10 == 0) {
-            syncAllFabricDataToArmor(player, data);
-        }
+    /**
+     * 每秒逻辑（由 PlayerTickScheduler 按玩家错峰调用）
+     */
+    private static void onPlayerSecond(EntityPlayerMP player) {
+        PlayerFabricData data = getPlayerData(player);
 
-        if (player.ticksExisted % 20 == 0) {
-            if (data.hasAbyssFabric()) {
-                handleAbyssHunger(player, data);
-                if (!hasAbyssModifiers(player)) {
-                    applyAbyssAttributes(player, data);
-                }
-            } else if (data.abyssPower > 0 || data.abyssKills > 0) {
-                data.abyssPower = Math.max(0, data.abyssPower - 2);
-                data.abyssKills = Math.max(0, data.abyssKills - 1);
-                if (data.abyssPower == 0 && data.abyssKills == 0) {
-                    removeAbyssEffects(player, data);
-                }
+        if (data.hasAbyssFabric()) {
+            handleAbyssHunger(player, data);
+            if (!hasAbyssModifiers(player)) {
+                applyAbyssAttributes(player, data);
             }
-
-            if (data.hasTemporalFabric()) {
-                recordTemporalSnapshot(player, data);
-                data.temporalEnergy = Math.min(100, data.temporalEnergy + 0.5f);
-            } else if (data.temporalEnergy < 100) {
-                data.temporalEnergy = Math.min(100, data.temporalEnergy + 1);
+        } else if (data.abyssPower > 0 || data.abyssKills > 0) {
+            data.abyssPower = Math.max(0, data.abyssPower - 2);
+            data.abyssKills = Math.max(0, data.abyssKills - 1);
+            if (data.abyssPower == 0 && data.abyssKills == 0) {
+                removeAbyssEffects(player, data);
             }
+        }
 
-            if (data.hasSpatialFabric()) {
-                data.dimensionalEnergy = Math.min(100, data.dimensionalEnergy + 5);
+        if (data.hasTemporalFabric()) {
+            recordTemporalSnapshot(player, data);
+            data.temporalEnergy = Math.min(100, data.temporalEnergy + 0.5f);
+        } else if (data.temporalEnergy < 100) {
+            data.temporalEnergy = Math.min(100, data.temporalEnergy + 1);
+        }
 
-                if (data.storedDamage > 50 && player.ticksExisted % 100 == 0) {
-                    player.sendStatusMessage(new TextComponentString(
-                            String.format("§d维度口袋: %.1f伤害已存储 %s",
-                                    data.storedDamage, getStorageLevel(data.storedDamage))), true);
-                }
-            } else if (data.storedDamage > 0) {
-                data.storedDamage = Math.max(0, data.storedDamage - 2);
-            }
+        if (data.hasSpatialFabric()) {
+            data.dimensionalEnergy = Math.min(100, data.dimensionalEnergy + 5);
 
-            if (data.hasOtherworldFabric()) {
-                handleInsightAndSanity(player, data);
-            } else if (data.insight > 0 || data.sanity < 100) {
-                data.insight = Math.max(0, data.insight - 2);
-                data.sanity = Math.min(100, data.sanity + 1);
+            if (data.storedDamage > 50 && PlayerTickScheduler.isDue(player, 100, SECOND_TASK)) {
+                player.sendStatusMessage(new TextComponentString(
+                        String.format("§d维度口袋: %.1f伤害已存储 %s",
+                                data.storedDamage, getStorageLevel(data.storedDamage))), true);
             }
+        } else if (data.storedDamage > 0) {
+            data.storedDamage = Math.max(0, data.storedDamage - 2);
+        }
 
-            syncAllFabricDataToArmor(player, data);
+        if (data.hasOtherworldFabric()) {
+            handleInsightAndSanity(player, data);
+        } else if (data.insight > 0 || data.sanity < 100) {
+            data.insight = Math.max(0, data.insight - 2);
+            data.sanity = Math.min(100, data.sanity + 1);
         }
+
+        syncFabricState(player, data);
     }
 
     @SubscribeEvent
@@ -927,7 +1114,7 @@ public class FabricEventHandler {
         world.playSound(null, player.getPosition(), SoundEvents.ENTITY_ENDERMEN_TELEPORT,
                 SoundCategory.PLAYERS, 2.0F, 0.3F);
 
-        syncAllFabricDataToArmor(player, data);
+        syncFabricState(player, data);
     }
     private static void createInitialShockwave(EntityPlayer player, BlockPos center, float radius) {
         World world = player.world;
@@ -1036,7 +1223,7 @@ public class FabricEventHandler {
 
             spawnDimensionalAbsorption(player, damageToStore, data.storedDamage);
 
-            syncAllFabricDataToArmor(player, data);
+            syncFabricState(player, data);
         }
     }
 
@@ -1134,7 +1321,7 @@ public class FabricEventHandler {
             data.storedDamage = Math.max(0, data.storedDamage - 5);
 
             event.setResult(Event.Result.ALLOW);
-            syncAllFabricDataToArmor(player, data);
+            syncFabricState(player, data);
         }
     }
 
@@ -1170,7 +1357,7 @@ public class FabricEventHandler {
                     String.format("§4深渊之力 §c+%.1f (击杀:%d)", data.abyssPower, data.abyssKills)), true);
         }
 
-        syncAllFabricDataToArmor(player, data);
+        syncFabricState(player, data);
     }
 
     @SubscribeEvent(priority = EventPriority.LOW)
@@ -1227,7 +1414,7 @@ public class FabricEventHandler {
                         String.format("§b⏱ 时停领域展开！范围:%.1f格 持续:%.1f秒",
                                 zone.range, zone.maxDuration / 20.0f)), true);
 
-                syncAllFabricDataToArmor(player, data);
+                syncFabricState(player, data);
             }
         }
     }
@@ -1249,38 +1436,7 @@ public class FabricEventHandler {
             applyMadnessEffects(player, data);
         }
 
-        syncAllFabricDataToArmor(player, data);
-    }
-
-    // ========== 实体更新拦截 ==========
-    @SubscribeEvent(priority = EventPriority.HIGHEST)
-    public static void onLivingJump(LivingEvent.LivingJumpEvent event) {
-        if (FROZEN_ENTITIES.containsKey(event.getEntityLiving().getUniqueID())) {
-            event.getEntityLiving().motionY = 0;
-        }
-    }
-
-    @SubscribeEvent(priority = EventPriority.HIGHEST)
-    public static void onEntityUpdate(LivingEvent.LivingUpdateEvent event) {
-        EntityLivingBase entity = event.getEntityLiving();
-
-        if (FROZEN_ENTITIES.containsKey(entity.getUniqueID())) {
-            if (entity.isDead || entity.getHealth() <= 0) {
-                FROZEN_ENTITIES.remove(entity.getUniqueID());
-                return;
-            }
-
-            if (entity instanceof EntityDragon) {
-                EntityDragon dragon = (EntityDragon) entity;
-                if (dragon.getHealth() <= 0) {
-                    FROZEN_ENTITIES.remove(entity.getUniqueID());
-                    return;
-                }
-            }
-
-            event.setCanceled(true);
-            handleFrozenEntityTicks(entity);
-        }
+        syncFabricState(player, data);
     }
 
     // ========== 所有辅助方法 ==========
@@ -1401,7 +1557,7 @@ public class FabricEventHandler {
 
             applyAbyssAttributes(player, data);
 
-            syncAllFabricDataToArmor(player, data);
+            syncFabricState(player, data);
         }
     }
 
@@ -1485,10 +1641,20 @@ public class FabricEventHandler {
     private static void createProtectiveTimeStop(EntityPlayer player, PlayerFabricData data) {
         createTimeStopZone(player.world, player.getPosition(), 10.0, player, 60);
 
+        scheduleProtectiveInvulnerability(player, data, 60);
+    }
+
+    /**
+     * 临时完全无敌 ticks 个 tick，到期由 ServerTimers 解除（重复触发时以最后一次为准）
+     */
+    public static void scheduleProtectiveInvulnerability(EntityPlayer player, PlayerFabricData data, int ticks) {
         player.setEntityInvulnerable(true);
 
-        // 使用基于Tick的延迟任务替代 Thread.sleep
-        data.protectiveInvulEndTime = System.currentTimeMillis() + 3000;
+        if (data.protectiveInvulTimer != null) data.protectiveInvulTimer.cancel();
+        data.protectiveInvulTimer = ServerTimers.schedule(player, ticks, p -> {
+            getPlayerData(p).protectiveInvulTimer = null;
+            p.setEntityInvulnerable(false);
+        });
     }
 
     private static TimeStopZone activateImprovedTimeStop(EntityPlayer player, PlayerFabricData data) {
@@ -1530,7 +1696,14 @@ public class FabricEventHandler {
 
     private static void applyChronoAcceleration(EntityPlayer player, PlayerFabricData data, int duration) {
         data.chronoAccelerated = true;
-        data.chronoEndTime = System.currentTimeMillis() + (duration * 50);
+        if (data.chronoTimer != null) data.chronoTimer.cancel();
+        data.chronoTimer = ServerTimers.schedule(player, duration, p -> {
+            PlayerFabricData d = getPlayerData(p);
+            d.chronoTimer = null;
+            if (d.chronoAccelerated) {
+                removeChronoAttributes(p, d);
+            }
+        });
 
         IAttributeInstance speed = player.getEntityAttribute(SharedMonsterAttributes.MOVEMENT_SPEED);
         if (speed != null) {
@@ -1548,14 +1721,16 @@ public class FabricEventHandler {
 
         player.addPotionEffect(new PotionEffect(MobEffects.HASTE, duration, 10, false, false));  // 急迫XI
 
-        // chronoEndTime 已在上面设置，延迟任务在 onPlayerTick 中处理
-
         player.sendStatusMessage(new TextComponentString(
                 "§b⚡ 时间加速！你的速度超越了时间！"), false);
     }
 
     private static void removeChronoAttributes(EntityPlayer player, PlayerFabricData data) {
         data.chronoAccelerated = false;
+        if (data.chronoTimer != null) {
+            data.chronoTimer.cancel();
+            data.chronoTimer = null;
+        }
 
         IAttributeInstance speed = player.getEntityAttribute(SharedMonsterAttributes.MOVEMENT_SPEED);
         if (speed != null) {
@@ -1573,25 +1748,11 @@ public class FabricEventHandler {
     }
 
     private static void freezeEntity(EntityLivingBase entity, int duration) {
-        FrozenEntityData data = new FrozenEntityData(entity);
-        FROZEN_ENTITIES.put(entity.getUniqueID(), data);
-
-        new Thread(() -> {
-            try {
-                Thread.sleep(duration * 50);
-                FrozenEntityData stored = FROZEN_ENTITIES.remove(entity.getUniqueID());
-                if (stored != null && entity.isEntityAlive()) {
-                    stored.restore(entity);
-                }
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }).start();
+        // 到期由 EntityFreezeService 的时间轮在服务端 tick 中解冻
+        EntityFreezeService.freeze(entity, FABRIC_FREEZE, duration, FABRIC_FREEZE);
     }
 
-    private static void handleFrozenEntityTicks(EntityLivingBase entity) {
-        FrozenEntityData data = FROZEN_ENTITIES.get(entity.getUniqueID());
-
+    private static void handleFrozenEntityTicks(EntityLivingBase entity, EntityFreezeService.FreezeState data) {
         if (entity.hurtTime > 0) {
             entity.hurtTime--;
         }
@@ -1599,17 +1760,15 @@ public class FabricEventHandler {
             entity.hurtResistantTime--;
         }
 
-        if (data != null) {
-            entity.rotationYaw = data.yaw;
-            entity.rotationPitch = data.pitch;
-            entity.rotationYawHead = data.yawHead;
-            entity.renderYawOffset = data.yaw;
+        entity.rotationYaw = data.yaw;
+        entity.rotationPitch = data.pitch;
+        entity.rotationYawHead = data.yawHead;
+        entity.renderYawOffset = data.yaw;
 
-            entity.prevRotationYaw = data.yaw;
-            entity.prevRotationPitch = data.pitch;
-            entity.prevRotationYawHead = data.yawHead;
-            entity.prevRenderYawOffset = data.yaw;
-        }
+        entity.prevRotationYaw = data.yaw;
+        entity.prevRotationPitch = data.pitch;
+        entity.prevRotationYawHead = data.yawHead;
+        entity.prevRenderYawOffset = data.yaw;
 
         entity.prevPosX = entity.posX;
         entity.prevPosY = entity.posY;
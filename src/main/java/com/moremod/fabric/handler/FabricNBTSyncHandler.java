@@ -6,12 +6,13 @@ import net.minecraft.item.ItemStack;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedInEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 /**
  * 确保布料NBT数据同步到客户端
+ *
+ * 织印运行时状态改走 PacketFabricStateDelta 增量同步，这里只在登录时推送一次盔甲 NBT。
  */
 @Mod.EventBusSubscriber(modid = "moremod")
 public class FabricNBTSyncHandler {
@@ -26,21 +27,6 @@ public class FabricNBTSyncHandler {
         }
     }
 
-    /**
-     * 装备变化时同步
-     */
-    @SubscribeEvent
-    public static void onPlayerTick(TickEvent.PlayerTickEvent event) {
-        if (event.phase == TickEvent.Phase.END &&
-                !event.player.world.isRemote &&
-                event.player.ticksExisted % 20 == 0) { // 每秒检查一次
-
-            if (event.player instanceof EntityPlayerMP) {
-                syncArmorToClient((EntityPlayerMP) event.player);
-            }
-        }
-    }
-
     /**
      * 从其他维度返回时同步
      */
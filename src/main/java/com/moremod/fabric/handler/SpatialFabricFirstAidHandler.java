@@ -146,10 +146,8 @@ public class SpatialFabricFirstAidHandler {
 
         // 2. 应用强力保护
         player.hurtResistantTime = 200;  // 10秒受伤无敌
-        player.setEntityInvulnerable(true);  // 临时完全无敌
-
-        // 使用基于Tick的延迟任务替代 Thread.sleep（3秒后取消无敌）
-        data.protectiveInvulEndTime = System.currentTimeMillis() + 3000;
+        // 临时完全无敌，3秒后由 ServerTimers 取消
+        FabricEventHandler.scheduleProtectiveInvulnerability(player, data, 60);
 
         // 传送后效果
         spawnArrivalEffect(player);
@@ -176,7 +174,7 @@ public class SpatialFabricFirstAidHandler {
                 SoundCategory.PLAYERS, 1.0F, 1.2F);
 
         // 同步数据到护甲
-        FabricEventHandler.syncAllFabricDataToArmor(player, data);
+        FabricEventHandler.syncFabricState(player, data);
     }
 
     private static BlockPos findSafeLocation(EntityPlayer player,
@@ -3,25 +3,20 @@ package com.moremod.fabric.handler;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
-import net.minecraft.entity.Entity;
+import com.moremod.util.EntityFreezeService;
 import net.minecraft.entity.EntityLivingBase;
-import net.minecraft.entity.boss.EntityDragon;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
-import net.minecraftforge.event.entity.living.LivingEvent;
 import net.minecraftforge.fml.common.Mod;
-import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 @Mod.EventBusSubscriber(modid = "moremod")
 public class TimeStopHandler {
 
-    // 存储冻结的实体
-    private static final Set<UUID> FROZEN_ENTITIES = Collections.synchronizedSet(new HashSet<>());
     private static final Map<Integer, List<TimeStopZone>> ACTIVE_ZONES = new ConcurrentHashMap<>();
 
     /**
@@ -35,7 +30,7 @@ public class TimeStopHandler {
         public final int maxDuration;
         public int currentAge = 0;
         public boolean active = true;
-        private final Set<UUID> affectedEntities = new HashSet<>();
+        private final List<EntityLivingBase> affectedEntities = new ArrayList<>();
 
         public TimeStopZone(World world, BlockPos center, double range, EntityPlayer caster, int duration) {
             this.world = world;
@@ -64,39 +59,30 @@ public class TimeStopHandler {
 
             // 冻结新进入的实体
             for (EntityLivingBase entity : entities) {
-                if (!affectedEntities.contains(entity.getUniqueID())) {
-                    freezeEntity(entity);
-                    affectedEntities.add(entity.getUniqueID());
+                if (!EntityFreezeService.isFrozen(entity)
+                        && EntityFreezeService.freeze(entity, this, FROZEN_TICK) != null) {
+                    affectedEntities.add(entity);
                 }
             }
 
             // 检查离开范围的实体
-            Iterator<UUID> it = affectedEntities.iterator();
+            Iterator<EntityLivingBase> it = affectedEntities.iterator();
             while (it.hasNext()) {
-                UUID id = it.next();
-                Entity entity = world.getMinecraftServer().getEntityFromUuid(id);
-                if (entity == null || entity.isDead ||
-                        entity.getDistanceSq(center) > range * range) {
-                    unfreezeEntity(id);
+                EntityLivingBase entity = it.next();
+                if (entity.isDead || entity.getDistanceSq(center) > range * range
+                        || !EntityFreezeService.isFrozenBy(entity, this)) {
+                    EntityFreezeService.unfreeze(entity, this);
                     it.remove();
                 }
             }
         }
 
-        private void freezeEntity(EntityLivingBase entity) {
-            FROZEN_ENTITIES.add(entity.getUniqueID());
-        }
-
-        private void unfreezeEntity(UUID id) {
-            FROZEN_ENTITIES.remove(id);
-        }
-
         public void deactivate() {
             active = false;
 
             // 解冻所有实体
-            for (UUID id : affectedEntities) {
-                unfreezeEntity(id);
+            for (EntityLivingBase entity : affectedEntities) {
+                EntityFreezeService.unfreeze(entity, this);
             }
             affectedEntities.clear();
         }
@@ -118,36 +104,10 @@ public class TimeStopHandler {
     }
 
     /**
-     * 核心：拦截实体更新（模仿AS的做法）
+     * 冻结期间的处理（实体更新本身由 EntityFreezeService 取消）
      */
-    @SubscribeEvent(priority = EventPriority.HIGHEST)
-    public static void onLivingUpdate(LivingEvent.LivingUpdateEvent event) {
-        EntityLivingBase entity = event.getEntityLiving();
-
-        // 检查是否被冻结
-        if (FROZEN_ENTITIES.contains(entity.getUniqueID())) {
-            // 特殊情况：实体死亡或者是末影龙死亡动画
-            if (entity.isDead || entity.getHealth() <= 0) {
-                FROZEN_ENTITIES.remove(entity.getUniqueID());
-                return;
-            }
-
-            if (entity instanceof EntityDragon) {
-                EntityDragon dragon = (EntityDragon) entity;
-                // 让末影龙死亡动画继续
-                if (dragon.getHealth() <= 0) {
-                    FROZEN_ENTITIES.remove(entity.getUniqueID());
-                    return;
-                }
-            }
-
-            // 取消实体更新
-            event.setCanceled(true);
-
-            // 处理必要的tick（模仿AS的handleImportantEntityTicks）
-            handleFrozenEntityTicks(entity);
-        }
-    }
+    private static final EntityFreezeService.FrozenTickHandler FROZEN_TICK =
+            (entity, state) -> handleFrozenEntityTicks(entity);
 
     /**
      * 处理冻结实体的必要更新（防止插值抖动）
@@ -191,17 +151,6 @@ public class TimeStopHandler {
         }
     }
 
-    /**
-     * 阻止冻结实体跳跃
-     */
-    @SubscribeEvent(priority = EventPriority.HIGHEST)
-    public static void onLivingJump(LivingEvent.LivingJumpEvent event) {
-        if (FROZEN_ENTITIES.contains(event.getEntityLiving().getUniqueID())) {
-            // 阻止跳跃
-            event.getEntityLiving().motionY = 0;
-        }
-    }
-
     /**
      * 服务器tick - 更新时停区域
      */
@@ -255,13 +204,13 @@ public class TimeStopHandler {
      * 检查实体是否被冻结
      */
     public static boolean isFrozen(EntityLivingBase entity) {
-        return FROZEN_ENTITIES.contains(entity.getUniqueID());
+        return EntityFreezeService.isFrozen(entity);
     }
 
     /**
      * 手动解冻实体
      */
     public static void unfreezeEntity(EntityLivingBase entity) {
-        FROZEN_ENTITIES.remove(entity.getUniqueID());
+        EntityFreezeService.unfreeze(entity);
     }
 }
\ No newline at end of file
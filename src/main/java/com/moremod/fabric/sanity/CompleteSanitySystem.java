@@ -229,15 +229,16 @@ public class CompleteSanitySystem {
             float actualSanityRestore = totalSanityRestore;
             float actualInsightReduce = totalInsightReduce;
 
+            // 理智/灵视以 PlayerFabricData 为准（盔甲 NBT 只在保存/卸下时写回）
+            int currentSanity = (int) playerData.sanity;
+            int currentInsight = (int) playerData.insight;
+
             // 遍历所有护甲槽位
             for (ItemStack armor : player.getArmorInventoryList()) {
                 if (FabricWeavingSystem.getFabricType(armor) == UpdatedFabricPlayerData.FabricType.OTHERWORLD) {
                     otherworldCount++;
                     NBTTagCompound fabricData = FabricWeavingSystem.getFabricData(armor);
 
-                    int currentSanity = fabricData.getInteger("Sanity");
-                    int currentInsight = fabricData.getInteger("Insight");
-
                     // 危急奖励判定
                     if (currentSanity < 20 || currentInsight > 80) {
                         criticalBonus = true;
@@ -250,11 +251,6 @@ public class CompleteSanitySystem {
                     int newSanity = Math.min(100, currentSanity + (int)actualSanityRestore);
                     int newInsight = Math.max(0, currentInsight - (int)actualInsightReduce);
 
-                    // 更新装备NBT
-                    fabricData.setInteger("Sanity", newSanity);
-                    fabricData.setInteger("Insight", newInsight);
-
-                    // 关键修改：同时更新PlayerFabricData
                     playerData.sanity = newSanity;
                     playerData.insight = newInsight;
                     playerData.otherworldCount = otherworldCount;
@@ -273,11 +269,6 @@ public class CompleteSanitySystem {
 
                     // 纯净药水清除负面效果
                     if (elixirTier == ElixirTier.PURE) {
-                        fabricData.setInteger("AbyssGazeStacks", 0);
-                        fabricData.setInteger("ForbiddenKnowledge",
-                                Math.max(0, fabricData.getInteger("ForbiddenKnowledge") - 1));
-
-                        // 同步到PlayerFabricData
                         playerData.abyssGazeStacks = 0;
                         playerData.forbiddenKnowledge = Math.max(0, playerData.forbiddenKnowledge - 1);
                     }
@@ -311,7 +302,7 @@ public class CompleteSanitySystem {
                 }
 
                 // 立即同步更新后的数据，确保不会被覆盖
-                FabricEventHandler.syncAllFabricDataToArmor(player, playerData);
+                FabricEventHandler.syncFabricState(player, playerData);
             } else {
                 // 如果没有找到任何异界织印装备（理论上不会发生，因为之前已经检查过）
                 player.sendStatusMessage(new TextComponentString("§c未找到異界織印裝備"), true);
@@ -360,7 +351,7 @@ public class CompleteSanitySystem {
             }
 
             // 立即同步保護狀態
-            FabricEventHandler.syncAllFabricDataToArmor(player, playerData);
+            FabricEventHandler.syncFabricState(player, playerData);
         }
 
         private void applySpecialEffects(EntityPlayer player, World world) {
@@ -763,7 +754,7 @@ public class CompleteSanitySystem {
     private static NBTTagCompound getOtherworldData(EntityPlayer player) {
         for (ItemStack armor : player.getArmorInventoryList()) {
             if (FabricWeavingSystem.getFabricType(armor) == UpdatedFabricPlayerData.FabricType.OTHERWORLD) {
-                return FabricWeavingSystem.getFabricData(armor);
+                return FabricEventHandler.getLiveFabricData(player, armor);
             }
         }
         NBTTagCompound defaultData = new NBTTagCompound();
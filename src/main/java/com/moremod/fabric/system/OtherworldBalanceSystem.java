@@ -1,6 +1,7 @@
 package com.moremod.fabric.system;
 
 import com.moremod.fabric.data.UpdatedFabricPlayerData;
+import com.moremod.fabric.handler.FabricEventHandler;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.init.Items;
@@ -281,7 +282,7 @@ public class OtherworldBalanceSystem {
     private static NBTTagCompound getPlayerOtherworldData(EntityPlayer player) {
         for (ItemStack armor : player.getArmorInventoryList()) {
             if (FabricWeavingSystem.getFabricType(armor) == UpdatedFabricPlayerData.FabricType.OTHERWORLD) {
-                return FabricWeavingSystem.getFabricData(armor);
+                return FabricEventHandler.getLiveFabricData(player, armor);
             }
         }
 
@@ -4,6 +4,7 @@ package com.moremod.item;
 import baubles.api.BaubleType;
 import baubles.api.IBauble;
 import com.moremod.creativetab.moremodCreativeTab;
+import com.moremod.util.PlayerEquipmentIndex;
 import net.minecraft.client.util.ITooltipFlag;
 import net.minecraft.creativetab.CreativeTabs;
 import net.minecraft.entity.EntityLivingBase;
@@ -146,6 +147,16 @@ public class ItemCreativeJetpackBauble extends Item implements IBauble {
         return BaubleType.BODY;
     }
 
+    @Override
+    public void onEquipped(ItemStack itemstack, EntityLivingBase player) {
+        PlayerEquipmentIndex.invalidate(player);
+    }
+
+    @Override
+    public void onUnequipped(ItemStack itemstack, EntityLivingBase player) {
+        PlayerEquipmentIndex.invalidate(player);
+    }
+
     @Override
     public boolean canEquip(ItemStack itemstack, EntityLivingBase player) {
         return true;
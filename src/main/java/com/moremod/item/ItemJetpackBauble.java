@@ -6,6 +6,7 @@ import baubles.api.BaublesApi;
 import baubles.api.IBauble;
 import baubles.api.cap.IBaublesItemHandler;
 import com.moremod.creativetab.moremodCreativeTab;
+import com.moremod.util.PlayerEquipmentIndex;
 import com.moremod.upgrades.EnergyEfficiencyManager;  // 添加导入
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiScreen;
@@ -178,6 +179,16 @@ public class ItemJetpackBauble extends Item implements IBauble {
         return BaubleType.BODY;
     }
 
+    @Override
+    public void onEquipped(ItemStack itemstack, EntityLivingBase player) {
+        PlayerEquipmentIndex.invalidate(player);
+    }
+
+    @Override
+    public void onUnequipped(ItemStack itemstack, EntityLivingBase player) {
+        PlayerEquipmentIndex.invalidate(player);
+    }
+
     @Override
     public boolean canEquip(ItemStack itemstack, EntityLivingBase player) {
         // 检查是否是玩家
@@ -34,6 +34,8 @@ import com.moremod.upgrades.combat.CombatUpgradeManager;
 import com.moremod.upgrades.energy.EnergyDepletionManager;
 import com.moremod.upgrades.energy.EnergyUpgradeManager;
 import com.moremod.system.ascension.AscensionTooltips;
+import com.moremod.util.PlayerEquipmentIndex;
+import com.moremod.util.PlayerTickScheduler;
 
 // ✨ 新增：导入新电池系统
 import com.moremod.item.battery.ItemBatteryBase;
@@ -423,40 +425,15 @@ public class ItemMechanicalCore extends Item implements IBauble {
     // GUI 暂停/禁用统一拦截（保持原样）
     // =====================================================================
 
-    private static final java.util.Set<String> WATERPROOF_ALIASES = new HashSet<>(
-            Arrays.asList("WATERPROOF_MODULE","WATERPROOF","waterproof_module","waterproof")
-    );
-
     private static String norm(String id) {
         return id == null ? "" : id.trim().toUpperCase(java.util.Locale.ROOT);
     }
 
     public static boolean isTemporarilyBlockedByGui(ItemStack stack, String upgradeId) {
         if (stack == null || stack.isEmpty() || upgradeId == null) return false;
-        NBTTagCompound nbt = stack.getTagCompound();
-        if (nbt == null) return false;
-
-        String up = upgradeId.toUpperCase();
-        String lo = upgradeId.toLowerCase();
-
-        java.util.List<String> keys = new java.util.ArrayList<>();
-        keys.add(upgradeId); keys.add(up); keys.add(lo);
-
-        if (up.contains("WATERPROOF") || WATERPROOF_ALIASES.contains(upgradeId)
-                || WATERPROOF_ALIASES.contains(up) || WATERPROOF_ALIASES.contains(lo)) {
-            for (String alias : WATERPROOF_ALIASES) {
-                keys.add(alias);
-                keys.add(alias.toUpperCase());
-                keys.add(alias.toLowerCase());
-            }
-        }
-
-        for (String k : keys) {
-            if (nbt.getBoolean("Disabled_" + k) || nbt.getBoolean("IsPaused_" + k)) {
-                return true;
-            }
-        }
-        return false;
+        if (stack.getTagCompound() == null) return false;
+        // Disabled_/IsPaused_ 的大小写与防水别名已在快照编译时折叠到规范ID
+        return MechanicalCoreSnapshot.of(stack).isBlocked(upgradeId);
     }
 
     // ===== 惩罚/冷却方法（保持原样） =====
@@ -530,21 +507,19 @@ public class ItemMechanicalCore extends Item implements IBauble {
 
     public static boolean isUpgradeActive(ItemStack stack, String upgradeId) {
         if (!isMechanicalCore(stack)) return false;
-        NBTTagCompound nbt = stack.getTagCompound();
-        if (nbt == null) return false;
+        if (stack.getTagCompound() == null) return false;
 
-        if (isTemporarilyBlockedByGui(stack, upgradeId)) return false;
+        MechanicalCoreSnapshot snap = MechanicalCoreSnapshot.of(stack);
+        if (snap.isBlocked(upgradeId)) return false;
 
         if (isCheckingUpgrade.get()) {
-            return getUpgradeLevelDirect(stack, upgradeId) > 0 && !nbt.getBoolean("Disabled_" + upgradeId);
+            return getUpgradeLevelDirect(snap, upgradeId) > 0;
         }
 
         try {
             isCheckingUpgrade.set(true);
 
-            if (nbt.getBoolean("Disabled_" + upgradeId)) return false;
-
-            int level = getUpgradeLevelDirect(stack, upgradeId);
+            int level = getUpgradeLevelDirect(snap, upgradeId);
             if (level <= 0) return false;
 
             if (isEnergyGeneratorUpgrade(upgradeId) || "energy_capacity".equalsIgnoreCase(upgradeId)) {
@@ -572,7 +547,7 @@ public class ItemMechanicalCore extends Item implements IBauble {
         if (!isMechanicalCore(stack)) return false;
         NBTTagCompound nbt = stack.getTagCompound();
         if (nbt == null) return false;
-        if (nbt.getBoolean("Disabled_" + upgradeId)) return false;
+        if (MechanicalCoreSnapshot.of(stack).isDisabled(upgradeId)) return false;
         return getUpgradeLevelDirect(stack, upgradeId) > 0;
     }
 
@@ -585,19 +560,18 @@ public class ItemMechanicalCore extends Item implements IBauble {
 
     private static int getUpgradeLevelDirect(ItemStack stack, String upgradeId) {
         if (!stack.hasTagCompound()) return 0;
+        return getUpgradeLevelDirect(MechanicalCoreSnapshot.of(stack), upgradeId);
+    }
 
-        int level = stack.getTagCompound().getInteger("upgrade_" + upgradeId);
-        if (level > 0) {
-            if (isTemporarilyBlockedByGui(stack, upgradeId)) return 0;
-            return level;
-        }
-
-        try {
-            if (!isCheckingUpgrade.get()) level = ItemMechanicalCoreExtended.getUpgradeLevel(stack, upgradeId);
-        } catch (Throwable ignored) {}
-
-        if (level > 0 && isTemporarilyBlockedByGui(stack, upgradeId)) return 0;
-        return level;
+    /**
+     * 精确键优先；精确键为0时回落到扩展层语义（规范ID + 别名 + 大小写变体取最大）。
+     * 激活判定过程中（isCheckingUpgrade）只读精确键，与旧实现一致。
+     */
+    private static int getUpgradeLevelDirect(MechanicalCoreSnapshot snap, String upgradeId) {
+        if (snap.isBlocked(upgradeId)) return 0;
+        int level = snap.getExactLevel(upgradeId);
+        if (level > 0 || isCheckingUpgrade.get()) return level;
+        return snap.getLevel(upgradeId);
     }
 
     public static int getEffectiveUpgradeLevel(ItemStack stack, String upgradeId) {
@@ -1017,6 +991,8 @@ public class ItemMechanicalCore extends Item implements IBauble {
         return BaubleType.HEAD;
     }
 
+    private static final String WORN_TICK_TASK = "mechanical_core_worn";
+
     @Override
     public void onWornTick(ItemStack itemstack, EntityLivingBase entity) {
         if (!(entity instanceof EntityPlayer) || entity.world.isRemote) return;
@@ -1031,7 +1007,8 @@ public class ItemMechanicalCore extends Item implements IBauble {
         // 檢查防水模塊（現有）
         WaterproofUpgrade.applyWaterproofEffect(player, itemstack);
 
-        if (entity.world.getTotalWorldTime() % 20 == 0) {
+        // 每秒逻辑按玩家错峰（嵌套的 100/200 周期使用同一任务名，相位一致）
+        if (PlayerTickScheduler.isDue(player, 20, WORN_TICK_TASK)) {
             EnergyDepletionManager.handleEnergyDepletion(itemstack, player);
 
             int passive = calculateActivePassiveConsumption(itemstack, player);
@@ -1040,11 +1017,11 @@ public class ItemMechanicalCore extends Item implements IBauble {
             }
 
             // 顯示電池充電狀態（文本提示，不發聲）
-            if (entity.world.getTotalWorldTime() % 100 == 0) {
+            if (PlayerTickScheduler.isDue(player, 100, WORN_TICK_TASK)) {
                 displayBatteryChargingStatus(player, itemstack);
             }
 
-            if (entity.world.getTotalWorldTime() % 200 == 0) {
+            if (PlayerTickScheduler.isDue(player, 200, WORN_TICK_TASK)) {
                 displayEnergyStatusToPlayer(player, itemstack);
             }
         }
@@ -1070,6 +1047,7 @@ public class ItemMechanicalCore extends Item implements IBauble {
 
     @Override
     public void onEquipped(ItemStack itemstack, EntityLivingBase entity) {
+        PlayerEquipmentIndex.invalidate(entity);
         if (entity.world.isRemote || !(entity instanceof EntityPlayer)) return;
         EntityPlayer player = (EntityPlayer) entity;
 
@@ -1325,6 +1303,7 @@ public class ItemMechanicalCore extends Item implements IBauble {
 
     @Override
     public void onUnequipped(ItemStack itemstack, EntityLivingBase entity) {
+        PlayerEquipmentIndex.invalidate(entity);
         if (entity.world.isRemote || !(entity instanceof EntityPlayer)) return;
         EntityPlayer player = (EntityPlayer) entity;
         player.sendMessage(new TextComponentString(
@@ -1592,12 +1571,14 @@ public class ItemMechanicalCore extends Item implements IBauble {
         NBTTagCompound nbt = getOrCreateNBT(stack);
         nbt.setInteger("upgrade_" + type.getKey(), level);
         if (level > 0) nbt.setBoolean("HasUpgrade_" + type.getKey(), true);
+        MechanicalCoreSnapshot.markDirty();
     }
 
     public static void setUpgradeLevel(ItemStack stack, String upgradeId, int level) {
         NBTTagCompound nbt = getOrCreateNBT(stack);
         nbt.setInteger("upgrade_" + upgradeId, level);
         if (level > 0) nbt.setBoolean("HasUpgrade_" + upgradeId, true);
+        MechanicalCoreSnapshot.markDirty();
     }
 
     public static int getTotalInstalledUpgrades(ItemStack stack) {
@@ -1685,6 +1666,7 @@ public class ItemMechanicalCore extends Item implements IBauble {
                 nbt.setBoolean("HasUpgrade_" + variant, true);
             }
         }
+        MechanicalCoreSnapshot.markDirty();
     }
 
     public static int getSafeOwnedMax(ItemStack stack, String upgradeId) {
@@ -1713,14 +1695,8 @@ public class ItemMechanicalCore extends Item implements IBauble {
 
     public static boolean isUpgradePaused(ItemStack stack, String upgradeId) {
         if (stack == null || stack.isEmpty()) return false;
-        NBTTagCompound nbt = stack.getTagCompound();
-        if (nbt == null) return false;
-
-        String[] variants = {upgradeId, upgradeId.toUpperCase(), upgradeId.toLowerCase()};
-        for (String variant : variants) {
-            if (nbt.getBoolean("IsPaused_" + variant)) return true;
-        }
-        return false;
+        if (stack.getTagCompound() == null) return false;
+        return MechanicalCoreSnapshot.of(stack).isPaused(upgradeId);
     }
 
     public static int getTotalActiveUpgradeLevel(ItemStack stack) {
@@ -1811,16 +1787,8 @@ public class ItemMechanicalCore extends Item implements IBauble {
 
     public static ItemStack findEquippedMechanicalCore(EntityPlayer player) {
         try {
-            IBaublesItemHandler baubles = BaublesApi.getBaublesHandler(player);
-            if (baubles != null) {
-                for (int i = 0; i < baubles.getSlots(); i++) {
-                    ItemStack s = baubles.getStackInSlot(i);
-                    if (isMechanicalCore(s) && s.getItem() instanceof IBauble &&
-                            ((IBauble) s.getItem()).getBaubleType(s) == BaubleType.HEAD) {
-                        return s;
-                    }
-                }
-            }
+            // 由装备索引维护，槽位未变化时不再扫描 Baubles
+            return PlayerEquipmentIndex.getCore(player);
         } catch (Throwable t) {
             System.err.println("[moremod] 查找装备的机械核心时出错: " + t.getMessage());
         }
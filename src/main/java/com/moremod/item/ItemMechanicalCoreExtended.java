@@ -123,37 +123,17 @@ public class ItemMechanicalCoreExtended {
         return ALIAS_TO_CANON.getOrDefault(n, n);
     }
 
+    /** 供快照编译使用的规范化入口 */
+    static String canonicalId(String id) {
+        return canonical(id);
+    }
+
     /* ===================== GUI 暂停/禁用判断（含别名） ===================== */
 
     private static boolean blockedByPauseOrDisable(ItemStack stack, String id) {
         if (stack == null || stack.isEmpty() || id == null) return false;
-        NBTTagCompound nbt = stack.getTagCompound();
-        if (nbt == null) return false;
-
-        // 规范ID + 所有别名 + 三种大小写键都检查
-        Set<String> keys = new LinkedHashSet<>();
-        String canon = canonical(id);
-        keys.add(canon); keys.add(canon.toUpperCase()); keys.add(canon.toLowerCase());
-
-        // 防水：把所有别名一起检查
-        if (WP_ALIASES.contains(id) || WP_ALIASES.contains(canon) || canon.contains("WATERPROOF")) {
-            for (String a : WP_ALIASES) {
-                String na = norm(a);
-                keys.add(na); keys.add(na.toUpperCase()); keys.add(na.toLowerCase());
-            }
-        }
-        // 别名映射表里的同族别名
-        for (Map.Entry<String,String> e : ALIAS_TO_CANON.entrySet()) {
-            if (e.getValue().equals(canon)) {
-                String a = e.getKey();
-                keys.add(a); keys.add(a.toUpperCase()); keys.add(a.toLowerCase());
-            }
-        }
-
-        for (String k : keys) {
-            if (nbt.getBoolean("Disabled_" + k) || nbt.getBoolean("IsPaused_" + k)) return true;
-        }
-        return false;
+        // 规范ID + 所有别名 + 任意大小写键：快照编译时已按规范ID折叠
+        return MechanicalCoreSnapshot.of(stack).isBlocked(id);
     }
 
     /* ===================== 基础访问器 ===================== */
@@ -172,29 +152,13 @@ public class ItemMechanicalCoreExtended {
      */
     public static int getUpgradeLevel(ItemStack stack, String upgradeId) {
         if (stack == null || stack.isEmpty() || upgradeId == null) return 0;
-        NBTTagCompound nbt = stack.getTagCompound();
-        if (nbt == null) return 0;
-
-        String canon = canonical(upgradeId);
-        int level = 0;
-
-        // 规范ID 三种大小写
-        level = Math.max(level, nbt.getInteger("upgrade_" + canon));
-        level = Math.max(level, nbt.getInteger("upgrade_" + canon.toUpperCase()));
-        level = Math.max(level, nbt.getInteger("upgrade_" + canon.toLowerCase()));
+        if (stack.getTagCompound() == null) return 0;
 
-        // 全部别名 三种大小写
-        for (Map.Entry<String,String> e : ALIAS_TO_CANON.entrySet()) {
-            if (e.getValue().equals(canon)) {
-                String a = e.getKey();
-                level = Math.max(level, nbt.getInteger("upgrade_" + a));
-                level = Math.max(level, nbt.getInteger("upgrade_" + a.toUpperCase()));
-                level = Math.max(level, nbt.getInteger("upgrade_" + a.toLowerCase()));
-            }
-        }
+        MechanicalCoreSnapshot snap = MechanicalCoreSnapshot.of(stack);
+        int level = snap.getLevel(upgradeId);
 
         // GUI 暂停/禁用 → 强制0
-        if (level > 0 && blockedByPauseOrDisable(stack, canon)) return 0;
+        if (level > 0 && snap.isBlocked(upgradeId)) return 0;
         return level;
     }
 
@@ -209,6 +173,7 @@ public class ItemMechanicalCoreExtended {
 
         nbt.setInteger("upgrade_" + canon, level);
         if (level > 0) nbt.setBoolean("HasUpgrade_" + canon, true);
+        MechanicalCoreSnapshot.markDirty();
     }
 
     /** 启/禁用（只写规范键；读取兼容别名） */
@@ -217,27 +182,13 @@ public class ItemMechanicalCoreExtended {
         NBTTagCompound nbt = stack.getTagCompound();
         if (nbt == null) { nbt = new NBTTagCompound(); stack.setTagCompound(nbt); }
         nbt.setBoolean("Disabled_" + canon, disabled);
+        MechanicalCoreSnapshot.markDirty();
     }
 
     /** 是否禁用（规范 + 别名 都算禁用） */
     public static boolean isUpgradeDisabled(ItemStack stack, String upgradeId) {
         if (!stack.hasTagCompound()) return false;
-        NBTTagCompound nbt = stack.getTagCompound();
-        String canon = canonical(upgradeId);
-
-        if (nbt.getBoolean("Disabled_" + canon)) return true;
-        if (nbt.getBoolean("Disabled_" + canon.toUpperCase())) return true;
-        if (nbt.getBoolean("Disabled_" + canon.toLowerCase())) return true;
-
-        for (Map.Entry<String,String> e : ALIAS_TO_CANON.entrySet()) {
-            if (e.getValue().equals(canon)) {
-                String a = e.getKey();
-                if (nbt.getBoolean("Disabled_" + a)) return true;
-                if (nbt.getBoolean("Disabled_" + a.toUpperCase())) return true;
-                if (nbt.getBoolean("Disabled_" + a.toLowerCase())) return true;
-            }
-        }
-        return false;
+        return MechanicalCoreSnapshot.of(stack).isDisabled(upgradeId);
     }
 
     /** 是否真正激活：等级>0 & 未禁用/暂停 & 主核心允许（能量/状态） */
@@ -361,6 +312,7 @@ public class ItemMechanicalCoreExtended {
         nbt.removeTag("upgrade_" + canon);
         nbt.removeTag("Disabled_" + canon);
         nbt.removeTag("HasUpgrade_" + canon);
+        MechanicalCoreSnapshot.markDirty();
     }
 
     /** 升级状态字符串用于显示 */
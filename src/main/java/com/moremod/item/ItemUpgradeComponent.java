@@ -2,6 +2,7 @@ package com.moremod.item.upgrades;
 
 import com.moremod.item.ItemMechanicalCore;
 import com.moremod.item.ItemMechanicalCoreExtended;
+import com.moremod.item.MechanicalCoreSnapshot;
 import com.moremod.item.UpgradeType;
 import net.minecraft.client.util.ITooltipFlag;
 import net.minecraft.entity.player.EntityPlayer;
@@ -401,6 +402,7 @@ public class ItemUpgradeComponent extends Item {
             }
             nbt.setInteger("upgrade_flight_module", targetLevel);
             nbt.setInteger("upgrade_FLIGHT_MODULE", targetLevel);
+            MechanicalCoreSnapshot.markDirty();
 
             // 初始化飛行模塊狀態
             if (!nbt.hasKey("FlightModuleEnabled")) {
@@ -0,0 +1,231 @@
+package com.moremod.item;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.collect.MapMaker;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+/**
+ * 机械核心升级快照（编译后的只读视图）
+ *
+ * 从核心 NBT 一次性扫描 upgrade_ / Disabled_ / IsPaused_ 键，编译成：
+ *  - int[] 等级表（按规范ID序号，取所有大小写/别名变体的最大值）
+ *  - int[] 原始键等级表（按原始ID序号，保留"精确键优先"的旧语义）
+ *  - long[] 禁用位集 / 暂停位集（按规范ID序号）
+ *
+ * 快照按 NBTTagCompound 实例（弱引用、按身份比较）缓存：
+ *  - setTagCompound 换新 NBT → 自然失效
+ *  - 原地修改 NBT → 写入方调用 {@link #markDirty()}，或在下一 tick 由指纹校验发现
+ *
+ * 序号在运行期内稳定（只增不减），不写入存档。
+ */
+@Mod.EventBusSubscriber(modid = "moremod")
+public final class MechanicalCoreSnapshot {
+
+    private static final String P_UPGRADE  = "upgrade_";
+    private static final String P_DISABLED = "Disabled_";
+    private static final String P_PAUSED   = "IsPaused_";
+
+    /** 空快照：无 NBT 时使用 */
+    static final MechanicalCoreSnapshot EMPTY = new MechanicalCoreSnapshot(new int[0], new int[0], new long[0], new long[0], 0L);
+
+    // ===== 序号注册 =====
+
+    /** 规范ID → 序号 */
+    private static final ConcurrentMap<String, Integer> CANON_ORDINALS = new ConcurrentHashMap<>();
+    /** 原始ID → {原始序号, 规范序号} */
+    private static final ConcurrentMap<String, int[]> RAW_IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_CANON = new AtomicInteger();
+    private static final AtomicInteger NEXT_RAW = new AtomicInteger();
+
+    // ===== 快照缓存 =====
+
+    /** 弱键 + 身份比较（NBTTagCompound.equals 是按内容比较，不能用普通 WeakHashMap） */
+    private static final ConcurrentMap<NBTTagCompound, MechanicalCoreSnapshot> CACHE =
+            new MapMaker().weakKeys().concurrencyLevel(2).makeMap();
+
+    /** 校验纪元：每 tick 自增一次，写入方 markDirty 时也自增 */
+    private static final AtomicLong EPOCH = new AtomicLong();
+
+    private final int[] levels;       // 规范序号 → 最大等级
+    private final int[] exactLevels;  // 原始序号 → 该精确键的等级
+    private final long[] disabled;    // 规范序号位集
+    private final long[] paused;      // 规范序号位集
+    private final long fingerprint;
+    private volatile long checkedEpoch;
+
+    private MechanicalCoreSnapshot(int[] levels, int[] exactLevels, long[] disabled, long[] paused, long fingerprint) {
+        this.levels = levels;
+        this.exactLevels = exactLevels;
+        this.disabled = disabled;
+        this.paused = paused;
+        this.fingerprint = fingerprint;
+        this.checkedEpoch = EPOCH.get();
+    }
+
+    // =====================================================================
+    // 公共入口
+    // =====================================================================
+
+    /** 获取核心的编译快照（无 NBT 返回空快照） */
+    public static MechanicalCoreSnapshot of(ItemStack stack) {
+        if (stack == null || stack.isEmpty()) return EMPTY;
+        NBTTagCompound nbt = stack.getTagCompound();
+        if (nbt == null) return EMPTY;
+
+        long epoch = EPOCH.get();
+        MechanicalCoreSnapshot snap = CACHE.get(nbt);
+        if (snap != null) {
+            if (snap.checkedEpoch == epoch) return snap;
+            if (snap.fingerprint == fingerprintOf(nbt)) {
+                snap.checkedEpoch = epoch;
+                return snap;
+            }
+        }
+        snap = compile(nbt);
+        CACHE.put(nbt, snap);
+        return snap;
+    }
+
+    /** 升级相关 NBT 被原地修改后调用：让所有快照在下次访问时重新校验 */
+    public static void markDirty() {
+        EPOCH.incrementAndGet();
+    }
+
+    /** 规范序号（未知ID会分配新序号） */
+    public static int ordinalOf(String upgradeId) {
+        return idsOf(upgradeId)[1];
+    }
+
+    // =====================================================================
+    // 查询
+    // =====================================================================
+
+    /** 所有大小写/别名变体中的最大等级（不考虑禁用/暂停） */
+    public int getLevel(String upgradeId) {
+        return get(levels, idsOf(upgradeId)[1]);
+    }
+
+    /** 精确键 "upgrade_" + upgradeId 的等级 */
+    public int getExactLevel(String upgradeId) {
+        return get(exactLevels, idsOf(upgradeId)[0]);
+    }
+
+    public boolean isDisabled(String upgradeId) {
+        return test(disabled, idsOf(upgradeId)[1]);
+    }
+
+    public boolean isPaused(String upgradeId) {
+        return test(paused, idsOf(upgradeId)[1]);
+    }
+
+    /** GUI 禁用或暂停（任意变体） */
+    public boolean isBlocked(String upgradeId) {
+        int o = idsOf(upgradeId)[1];
+        return test(disabled, o) || test(paused, o);
+    }
+
+    // =====================================================================
+    // 编译
+    // =====================================================================
+
+    private static MechanicalCoreSnapshot compile(NBTTagCompound nbt) {
+        int[] levels = new int[NEXT_CANON.get()];
+        int[] exact = new int[NEXT_RAW.get()];
+        long[] disabled = new long[0];
+        long[] paused = new long[0];
+        long fp = 0L;
+
+        for (String k : nbt.getKeySet()) {
+            if (k.startsWith(P_UPGRADE)) {
+                int v = nbt.getInteger(k);
+                fp += mix(k, v);
+                if (v == 0) continue;
+                int[] ids = idsOf(k.substring(P_UPGRADE.length()));
+                if (ids[0] >= exact.length) exact = Arrays.copyOf(exact, NEXT_RAW.get());
+                if (ids[1] >= levels.length) levels = Arrays.copyOf(levels, NEXT_CANON.get());
+                exact[ids[0]] = v;
+                if (v > levels[ids[1]]) levels[ids[1]] = v;
+            } else if (k.startsWith(P_DISABLED)) {
+                if (!nbt.getBoolean(k)) continue;
+                fp += mix(k, 1);
+                disabled = set(disabled, idsOf(k.substring(P_DISABLED.length()))[1]);
+            } else if (k.startsWith(P_PAUSED)) {
+                if (!nbt.getBoolean(k)) continue;
+                fp += mix(k, 1);
+                paused = set(paused, idsOf(k.substring(P_PAUSED.length()))[1]);
+            }
+        }
+        return new MechanicalCoreSnapshot(levels, exact, disabled, paused, fp);
+    }
+
+    /** 与 compile 相同的指纹，但不分配任何对象 */
+    private static long fingerprintOf(NBTTagCompound nbt) {
+        long fp = 0L;
+        for (String k : nbt.getKeySet()) {
+            if (k.startsWith(P_UPGRADE)) {
+                fp += mix(k, nbt.getInteger(k));
+            } else if (k.startsWith(P_DISABLED) || k.startsWith(P_PAUSED)) {
+                if (nbt.getBoolean(k)) fp += mix(k, 1);
+            }
+        }
+        return fp;
+    }
+
+    /** 与键顺序无关的条目散列（求和合并） */
+    private static long mix(String key, int value) {
+        long h = ((long) key.hashCode() << 32) ^ (value * 0x9E3779B9L);
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        return h;
+    }
+
+    private static int[] idsOf(String rawId) {
+        if (rawId == null) rawId = "";
+        int[] ids = RAW_IDS.get(rawId);
+        if (ids != null) return ids;
+        String canon = ItemMechanicalCoreExtended.canonicalId(rawId);
+        int canonOrdinal = CANON_ORDINALS.computeIfAbsent(canon, c -> NEXT_CANON.getAndIncrement());
+        return RAW_IDS.computeIfAbsent(rawId, r -> new int[]{ NEXT_RAW.getAndIncrement(), canonOrdinal });
+    }
+
+    private static int get(int[] table, int ordinal) {
+        return ordinal < table.length ? table[ordinal] : 0;
+    }
+
+    private static boolean test(long[] bits, int ordinal) {
+        int w = ordinal >>> 6;
+        return w < bits.length && (bits[w] & (1L << ordinal)) != 0;
+    }
+
+    private static long[] set(long[] bits, int ordinal) {
+        int w = ordinal >>> 6;
+        if (w >= bits.length) bits = Arrays.copyOf(bits, w + 1);
+        bits[w] |= 1L << ordinal;
+        return bits;
+    }
+
+    // =====================================================================
+    // 纪元推进
+    // =====================================================================
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) EPOCH.incrementAndGet();
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) EPOCH.incrementAndGet();
+    }
+}
@@ -1,6 +1,7 @@
 package com.moremod.item.battery;
 
 import com.moremod.creativetab.moremodCreativeTab;
+import com.moremod.util.PlayerEquipmentIndex;
 import baubles.api.BaubleType;
 import baubles.api.IBauble;
 import net.minecraft.client.gui.GuiScreen;
@@ -63,6 +64,16 @@ public abstract class ItemBatteryBase extends Item implements IBauble {
         return BaubleType.TRINKET;
     }
 
+    @Override
+    public void onEquipped(ItemStack itemstack, EntityLivingBase player) {
+        PlayerEquipmentIndex.invalidate(player);
+    }
+
+    @Override
+    public void onUnequipped(ItemStack itemstack, EntityLivingBase player) {
+        PlayerEquipmentIndex.invalidate(player);
+    }
+
     @Override
     public void onWornTick(ItemStack stack, EntityLivingBase living) {
         if (!living.world.isRemote && living instanceof EntityPlayer) {
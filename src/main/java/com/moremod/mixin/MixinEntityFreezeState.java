@@ -0,0 +1,31 @@
+package com.moremod.mixin;
+
+import com.moremod.util.EntityFreezeService;
+import com.moremod.mixin.fermiummixins.IEntityDuck;
+import net.minecraft.entity.Entity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+/**
+ * 给所有实体加一个冻结状态字段
+ *
+ * 时停类效果要在每个实体的每次 LivingUpdateEvent 里判断"是否被冻结"，
+ * 挂在实体上之后这个判断就是一次字段读取，不再查 UUID 哈希表。
+ * fermiummixins$ 方法由 FermiumMixins 自己注入，这里不实现。
+ */
+@Mixin(Entity.class)
+public abstract class MixinEntityFreezeState implements IEntityDuck {
+
+    @Unique
+    private EntityFreezeService.FreezeState moremod$freezeState;
+
+    @Override
+    public EntityFreezeService.FreezeState moremod$getFreezeState() {
+        return moremod$freezeState;
+    }
+
+    @Override
+    public void moremod$setFreezeState(EntityFreezeService.FreezeState state) {
+        this.moremod$freezeState = state;
+    }
+}
@@ -1,6 +1,7 @@
 package com.moremod.mixin;
 
 import com.moremod.fabric.data.UpdatedFabricPlayerData;
+import com.moremod.fabric.handler.FabricEventHandler;
 import com.moremod.fabric.system.FabricWeavingSystem;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
@@ -74,7 +75,7 @@ public class MixinOtherworldExperience {
     private NBTTagCompound getOtherworldData(EntityPlayer player) {
         for (ItemStack armor : player.getArmorInventoryList()) {
             if (FabricWeavingSystem.getFabricType(armor) == UpdatedFabricPlayerData.FabricType.OTHERWORLD) {
-                return FabricWeavingSystem.getFabricData(armor);
+                return FabricEventHandler.getLiveFabricData(player, armor);
             }
         }
         NBTTagCompound defaultData = new NBTTagCompound();
@@ -1,6 +1,7 @@
 package com.moremod.mixin;
 
 import com.moremod.fabric.data.UpdatedFabricPlayerData;
+import com.moremod.fabric.handler.FabricEventHandler;
 import com.moremod.fabric.system.FabricWeavingSystem;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
@@ -83,7 +84,7 @@ public abstract class MixinOtherworldFortune {
     private NBTTagCompound getOtherworldData(EntityPlayer player) {
         for (ItemStack armor : player.getArmorInventoryList()) {
             if (FabricWeavingSystem.getFabricType(armor) == UpdatedFabricPlayerData.FabricType.OTHERWORLD) {
-                return FabricWeavingSystem.getFabricData(armor);
+                return FabricEventHandler.getLiveFabricData(player, armor);
             }
         }
         NBTTagCompound defaultData = new NBTTagCompound();
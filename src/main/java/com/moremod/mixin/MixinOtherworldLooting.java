@@ -1,6 +1,7 @@
 package com.moremod.mixin;
 
 import com.moremod.fabric.data.UpdatedFabricPlayerData;
+import com.moremod.fabric.handler.FabricEventHandler;
 import com.moremod.fabric.system.FabricWeavingSystem;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.EntityLivingBase;
@@ -44,7 +45,7 @@ public class MixinOtherworldLooting {
 
                 for (ItemStack armor : player.getArmorInventoryList()) {
                     if (FabricWeavingSystem.getFabricType(armor) == UpdatedFabricPlayerData.FabricType.OTHERWORLD) {
-                        NBTTagCompound fabricData = FabricWeavingSystem.getFabricData(armor);
+                        NBTTagCompound fabricData = FabricEventHandler.getLiveFabricData(player, armor);
                         totalInsight += fabricData.getInteger("Insight");
                         totalSanity += fabricData.getInteger("Sanity");
                     }
@@ -1,6 +1,7 @@
 package com.moremod.mixin;
 
 import com.moremod.fabric.data.UpdatedFabricPlayerData;
+import com.moremod.fabric.handler.FabricEventHandler;
 import com.moremod.fabric.system.FabricWeavingSystem;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
@@ -39,7 +40,7 @@ public class MixinOtherworldVisuals {
 
             for (ItemStack armor : player.getArmorInventoryList()) {
                 if (FabricWeavingSystem.getFabricType(armor) == UpdatedFabricPlayerData.FabricType.OTHERWORLD) {
-                    otherworldData = FabricWeavingSystem.getFabricData(armor);
+                    otherworldData = FabricEventHandler.getLiveFabricData(player, armor);
                     targetArmor = armor;
                     break;
                 }
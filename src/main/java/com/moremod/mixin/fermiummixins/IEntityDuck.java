@@ -1,10 +1,19 @@
 package com.moremod.mixin.fermiummixins;
 
+import com.moremod.util.EntityFreezeService;
+
 /**
  * Duck interface 匹配 FermiumMixins 的 IEntity 接口
  * 用于覆盖假玩家的 fake entity 检测
+ *
+ * moremod$ 前缀的方法由 MixinEntityFreezeState 注入到所有 Entity，
+ * 让冻结状态直接挂在实体字段上（见 {@link EntityFreezeService}）。
+ * fermiummixins$ 方法只有安装了 FermiumMixins（或在 FakePlayer 上）才有实现，只在这些场合调用。
  */
 public interface IEntityDuck {
     void fermiummixins$setFakeEntity(boolean val);
     boolean fermiummixins$isFakeEntity();
+
+    EntityFreezeService.FreezeState moremod$getFreezeState();
+    void moremod$setFreezeState(EntityFreezeService.FreezeState state);
 }
@@ -4,6 +4,7 @@ import com.moremod.item.ItemMechanicalCore;
 import com.moremod.item.ItemMechanicalCoreExtended;
 import com.moremod.module.ModuleAutoRegistry;
 import com.moremod.module.ModuleDefinition;
+import com.moremod.util.PlayerEquipmentIndex;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.ai.attributes.AttributeModifier;
@@ -57,9 +58,6 @@ public class AutoEffectHandler {
     // 在 tick 中计算一次，其他事件复用，避免重复 isUpgradeActive/getUpgradeLevel 调用
     private static final Map<UUID, Map<String, Integer>> activeModulesCache = new ConcurrentHashMap<>();
 
-    // 【优化】玩家装备的核心缓存 (在同一 tick 周期内复用)
-    private static final Map<UUID, ItemStack> coreStackCache = new ConcurrentHashMap<>();
-
     // 缓存过期时间 (tick)
     private static final Map<UUID, Long> cacheExpireTime = new ConcurrentHashMap<>();
 
@@ -93,30 +91,12 @@ public class AutoEffectHandler {
         return null;
     }
 
-    /**
-     * 【优化】获取缓存的核心物品
-     */
-    private static ItemStack getCachedCoreStack(EntityPlayer player) {
-        UUID uuid = player.getUniqueID();
-        Long expireTime = cacheExpireTime.get(uuid);
-        if (expireTime != null && player.world.getTotalWorldTime() <= expireTime) {
-            ItemStack cached = coreStackCache.get(uuid);
-            if (cached != null) return cached;
-        }
-        // 缓存过期或不存在，重新获取
-        ItemStack coreStack = ItemMechanicalCore.findEquippedMechanicalCore(player);
-        coreStackCache.put(uuid, coreStack);
-        cacheExpireTime.put(uuid, player.world.getTotalWorldTime());
-        return coreStack;
-    }
-
     /**
      * 【优化】更新玩家活跃模块缓存
      */
-    private static void updateActiveModulesCache(EntityPlayer player, ItemStack coreStack, Map<String, Integer> modules) {
+    private static void updateActiveModulesCache(EntityPlayer player, Map<String, Integer> modules) {
         UUID uuid = player.getUniqueID();
         activeModulesCache.put(uuid, modules);
-        coreStackCache.put(uuid, coreStack);
         // 缓存有效期1 tick
         cacheExpireTime.put(uuid, player.world.getTotalWorldTime());
     }
@@ -129,13 +109,12 @@ public class AutoEffectHandler {
         if (event.player.world.isRemote) return;
 
         EntityPlayer player = event.player;
-        ItemStack coreStack = ItemMechanicalCore.findEquippedMechanicalCore(player);
+        ItemStack coreStack = PlayerEquipmentIndex.getCore(player);
 
         if (coreStack.isEmpty()) {
             handleCoreRemoved(player);
             // 清除缓存
             activeModulesCache.remove(player.getUniqueID());
-            coreStackCache.remove(player.getUniqueID());
             return;
         }
 
@@ -202,7 +181,7 @@ public class AutoEffectHandler {
         }
 
         // 【优化】更新活跃模块缓存
-        updateActiveModulesCache(player, coreStack, activeLevelCache);
+        updateActiveModulesCache(player, activeLevelCache);
 
         // 更新激活状态
         currentActive.clear();
@@ -299,7 +278,7 @@ public class AutoEffectHandler {
         if (sourceEntity instanceof EntityPlayer) {
             EntityPlayer player = (EntityPlayer) sourceEntity;
             // 【优化】尝试使用缓存
-            ItemStack coreStack = getCachedCoreStack(player);
+            ItemStack coreStack = PlayerEquipmentIndex.getCore(player);
             if (!coreStack.isEmpty() && event.getEntityLiving() != null) {
                 float damage = event.getAmount();
                 Map<String, Integer> cachedModules = getCachedActiveModules(player);
@@ -312,7 +291,7 @@ public class AutoEffectHandler {
         if (event.getEntityLiving() instanceof EntityPlayer) {
             EntityPlayer player = (EntityPlayer) event.getEntityLiving();
             // 【优化】尝试使用缓存
-            ItemStack coreStack = getCachedCoreStack(player);
+            ItemStack coreStack = PlayerEquipmentIndex.getCore(player);
             if (!coreStack.isEmpty()) {
                 float damage = event.getAmount();
                 Map<String, Integer> cachedModules = getCachedActiveModules(player);
@@ -443,7 +422,7 @@ public class AutoEffectHandler {
         EntityPlayer player = (EntityPlayer) event.getEntityLiving();
 
         // 【优化】尝试使用缓存
-        ItemStack coreStack = getCachedCoreStack(player);
+        ItemStack coreStack = PlayerEquipmentIndex.getCore(player);
         if (coreStack.isEmpty()) return;
 
         Map<String, Integer> cachedModules = getCachedActiveModules(player);
@@ -479,7 +458,7 @@ public class AutoEffectHandler {
         EntityPlayer player = (EntityPlayer) killer;
 
         // 【优化】尝试使用缓存
-        ItemStack coreStack = getCachedCoreStack(player);
+        ItemStack coreStack = PlayerEquipmentIndex.getCore(player);
         if (coreStack.isEmpty()) return;
 
         EntityLivingBase target = event.getEntityLiving();
@@ -534,7 +513,7 @@ public class AutoEffectHandler {
         if (player == null || player.world.isRemote) return;
 
         // 【优化】尝试使用缓存
-        ItemStack coreStack = getCachedCoreStack(player);
+        ItemStack coreStack = PlayerEquipmentIndex.getCore(player);
         if (coreStack.isEmpty()) return;
 
         Map<String, Integer> cachedModules = getCachedActiveModules(player);
@@ -565,7 +544,7 @@ public class AutoEffectHandler {
 
     private static void processInteractEvent(EntityPlayer player, InteractCallback callback) {
         // 【优化】尝试使用缓存
-        ItemStack coreStack = getCachedCoreStack(player);
+        ItemStack coreStack = PlayerEquipmentIndex.getCore(player);
         if (coreStack.isEmpty()) return;
 
         Map<String, Integer> cachedModules = getCachedActiveModules(player);
@@ -718,7 +697,6 @@ public class AutoEffectHandler {
         activeModules.remove(uuid);
         // 【优化】清除缓存
         activeModulesCache.remove(uuid);
-        coreStackCache.remove(uuid);
         cacheExpireTime.remove(uuid);
         EventContext.clearPlayerCooldowns(uuid);
     }
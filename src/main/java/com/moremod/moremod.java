@@ -12,6 +12,12 @@ import com.moremod.client.gui.SmartRejectionGuide;
 import com.moremod.commands.CommandLootDebug;
 import com.moremod.commands.CommandResetEquipTime;
 import com.moremod.commands.CommandHumanity;
+import com.moremod.commands.CommandModProfiler;
+import com.moremod.multiblock.MultiblockRegistry;
+import com.moremod.upgrades.auxiliary.OreVisionScanner;
+import com.moremod.util.BlockChangeDispatcher;
+import com.moremod.util.ModProfiler;
+import com.moremod.util.ServerTimers;
 import com.moremod.compat.PotionCoreCompatEnhanced;
 import com.moremod.config.*;
 import com.moremod.dimension.PersonalDimensionManager;
@@ -32,6 +38,7 @@ import com.moremod.client.render.RenderSwordBeam;
 import com.moremod.event.*;
 import com.moremod.event.eventHandler.*;
 import com.moremod.client.gui.GuiHandler;
+import com.moremod.fabric.handler.FabricEventHandler;
 import com.moremod.fabric.handler.SpatialFabricFirstAidHandler;
 import com.moremod.fabric.sanity.CompleteSanitySystem;
 import com.moremod.init.GemSystemInit;
@@ -241,6 +248,11 @@ public class moremod {
         UnlockableSlotsInit.preInit(event);
         AutoAttackCapabilityHandler.registerCapability();
         ChengYueCapabilityHandler.register();
+        FabricStateCapability.register();
+
+        // 方块变化订阅（矿物透视与多方块结构共用每个世界的一个监听器）
+        BlockChangeDispatcher.subscribe(MultiblockRegistry.BLOCK_CHANGES);
+        BlockChangeDispatcher.subscribe(OreVisionScanner.BLOCK_CHANGES);
 
         // 2. 注册澄月的事件处理器
         MinecraftForge.EVENT_BUS.register(new ChengYueCapabilityHandler());
@@ -776,6 +788,8 @@ public class moremod {
             System.err.println("[moremod] ⚠️ Synergy 系统初始化失败（不影响主体功能）: " + e.getMessage());
         }
 
+        registerPlayerTickTasks();
+
         System.out.println("[moremod] ========== 后初始化完成 ==========\n");
     }
 
@@ -801,6 +815,10 @@ public class moremod {
         event.registerServerCommand(new CommandLootDebug());
         event.registerServerCommand(new CommandResetEquipTime());
         event.registerServerCommand(new CommandHumanity());
+        event.registerServerCommand(new CommandModProfiler());
+
+        // 丢弃上一个存档（单人游戏重进世界时）残留的延迟任务
+        ServerTimers.clear();
 
         ModConfig.updateEnergyBalanceConfig();
         System.out.println("[moremod] ✅ 服务器配置已加载");
@@ -818,6 +836,8 @@ public class moremod {
     public void serverStopping(FMLServerStoppingEvent event) {
         System.out.println("[moremod] ========== 服务器停止中 ==========");
 
+        ModProfiler.disable();
+
         PersonalDimensionManager.savePlayerSpaces();
         System.out.println("[moremod] ✅ 私人维度数据已保存");
         PersonalDimensionManager.reset();
@@ -900,6 +920,17 @@ public class moremod {
         }
     }
 
+    /**
+     * 注册玩家周期任务（PlayerTickScheduler 的唯一注册点）
+     * 只在模组初始化时调用一次，注册顺序即同一 tick 内的派发顺序；任务跨服务器重启保留
+     */
+    private void registerPlayerTickTasks() {
+        ServerTickHandler.registerTasks();
+        FabricEventHandler.registerTasks();
+        com.moremod.synergy.SynergyBootstrap.registerTasks();
+        System.out.println("[moremod] ⏱️ 玩家周期任务注册完成");
+    }
+
     /**
      * 注册通用事件处理器
      */
@@ -924,7 +955,6 @@ public class moremod {
 
         // 3. 时光之心系统
         MinecraftForge.EVENT_BUS.register(PlayerTimeDataCapability.class);
-        MinecraftForge.EVENT_BUS.register(ServerTickHandler.class);
         System.out.println("[moremod] 🕰️ 时光之心系统注册成功");
 
 
@@ -18,6 +18,9 @@ import net.minecraft.world.World;
  */
 public class MultiblockOilExtractor {
 
+    /** 结构占用范围（3x3x4），供 MultiblockRegistry 监视方块变化 */
+    public static final MultiblockRegistry.Footprint FOOTPRINT = MultiblockRegistry.Footprint.around(1, 0, 3);
+
     public static boolean checkStructure(World world, BlockPos corePos) {
         // 第0層 - 地基
         if (!checkBaseLayer(world, corePos)) return false;
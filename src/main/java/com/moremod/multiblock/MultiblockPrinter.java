@@ -22,6 +22,9 @@ import net.minecraft.world.World;
  */
 public class MultiblockPrinter {
 
+    /** 结构占用范围（3x3，核心层 + 上方一层），供 MultiblockRegistry 监视方块变化 */
+    public static final MultiblockRegistry.Footprint FOOTPRINT = MultiblockRegistry.Footprint.around(1, 0, 1);
+
     /**
      * 检查多方块结构是否完整
      * @param world 世界
@@ -0,0 +1,224 @@
+package com.moremod.multiblock;
+
+import com.google.common.collect.MapMaker;
+import com.moremod.config.PerformanceConfig;
+import com.moremod.util.BlockChangeDispatcher;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * 多方块结构监视注册表
+ *
+ * 控制器（核心 TileEntity）声明一次结构占用的范围和检查函数，得到一个 {@link Watch}。
+ * Watch 缓存上一次的检查结果，只有以下情况才重新检查：
+ *  - 占用范围内有方块变化（经 {@link BlockChangeDispatcher} 转发的 notifyBlockUpdate）
+ *  - 范围所在区块被加载 / 客户端收到整区块数据
+ *  - 结构中的 TileEntity 主动调用 {@link #notifyChanged}（例如只改了 TE 内部朝向）
+ *  - 兜底间隔到期（见 performance.cfg 的 multiblock.fallbackRecheckTicks，覆盖不触发通知的写入）
+ *
+ * 空闲的机器每 tick 只读一个布尔标记，不再读取任何方块状态。
+ */
+@Mod.EventBusSubscriber(modid = "moremod")
+public final class MultiblockRegistry {
+
+    private MultiblockRegistry() {}
+
+    /** 每个世界：区块坐标 → 覆盖该区块的 Watch */
+    private static final Map<World, Map<Long, List<Watch<?>>>> WATCHES =
+            new MapMaker().weakKeys().concurrencyLevel(2).makeMap();
+
+    /** 结构检查函数 */
+    public interface Evaluator<T> {
+        T evaluate(World world, BlockPos corePos);
+    }
+
+    /**
+     * 结构占用范围（相对核心的包围盒，含端点）
+     */
+    public static final class Footprint {
+        final int minX, minY, minZ, maxX, maxY, maxZ;
+
+        private Footprint(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.maxZ = maxZ;
+        }
+
+        public static Footprint box(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            return new Footprint(minX, minY, minZ, maxX, maxY, maxZ);
+        }
+
+        /** 水平方向 ±radius，竖直方向 [minY, maxY] */
+        public static Footprint around(int radius, int minY, int maxY) {
+            return new Footprint(-radius, minY, -radius, radius, maxY, radius);
+        }
+    }
+
+    /**
+     * 单个控制器的结构监视，缓存检查结果
+     */
+    public static final class Watch<T> {
+        private final World world;
+        private final BlockPos corePos;
+        private final Evaluator<T> evaluator;
+        private final int minX, minY, minZ, maxX, maxY, maxZ;
+
+        private boolean dirty = true;
+        private boolean removed = false;
+        private long lastEvaluated;
+        private T value;
+
+        private Watch(World world, BlockPos corePos, Footprint fp, Evaluator<T> evaluator) {
+            this.world = world;
+            this.corePos = corePos.toImmutable();
+            this.evaluator = evaluator;
+            this.minX = corePos.getX() + fp.minX;
+            this.minY = corePos.getY() + fp.minY;
+            this.minZ = corePos.getZ() + fp.minZ;
+            this.maxX = corePos.getX() + fp.maxX;
+            this.maxY = corePos.getY() + fp.maxY;
+            this.maxZ = corePos.getZ() + fp.maxZ;
+        }
+
+        /**
+         * 当前结构状态；只有范围内发生变化后才会真正重新检查
+         */
+        public T get() {
+            long now = world.getTotalWorldTime();
+            int fallback = PerformanceConfig.multiblock.fallbackRecheckTicks;
+            if (dirty || (fallback > 0 && now - lastEvaluated >= fallback)) {
+                dirty = false;
+                lastEvaluated = now;
+                value = evaluator.evaluate(world, corePos);
+            }
+            return value;
+        }
+
+        /** 下次 get() 时强制重新检查 */
+        public void invalidate() {
+            dirty = true;
+        }
+
+        /** 控制器失效/区块卸载时调用 */
+        public void remove() {
+            if (removed) return;
+            removed = true;
+            Map<Long, List<Watch<?>>> byChunk = WATCHES.get(world);
+            if (byChunk == null) return;
+            forEachChunk(this, key -> {
+                List<Watch<?>> list = byChunk.get(key);
+                if (list != null) {
+                    list.remove(this);
+                    if (list.isEmpty()) byChunk.remove(key);
+                }
+            });
+        }
+
+        public boolean isFor(World world, BlockPos pos) {
+            return !removed && this.world == world && corePos.equals(pos);
+        }
+
+        boolean contains(int x, int y, int z) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+        }
+    }
+
+    // ==================== 注册 ====================
+
+    /**
+     * 为控制器创建结构监视（首次 get() 时检查一次）
+     */
+    public static <T> Watch<T> watch(World world, BlockPos corePos, Footprint footprint, Evaluator<T> evaluator) {
+        Watch<T> watch = new Watch<>(world, corePos, footprint, evaluator);
+        Map<Long, List<Watch<?>>> byChunk = WATCHES.computeIfAbsent(world, w -> new HashMap<>());
+        forEachChunk(watch, key -> byChunk.computeIfAbsent(key, k -> new ArrayList<>(1)).add(watch));
+        return watch;
+    }
+
+    /**
+     * 复用已有监视：已存在且属于同一位置时直接返回，否则移除旧的并重新注册
+     */
+    public static <T> Watch<T> ensure(@Nullable Watch<T> existing, World world, BlockPos corePos,
+                                      Footprint footprint, Evaluator<T> evaluator) {
+        if (existing != null && existing.isFor(world, corePos)) return existing;
+        if (existing != null) existing.remove();
+        return watch(world, corePos, footprint, evaluator);
+    }
+
+    /**
+     * 结构中的某个位置发生了不会触发方块更新的变化（例如 TileEntity 内部状态）
+     */
+    public static void notifyChanged(World world, BlockPos pos) {
+        onBlockChanged(world, pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    private static void forEachChunk(Watch<?> w, LongConsumer action) {
+        for (int cx = w.minX >> 4; cx <= w.maxX >> 4; cx++) {
+            for (int cz = w.minZ >> 4; cz <= w.maxZ >> 4; cz++) {
+                action.accept(ChunkPos.asLong(cx, cz));
+            }
+        }
+    }
+
+    // ==================== 失效 ====================
+
+    private static void onBlockChanged(World world, int x, int y, int z) {
+        Map<Long, List<Watch<?>>> byChunk = WATCHES.get(world);
+        if (byChunk == null) return;
+        List<Watch<?>> list = byChunk.get(ChunkPos.asLong(x >> 4, z >> 4));
+        if (list == null) return;
+        for (int i = 0; i < list.size(); i++) {
+            Watch<?> w = list.get(i);
+            if (w.contains(x, y, z)) w.dirty = true;
+        }
+    }
+
+    private static void onChunkRefreshed(World world, int cx, int cz) {
+        Map<Long, List<Watch<?>>> byChunk = WATCHES.get(world);
+        if (byChunk == null) return;
+        List<Watch<?>> list = byChunk.get(ChunkPos.asLong(cx, cz));
+        if (list == null) return;
+        for (int i = 0; i < list.size(); i++) list.get(i).dirty = true;
+    }
+
+    /** 方块变化订阅（在模组初始化时注册到 {@link BlockChangeDispatcher}） */
+    public static final BlockChangeDispatcher.Subscriber BLOCK_CHANGES = new BlockChangeDispatcher.Subscriber() {
+        @Override
+        public void onBlockChanged(World world, BlockPos pos, IBlockState oldState, IBlockState newState) {
+            MultiblockRegistry.onBlockChanged(world, pos.getX(), pos.getY(), pos.getZ());
+        }
+
+        @Override
+        public void onChunkRefreshed(World world, int cx, int cz) {
+            MultiblockRegistry.onChunkRefreshed(world, cx, cz);
+        }
+    };
+
+    // ==================== 事件 ====================
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        WATCHES.remove(event.getWorld());
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        onChunkRefreshed(event.getWorld(), event.getChunk().x, event.getChunk().z);
+    }
+}
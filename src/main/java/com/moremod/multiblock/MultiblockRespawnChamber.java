@@ -28,6 +28,9 @@ import net.minecraft.world.World;
  */
 public class MultiblockRespawnChamber {
 
+    /** 结构占用范围（3x3x3），供 MultiblockRegistry 监视方块变化 */
+    public static final MultiblockRegistry.Footprint FOOTPRINT = MultiblockRegistry.Footprint.around(1, 0, 2);
+
     /**
      * 檢查多方塊結構是否完整
      * @param world 世界
@@ -20,6 +20,9 @@ import net.minecraft.world.World;
  */
 public class MultiblockUpgradeChamber {
 
+    /** 结构占用范围（3x3x4），供 MultiblockRegistry 监视方块变化 */
+    public static final MultiblockRegistry.Footprint FOOTPRINT = MultiblockRegistry.Footprint.around(1, 0, 3);
+
     public static boolean checkStructure(World world, BlockPos corePos) {
         // 第0層 - 地板
         if (!checkFloorLayer(world, corePos)) return false;
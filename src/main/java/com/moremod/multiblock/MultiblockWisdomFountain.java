@@ -8,6 +8,9 @@ import net.minecraft.world.World;
 
 public class MultiblockWisdomFountain {
 
+    /** 结构占用范围（7x7 石英边框（含下方凹槽）+ 3 层核心 + 顶部水源），供 MultiblockRegistry 监视方块变化 */
+    public static final MultiblockRegistry.Footprint FOOTPRINT = MultiblockRegistry.Footprint.around(3, -1, 3);
+
     public static boolean checkStructure(World world, BlockPos centerPos) {
         // 检查核心3x3x3结构
         if (!checkCoreStructure(world, centerPos)) return false;
@@ -0,0 +1,59 @@
+package com.moremod.network;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * 增量同步包共用的编码工具
+ *
+ * 增量包的格式统一为：变化字段的位掩码 + 按位顺序排列的字段值。
+ * 整数字段用无符号变长编码（7 位一组，小数值只占 1~2 字节），float 字段原样写 4 字节。
+ */
+public final class DeltaCodec {
+
+    private DeltaCodec() {}
+
+    public static void writeVarLong(ByteBuf buf, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buf.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf.writeByte((int) value);
+    }
+
+    public static long readVarLong(ByteBuf buf) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buf.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0 && shift < 64);
+        return value;
+    }
+
+    /**
+     * 写出掩码中各字段；floatFields 中的位以 float 编码，其余以变长整数编码
+     */
+    public static void writeFields(ByteBuf buf, int mask, int floatFields, long[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if ((mask & (1 << i)) == 0) continue;
+            if ((floatFields & (1 << i)) != 0) {
+                buf.writeFloat(Float.intBitsToFloat((int) values[i]));
+            } else {
+                writeVarLong(buf, values[i]);
+            }
+        }
+    }
+
+    public static void readFields(ByteBuf buf, int mask, int floatFields, long[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if ((mask & (1 << i)) == 0) continue;
+            if ((floatFields & (1 << i)) != 0) {
+                values[i] = Float.floatToIntBits(buf.readFloat());
+            } else {
+                values[i] = readVarLong(buf);
+            }
+        }
+    }
+}
@@ -26,27 +26,32 @@ public class ExtendedModeHandler implements IMessageHandler<MessageToggleJetpack
     public IMessage onMessage(MessageToggleJetpackMode msg, MessageContext ctx) {
         EntityPlayerMP player = ctx.getServerHandler().player;
 
-        player.getServerWorld().addScheduledTask(() -> {
-            // 先检查是否是机械核心的特殊模式值
-            if (msg.toggleMode >= 3) {
-                handleMechanicalCoreMode(player, msg.toggleMode);
-                return;
-            }
-
-            // 否则按原逻辑处理喷气背包
-            handleJetpackMode(player, msg);
-        });
+        player.getServerWorld().addScheduledTask(() -> handleMode(player, msg.toggleMode));
 
         return null;
     }
 
+    /**
+     * 按模式值分发（主线程调用；输入帧 {@link MessageClientInputFrame} 也走这里）
+     */
+    public static void handleMode(EntityPlayerMP player, int mode) {
+        // 先检查是否是机械核心的特殊模式值
+        if (mode >= 3) {
+            handleMechanicalCoreMode(player, mode);
+            return;
+        }
+
+        // 否则按原逻辑处理喷气背包
+        handleJetpackMode(player, mode);
+    }
+
     /**
      * 处理机械核心的模式切换
      * 3 = 机械核心飞行开关
      * 4 = 机械核心悬停模式
      * 5 = 机械核心速度模式（3级飞行）
      */
-    private void handleMechanicalCoreMode(EntityPlayerMP player, int mode) {
+    private static void handleMechanicalCoreMode(EntityPlayerMP player, int mode) {
         // 查找装备的机械核心
         for (int i = 0; i < BaublesApi.getBaublesHandler(player).getSlots(); i++) {
             ItemStack stack = BaublesApi.getBaublesHandler(player).getStackInSlot(i);
@@ -175,7 +180,7 @@ public class ExtendedModeHandler implements IMessageHandler<MessageToggleJetpack
     /**
      * 处理普通喷气背包（复制原逻辑）
      */
-    private void handleJetpackMode(EntityPlayerMP player, MessageToggleJetpackMode msg) {
+    private static void handleJetpackMode(EntityPlayerMP player, int mode) {
         for (int i = 0; i < BaublesApi.getBaublesHandler(player).getSlots(); i++) {
             ItemStack stack = BaublesApi.getBaublesHandler(player).getStackInSlot(i);
 
@@ -224,13 +229,13 @@ public class ExtendedModeHandler implements IMessageHandler<MessageToggleJetpack
                     }
                 }
 
-                if (msg.toggleMode == 1) { // 喷气背包开关
+                if (mode == 1) { // 喷气背包开关
                     boolean current = tag.getBoolean("JetpackEnabled");
                     tag.setBoolean("JetpackEnabled", !current);
                     player.sendMessage(new TextComponentString(
                             "Jetpack: " + (!current ? "ON" : "OFF")));
 
-                } else if (msg.toggleMode == 0) { // 悬停模式
+                } else if (mode == 0) { // 悬停模式
                     if (!canHover) {
                         // T1喷气背包不能悬停
                         player.sendMessage(new TextComponentString(
@@ -247,7 +252,7 @@ public class ExtendedModeHandler implements IMessageHandler<MessageToggleJetpack
                     player.sendMessage(new TextComponentString(
                             "Hover: " + (!current ? "ON" : "OFF")));
 
-                } else if (msg.toggleMode == 2) { // 速度模式切换
+                } else if (mode == 2) { // 速度模式切换
                     if (!canChangeSpeed) {
                         // 只有T3能切换速度
                         player.sendMessage(new TextComponentString(
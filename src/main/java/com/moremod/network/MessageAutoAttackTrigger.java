@@ -72,46 +72,51 @@ public class MessageAutoAttackTrigger implements IMessage {
         public IMessage onMessage(final MessageAutoAttackTrigger message, MessageContext ctx) {
             final EntityPlayerMP player = ctx.getServerHandler().player;
             
-            player.getServer().addScheduledTask(() -> {
-                // 处理攻击
-                if (message.targetEntityId != -1) {
-                    Entity target = player.world.getEntityByID(message.targetEntityId);
-                    
-                    // 验证目标有效性
-                    if (target != null && !target.isDead && target.canBeAttackedWithItem()) {
-                        // 距离检查
-                        double distance = player.getDistance(target);
-                        if (distance <= MAX_ATTACK_DISTANCE) {
-                            // 检查武器
-                            ItemStack weapon = player.getHeldItemMainhand();
-                            if (!weapon.isEmpty() && weapon.getItem() instanceof ItemSword) {
-                                if (hasAutoAttackAffix(weapon)) {
-                                    // 执行攻击
-                                    performAttack(player, target, weapon);
-                                }
+            player.getServer().addScheduledTask(() -> process(player, message.isAttacking, message.targetEntityId));
+            
+            return null;
+        }
+        
+        /**
+         * 处理一次自动攻击输入（主线程调用；输入帧 {@link MessageClientInputFrame} 也走这里）
+         */
+        public static void process(EntityPlayerMP player, boolean isAttacking, int targetEntityId) {
+            // 处理攻击
+            if (targetEntityId != -1) {
+                Entity target = player.world.getEntityByID(targetEntityId);
+                
+                // 验证目标有效性
+                if (target != null && !target.isDead && target.canBeAttackedWithItem()) {
+                    // 距离检查
+                    double distance = player.getDistance(target);
+                    if (distance <= MAX_ATTACK_DISTANCE) {
+                        // 检查武器
+                        ItemStack weapon = player.getHeldItemMainhand();
+                        if (!weapon.isEmpty() && weapon.getItem() instanceof ItemSword) {
+                            if (hasAutoAttackAffix(weapon)) {
+                                // 执行攻击
+                                performAttack(player, target, weapon);
                             }
                         }
                     }
                 }
+            }
+            
+            // 更新Capability状态
+            IAutoAttackCombo cap = player.getCapability(AutoAttackComboProvider.AUTO_ATTACK_CAP, null);
+            if (cap != null) {
+                cap.setAutoAttacking(isAttacking);
                 
-                // 更新Capability状态
-                IAutoAttackCombo cap = player.getCapability(AutoAttackComboProvider.AUTO_ATTACK_CAP, null);
-                if (cap != null) {
-                    cap.setAutoAttacking(message.isAttacking);
-                    
-                    if (!message.isAttacking) {
-                        cap.setComboTime(20);
-                    }
+                if (!isAttacking) {
+                    cap.setComboTime(20);
                 }
-            });
-            
-            return null;
+            }
         }
         
         /**
          * 对任意实体执行攻击
          */
-        private void performAttack(EntityPlayerMP player, Entity target, ItemStack weapon) {
+        private static void performAttack(EntityPlayerMP player, Entity target, ItemStack weapon) {
             // 计算基础伤害
             float damage = (float) player.getEntityAttribute(
                 SharedMonsterAttributes.ATTACK_DAMAGE).getAttributeValue();
@@ -189,7 +194,7 @@ public class MessageAutoAttackTrigger implements IMessage {
             }
         }
         
-        private boolean hasAutoAttackAffix(ItemStack weapon) {
+        private static boolean hasAutoAttackAffix(ItemStack weapon) {
             if (!GemSocketHelper.hasSocketedGems(weapon)) {
                 return false;
             }
@@ -0,0 +1,126 @@
+package com.moremod.network;
+
+import com.moremod.event.eventHandler.EventHandlerJetpack;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 客户端输入帧 (客户端 -> 服务端)
+ *
+ * 每个客户端 tick 最多一个包，合并喷气背包/机械核心/自动攻击的全部输入：
+ *  - 持续状态位（跳跃、潜行、自动攻击按住），只在变化时发送
+ *  - 单次事件位（模式切换、一次自动攻击及其目标）
+ *  - 16 位序号，服务端丢弃过期帧，所有输入按同一顺序处理
+ *
+ * 服务端解码后交给原有处理逻辑（{@link ExtendedModeHandler#handleMode}、
+ * {@link MessageAutoAttackTrigger.Handler#process}）。
+ */
+public class MessageClientInputFrame implements IMessage {
+
+    // ===== 持续状态位 =====
+    public static final int JUMP = 1;
+    public static final int SNEAK = 1 << 1;
+    public static final int AUTO_ATTACK = 1 << 2;
+    public static final int HELD_MASK = JUMP | SNEAK | AUTO_ATTACK;
+
+    // ===== 单次事件位 =====
+    /** 模式切换：第 3 + mode 位（mode 同 {@link MessageToggleJetpackMode#toggleMode}，0~5） */
+    public static final int TOGGLE_SHIFT = 3;
+    public static final int TOGGLE_MODES = 6;
+    /** 一次自动攻击，附带目标实体 ID */
+    public static final int ATTACK_SWING = 1 << (TOGGLE_SHIFT + TOGGLE_MODES);
+
+    /** 服务端：玩家 → {上一帧序号, 上一帧持续状态} */
+    private static final Map<UUID, int[]> LAST_FRAME = new ConcurrentHashMap<>();
+
+    private int sequence;
+    private int flags;
+    private int attackTarget = -1;
+
+    public MessageClientInputFrame() {}
+
+    public MessageClientInputFrame(int sequence, int flags, int attackTarget) {
+        this.sequence = sequence & 0xFFFF;
+        this.flags = flags;
+        this.attackTarget = attackTarget;
+    }
+
+    public static int toggleBit(int mode) {
+        return 1 << (TOGGLE_SHIFT + mode);
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        sequence = buf.readUnsignedShort();
+        flags = (int) DeltaCodec.readVarLong(buf);
+        if ((flags & ATTACK_SWING) != 0) {
+            attackTarget = (int) DeltaCodec.readVarLong(buf) - 1;
+        }
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        buf.writeShort(sequence);
+        DeltaCodec.writeVarLong(buf, flags);
+        if ((flags & ATTACK_SWING) != 0) {
+            DeltaCodec.writeVarLong(buf, attackTarget + 1L);
+        }
+    }
+
+    /** 玩家退出时清理 */
+    public static void cleanupPlayer(UUID playerId) {
+        LAST_FRAME.remove(playerId);
+    }
+
+    public static class Handler implements IMessageHandler<MessageClientInputFrame, IMessage> {
+        @Override
+        public IMessage onMessage(MessageClientInputFrame message, MessageContext ctx) {
+            EntityPlayerMP player = ctx.getServerHandler().player;
+            if (player == null) return null;
+
+            player.getServerWorld().addScheduledTask(() -> apply(player, message));
+            return null;
+        }
+
+        private static void apply(EntityPlayerMP player, MessageClientInputFrame message) {
+            UUID uuid = player.getUniqueID();
+            int[] last = LAST_FRAME.get(uuid);
+
+            // 16 位序号回绕比较：不比上一帧新的直接丢弃
+            if (last != null && (short) (message.sequence - last[0]) <= 0) return;
+
+            int flags = message.flags;
+            int previousHeld = last != null ? last[1] : 0;
+            LAST_FRAME.put(uuid, new int[]{message.sequence, flags & HELD_MASK});
+
+            // 1. 跳跃/潜行（喷气背包与机械核心共用）
+            EventHandlerJetpack.jetpackJumping.put(uuid, (flags & JUMP) != 0);
+            EventHandlerJetpack.jetpackSneaking.put(uuid, (flags & SNEAK) != 0);
+
+            // 2. 模式切换
+            for (int mode = 0; mode < TOGGLE_MODES; mode++) {
+                if ((flags & toggleBit(mode)) != 0) {
+                    ExtendedModeHandler.handleMode(player, mode);
+                }
+            }
+
+            // 3. 自动攻击：先结算本帧攻击，再让能力状态与本帧最终的按住状态一致
+            //    （同一 tick 内按下又松开时帧里只有 ATTACK_SWING，攻击会把状态置为 true，需要再复位）
+            boolean swing = (flags & ATTACK_SWING) != 0;
+            boolean autoAttack = (flags & AUTO_ATTACK) != 0;
+            if (swing) {
+                MessageAutoAttackTrigger.Handler.process(player, true, message.attackTarget);
+            }
+            if (((flags ^ previousHeld) & AUTO_ATTACK) != 0 || (swing && !autoAttack)) {
+                MessageAutoAttackTrigger.Handler.process(player, autoAttack, -1);
+            }
+        }
+    }
+}
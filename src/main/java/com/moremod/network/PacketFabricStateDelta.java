@@ -0,0 +1,69 @@
+package com.moremod.network;
+
+import com.moremod.fabric.handler.FabricEventHandler;
+import com.moremod.fabric.handler.FabricEventHandler.PlayerFabricData;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * 织印状态增量同步包 (服务端 -> 客户端)
+ *
+ * 只携带自上次同步以来变化的字段：一个位掩码 + 按位顺序排列的字段值（编码见 {@link DeltaCodec}）。
+ * 字段编号见 {@link PlayerFabricData#getSyncField(int)}。
+ */
+public class PacketFabricStateDelta implements IMessage {
+
+    private int mask;
+    private final long[] values = new long[PlayerFabricData.SYNC_FIELD_COUNT];
+
+    public PacketFabricStateDelta() {
+    }
+
+    public PacketFabricStateDelta(int mask, PlayerFabricData data) {
+        this.mask = mask;
+        for (int i = 0; i < PlayerFabricData.SYNC_FIELD_COUNT; i++) {
+            if ((mask & (1 << i)) != 0) {
+                values[i] = data.getSyncField(i);
+            }
+        }
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf) {
+        this.mask = buf.readUnsignedShort();
+        DeltaCodec.readFields(buf, mask, PlayerFabricData.SYNC_FLOAT_FIELDS, values);
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf) {
+        buf.writeShort(mask);
+        DeltaCodec.writeFields(buf, mask, PlayerFabricData.SYNC_FLOAT_FIELDS, values);
+    }
+
+    public static class Handler implements IMessageHandler<PacketFabricStateDelta, IMessage> {
+
+        @Override
+        @SideOnly(Side.CLIENT)
+        public IMessage onMessage(PacketFabricStateDelta message, MessageContext ctx) {
+            Minecraft.getMinecraft().addScheduledTask(() -> {
+                EntityPlayer player = Minecraft.getMinecraft().player;
+                if (player == null) return;
+
+                PlayerFabricData data = FabricEventHandler.getPlayerData(player);
+                for (int i = 0; i < PlayerFabricData.SYNC_FIELD_COUNT; i++) {
+                    if ((message.mask & (1 << i)) != 0) {
+                        data.setSyncField(i, message.values[i]);
+                    }
+                }
+                data.stateLoaded = true;
+            });
+            return null;
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.moremod.network;
 
-import com.moremod.client.ClientHandlerPacketSyncRejectionData;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.fml.common.network.simpleimpl.SimpleNetworkWrapper;
 import net.minecraftforge.fml.relauncher.Side;
@@ -217,6 +216,30 @@ public class PacketHandler {
                 Side.SERVER
         );
 
+        // === 织印状态增量同步 (S->C) ===
+        INSTANCE.registerMessage(
+                PacketFabricStateDelta.Handler.class,
+                PacketFabricStateDelta.class,
+                id++,
+                Side.CLIENT
+        );
+
+        // === 血肉排异增量同步 (S->C) ===
+        INSTANCE.registerMessage(
+                PacketSyncRejectionData.Handler.class,
+                PacketSyncRejectionData.class,
+                id++,
+                Side.CLIENT
+        );
+
+        // === 客户端输入帧：跳跃/潜行/模式切换/自动攻击合并 (C->S) ===
+        INSTANCE.registerMessage(
+                MessageClientInputFrame.Handler.class,
+                MessageClientInputFrame.class,
+                id++,
+                Side.SERVER
+        );
+
         System.out.println("[MoreMod] 网络包注册完成，共 " + id + " 个消息类型");
     }
 }
@@ -15,6 +15,7 @@ import net.minecraft.util.SoundCategory;
 
 import com.moremod.item.ItemMechanicalCore;
 import com.moremod.item.ItemMechanicalCoreExtended;
+import com.moremod.item.MechanicalCoreSnapshot;
 import com.moremod.event.EnergyPunishmentSystem;
 import com.moremod.system.ascension.BrokenGodHandler;
 import com.moremod.system.ascension.ShambhalaHandler;
@@ -225,6 +226,8 @@ public class PacketMechanicalCoreUpdate implements IMessage {
                         ", 暂停: " + finalPaused +
                         ", LastLevel: " + finalLastLevel);
 
+                // IsPaused_* 已直接写入 NBT，让本 tick 已校验的快照失效
+                MechanicalCoreSnapshot.markDirty();
                 syncDirty(serverPlayer);
             });
 
@@ -267,6 +270,7 @@ public class PacketMechanicalCoreUpdate implements IMessage {
                     }
                 }
             }
+            MechanicalCoreSnapshot.markDirty();
         }
 
         /**
@@ -404,6 +408,7 @@ public class PacketMechanicalCoreUpdate implements IMessage {
                                 TextFormatting.GRAY + " (还需 " + repairsLeft + " 次, -" + levelCost + " 级)"));
             }
 
+            MechanicalCoreSnapshot.markDirty();
             syncDirty(player);
         }
 
@@ -617,6 +622,7 @@ public class PacketMechanicalCoreUpdate implements IMessage {
                     nbt.setBoolean(K_IS_PAUSED + k, paused);
                 }
             }
+            MechanicalCoreSnapshot.markDirty();
         }
 
         private static int getLevelAcross(ItemStack core, String id) {
@@ -13,30 +13,56 @@ import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+import javax.annotation.Nullable;
+
 /**
- * 人性值数据同步包 (服务端 -> 客户端)
- * Humanity Data Sync Packet (Server -> Client)
+ * 人性值数据增量同步包 (服务端 -> 客户端)
+ * Humanity Data Delta Sync Packet (Server -> Client)
+ *
+ * 只携带自上次同步以来变化的标量字段（位掩码 + 字段值，编码见 {@link DeltaCodec}），
+ * 字段编号见 {@link IHumanityData#getSyncField(int)}。
+ * 档案/情报等集合只在内容变化时附带一份 NBT。
  */
 public class PacketSyncHumanityData implements IMessage {
 
-    private NBTTagCompound data;
+    /** 掩码最高位：附带集合 NBT */
+    private static final int COLLECTIONS_BIT = 1 << 15;
+
+    private int mask;
+    private final long[] values = new long[IHumanityData.SYNC_FIELD_COUNT];
+    @Nullable
+    private NBTTagCompound collections;
 
     public PacketSyncHumanityData() {
-        this.data = new NBTTagCompound();
     }
 
-    public PacketSyncHumanityData(IHumanityData humanityData) {
-        this.data = humanityData.serializeNBT();
+    public PacketSyncHumanityData(int mask, IHumanityData data, @Nullable NBTTagCompound collections) {
+        this.mask = mask;
+        for (int i = 0; i < IHumanityData.SYNC_FIELD_COUNT; i++) {
+            if ((mask & (1 << i)) != 0) {
+                values[i] = data.getSyncField(i);
+            }
+        }
+        this.collections = collections;
     }
 
     @Override
     public void fromBytes(ByteBuf buf) {
-        this.data = ByteBufUtils.readTag(buf);
+        int header = buf.readUnsignedShort();
+        this.mask = header & ~COLLECTIONS_BIT;
+        DeltaCodec.readFields(buf, mask, IHumanityData.SYNC_FLOAT_FIELDS, values);
+        if ((header & COLLECTIONS_BIT) != 0) {
+            this.collections = ByteBufUtils.readTag(buf);
+        }
     }
 
     @Override
     public void toBytes(ByteBuf buf) {
-        ByteBufUtils.writeTag(buf, this.data);
+        buf.writeShort(collections != null ? mask | COLLECTIONS_BIT : mask);
+        DeltaCodec.writeFields(buf, mask, IHumanityData.SYNC_FLOAT_FIELDS, values);
+        if (collections != null) {
+            ByteBufUtils.writeTag(buf, collections);
+        }
     }
 
     public static class Handler implements IMessageHandler<PacketSyncHumanityData, IMessage> {
@@ -50,7 +76,14 @@ public class PacketSyncHumanityData implements IMessage {
 
                 IHumanityData data = HumanityCapabilityHandler.getData(player);
                 if (data != null) {
-                    data.deserializeNBT(message.data);
+                    for (int i = 0; i < IHumanityData.SYNC_FIELD_COUNT; i++) {
+                        if ((message.mask & (1 << i)) != 0) {
+                            data.setSyncField(i, message.values[i]);
+                        }
+                    }
+                    if (message.collections != null) {
+                        data.deserializeCollectionsNBT(message.collections);
+                    }
                 }
             });
             return null;
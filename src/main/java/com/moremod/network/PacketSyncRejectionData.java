@@ -1,36 +1,66 @@
 package com.moremod.network;
 
+import com.moremod.item.ItemMechanicalCore;
 import com.moremod.system.FleshRejectionSystem;
 import io.netty.buffer.ByteBuf;
+import net.minecraft.client.Minecraft;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.entity.player.EntityPlayerMP;
-import net.minecraft.nbt.NBTTagCompound;
-import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraft.item.ItemStack;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * 血肉排异增量同步包 (服务端 -> 客户端)
+ *
+ * 只携带变化的排异字段（位掩码 + 字段值，编码见 {@link DeltaCodec}），
+ * 字段编号见 {@link FleshRejectionSystem#getSyncField}。客户端写回本地机械核心的 NBT。
+ */
 public class PacketSyncRejectionData implements IMessage {
 
-    private NBTTagCompound data;
+    private int mask;
+    private final long[] values = new long[FleshRejectionSystem.SYNC_FIELD_COUNT];
 
     public PacketSyncRejectionData() {}
 
-    public PacketSyncRejectionData(NBTTagCompound data) {
-        this.data = data;
+    public PacketSyncRejectionData(int mask, long[] source) {
+        this.mask = mask;
+        System.arraycopy(source, 0, values, 0, values.length);
     }
 
     @Override
     public void toBytes(ByteBuf buf) {
-        ByteBufUtils.writeTag(buf, data);
+        buf.writeByte(mask);
+        DeltaCodec.writeFields(buf, mask, FleshRejectionSystem.SYNC_FLOAT_FIELDS, values);
     }
 
     @Override
     public void fromBytes(ByteBuf buf) {
-        data = ByteBufUtils.readTag(buf);
+        mask = buf.readUnsignedByte();
+        DeltaCodec.readFields(buf, mask, FleshRejectionSystem.SYNC_FLOAT_FIELDS, values);
     }
 
-    public NBTTagCompound getData() {
-        return data;
+    public static class Handler implements IMessageHandler<PacketSyncRejectionData, IMessage> {
+
+        @Override
+        @SideOnly(Side.CLIENT)
+        public IMessage onMessage(PacketSyncRejectionData message, MessageContext ctx) {
+            Minecraft.getMinecraft().addScheduledTask(() -> {
+                EntityPlayer player = Minecraft.getMinecraft().player;
+                if (player == null) return;
+
+                ItemStack core = ItemMechanicalCore.getCoreFromPlayer(player);
+                if (core.isEmpty()) return;
+
+                for (int i = 0; i < FleshRejectionSystem.SYNC_FIELD_COUNT; i++) {
+                    if ((message.mask & (1 << i)) != 0) {
+                        FleshRejectionSystem.setSyncField(core, i, message.values[i]);
+                    }
+                }
+            });
+            return null;
+        }
     }
 }
@@ -1,6 +1,7 @@
 package com.moremod.printer;
 
 import com.moremod.multiblock.MultiblockPrinter;
+import com.moremod.multiblock.MultiblockRegistry;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.InventoryHelper;
 import net.minecraft.item.ItemStack;
@@ -94,14 +95,22 @@ public class TileEntityPrinter extends TileEntity implements ITickable, IAnimata
     private int maxProgress = 0;
     private boolean isProcessing = false;
 
+    // 结构监视（只有结构范围内方块变化后才重新检查）
+    private MultiblockRegistry.Watch<Boolean> structureWatch;
+
+    private MultiblockRegistry.Watch<Boolean> getStructureWatch() {
+        structureWatch = MultiblockRegistry.ensure(structureWatch, world, pos, MultiblockPrinter.FOOTPRINT, MultiblockPrinter::checkStructure);
+        return structureWatch;
+    }
+
     @Override
     public void update() {
         if (world == null || world.isRemote) return;
 
-        // 每20tick检查一次多方块结构
+        // 每20tick检查一次多方块结构（结果已缓存，范围内方块变化后才真正重新检查）
         if (world.getTotalWorldTime() % 20 == 0) {
             boolean wasFormed = multiblockFormed;
-            multiblockFormed = MultiblockPrinter.checkStructure(world, pos);
+            multiblockFormed = getStructureWatch().get();
             if (wasFormed != multiblockFormed) {
                 markDirty();
                 sendUpdatePacket();
@@ -414,6 +423,18 @@ public class TileEntityPrinter extends TileEntity implements ITickable, IAnimata
         readFromNBT(tag);
     }
 
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        if (structureWatch != null) structureWatch.remove();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        if (structureWatch != null) structureWatch.remove();
+    }
+
     // ===== GeckoLib动画 =====
 
     /**
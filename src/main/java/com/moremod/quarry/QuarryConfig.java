@@ -22,9 +22,19 @@ public class QuarryConfig {
     public static int VIRTUAL_CHUNK_SIZE = 16;             // 虚拟区块大小
     public static int VIRTUAL_WORLD_HEIGHT = 256;          // 虚拟世界高度
     public static int BLOCKS_PER_OPERATION = 64;           // 每次操作模拟的方块数
+    public static boolean BATCH_SIMULATION = true;         // 挖矿按整批抽样（开销与方块数无关）
+    public static int DROP_DISTRIBUTION_SAMPLES = 64;      // 学习每种方块掉落分布的初始采样次数
+    public static int DROP_DISTRIBUTION_MAX_SAMPLES = 1024; // 每种掉落分布最多保留的样本数（之后蓄水池替换）
+    public static int DROP_DISTRIBUTION_REFRESH_INTERVAL = 8; // 每使用多少次分布补充一次真实掉落（0 = 不补充）
+    public static long PENDING_OUTPUT_CAPACITY = 16384;    // 待输出账本的物品总数上限（达到后暂停运行）
+    
+    // 离线补算
+    public static boolean OFFLINE_CATCH_UP = true;         // 区块重新加载时补算未加载期间的产出
+    public static long MAX_CATCH_UP_OPERATIONS = 72000;    // 单次补算的最大操作数
     
     // 怪物模拟
     public static int MOB_SPAWN_WEIGHT_TOTAL = 100;        // 怪物生成权重总值
+    public static boolean MOB_BATCH_SIMULATION = true;     // 怪物掉落按学习到的分布整批抽样（期望值模式）
     
     private QuarryConfig() {}
 }
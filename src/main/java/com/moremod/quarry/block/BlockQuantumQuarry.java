@@ -82,7 +82,7 @@ public class BlockQuantumQuarry extends Block implements ITileEntityProvider {
                                 Block blockIn, BlockPos fromPos) {
         TileEntity te = worldIn.getTileEntity(pos);
         if (te instanceof TileQuantumQuarry) {
-            ((TileQuantumQuarry) te).updateRedstoneState();
+            ((TileQuantumQuarry) te).onNeighborChanged();
         }
     }
 
@@ -0,0 +1,100 @@
+package com.moremod.quarry.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 加权随机抽样表（Vose 别名法）
+ *
+ * 构建 O(n)，每次抽样只需一次 nextInt + 一次 nextFloat，与条目数量无关。
+ * 表构建后不可变；权重变化时由持有者重新构建。
+ */
+public final class AliasTable<T> {
+
+    private final List<T> values;
+    private final float[] probability;
+    private final int[] alias;
+    private final long totalWeight;
+
+    /**
+     * @param values  条目
+     * @param weights 对应权重（≤0 的条目永远不会被抽到）
+     */
+    public AliasTable(List<T> values, int[] weights) {
+        if (values.size() != weights.length) {
+            throw new IllegalArgumentException("values/weights size mismatch: " + values.size() + " != " + weights.length);
+        }
+        int n = weights.length;
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+        this.probability = new float[n];
+        this.alias = new int[n];
+
+        long total = 0;
+        for (int w : weights) if (w > 0) total += w;
+        this.totalWeight = total;
+        if (total == 0) return;
+
+        // 缩放后平均值为 1：小于 1 的槽位由一个大于 1 的条目补满
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0, largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = Math.max(0, weights[i]) * (double) n / total;
+            if (scaled[i] < 1.0) small[smallCount++] = i;
+            else large[largeCount++] = i;
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int s = small[--smallCount];
+            int l = large[--largeCount];
+            probability[s] = (float) scaled[s];
+            alias[s] = l;
+            scaled[l] = scaled[l] + scaled[s] - 1.0;
+            if (scaled[l] < 1.0) small[smallCount++] = l;
+            else large[largeCount++] = l;
+        }
+        // 剩余槽位只会因浮点误差略偏离 1，直接视为满槽
+        while (largeCount > 0) {
+            int l = large[--largeCount];
+            probability[l] = 1f;
+            alias[l] = l;
+        }
+        while (smallCount > 0) {
+            int s = small[--smallCount];
+            probability[s] = 1f;
+            alias[s] = s;
+        }
+    }
+
+    /**
+     * 抽取一个条目；总权重为 0 时返回 null
+     */
+    public T sample(Random rand) {
+        int index = sampleIndex(rand);
+        return index < 0 ? null : values.get(index);
+    }
+
+    /**
+     * 抽取条目下标；总权重为 0 时返回 -1
+     */
+    public int sampleIndex(Random rand) {
+        if (totalWeight == 0) return -1;
+        int slot = rand.nextInt(probability.length);
+        return rand.nextFloat() < probability[slot] ? slot : alias[slot];
+    }
+
+    public List<T> getValues() {
+        return values;
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public boolean isEmpty() {
+        return totalWeight == 0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.moremod.quarry.simulation;
+
+import java.util.Random;
+
+/**
+ * 批量模拟用的分布抽样
+ *
+ * 期望次数较小时精确抽样（几何分布跳跃），较大时用正态近似，
+ * 每次抽样的开销与试验次数无关。
+ */
+final class BatchSampling {
+
+    private BatchSampling() {}
+
+    /** 期望值低于此值时精确抽样 */
+    private static final double EXACT_THRESHOLD = 30.0;
+
+    /**
+     * 二项分布 B(n, p)
+     */
+    static long binomial(Random rand, long n, double p) {
+        if (n <= 0 || p <= 0) return 0;
+        if (p >= 1) return n;
+        if (p > 0.5) return n - binomial(rand, n, 1 - p);
+
+        double mean = n * p;
+        if (mean < EXACT_THRESHOLD) {
+            // 逐次跳过失败的试验：相邻成功之间的间隔服从几何分布
+            double logQ = Math.log1p(-p);
+            long successes = 0;
+            long position = 0;
+            while (true) {
+                double u = rand.nextDouble();
+                position += (long) (Math.log(1 - u) / logQ) + 1;
+                if (position > n) return successes;
+                successes++;
+            }
+        }
+
+        double sd = Math.sqrt(mean * (1 - p));
+        long k = Math.round(mean + sd * rand.nextGaussian());
+        return Math.max(0, Math.min(n, k));
+    }
+
+    /**
+     * 总量近似：count 次独立试验之和，单次均值 mean、方差 variance
+     */
+    static long sum(Random rand, long count, double mean, double variance) {
+        if (count <= 0 || mean <= 0) return 0;
+        double total = count * mean;
+        if (variance > 0) {
+            total += Math.sqrt(count * variance) * rand.nextGaussian();
+        }
+        return Math.max(0, Math.round(total));
+    }
+}
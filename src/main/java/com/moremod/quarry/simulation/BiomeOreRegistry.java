@@ -18,6 +18,7 @@ import net.minecraftforge.fml.common.registry.ForgeRegistries;
 import net.minecraftforge.oredict.OreDictionary;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * 生物群系矿物注册表
@@ -36,6 +37,13 @@ public class BiomeOreRegistry {
     // 已初始化标记
     private boolean initialized = false;
     
+    // 生物群系 -> 预编译的抽样表（注册变化时清空，按需重建）
+    private final Map<Biome, AliasTable<OreEntry>> samplers = new HashMap<>();
+    private AliasTable<OreEntry> universalSampler;
+    
+    // 矿物注册版本号，任何注册变化都会递增
+    private int revision = 0;
+    
     public static BiomeOreRegistry getInstance() {
         if (INSTANCE == null) {
             INSTANCE = new BiomeOreRegistry();
@@ -75,6 +83,8 @@ public class BiomeOreRegistry {
         
         // 注册生物群系特定矿物
         registerBiomeSpecificOres();
+        
+        invalidateSamplers();
     }
     
     /**
@@ -95,6 +105,7 @@ public class BiomeOreRegistry {
                         OreEntry entry = guessOreParameters(oreName, state);
                         if (entry != null && !containsOre(universalOres, state)) {
                             universalOres.add(entry);
+                            invalidateSamplers();
                         }
                     }
                 }
@@ -146,6 +157,7 @@ public class BiomeOreRegistry {
      */
     public void registerUniversalOre(IBlockState state, int veinSize, int minY, int maxY, int weight) {
         universalOres.add(new OreEntry(state, veinSize, minY, maxY, weight));
+        invalidateSamplers();
     }
     
     /**
@@ -154,6 +166,7 @@ public class BiomeOreRegistry {
     public void registerBiomeOre(Biome biome, IBlockState state, int veinSize, int minY, int maxY, int weight) {
         biomeOres.computeIfAbsent(biome, b -> new ArrayList<>())
                  .add(new OreEntry(state, veinSize, minY, maxY, weight));
+        invalidateSamplers();
     }
     
     /**
@@ -172,32 +185,63 @@ public class BiomeOreRegistry {
      * 获取总权重
      */
     public int getTotalWeight(Biome biome) {
-        int total = 0;
-        for (OreEntry entry : getOresForBiome(biome)) {
-            total += entry.weight;
-        }
-        return total;
+        return (int) getSampler(biome).getTotalWeight();
     }
     
     /**
-     * 根据权重随机选择矿物
+     * 根据权重随机选择矿物（别名表抽样，O(1)）
      */
     public OreEntry getRandomOre(Biome biome, Random rand) {
-        List<OreEntry> ores = getOresForBiome(biome);
-        if (ores.isEmpty()) return null;
-        
-        int totalWeight = getTotalWeight(biome);
-        int target = rand.nextInt(totalWeight);
-        
-        int cumulative = 0;
-        for (OreEntry entry : ores) {
-            cumulative += entry.weight;
-            if (target < cumulative) {
-                return entry;
+        return getSampler(biome).sample(rand);
+    }
+    
+    /**
+     * 生物群系的抽样表；没有特定矿物的生物群系共用通用矿物表
+     */
+    private AliasTable<OreEntry> getSampler(Biome biome) {
+        if (!biomeOres.containsKey(biome)) {
+            if (universalSampler == null) {
+                universalSampler = buildSampler(universalOres);
             }
+            return universalSampler;
+        }
+        AliasTable<OreEntry> sampler = samplers.get(biome);
+        if (sampler == null) {
+            sampler = buildSampler(getOresForBiome(biome));
+            samplers.put(biome, sampler);
+        }
+        return sampler;
+    }
+    
+    private static AliasTable<OreEntry> buildSampler(List<OreEntry> ores) {
+        int[] weights = new int[ores.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = ores.get(i).weight;
+        }
+        return new AliasTable<>(ores, weights);
+    }
+    
+    private void invalidateSamplers() {
+        samplers.clear();
+        universalSampler = null;
+        revision++;
+    }
+    
+    /**
+     * 注册版本号，依赖矿物分布的缓存据此判断是否过期
+     */
+    public int getRevision() {
+        return revision;
+    }
+    
+    /**
+     * 遍历所有已注册的矿物条目（通用 + 各生物群系）
+     */
+    public void forEachOre(Consumer<OreEntry> action) {
+        universalOres.forEach(action);
+        for (List<OreEntry> list : biomeOres.values()) {
+            list.forEach(action);
         }
-        
-        return ores.get(ores.size() - 1);
     }
     
     private boolean containsOre(List<OreEntry> list, IBlockState state) {
@@ -217,12 +261,20 @@ public class BiomeOreRegistry {
         public final int maxY;          // 最大生成高度
         public final int weight;        // 生成权重
         
+        // 预计算的高度修正曲线，下标 y - minY
+        private final float[] heightCurve;
+        
         public OreEntry(IBlockState state, int veinSize, int minY, int maxY, int weight) {
             this.state = state;
             this.veinSize = veinSize;
             this.minY = minY;
             this.maxY = maxY;
             this.weight = weight;
+            
+            this.heightCurve = new float[Math.max(0, maxY - minY + 1)];
+            for (int y = minY; y <= maxY; y++) {
+                heightCurve[y - minY] = computeHeightMultiplier(y);
+            }
         }
         
         /**
@@ -230,7 +282,10 @@ public class BiomeOreRegistry {
          */
         public float getHeightMultiplier(int y) {
             if (y < minY || y > maxY) return 0f;
-            
+            return heightCurve[y - minY];
+        }
+        
+        private float computeHeightMultiplier(int y) {
             // 越靠近最佳高度，概率越高
             int midY = (minY + maxY) / 2;
             int range = (maxY - minY) / 2;
@@ -0,0 +1,159 @@
+package com.moremod.quarry.simulation;
+
+import net.minecraft.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * 单个方块（状态 + 时运 + 精准采集）的掉落分布
+ *
+ * 构建时调用若干次真实的掉落逻辑并记录每次结果；之后：
+ *  - 逐方块模拟或方块数少时从记录的结果中随机重放
+ *  - 方块数多时按每种物品的均值/方差直接抽取总量
+ * 两种方式都不调用方块代码。
+ *
+ * 近似说明：分布只是真实掉落的样本估计。调用方应按一定比例继续调用
+ * {@link #record} 补充真实结果——样本数达到上限前一直增长，之后按蓄水池抽样
+ * 替换旧样本，因此记录的样本始终是全部真实结果的均匀抽样。概率低于
+ * 1/样本数 的稀有掉落在样本足够多之前可能暂时缺失或偏多，但不会被永久固定。
+ */
+final class DropDistribution {
+
+    /** 少于此数量的方块逐个重放记录的结果 */
+    private static final int REPLAY_LIMIT = 16;
+
+    private final int maxSamples;
+    private final Map<ItemLedger.ItemKey, Integer> index = new HashMap<>();
+    private ItemLedger.ItemKey[] keys = new ItemLedger.ItemKey[0];
+    /** [样本][物品] → 数量（行长度可能短于 keys，缺少的列视为 0） */
+    private final int[][] outcomes;
+    private int size = 0;
+    /** 记录过的真实结果总数（蓄水池抽样用） */
+    private long observed = 0;
+    private double[] sum = new double[0];
+    private double[] sumSq = new double[0];
+    /** 访问计数（决定何时补充真实结果） */
+    private int uses = 0;
+
+    private DropDistribution(int maxSamples) {
+        this.maxSamples = maxSamples;
+        this.outcomes = new int[maxSamples][];
+    }
+
+    /**
+     * 调用 samples 次掉落逻辑建立分布，之后最多保留 maxSamples 个样本
+     */
+    static DropDistribution learn(Supplier<List<ItemStack>> roll, int samples, int maxSamples, Random rand) {
+        DropDistribution dist = new DropDistribution(Math.max(samples, maxSamples));
+        for (int i = 0; i < samples; i++) {
+            dist.record(roll.get(), rand);
+        }
+        return dist;
+    }
+
+    /**
+     * 每 interval 次访问返回一次 true，调用方此时应补充一次真实结果
+     */
+    boolean shouldRefresh(int interval) {
+        if (interval <= 0) return false;
+        if (++uses < interval) return false;
+        uses = 0;
+        return true;
+    }
+
+    /**
+     * 记录一次真实掉落；样本已满时按蓄水池抽样决定是否替换旧样本
+     */
+    void record(List<ItemStack> drops, Random rand) {
+        int[] outcome = new int[keys.length];
+        for (ItemStack stack : drops) {
+            if (stack.isEmpty()) continue;
+            ItemLedger.ItemKey key = ItemLedger.ItemKey.of(stack);
+            Integer k = index.get(key);
+            if (k == null) {
+                k = addKey(key);
+                outcome = Arrays.copyOf(outcome, keys.length);
+            }
+            outcome[k] += stack.getCount();
+        }
+
+        observed++;
+        int slot;
+        if (size < maxSamples) {
+            slot = size++;
+        } else {
+            long j = (long) (rand.nextDouble() * observed);
+            if (j >= maxSamples) return;
+            slot = (int) j;
+            accumulate(outcomes[slot], -1);
+        }
+        outcomes[slot] = outcome;
+        accumulate(outcome, 1);
+    }
+
+    private int addKey(ItemLedger.ItemKey key) {
+        int k = keys.length;
+        index.put(key, k);
+        keys = Arrays.copyOf(keys, k + 1);
+        keys[k] = key;
+        sum = Arrays.copyOf(sum, k + 1);
+        sumSq = Arrays.copyOf(sumSq, k + 1);
+        return k;
+    }
+
+    private void accumulate(int[] outcome, int sign) {
+        for (int k = 0; k < outcome.length; k++) {
+            sum[k] += sign * outcome[k];
+            sumSq[k] += sign * (double) outcome[k] * outcome[k];
+        }
+    }
+
+    /**
+     * 单个方块：随机重放一次记录的结果
+     */
+    List<ItemStack> replay(Random rand) {
+        if (keys.length == 0 || size == 0) return new ArrayList<>(0);
+        int[] outcome = outcomes[rand.nextInt(size)];
+        List<ItemStack> drops = new ArrayList<>(keys.length);
+        for (int k = 0; k < outcome.length; k++) {
+            int count = outcome[k];
+            if (count <= 0) continue;
+            int max = Math.max(1, keys[k].getMaxStackSize());
+            while (count > 0) {
+                int n = Math.min(max, count);
+                drops.add(keys[k].toStack(n));
+                count -= n;
+            }
+        }
+        return drops;
+    }
+
+    /**
+     * 把 blocks 个方块的掉落累加到账本
+     */
+    void addTo(ItemLedger ledger, long blocks, Random rand) {
+        if (blocks <= 0 || keys.length == 0 || size == 0) return;
+
+        if (blocks <= REPLAY_LIMIT) {
+            for (long b = 0; b < blocks; b++) {
+                int[] outcome = outcomes[rand.nextInt(size)];
+                for (int k = 0; k < outcome.length; k++) {
+                    ledger.add(keys[k], outcome[k]);
+                }
+            }
+            return;
+        }
+
+        for (int k = 0; k < keys.length; k++) {
+            double mean = sum[k] / size;
+            double variance = Math.max(0, sumSq[k] / size - mean * mean);
+            ledger.add(keys[k], BatchSampling.sum(rand, blocks, mean, variance));
+        }
+    }
+}
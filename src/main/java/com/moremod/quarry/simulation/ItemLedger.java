@@ -0,0 +1,233 @@
+package com.moremod.quarry.simulation;
+
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * 物品计数账本：物品 + 元数据 + NBT → 数量
+ *
+ * 批量模拟直接累加数量，不为每个掉落创建 ItemStack；
+ * 需要真正的物品堆时再用 {@link #toStacks()} 按最大堆叠拆分。保持首次加入的顺序。
+ */
+public class ItemLedger {
+
+    private final Map<ItemKey, long[]> counts = new LinkedHashMap<>();
+    private long total;
+
+    /**
+     * 逐项取出物品时的回调
+     */
+    public interface Drainer {
+        /** 返回本项实际取走的数量（0 ~ available） */
+        long take(ItemKey key, long available);
+    }
+
+    /**
+     * 物品种类键（不含数量）
+     */
+    public static final class ItemKey {
+        public final Item item;
+        public final int meta;
+        @Nullable public final NBTTagCompound tag;
+        private final int hash;
+
+        private ItemKey(Item item, int meta, @Nullable NBTTagCompound tag) {
+            this.item = item;
+            this.meta = meta;
+            this.tag = tag;
+            int h = System.identityHashCode(item);
+            h = 31 * h + meta;
+            h = 31 * h + (tag == null ? 0 : tag.hashCode());
+            this.hash = h;
+        }
+
+        public static ItemKey of(ItemStack stack) {
+            NBTTagCompound tag = stack.getTagCompound();
+            return new ItemKey(stack.getItem(), stack.getMetadata(), tag == null ? null : tag.copy());
+        }
+
+        public static ItemKey of(Item item, int meta) {
+            return new ItemKey(item, meta, null);
+        }
+
+        public ItemStack toStack(int count) {
+            ItemStack stack = new ItemStack(item, count, meta);
+            if (tag != null) stack.setTagCompound(tag.copy());
+            return stack;
+        }
+
+        public int getMaxStackSize() {
+            return toStack(1).getMaxStackSize();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ItemKey)) return false;
+            ItemKey k = (ItemKey) o;
+            if (hash != k.hash || item != k.item || meta != k.meta) return false;
+            return tag == null ? k.tag == null : tag.equals(k.tag);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return item.getRegistryName() + "@" + meta + (tag == null ? "" : tag.toString());
+        }
+    }
+
+    // ==================== 写入 ====================
+
+    public void add(ItemStack stack) {
+        if (stack.isEmpty()) return;
+        add(ItemKey.of(stack), stack.getCount());
+    }
+
+    public void add(ItemKey key, long count) {
+        if (count <= 0) return;
+        long[] c = counts.get(key);
+        if (c == null) {
+            counts.put(key, new long[]{count});
+        } else {
+            c[0] += count;
+        }
+        total += count;
+    }
+
+    public void addAll(ItemLedger other) {
+        for (Map.Entry<ItemKey, long[]> e : other.counts.entrySet()) {
+            add(e.getKey(), e.getValue()[0]);
+        }
+    }
+
+    /**
+     * 扣除数量，返回实际扣除的数量
+     */
+    public long remove(ItemKey key, long count) {
+        long[] c = counts.get(key);
+        if (c == null || count <= 0) return 0;
+        long taken = Math.min(c[0], count);
+        c[0] -= taken;
+        total -= taken;
+        if (c[0] <= 0) counts.remove(key);
+        return taken;
+    }
+
+    /**
+     * 按加入顺序遍历每种物品，扣除回调取走的数量
+     */
+    public void drain(Drainer drainer) {
+        Iterator<Map.Entry<ItemKey, long[]>> it = counts.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<ItemKey, long[]> e = it.next();
+            long[] c = e.getValue();
+            long taken = Math.max(0, Math.min(c[0], drainer.take(e.getKey(), c[0])));
+            c[0] -= taken;
+            total -= taken;
+            if (c[0] <= 0) it.remove();
+        }
+    }
+
+    public void clear() {
+        counts.clear();
+        total = 0;
+    }
+
+    // ==================== 读取 ====================
+
+    public long get(ItemKey key) {
+        long[] c = counts.get(key);
+        return c == null ? 0 : c[0];
+    }
+
+    public boolean isEmpty() {
+        return counts.isEmpty();
+    }
+
+    /** 物品种类数 */
+    public int size() {
+        return counts.size();
+    }
+
+    public long getTotalCount() {
+        return total;
+    }
+
+    public void forEach(ObjLongConsumer<ItemKey> action) {
+        for (Map.Entry<ItemKey, long[]> e : counts.entrySet()) {
+            action.accept(e.getKey(), e.getValue()[0]);
+        }
+    }
+
+    public Iterator<ItemKey> keyIterator() {
+        return counts.keySet().iterator();
+    }
+
+    // ==================== NBT ====================
+
+    /**
+     * 紧凑格式：每种物品一条 {id, m, c, t}，元数据为 0 / 无 NBT 时省略对应字段
+     */
+    public NBTTagList writeToNBT() {
+        NBTTagList list = new NBTTagList();
+        for (Map.Entry<ItemKey, long[]> e : counts.entrySet()) {
+            ItemKey key = e.getKey();
+            ResourceLocation id = key.item.getRegistryName();
+            if (id == null) continue;
+            NBTTagCompound t = new NBTTagCompound();
+            t.setString("id", id.toString());
+            if (key.meta != 0) t.setShort("m", (short) key.meta);
+            t.setLong("c", e.getValue()[0]);
+            if (key.tag != null) t.setTag("t", key.tag.copy());
+            list.appendTag(t);
+        }
+        return list;
+    }
+
+    public void readFromNBT(NBTTagList list) {
+        clear();
+        for (int i = 0; i < list.tagCount(); i++) {
+            NBTTagCompound t = list.getCompoundTagAt(i);
+            Item item = ForgeRegistries.ITEMS.getValue(new ResourceLocation(t.getString("id")));
+            if (item == null || item == Items.AIR) continue;  // 物品已被移除
+            NBTTagCompound tag = t.hasKey("t", Constants.NBT.TAG_COMPOUND) ? t.getCompoundTag("t") : null;
+            add(new ItemKey(item, t.getShort("m"), tag), t.getLong("c"));
+        }
+    }
+
+    /**
+     * 转换为物品堆列表（按最大堆叠数拆分）
+     */
+    public List<ItemStack> toStacks() {
+        List<ItemStack> result = new ArrayList<>(counts.size());
+        for (Map.Entry<ItemKey, long[]> e : counts.entrySet()) {
+            ItemKey key = e.getKey();
+            long remaining = e.getValue()[0];
+            int max = Math.max(1, key.getMaxStackSize());
+            while (remaining > 0) {
+                int n = (int) Math.min(max, remaining);
+                result.add(key.toStack(n));
+                remaining -= n;
+            }
+        }
+        return result;
+    }
+}
@@ -1,6 +1,6 @@
 package com.moremod.quarry.simulation;
 
-import net.minecraft.enchantment.EnchantmentHelper;
+import com.moremod.quarry.QuarryConfig;
 import net.minecraft.entity.EntityList;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EnumCreatureType;
@@ -11,16 +11,17 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.WeightedRandom;
-import net.minecraft.world.DifficultyInstance;
-import net.minecraft.world.EnumDifficulty;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.biome.Biome;
 import net.minecraft.world.storage.loot.LootContext;
 import net.minecraft.world.storage.loot.LootTable;
-import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
 import javax.annotation.Nullable;
+import java.lang.reflect.Method;
 import java.util.*;
 
 /**
@@ -37,6 +38,32 @@ public class MobDropSimulator {
     // 怪物 -> 战利品表位置
     private final Map<Class<? extends EntityLiving>, ResourceLocation> lootTableCache = new HashMap<>();
     
+    // 解析失败的怪物（不再重复尝试）
+    private final Set<Class<? extends EntityLiving>> unresolvedEntities = new HashSet<>();
+    
+    // 世界 -> 按抢夺等级复用的战利品上下文（世界卸载时清除）
+    private final Map<World, LootContext[]> lootContexts = new HashMap<>();
+    
+    // (怪物, 抢夺等级) -> 学习到的单次击杀掉落分布
+    private final Map<Class<? extends EntityLiving>, DropDistribution[]> killDistributions = new HashMap<>();
+    
+    // 学习击杀分布专用的随机数（调用方传入的随机数只用于重放）
+    private final Random learnRand = new Random();
+    
+    /** 抢夺等级上限（上下文与分布缓存的下标范围） */
+    private static final int MAX_CACHED_LOOTING = 10;
+    
+    private static Method GET_LOOT_TABLE_METHOD;
+    
+    static {
+        try {
+            GET_LOOT_TABLE_METHOD = findMethod(EntityLiving.class, "getLootTable", "func_184647_J");
+            GET_LOOT_TABLE_METHOD.setAccessible(true);
+        } catch (Exception e) {
+            System.err.println("[MobDropSimulator] 无法获取 EntityLiving.getLootTable，模组怪物将按注册名推测战利品表");
+        }
+    }
+    
     public static MobDropSimulator getInstance() {
         if (INSTANCE == null) {
             INSTANCE = new MobDropSimulator();
@@ -45,9 +72,19 @@ public class MobDropSimulator {
     }
     
     private MobDropSimulator() {
+        MinecraftForge.EVENT_BUS.register(this);
         initLootTableCache();
     }
     
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        lootContexts.remove(event.getWorld());
+        if (!event.getWorld().isRemote && event.getWorld().provider.getDimension() == 0) {
+            // 服务器关闭/切换存档：战利品表可能不同，重新学习
+            killDistributions.clear();
+        }
+    }
+    
     /**
      * 初始化战利品表缓存
      */
@@ -89,36 +126,94 @@ public class MobDropSimulator {
      * @return 掉落物列表
      */
     public List<ItemStack> simulateKill(WorldServer world, Biome biome, int lootingLevel, Random rand) {
-        List<ItemStack> drops = new ArrayList<>();
-        
         List<Biome.SpawnListEntry> monsters = getMonstersForBiome(biome);
         if (monsters.isEmpty()) {
-            return drops;
+            return new ArrayList<>();
         }
         
         // 随机选择一个怪物
         Biome.SpawnListEntry entry = WeightedRandom.getRandomItem(rand, monsters);
-        if (entry == null) return drops;
+        if (entry == null) return new ArrayList<>();
+        
+        return rollKill(world, entry.entityClass, lootingLevel, rand);
+    }
+    
+    /**
+     * 期望值模式：一次模拟 kills 次击杀
+     * 按生成权重把击杀数分配给各种怪物，再按每种怪物学习到的掉落分布得到总量；
+     * 每种 (怪物, 抢夺等级) 首次遇到时生成若干次战利品学习分布，之后只偶尔补充；
+     * 抢夺等级超出 MAX_CACHED_LOOTING 时逐次真实模拟
+     */
+    public ItemLedger simulateKills(WorldServer world, Biome biome, int lootingLevel, long kills, Random rand) {
+        ItemLedger ledger = new ItemLedger();
+        List<Biome.SpawnListEntry> monsters = getMonstersForBiome(biome);
+        if (monsters.isEmpty() || kills <= 0) return ledger;
+        
+        long totalWeight = 0;
+        for (Biome.SpawnListEntry entry : monsters) totalWeight += Math.max(0, entry.itemWeight);
+        if (totalWeight <= 0) return ledger;
+        
+        // 依次抽取条件二项分布，得到各怪物的击杀数
+        long remaining = kills;
+        long remainingWeight = totalWeight;
+        for (Biome.SpawnListEntry entry : monsters) {
+            if (remaining <= 0) break;
+            int weight = Math.max(0, entry.itemWeight);
+            if (weight == 0) continue;
+            
+            long count = BatchSampling.binomial(rand, remaining, (double) weight / remainingWeight);
+            remaining -= count;
+            remainingWeight -= weight;
+            if (count == 0) continue;
+            if (lootingLevel > MAX_CACHED_LOOTING) {
+                // 超出缓存范围的抢夺等级（模组附魔）逐次真实模拟，不截断
+                for (long i = 0; i < count; i++) {
+                    for (ItemStack stack : rollKill(world, entry.entityClass, lootingLevel, rand)) {
+                        ledger.add(stack);
+                    }
+                }
+            } else {
+                getKillDistribution(world, entry.entityClass, lootingLevel).addTo(ledger, count, rand);
+            }
+        }
+        return ledger;
+    }
+    
+    /**
+     * (怪物, 抢夺等级) 的击杀分布：首次遇到时学习，之后每 DROP_DISTRIBUTION_REFRESH_INTERVAL
+     * 次使用补充一次真实击杀，避免稀有掉落被最初的样本固定（抢夺等级需在缓存范围内）
+     */
+    private DropDistribution getKillDistribution(WorldServer world, Class<? extends EntityLiving> entityClass,
+                                                 int lootingLevel) {
+        int looting = Math.max(0, lootingLevel);
+        DropDistribution[] byLooting = killDistributions.computeIfAbsent(entityClass,
+                c -> new DropDistribution[MAX_CACHED_LOOTING + 1]);
+        DropDistribution dist = byLooting[looting];
+        if (dist == null) {
+            dist = DropDistribution.learn(() -> rollKill(world, entityClass, looting, learnRand),
+                    Math.max(1, QuarryConfig.DROP_DISTRIBUTION_SAMPLES), QuarryConfig.DROP_DISTRIBUTION_MAX_SAMPLES, learnRand);
+            byLooting[looting] = dist;
+        } else if (dist.shouldRefresh(QuarryConfig.DROP_DISTRIBUTION_REFRESH_INTERVAL)) {
+            dist.record(rollKill(world, entityClass, looting, learnRand), learnRand);
+        }
+        return dist;
+    }
+    
+    /**
+     * 真实生成一次击杀掉落（战利品表 + 抢夺加成 + 稀有掉落）
+     */
+    private List<ItemStack> rollKill(WorldServer world, Class<? extends EntityLiving> entityClass,
+                                     int lootingLevel, Random rand) {
+        List<ItemStack> drops = new ArrayList<>();
         
         // 获取战利品表
-        ResourceLocation lootTable = getLootTableForEntity(entry.entityClass);
+        ResourceLocation lootTable = getLootTableForEntity(world, entityClass);
         if (lootTable == null) return drops;
         
         // 生成掉落物
         try {
             LootTable table = world.getLootTableManager().getLootTableFromLocation(lootTable);
-            LootContext.Builder contextBuilder = new LootContext.Builder(world);
-            contextBuilder.withLuck(lootingLevel);
-            
-            // 模拟难度
-            DifficultyInstance difficulty = new DifficultyInstance(
-                EnumDifficulty.HARD, 
-                world.getWorldTime(), 
-                100000L,  // 模拟长期存在的区块
-                world.getCurrentMoonPhaseFactor()
-            );
-            
-            drops.addAll(table.generateLootForPools(rand, contextBuilder.build()));
+            drops.addAll(table.generateLootForPools(rand, getLootContext(world, lootingLevel)));
             
             // 应用抢夺附魔效果
             if (lootingLevel > 0) {
@@ -126,35 +221,82 @@ public class MobDropSimulator {
             }
             
             // 稀有掉落
-            addRareDrops(entry.entityClass, drops, lootingLevel, rand);
+            addRareDrops(entityClass, drops, lootingLevel, rand);
             
         } catch (Exception e) {
             // 如果战利品表加载失败，使用备用掉落
-            addFallbackDrops(entry.entityClass, drops, rand);
+            addFallbackDrops(entityClass, drops, rand);
         }
         
         return drops;
     }
     
+    /**
+     * 复用的战利品上下文（只含世界和幸运值，生成过程中不会被修改）
+     */
+    private LootContext getLootContext(WorldServer world, int lootingLevel) {
+        if (lootingLevel < 0 || lootingLevel > MAX_CACHED_LOOTING) {
+            return new LootContext.Builder(world).withLuck(lootingLevel).build();
+        }
+        LootContext[] contexts = lootContexts.computeIfAbsent(world, w -> new LootContext[MAX_CACHED_LOOTING + 1]);
+        LootContext context = contexts[lootingLevel];
+        if (context == null) {
+            context = new LootContext.Builder(world).withLuck(lootingLevel).build();
+            contexts[lootingLevel] = context;
+        }
+        return context;
+    }
+    
     /**
      * 获取实体的战利品表
+     * 未预设的怪物创建一次实例读取 getLootTable()，覆盖模组怪物；结果按类缓存
      */
     @Nullable
-    private ResourceLocation getLootTableForEntity(Class<? extends EntityLiving> entityClass) {
+    private ResourceLocation getLootTableForEntity(World world, Class<? extends EntityLiving> entityClass) {
         // 先检查缓存
         ResourceLocation cached = lootTableCache.get(entityClass);
         if (cached != null) return cached;
+        if (unresolvedEntities.contains(entityClass)) return null;
         
-        // 尝试从注册表获取
-        ResourceLocation entityId = EntityList.getKey(entityClass);
-        if (entityId != null) {
-            ResourceLocation lootTable = new ResourceLocation(entityId.getNamespace(),
-                "entities/" + entityId.getPath());
-            lootTableCache.put(entityClass, lootTable);
-            return lootTable;
+        ResourceLocation lootTable = resolveLootTable(world, entityClass);
+        if (lootTable == null) {
+            // 尝试从注册表推测
+            ResourceLocation entityId = EntityList.getKey(entityClass);
+            if (entityId != null) {
+                lootTable = new ResourceLocation(entityId.getNamespace(), "entities/" + entityId.getPath());
+            }
         }
         
-        return null;
+        if (lootTable != null) {
+            lootTableCache.put(entityClass, lootTable);
+        } else {
+            unresolvedEntities.add(entityClass);
+        }
+        return lootTable;
+    }
+    
+    @Nullable
+    private static ResourceLocation resolveLootTable(World world, Class<? extends EntityLiving> entityClass) {
+        if (GET_LOOT_TABLE_METHOD == null) return null;
+        try {
+            EntityLiving entity = (EntityLiving) EntityList.newEntity(entityClass, world);
+            if (entity == null) return null;
+            return (ResourceLocation) GET_LOOT_TABLE_METHOD.invoke(entity);
+        } catch (Throwable t) {
+            System.err.println("[MobDropSimulator] 无法解析 " + entityClass.getName() + " 的战利品表: " + t);
+            return null;
+        }
+    }
+    
+    private static Method findMethod(Class<?> clazz, String... names) throws NoSuchMethodException {
+        for (String name : names) {
+            try {
+                return clazz.getDeclaredMethod(name);
+            } catch (NoSuchMethodException e) {
+                // 继续尝试下一个名称
+            }
+        }
+        throw new NoSuchMethodException("Could not find method with names: " + Arrays.toString(names));
     }
     
     /**
@@ -33,6 +33,9 @@ public class QuarryLootManager {
     // 可用的战利品表及其权重
     private final Map<ResourceLocation, Integer> lootTableWeights = new LinkedHashMap<>();
     
+    // 预编译的战利品表抽样表（权重变化时置空，下次抽样重建）
+    private AliasTable<ResourceLocation> lootTableSampler;
+    
     // 注入到其他战利品表的条目
     private final Map<ResourceLocation, List<LootEntry>> injectedEntries = new HashMap<>();
     
@@ -161,20 +164,17 @@ public class QuarryLootManager {
      */
     @Nullable
     private ResourceLocation selectLootTable(Random rand) {
-        int totalWeight = lootTableWeights.values().stream().mapToInt(Integer::intValue).sum();
-        if (totalWeight <= 0) return null;
-        
-        int target = rand.nextInt(totalWeight);
-        int cumulative = 0;
-        
-        for (Map.Entry<ResourceLocation, Integer> entry : lootTableWeights.entrySet()) {
-            cumulative += entry.getValue();
-            if (target < cumulative) {
-                return entry.getKey();
+        AliasTable<ResourceLocation> sampler = lootTableSampler;
+        if (sampler == null) {
+            List<ResourceLocation> tables = new ArrayList<>(lootTableWeights.keySet());
+            int[] weights = new int[tables.size()];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = lootTableWeights.get(tables.get(i));
             }
+            sampler = new AliasTable<>(tables, weights);
+            lootTableSampler = sampler;
         }
-        
-        return lootTableWeights.keySet().iterator().next();
+        return sampler.sample(rand);
     }
     
     /**
@@ -185,6 +185,7 @@ public class QuarryLootManager {
      */
     public void registerLootTable(ResourceLocation location, int weight) {
         lootTableWeights.put(location, weight);
+        lootTableSampler = null;
     }
     
     /**
@@ -192,6 +193,7 @@ public class QuarryLootManager {
      */
     public void removeLootTable(ResourceLocation location) {
         lootTableWeights.remove(location);
+        lootTableSampler = null;
     }
     
     /**
@@ -200,6 +202,7 @@ public class QuarryLootManager {
     public void setLootTableWeight(ResourceLocation location, int weight) {
         if (lootTableWeights.containsKey(location)) {
             lootTableWeights.put(location, weight);
+            lootTableSampler = null;
         }
     }
     
@@ -16,6 +16,7 @@ import net.minecraft.world.biome.Biome;
 import net.minecraftforge.oredict.OreDictionary;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 虚拟挖掘模拟器
@@ -34,6 +35,25 @@ public class VirtualMiningSimulator {
     private long totalMobsKilled = 0;
     private long totalLootGenerated = 0;
     
+    /** 单个虚拟方块是石头的概率 */
+    private static final float STONE_CHANCE = 0.85f;
+    /** 精准采集时石头掉落自身的概率 */
+    private static final float SILK_STONE_CHANCE = 0.1f;
+    private static final ItemLedger.ItemKey STONE_KEY = ItemLedger.ItemKey.of(Item.getItemFromBlock(Blocks.STONE), 0);
+    
+    // 批量挖矿：生物群系 -> [普通, 精准采集] 的单方块结果概率
+    private final Map<Biome, MiningOutcome[]> miningOutcomes = new HashMap<>();
+    private int miningOutcomeRevision = -1;
+    
+    // (方块状态, 时运, 精准采集) -> 学习到的掉落分布，批量与逐方块模拟共用
+    private final Map<DropKey, DropDistribution> dropDistributions = new ConcurrentHashMap<>();
+    
+    // 方块是否受额外时运加成（注册表变化时对所有矿物预先解析）
+    private final Map<Block, Boolean> fortuneAffected = new ConcurrentHashMap<>();
+    
+    // 学习/补充掉落分布专用的随机数（调用方传入的随机数只用于重放）
+    private final Random learnRand = new Random();
+    
     public static VirtualMiningSimulator getInstance() {
         if (INSTANCE == null) {
             INSTANCE = new VirtualMiningSimulator();
@@ -74,6 +94,10 @@ public class VirtualMiningSimulator {
         
         switch (mode) {
             case MINING:
+                if (QuarryConfig.BATCH_SIMULATION) {
+                    return simulateMiningBatch(biome, fortuneLevel, silkTouchLevel > 0,
+                            QuarryConfig.BLOCKS_PER_OPERATION, rand).toStacks();
+                }
                 return simulateMining(world, biome, fortuneLevel, silkTouchLevel > 0, rand);
             case MOB_DROPS:
                 return simulateMobKill(world, biome, lootingLevel, rand);
@@ -85,7 +109,193 @@ public class VirtualMiningSimulator {
     }
     
     /**
-     * 模拟挖矿
+     * 一次模拟多次操作，结果直接累加到账本
+     * 挖矿和怪物掉落模式整批抽样，开销与操作次数无关；战利品表模式逐次模拟
+     */
+    public ItemLedger simulateBatch(WorldServer world, QuarryMode mode, Biome biome,
+                                    ItemStack enchantedBook, int operations, Random rand) {
+        if (mode == QuarryMode.MINING && QuarryConfig.BATCH_SIMULATION) {
+            int fortuneLevel = getEnchantmentLevel(enchantedBook, Enchantments.FORTUNE);
+            boolean silkTouch = getEnchantmentLevel(enchantedBook, Enchantments.SILK_TOUCH) > 0;
+            return simulateMiningBatch(biome, fortuneLevel, silkTouch,
+                    (long) operations * QuarryConfig.BLOCKS_PER_OPERATION, rand);
+        }
+        if (mode == QuarryMode.MOB_DROPS && QuarryConfig.MOB_BATCH_SIMULATION) {
+            int lootingLevel = getEnchantmentLevel(enchantedBook, Enchantments.LOOTING);
+            return simulateMobKills(world, biome, lootingLevel, operations, rand);
+        }
+        
+        ItemLedger ledger = new ItemLedger();
+        for (int i = 0; i < operations; i++) {
+            for (ItemStack stack : simulate(world, mode, biome, enchantedBook, rand)) {
+                ledger.add(stack);
+            }
+        }
+        return ledger;
+    }
+    
+    /**
+     * 批量挖矿：按多项分布一次抽出每种结果的方块数，再按掉落分布得到物品数量
+     * 与逐方块模拟的期望一致
+     */
+    public ItemLedger simulateMiningBatch(Biome biome, int fortuneLevel, boolean silkTouch,
+                                          long blocks, Random rand) {
+        ItemLedger ledger = new ItemLedger();
+        if (blocks <= 0) return ledger;
+        
+        MiningOutcome outcome = getMiningOutcome(biome, silkTouch);
+        long remaining = blocks;
+        double remainingProbability = 1.0;
+        
+        // 依次抽取条件二项分布得到多项分布样本；剩余的方块没有产出
+        for (int i = 0; i < outcome.states.length && remaining > 0; i++) {
+            double p = outcome.probability[i];
+            if (p <= 0) continue;
+            
+            long count = BatchSampling.binomial(rand, remaining, Math.min(1.0, p / remainingProbability));
+            remaining -= count;
+            remainingProbability -= p;
+            if (count == 0) continue;
+            
+            IBlockState state = outcome.states[i];
+            if (state == null) {
+                ledger.add(STONE_KEY, count);
+            } else {
+                getDropDistribution(state, fortuneLevel, silkTouch).addTo(ledger, count, rand);
+            }
+            if (remainingProbability <= 0) break;
+        }
+        
+        totalBlocksMined += blocks;
+        return ledger;
+    }
+    
+    /**
+     * 单个虚拟方块的结果概率（与 simulateMining 的逐方块流程一致）
+     */
+    private MiningOutcome getMiningOutcome(Biome biome, boolean silkTouch) {
+        checkRegistryRevision();
+        
+        MiningOutcome[] pair = miningOutcomes.computeIfAbsent(biome, b -> new MiningOutcome[2]);
+        int idx = silkTouch ? 1 : 0;
+        if (pair[idx] == null) {
+            pair[idx] = buildMiningOutcome(biome, silkTouch);
+        }
+        return pair[idx];
+    }
+    
+    private MiningOutcome buildMiningOutcome(Biome biome, boolean silkTouch) {
+        List<BiomeOreRegistry.OreEntry> ores = oreRegistry.getOresForBiome(biome);
+        long totalWeight = oreRegistry.getTotalWeight(biome);
+        int height = QuarryConfig.VIRTUAL_WORLD_HEIGHT;
+        
+        List<IBlockState> states = new ArrayList<>();
+        List<Double> probabilities = new ArrayList<>();
+        
+        if (silkTouch) {
+            states.add(null);
+            probabilities.add((double) STONE_CHANCE * SILK_STONE_CHANCE);
+        }
+        
+        if (totalWeight > 0) {
+            for (BiomeOreRegistry.OreEntry entry : ores) {
+                if (entry.weight <= 0) continue;
+                
+                // 随机高度下通过高度检查的平均概率（rand.nextFloat() <= 修正值）
+                double accept = 0;
+                for (int y = 0; y < height; y++) {
+                    float mult = entry.getHeightMultiplier(y);
+                    accept += Float.isNaN(mult) ? 1.0 : Math.max(0, Math.min(1, mult));
+                }
+                accept /= height;
+                
+                double p = (1 - STONE_CHANCE) * entry.weight / totalWeight * accept;
+                if (p > 0) {
+                    states.add(entry.state);
+                    probabilities.add(p);
+                }
+            }
+        }
+        
+        double[] probability = new double[probabilities.size()];
+        for (int i = 0; i < probability.length; i++) probability[i] = probabilities.get(i);
+        return new MiningOutcome(states.toArray(new IBlockState[0]), probability);
+    }
+    
+    /**
+     * 矿物注册变化后丢弃依赖它的缓存，并重新解析所有矿物方块的时运适用性
+     */
+    private void checkRegistryRevision() {
+        int revision = oreRegistry.getRevision();
+        if (miningOutcomeRevision == revision) return;
+        
+        miningOutcomes.clear();
+        dropDistributions.clear();
+        fortuneAffected.clear();
+        oreRegistry.forEachOre(entry -> isFortuneAffected(entry.state.getBlock()));
+        miningOutcomeRevision = revision;
+    }
+    
+    /**
+     * 掉落分布：首次遇到 (方块状态, 时运, 精准采集) 时调用方块代码学习，
+     * 之后主要重放，每 DROP_DISTRIBUTION_REFRESH_INTERVAL 次使用补充一次真实掉落，
+     * 避免稀有掉落被最初的样本永久固定
+     */
+    private DropDistribution getDropDistribution(IBlockState state, int fortuneLevel, boolean silkTouch) {
+        checkRegistryRevision();
+        DropKey key = new DropKey(state, fortuneLevel, silkTouch);
+        DropDistribution dist = dropDistributions.get(key);
+        if (dist == null) {
+            // 精准采集的掉落是确定的，采样一次即可
+            int samples = silkTouch ? 1 : Math.max(1, QuarryConfig.DROP_DISTRIBUTION_SAMPLES);
+            dist = DropDistribution.learn(() -> rollBlockDrops(state, fortuneLevel, silkTouch, learnRand), samples,
+                    silkTouch ? 1 : QuarryConfig.DROP_DISTRIBUTION_MAX_SAMPLES, learnRand);
+            dropDistributions.put(key, dist);
+        } else if (!silkTouch && dist.shouldRefresh(QuarryConfig.DROP_DISTRIBUTION_REFRESH_INTERVAL)) {
+            dist.record(rollBlockDrops(state, fortuneLevel, silkTouch, learnRand), learnRand);
+        }
+        return dist;
+    }
+    
+    /**
+     * 单方块结果：states[i] 为 null 表示精准采集的石头
+     */
+    private static final class MiningOutcome {
+        final IBlockState[] states;
+        final double[] probability;
+        
+        MiningOutcome(IBlockState[] states, double[] probability) {
+            this.states = states;
+            this.probability = probability;
+        }
+    }
+    
+    private static final class DropKey {
+        final IBlockState state;
+        final int fortune;
+        final boolean silkTouch;
+        
+        DropKey(IBlockState state, int fortune, boolean silkTouch) {
+            this.state = state;
+            this.fortune = fortune;
+            this.silkTouch = silkTouch;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof DropKey)) return false;
+            DropKey k = (DropKey) o;
+            return state == k.state && fortune == k.fortune && silkTouch == k.silkTouch;
+        }
+        
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(state) * 31 + fortune) * 2 + (silkTouch ? 1 : 0);
+        }
+    }
+    
+    /**
+     * 模拟挖矿（逐方块）
      */
     private List<ItemStack> simulateMining(WorldServer world, Biome biome, 
                                            int fortuneLevel, boolean silkTouch, Random rand) {
@@ -99,9 +309,9 @@ public class VirtualMiningSimulator {
             int y = rand.nextInt(QuarryConfig.VIRTUAL_WORLD_HEIGHT);
             
             // 大部分是石头
-            if (rand.nextFloat() < 0.85f) {
+            if (rand.nextFloat() < STONE_CHANCE) {
                 // 85% 概率是普通石头，不产出（或产出圆石）
-                if (silkTouch && rand.nextFloat() < 0.1f) {
+                if (silkTouch && rand.nextFloat() < SILK_STONE_CHANCE) {
                     drops.add(new ItemStack(Blocks.STONE));
                 }
                 continue;
@@ -127,9 +337,16 @@ public class VirtualMiningSimulator {
     }
     
     /**
-     * 获取方块掉落物
+     * 获取方块掉落物（重放学习到的掉落分布，只偶尔调用方块代码补充样本）
      */
     private List<ItemStack> getBlockDrops(IBlockState state, int fortuneLevel, boolean silkTouch, Random rand) {
+        return getDropDistribution(state, fortuneLevel, silkTouch).replay(rand);
+    }
+    
+    /**
+     * 调用方块代码得到一次真实掉落（只在学习/补充掉落分布时使用）
+     */
+    private List<ItemStack> rollBlockDrops(IBlockState state, int fortuneLevel, boolean silkTouch, Random rand) {
         List<ItemStack> drops = new ArrayList<>();
         Block block = state.getBlock();
         
@@ -168,9 +385,13 @@ public class VirtualMiningSimulator {
     }
     
     /**
-     * 检查方块是否受时运影响
+     * 检查方块是否受时运影响（每种方块只解析一次）
      */
     private boolean isFortuneAffected(Block block) {
+        return fortuneAffected.computeIfAbsent(block, this::resolveFortuneAffected);
+    }
+    
+    private boolean resolveFortuneAffected(Block block) {
         return block == Blocks.COAL_ORE ||
                block == Blocks.DIAMOND_ORE ||
                block == Blocks.EMERALD_ORE ||
@@ -204,11 +425,23 @@ public class VirtualMiningSimulator {
      * 模拟击杀怪物
      */
     private List<ItemStack> simulateMobKill(WorldServer world, Biome biome, int lootingLevel, Random rand) {
+        if (QuarryConfig.MOB_BATCH_SIMULATION) {
+            return simulateMobKills(world, biome, lootingLevel, 1, rand).toStacks();
+        }
         List<ItemStack> drops = mobDropSimulator.simulateKill(world, biome, lootingLevel, rand);
         totalMobsKilled++;
         return drops;
     }
     
+    /**
+     * 期望值模式：一次模拟多次击杀
+     */
+    private ItemLedger simulateMobKills(WorldServer world, Biome biome, int lootingLevel, long kills, Random rand) {
+        ItemLedger drops = mobDropSimulator.simulateKills(world, biome, lootingLevel, kills, rand);
+        totalMobsKilled += kills;
+        return drops;
+    }
+    
     /**
      * 模拟战利品生成
      */
@@ -231,25 +464,11 @@ public class VirtualMiningSimulator {
      * 合并相同物品堆
      */
     public static List<ItemStack> mergeStacks(List<ItemStack> input) {
-        Map<String, ItemStack> merged = new LinkedHashMap<>();
-        
+        ItemLedger merged = new ItemLedger();
         for (ItemStack stack : input) {
-            if (stack.isEmpty()) continue;
-            
-            String key = stack.getItem().getRegistryName() + "@" + stack.getMetadata();
-            if (stack.hasTagCompound()) {
-                key += "@" + stack.getTagCompound().toString();
-            }
-            
-            ItemStack existing = merged.get(key);
-            if (existing != null) {
-                existing.grow(stack.getCount());
-            } else {
-                merged.put(key, stack.copy());
-            }
+            merged.add(stack);
         }
-        
-        return new ArrayList<>(merged.values());
+        return merged.toStacks();
     }
     
     /**
@@ -1,7 +1,9 @@
 package com.moremod.quarry.tile;
 
+import com.moremod.multiblock.MultiblockRegistry;
 import com.moremod.quarry.QuarryConfig;
 import com.moremod.quarry.QuarryMode;
+import com.moremod.quarry.simulation.ItemLedger;
 import com.moremod.quarry.simulation.VirtualMiningSimulator;
 import net.minecraft.enchantment.Enchantment;
 import net.minecraft.enchantment.EnchantmentHelper;
@@ -49,6 +51,7 @@ public class TileQuantumQuarry extends TileEntity implements ITickable {
         @Override
         protected void onContentsChanged(int slot) {
             markDirty();
+            bufferChanged = true;
         }
     };
     
@@ -72,6 +75,7 @@ public class TileQuantumQuarry extends TileEntity implements ITickable {
         @Override
         protected void onContentsChanged(int slot) {
             markDirty();
+            filterCache.clear();
         }
     };
     
@@ -88,13 +92,41 @@ public class TileQuantumQuarry extends TileEntity implements ITickable {
     private int cachedEnergyPerOp = -1;
     private boolean structureValid = false;
     private long lastStructureCheck = 0;
+
+    /** 六面代理结构的范围：核心周围 3x3x3 */
+    private static final MultiblockRegistry.Footprint STRUCTURE_FOOTPRINT = MultiblockRegistry.Footprint.around(1, -1, 1);
+
+    // 结构监视（只有结构范围内方块变化后才重新检查）
+    private MultiblockRegistry.Watch<Boolean> structureWatch;
     
     // 统计
     private long operationsCompleted = 0;
     private long itemsGenerated = 0;
     
-    // 待输出物品队列
-    private final Queue<ItemStack> pendingOutput = new LinkedList<>();
+    // 待输出物品账本（物品 → 数量），总数达到 PENDING_OUTPUT_CAPACITY 时暂停运行
+    private final ItemLedger pendingOutput = new ItemLedger();
+    
+    // 输出缓冲在上次装不下之后是否有变化（没有变化就不再尝试放入）
+    private boolean bufferChanged = true;
+    
+    // 过滤结果缓存（过滤槽变化时清空）
+    private final Map<ItemLedger.ItemKey, Boolean> filterCache = new HashMap<>();
+    
+    // 相邻容器的物品 Capability 缓存（邻居方块变化或 TE 失效时刷新）
+    private final TileEntity[] neighbourTiles = new TileEntity[6];
+    private final IItemHandler[] neighbourHandlers = new IItemHandler[6];
+    private boolean neighboursDirty = true;
+    private int exportCooldown = 0;
+    
+    /** 没有物品可以导出时的重试间隔（tick） */
+    private static final int EXPORT_RETRY_TICKS = 10;
+    
+    /** 离线补算每批最多模拟的操作数 */
+    private static final int CATCH_UP_BATCH = 256;
+    
+    // 离线补算：上次保存时的世界时间，以及区块重新加载后待补算的 tick 数
+    private long lastSavedWorldTime = -1;
+    private long catchUpTicks = 0;
     
     public TileQuantumQuarry() {
     }
@@ -108,11 +140,18 @@ public class TileQuantumQuarry extends TileEntity implements ITickable {
         // 每秒检查一次结构
         if (world.getTotalWorldTime() - lastStructureCheck > 20) {
             lastStructureCheck = world.getTotalWorldTime();
-            structureValid = checkStructure();
+            structureWatch = MultiblockRegistry.ensure(structureWatch, world, pos, STRUCTURE_FOOTPRINT,
+                    (w, p) -> checkStructure());
+            structureValid = structureWatch.get();
         }
         
         if (!structureValid) return;
         
+        // 区块重新加载后，一次性补算离线期间的产出
+        if (catchUpTicks > 0) {
+            performCatchUp();
+        }
+        
         // 红石控制
         if (redstoneControlEnabled && !isPoweredByRedstone) return;
         
@@ -148,6 +187,18 @@ public class TileQuantumQuarry extends TileEntity implements ITickable {
         return true;
     }
     
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        if (structureWatch != null) structureWatch.remove();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        if (structureWatch != null) structureWatch.remove();
+    }
+
     /**
      * 检查是否可以进行操作
      */
@@ -160,7 +211,7 @@ public class TileQuantumQuarry extends TileEntity implements ITickable {
         if (selectedBiome == null) return false;
         
         // 检查输出空间
-        if (pendingOutput.size() > 100) return false;  // 防止内存溢出
+        if (pendingOutput.getTotalCount() >= QuarryConfig.PENDING_OUTPUT_CAPACITY) return false;
         
         return true;
     }
@@ -178,28 +229,15 @@ public class TileQuantumQuarry extends TileEntity implements ITickable {
         ItemStack enchantedBook = enchantSlot.getStackInSlot(0);
         
         // 执行模拟
-        List<ItemStack> drops = simulator.simulate(
+        ItemLedger drops = simulator.simulateBatch(
             worldServer, 
             mode, 
             selectedBiome, 
             enchantedBook, 
+            1,
             world.rand
         );
-        
-        // 过滤并添加到待输出队列
-        ItemStack filterStack = filterSlot.getStackInSlot(0);
-        boolean hasFilter = !filterStack.isEmpty();
-        
-        for (ItemStack drop : drops) {
-            if (drop.isEmpty()) continue;
-            
-            if (hasFilter && !matchesFilter(drop, filterStack)) {
-                continue;  // 过滤掉不匹配的物品
-            }
-            
-            pendingOutput.offer(drop.copy());
-            itemsGenerated += drop.getCount();
-        }
+        acceptDrops(drops);
         
         // 消耗能量
         energy.extractInternal(getEnergyPerOperation());
@@ -208,25 +246,91 @@ public class TileQuantumQuarry extends TileEntity implements ITickable {
         markDirty();
     }
     
+    @Override
+    public void onLoad() {
+        if (!world.isRemote && lastSavedWorldTime >= 0) {
+            catchUpTicks = Math.max(0, world.getTotalWorldTime() - lastSavedWorldTime);
+        }
+    }
+    
+    /**
+     * 离线补算：区块未加载期间应完成的操作数（受存储能量和待输出容量限制），分小批模拟
+     * 结果从全局共享的掉落分布中抽取，不保证重复加载同一存档得到相同产出
+     */
+    private void performCatchUp() {
+        long elapsed = catchUpTicks;
+        catchUpTicks = 0;
+        if (!QuarryConfig.OFFLINE_CATCH_UP || !(world instanceof WorldServer) || selectedBiome == null) return;
+        
+        updateRedstoneState();
+        if (redstoneControlEnabled && !isPoweredByRedstone) return;
+        
+        int energyPerOp = Math.max(1, getEnergyPerOperation());
+        long operations = (tickCounter + elapsed) / getOperationTicks();
+        operations = Math.min(operations, energy.getEnergyStored() / energyPerOp);
+        operations = Math.min(operations, QuarryConfig.MAX_CATCH_UP_OPERATIONS);
+        if (operations <= 0) return;
+        
+        VirtualMiningSimulator simulator = VirtualMiningSimulator.getInstance();
+        ItemStack enchantedBook = enchantSlot.getStackInSlot(0);
+        Random rand = new Random(pos.toLong() * 31L + lastSavedWorldTime);
+        
+        // 小批模拟：每批的操作数按剩余容量和上一批实测的单次产出估算（至多 CATCH_UP_BATCH 次），
+        // 待输出账本满了就停止，不为放不下的产出消耗能量
+        double itemsPerOp = Math.max(1, QuarryConfig.BLOCKS_PER_OPERATION);
+        long done = 0;
+        while (done < operations) {
+            long room = QuarryConfig.PENDING_OUTPUT_CAPACITY - pendingOutput.getTotalCount();
+            if (room <= 0) break;
+            int n = (int) Math.max(1, Math.min(Math.min(CATCH_UP_BATCH, operations - done), (long) (room / itemsPerOp)));
+            long before = pendingOutput.getTotalCount();
+            acceptDrops(simulator.simulateBatch((WorldServer) world, mode, selectedBiome, enchantedBook, n, rand));
+            done += n;
+            itemsPerOp = Math.max(1.0, (double) (pendingOutput.getTotalCount() - before) / n);
+        }
+        
+        energy.extractInternal((int) Math.min(Integer.MAX_VALUE, done * energyPerOp));
+        operationsCompleted += done;
+        tickCounter = 0;
+        bufferChanged = true;
+        markDirty();
+    }
+    
+    /**
+     * 过滤并记入待输出账本
+     */
+    private void acceptDrops(ItemLedger drops) {
+        ItemStack filterStack = filterSlot.getStackInSlot(0);
+        boolean hasFilter = !filterStack.isEmpty();
+        
+        drops.forEach((key, count) -> {
+            if (hasFilter && !passesFilter(key, filterStack)) {
+                return;  // 过滤掉不匹配的物品
+            }
+            pendingOutput.add(key, count);
+            itemsGenerated += count;
+        });
+    }
+    
     /**
      * 处理待输出物品
      */
     private void processPendingOutput() {
-        // 先尝试放入内部缓冲
-        while (!pendingOutput.isEmpty()) {
-            ItemStack stack = pendingOutput.peek();
-            
-            // 尝试插入输出缓冲
-            ItemStack remaining = insertToBuffer(stack);
-            if (remaining.isEmpty()) {
-                pendingOutput.poll();
-            } else {
-                // 更新队列中的数量
-                pendingOutput.poll();
-                if (!remaining.isEmpty()) {
-                    pendingOutput.offer(remaining);
+        // 先尝试放入内部缓冲；缓冲满了之后，直到缓冲内容变化前不再尝试
+        if (!pendingOutput.isEmpty() && bufferChanged) {
+            pendingOutput.drain((key, available) -> {
+                int max = Math.max(1, key.getMaxStackSize());
+                long moved = 0;
+                while (moved < available) {
+                    int n = (int) Math.min(max, available - moved);
+                    ItemStack remaining = insertToBuffer(key.toStack(n));
+                    moved += n - remaining.getCount();
+                    if (!remaining.isEmpty()) break;
                 }
-                break;  // 缓冲满了
+                return moved;
+            });
+            if (!pendingOutput.isEmpty()) {
+                bufferChanged = false;
             }
         }
         
@@ -243,17 +347,25 @@ public class TileQuantumQuarry extends TileEntity implements ITickable {
     
     /**
      * 自动输出到相邻容器
+     * 使用缓存的 Capability；一轮没有转移任何物品时（邻居已满或缓冲为空）等待一段时间再试
      */
     private void autoExportToNeighbors() {
-        for (EnumFacing facing : EnumFacing.values()) {
-            TileEntity te = world.getTileEntity(pos.offset(facing));
-            if (te == null) continue;
-            
-            // 跳过自己的代理方块
-            if (te instanceof TileQuarryActuator) continue;
-            
-            IItemHandler handler = te.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, facing.getOpposite());
+        if (exportCooldown > 0) {
+            exportCooldown--;
+            return;
+        }
+        if (neighboursDirty) {
+            refreshNeighbourHandlers();
+        }
+        
+        boolean moved = false;
+        for (int f = 0; f < neighbourHandlers.length; f++) {
+            IItemHandler handler = neighbourHandlers[f];
             if (handler == null) continue;
+            if (neighbourTiles[f].isInvalid()) {
+                neighboursDirty = true;
+                continue;
+            }
             
             // 从输出缓冲转移物品
             for (int i = 0; i < outputBuffer.getSlots(); i++) {
@@ -264,9 +376,47 @@ public class TileQuantumQuarry extends TileEntity implements ITickable {
                 int transferred = stack.getCount() - remaining.getCount();
                 if (transferred > 0) {
                     outputBuffer.extractItem(i, transferred, false);
+                    moved = true;
                 }
             }
         }
+        
+        if (!moved && !neighboursDirty) {
+            exportCooldown = EXPORT_RETRY_TICKS;
+        }
+    }
+    
+    /**
+     * 重新获取相邻容器（跳过自己的代理方块）
+     */
+    private void refreshNeighbourHandlers() {
+        neighboursDirty = false;
+        for (EnumFacing facing : EnumFacing.values()) {
+            int f = facing.getIndex();
+            neighbourTiles[f] = null;
+            neighbourHandlers[f] = null;
+            
+            TileEntity te = world.getTileEntity(pos.offset(facing));
+            if (te == null || te instanceof TileQuarryActuator) continue;
+            
+            IItemHandler handler = te.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, facing.getOpposite());
+            if (handler == null) continue;
+            neighbourTiles[f] = te;
+            neighbourHandlers[f] = handler;
+        }
+    }
+    
+    /**
+     * 邻居方块变化：刷新红石状态与相邻容器缓存
+     */
+    public void onNeighborChanged() {
+        neighboursDirty = true;
+        exportCooldown = 0;
+        updateRedstoneState();
+    }
+    
+    private boolean passesFilter(ItemLedger.ItemKey key, ItemStack filter) {
+        return filterCache.computeIfAbsent(key, k -> matchesFilter(k.toStack(1), filter));
     }
     
     /**
@@ -447,13 +597,13 @@ public class TileQuantumQuarry extends TileEntity implements ITickable {
         compound.setLong("OperationsCompleted", operationsCompleted);
         compound.setLong("ItemsGenerated", itemsGenerated);
         compound.setInteger("TickCounter", tickCounter);
-        
-        // 保存待输出队列
-        NBTTagList pendingList = new NBTTagList();
-        for (ItemStack stack : pendingOutput) {
-            pendingList.appendTag(stack.writeToNBT(new NBTTagCompound()));
+        if (world != null) {
+            // 尚未补算的离线时间保留到下次加载
+            compound.setLong("LastWorldTime", world.getTotalWorldTime() - catchUpTicks);
         }
-        compound.setTag("PendingOutput", pendingList);
+        
+        // 保存待输出账本
+        compound.setTag("Pending", pendingOutput.writeToNBT());
         
         return compound;
     }
@@ -475,16 +625,16 @@ public class TileQuantumQuarry extends TileEntity implements ITickable {
         operationsCompleted = compound.getLong("OperationsCompleted");
         itemsGenerated = compound.getLong("ItemsGenerated");
         tickCounter = compound.getInteger("TickCounter");
+        lastSavedWorldTime = compound.hasKey("LastWorldTime") ? compound.getLong("LastWorldTime") : -1;
         
-        // 读取待输出队列
-        pendingOutput.clear();
-        NBTTagList pendingList = compound.getTagList("PendingOutput", Constants.NBT.TAG_COMPOUND);
-        for (int i = 0; i < pendingList.tagCount(); i++) {
-            ItemStack stack = new ItemStack(pendingList.getCompoundTagAt(i));
-            if (!stack.isEmpty()) {
-                pendingOutput.offer(stack);
-            }
+        // 读取待输出账本（兼容旧存档的物品堆队列）
+        pendingOutput.readFromNBT(compound.getTagList("Pending", Constants.NBT.TAG_COMPOUND));
+        NBTTagList legacyList = compound.getTagList("PendingOutput", Constants.NBT.TAG_COMPOUND);
+        for (int i = 0; i < legacyList.tagCount(); i++) {
+            pendingOutput.add(new ItemStack(legacyList.getCompoundTagAt(i)));
         }
+        bufferChanged = true;
+        filterCache.clear();
         
         cachedOperationTicks = -1;
         cachedEnergyPerOp = -1;
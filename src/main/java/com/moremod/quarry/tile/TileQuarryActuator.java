@@ -1,5 +1,6 @@
 package com.moremod.quarry.tile;
 
+import com.moremod.multiblock.MultiblockRegistry;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.NetworkManager;
@@ -65,6 +66,8 @@ public class TileQuarryActuator extends TileEntity {
     public void setFacing(EnumFacing facing) {
         this.facing = facing;
         markDirty();
+        // 朝向只保存在 TE 中，不会触发方块更新，主动通知核心重新检查结构
+        if (world != null) MultiblockRegistry.notifyChanged(world, pos);
     }
     
     /**
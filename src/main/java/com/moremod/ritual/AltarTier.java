@@ -1,5 +1,6 @@
 package com.moremod.ritual;
 
+import com.moremod.multiblock.MultiblockRegistry;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
@@ -19,6 +20,9 @@ public enum AltarTier {
     TIER_2(2, "进阶祭坛", 0.10f, 0.05f),    // +10%成功率，5%翻倍几率
     TIER_3(3, "大师祭坛", 0.25f, 0.15f);    // +25%成功率，15%翻倍几率
 
+    /** 阶层检测涉及的范围：水平 ±4（外围装饰与四角柱子），地板下一层到柱顶 */
+    public static final MultiblockRegistry.Footprint FOOTPRINT = MultiblockRegistry.Footprint.around(4, -1, 5);
+
     private final int level;
     private final String displayName;
     private final float successBonus;      // 成功率加成
@@ -7,7 +7,28 @@ import java.util.Arrays;
 import java.util.List;
 
 public class RitualInfusionAPI {
-    public static final List<RitualInfusionRecipe> RITUAL_RECIPES = new ArrayList<>();
+    public static final List<RitualInfusionRecipe> RITUAL_RECIPES = new RecipeList();
+
+    /**
+     * 配方列表的修改版本号；任何增删改都会变化，{@link RitualRecipeIndex} 据此判断是否需要重建索引
+     */
+    public static int getRecipesVersion() {
+        return ((RecipeList) RITUAL_RECIPES).version();
+    }
+
+    /** 暴露 modCount 的配方列表（CraftTweaker / 各注册类都直接修改 RITUAL_RECIPES） */
+    private static final class RecipeList extends ArrayList<RitualInfusionRecipe> {
+        int version() {
+            return modCount;
+        }
+
+        @Override
+        public RitualInfusionRecipe set(int index, RitualInfusionRecipe element) {
+            // ArrayList.set 不改变 modCount，但替换配方同样需要重建索引
+            modCount++;
+            return super.set(index, element);
+        }
+    }
 
     // 修改参数顺序以匹配新的构造函数
     public static void addRitual(Ingredient core, ItemStack output, int time,
@@ -2,7 +2,7 @@ package com.moremod.ritual;
 
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.Ingredient;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class RitualInfusionRecipe {
@@ -32,24 +32,52 @@ public class RitualInfusionRecipe {
         this.requiredTier = Math.max(1, Math.min(3, requiredTier)); // 限制在1-3
     }
 
+    /**
+     * 基座物品匹配 - 二分图最大匹配（增广路）
+     *
+     * 贪心匹配在材料有重叠时会失败（例如第一个材料先占用了第二个材料唯一能用的物品），
+     * 这里先对每个 (材料, 物品) 只调用一次 Ingredient.apply 建立邻接表，再逐个材料寻找增广路。
+     */
     public boolean matchPedestalStacks(List<ItemStack> stacks) {
-        if (stacks.size() < pedestalItems.size()) return false;
+        int n = pedestalItems.size();
+        int m = stacks.size();
+        if (m < n) return false;
+        if (n == 0) return true;
 
-        List<ItemStack> available = new ArrayList<>(stacks);
-        for (Ingredient required : pedestalItems) {
-            boolean found = false;
-            for (int i = 0; i < available.size(); i++) {
-                if (required.apply(available.get(i))) {
-                    available.remove(i);
-                    found = true;
-                    break;
+        boolean[][] adj = new boolean[n][m];
+        for (int i = 0; i < n; i++) {
+            Ingredient required = pedestalItems.get(i);
+            boolean any = false;
+            for (int j = 0; j < m; j++) {
+                if (required.apply(stacks.get(j))) {
+                    adj[i][j] = true;
+                    any = true;
                 }
             }
-            if (!found) return false;
+            if (!any) return false;
+        }
+
+        int[] owner = new int[m];
+        Arrays.fill(owner, -1);
+        for (int i = 0; i < n; i++) {
+            if (!augment(i, adj, owner, new boolean[m])) return false;
         }
         return true;
     }
 
+    private static boolean augment(int ingredient, boolean[][] adj, int[] owner, boolean[] visited) {
+        boolean[] row = adj[ingredient];
+        for (int j = 0; j < row.length; j++) {
+            if (!row[j] || visited[j]) continue;
+            visited[j] = true;
+            if (owner[j] < 0 || augment(owner[j], adj, owner, visited)) {
+                owner[j] = ingredient;
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 检查祭坛阶层是否满足配方要求
      */
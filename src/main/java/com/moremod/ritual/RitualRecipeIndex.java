@@ -0,0 +1,161 @@
+package com.moremod.ritual;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.Ingredient;
+import net.minecraftforge.oredict.OreIngredient;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 仪式配方索引
+ *
+ * 按核心物品分桶，查找时只检查核心物品可能匹配的配方；
+ * 每个配方再记录基座材料的物品指纹，基座上没有任何候选物品时直接跳过，不调用 Ingredient.apply。
+ *
+ * 只有原版 Ingredient / OreIngredient 能从 getMatchingStacks 得到完整的候选物品，
+ * 其他自定义 Ingredient（盔甲核心、NBT 材料等）放进通配列表，每次都参与检查。
+ * RITUAL_RECIPES 被修改后（见 {@link RitualInfusionAPI#getRecipesVersion}）下次查询时自动重建。
+ */
+public final class RitualRecipeIndex {
+
+    private RitualRecipeIndex() {}
+
+    private static final class Entry {
+        final RitualInfusionRecipe recipe;
+        /** 每个基座材料的候选物品；null 表示无法索引的材料 */
+        final Set<Item>[] pedestalItems;
+
+        Entry(RitualInfusionRecipe recipe, Set<Item>[] pedestalItems) {
+            this.recipe = recipe;
+            this.pedestalItems = pedestalItems;
+        }
+    }
+
+    private static int builtVersion = -1;
+    /** 核心物品 → 候选配方（已合并通配配方，保持注册顺序） */
+    private static Map<Item, List<Entry>> byCoreItem = Collections.emptyMap();
+    /** 核心物品不在索引中时的候选（只有通配配方） */
+    private static List<Entry> wildcard = Collections.emptyList();
+
+    /**
+     * 可能匹配的配方，按 RITUAL_RECIPES 中的顺序返回；调用方仍需完整检查核心与基座
+     */
+    public static synchronized List<RitualInfusionRecipe> candidates(ItemStack core, List<ItemStack> pedestalStacks) {
+        ensureBuilt();
+
+        List<Entry> entries = core.isEmpty() ? wildcard : byCoreItem.getOrDefault(core.getItem(), wildcard);
+        if (entries.isEmpty()) return Collections.emptyList();
+
+        List<RitualInfusionRecipe> result = new ArrayList<>(4);
+        for (Entry e : entries) {
+            if (e.recipe.getPedestalCount() > pedestalStacks.size()) continue;
+            if (!fingerprintMatches(e, pedestalStacks)) continue;
+            result.add(e.recipe);
+        }
+        return result;
+    }
+
+    /**
+     * 配方匹配是否只取决于输入物品（没有重写 matchPedestalStacks 记录输入的子类），
+     * 是的话输入不变时可以直接复用上次的匹配结果
+     */
+    public static boolean isStateless(RitualInfusionRecipe recipe) {
+        return recipe.getClass() == RitualInfusionRecipe.class;
+    }
+
+    public static int version() {
+        return RitualInfusionAPI.getRecipesVersion();
+    }
+
+    // ==================== 构建 ====================
+
+    private static void ensureBuilt() {
+        int version = RitualInfusionAPI.getRecipesVersion();
+        if (version == builtVersion) return;
+
+        List<RitualInfusionRecipe> recipes = new ArrayList<>(RitualInfusionAPI.RITUAL_RECIPES);
+        List<Entry> all = new ArrayList<>(recipes.size());
+        List<Set<Item>> coreItems = new ArrayList<>(recipes.size());
+        Set<Item> indexedCores = new HashSet<>();
+
+        for (RitualInfusionRecipe r : recipes) {
+            all.add(new Entry(r, pedestalFingerprint(r)));
+            Set<Item> items = indexableItems(r.getCore());
+            coreItems.add(items);
+            if (items != null) indexedCores.addAll(items);
+        }
+
+        Map<Item, List<Entry>> map = new HashMap<>();
+        for (Item item : indexedCores) map.put(item, new ArrayList<>());
+        List<Entry> wild = new ArrayList<>();
+
+        for (int i = 0; i < all.size(); i++) {
+            Entry e = all.get(i);
+            Set<Item> items = coreItems.get(i);
+            if (items == null) {
+                // 通配配方加入所有桶，保证各桶内仍按注册顺序排列
+                wild.add(e);
+                for (List<Entry> bucket : map.values()) bucket.add(e);
+            } else {
+                for (Item item : items) map.get(item).add(e);
+            }
+        }
+
+        byCoreItem = map;
+        wildcard = wild;
+        builtVersion = version;
+        System.out.println("[RitualIndex] 重建仪式配方索引: " + recipes.size() + " 个配方, "
+                + map.size() + " 种核心物品, " + wild.size() + " 个通配配方");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Item>[] pedestalFingerprint(RitualInfusionRecipe r) {
+        List<Ingredient> ingredients = r.getPedestalItems();
+        Set<Item>[] sets = new Set[ingredients.size()];
+        for (int i = 0; i < sets.length; i++) {
+            sets[i] = indexableItems(ingredients.get(i));
+        }
+        return sets;
+    }
+
+    /**
+     * 材料的全部候选物品；无法可靠枚举时返回 null
+     */
+    private static Set<Item> indexableItems(Ingredient ingredient) {
+        if (ingredient == null) return null;
+        Class<?> type = ingredient.getClass();
+        if (type != Ingredient.class && type != OreIngredient.class) return null;
+
+        ItemStack[] stacks = ingredient.getMatchingStacks();
+        if (stacks.length == 0) return null;
+
+        Set<Item> items = new HashSet<>();
+        for (ItemStack s : stacks) {
+            if (!s.isEmpty()) items.add(s.getItem());
+        }
+        return items.isEmpty() ? null : items;
+    }
+
+    private static boolean fingerprintMatches(Entry e, List<ItemStack> pedestalStacks) {
+        for (Set<Item> required : e.pedestalItems) {
+            if (required == null) continue;
+            boolean present = false;
+            for (int i = 0; i < pedestalStacks.size(); i++) {
+                ItemStack s = pedestalStacks.get(i);
+                if (!s.isEmpty() && required.contains(s.getItem())) {
+                    present = true;
+                    break;
+                }
+            }
+            if (!present) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,164 @@
+package com.moremod.schematic;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.network.play.server.SPacketChunkData;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 区段级批量方块写入器
+ *
+ * 与 Schematic 放置相同的方式直接写入 ExtendedBlockStorage，按"区块 → 区段"顺序遍历，
+ * 跳过逐方块 setBlockState 的邻居更新、光照和同步。写入后：
+ *  - 被覆盖位置上残留的 TileEntity 在每次写入调用结束时立即移除（新方块的 TE 按需懒创建）
+ *  - 调用 {@link #finish()} 时每个涉及的区块只重算一次高度图/光照，并向观看该区块的玩家重发一次整区块
+ *
+ * 同一个写入器可以跨多次写入复用（例如整个地牢），最后统一 finish。
+ */
+public class BulkBlockWriter {
+
+    /** 按世界坐标提供方块状态；返回 null 表示该位置保持不变 */
+    public interface StateSource {
+        IBlockState get(int x, int y, int z);
+    }
+
+    private final World world;
+    private final Map<Long, Chunk> touched = new LinkedHashMap<>();
+
+    private long setTime = 0;
+    private int blocksWritten = 0;
+
+    public BulkBlockWriter(World world) {
+        this.world = world;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * 写入包围盒 [min, max]（含端点）内的方块
+     */
+    public void apply(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, StateSource source) {
+        minY = Math.max(0, minY);
+        maxY = Math.min(255, maxY);
+        if (minX > maxX || minY > maxY || minZ > maxZ) return;
+
+        long start = System.nanoTime();
+        boolean skyLight = world.provider.hasSkyLight();
+        List<BlockPos> staleTiles = null;
+
+        for (int cx = minX >> 4; cx <= maxX >> 4; cx++) {
+            for (int cz = minZ >> 4; cz <= maxZ >> 4; cz++) {
+                Chunk chunk = world.getChunk(cx, cz);
+                touched.put(ChunkPos.asLong(cx, cz), chunk);
+                ExtendedBlockStorage[] storageArray = chunk.getBlockStorageArray();
+
+                int x0 = Math.max(minX, cx << 4), x1 = Math.min(maxX, (cx << 4) + 15);
+                int z0 = Math.max(minZ, cz << 4), z1 = Math.min(maxZ, (cz << 4) + 15);
+
+                for (int sy = minY >> 4; sy <= maxY >> 4; sy++) {
+                    int y0 = Math.max(minY, sy << 4), y1 = Math.min(maxY, (sy << 4) + 15);
+                    ExtendedBlockStorage storage = storageArray[sy];
+
+                    for (int y = y0; y <= y1; y++) {
+                        for (int z = z0; z <= z1; z++) {
+                            for (int x = x0; x <= x1; x++) {
+                                IBlockState state = source.get(x, y, z);
+                                if (state == null) continue;
+
+                                if (storage == Chunk.NULL_BLOCK_STORAGE) {
+                                    // 空区段写空气无需创建存储
+                                    if (state.getBlock() == Blocks.AIR) continue;
+                                    storage = new ExtendedBlockStorage(sy << 4, skyLight);
+                                    storageArray[sy] = storage;
+                                }
+
+                                IBlockState old = storage.get(x & 15, y & 15, z & 15);
+                                if (old == state) continue;
+                                if (old.getBlock().hasTileEntity(old)) {
+                                    if (staleTiles == null) staleTiles = new ArrayList<>();
+                                    staleTiles.add(new BlockPos(x, y, z));
+                                }
+                                storage.set(x & 15, y & 15, z & 15, state);
+                                blocksWritten++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        if (staleTiles != null) {
+            for (BlockPos pos : staleTiles) world.removeTileEntity(pos);
+        }
+        setTime += System.nanoTime() - start;
+    }
+
+    /** 用同一种方块填满包围盒（含端点） */
+    public void fill(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, IBlockState state) {
+        apply(minX, minY, minZ, maxX, maxY, maxZ, (x, y, z) -> state);
+    }
+
+    /**
+     * 空心盒：厚度 thick 的外壳写 wall，内部写 inner（一次遍历，不会重复写）
+     *
+     * @param origin 最小角
+     */
+    public void fillHollowBox(BlockPos origin, int sizeX, int sizeY, int sizeZ, int thick, IBlockState wall, IBlockState inner) {
+        int ox = origin.getX(), oy = origin.getY(), oz = origin.getZ();
+        apply(ox, oy, oz, ox + sizeX - 1, oy + sizeY - 1, oz + sizeZ - 1, (x, y, z) -> {
+            int lx = x - ox, ly = y - oy, lz = z - oz;
+            boolean isWall = lx < thick || lx >= sizeX - thick
+                    || ly < thick || ly >= sizeY - thick
+                    || lz < thick || lz >= sizeZ - thick;
+            return isWall ? wall : inner;
+        });
+    }
+
+    /**
+     * 对所有涉及的区块做一次光照重算并重发给客户端
+     */
+    public void finish() {
+        if (touched.isEmpty()) return;
+
+        long relightStart = System.nanoTime();
+        int chunks = touched.size();
+        for (Chunk chunk : touched.values()) {
+            chunk.generateSkylightMap();
+            chunk.setLightPopulated(false);
+            chunk.setTerrainPopulated(true);
+            chunk.resetRelightChecks();
+            chunk.checkLight();
+            chunk.markDirty();
+            resendChunk(chunk);
+        }
+        long relightTime = System.nanoTime() - relightStart;
+        touched.clear();
+
+        System.out.println("[moremod] 批量写入完成 - 方块: " + blocksWritten + ", 区块: " + chunks
+                + ", 方块设置: " + setTime / 1000000 + "ms, 光照计算: " + relightTime / 1000000 + "ms");
+        setTime = 0;
+        blocksWritten = 0;
+    }
+
+    private void resendChunk(Chunk chunk) {
+        if (!(world instanceof WorldServer)) return;
+        PlayerChunkMapEntry entry = ((WorldServer) world).getPlayerChunkMap().getEntry(chunk.x, chunk.z);
+        // 尚未发送给任何玩家的区块，玩家之后加载时自然拿到最新数据
+        if (entry != null && entry.isSentToPlayers()) {
+            entry.sendPacket(new SPacketChunkData(chunk, 65535));
+        }
+    }
+}
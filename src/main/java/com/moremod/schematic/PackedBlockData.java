@@ -0,0 +1,88 @@
+package com.moremod.schematic;
+
+/**
+ * Schematic 方块数据的紧凑存储 - 按调色板大小打包的位数组
+ *
+ * 下标顺序与 Sponge Schematic 文件一致：x + z * width + y * width * length，
+ * 所以加载时可以顺序写入，放置时按 y → z → x 遍历也是顺序读取。
+ *
+ * 每个方块占用 ceil(log2(调色板大小)) 位，条目可跨越 long 边界；
+ * 全是调色板 0 号（通常是空气）时不分配数组。写入超出当前位宽的 ID 时自动扩宽。
+ */
+final class PackedBlockData {
+
+    private final int size;
+    private int bits;
+    private long mask;
+    private long[] data;
+
+    PackedBlockData(int size) {
+        this.size = size;
+    }
+
+    PackedBlockData(int size, int maxId) {
+        this(size);
+        ensureBits(bitsFor(maxId));
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        if (bits == 0) return 0;
+        long bitIndex = (long) index * bits;
+        int word = (int) (bitIndex >>> 6);
+        int offset = (int) (bitIndex & 63);
+        long value = data[word] >>> offset;
+        if (offset + bits > 64) {
+            value |= data[word + 1] << (64 - offset);
+        }
+        return (int) (value & mask);
+    }
+
+    void set(int index, int id) {
+        if (id > mask) {
+            ensureBits(bitsFor(id));
+        }
+        if (bits == 0) return;
+
+        long bitIndex = (long) index * bits;
+        int word = (int) (bitIndex >>> 6);
+        int offset = (int) (bitIndex & 63);
+        long value = id & mask;
+        data[word] = data[word] & ~(mask << offset) | value << offset;
+        if (offset + bits > 64) {
+            int spill = 64 - offset;
+            data[word + 1] = data[word + 1] & ~(mask >>> spill) | value >>> spill;
+        }
+    }
+
+    /** 数据数组占用的字节数（用于日志） */
+    int getDataBytes() {
+        return data == null ? 0 : data.length * 8;
+    }
+
+    private void ensureBits(int newBits) {
+        if (newBits <= bits) return;
+
+        long[] newData = new long[(int) (((long) size * newBits + 63) >>> 6)];
+        if (bits > 0) {
+            PackedBlockData tmp = new PackedBlockData(size);
+            tmp.bits = newBits;
+            tmp.mask = (1L << newBits) - 1;
+            tmp.data = newData;
+            for (int i = 0; i < size; i++) {
+                int id = get(i);
+                if (id != 0) tmp.set(i, id);
+            }
+        }
+        bits = newBits;
+        mask = (1L << newBits) - 1;
+        data = newData;
+    }
+
+    private static int bitsFor(int maxId) {
+        return maxId <= 0 ? 0 : 32 - Integer.numberOfLeadingZeros(maxId);
+    }
+}
@@ -14,17 +14,20 @@ import net.minecraft.nbt.NBTTagDouble;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.nbt.NBTTagString;
 import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.Mirror;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.Rotation;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3i;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
-import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import net.minecraftforge.fml.common.registry.ForgeRegistries;
 
+import javax.annotation.Nullable;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.function.UnaryOperator;
 
 /**
  * 独立的Schematic类 - 不依赖CubicChunks
@@ -77,7 +80,25 @@ public class Schematic {
     public int[] offset = {0, 0, 0};
     public int paletteMax;
     public List<IBlockState> palette = new ArrayList<>();
-    public short[][][] blockData; //[x][y][z]
+    /** 紧凑方块数据，下标 x + z * width + y * width * length，值为调色板ID */
+    PackedBlockData blockData;
+    /** 调色板反查表（状态 → 首次出现的ID），按需构建 */
+    private Map<IBlockState, Integer> paletteLookup;
+    private int paletteLookupSize;
+
+    // ===== 冻结 / 变体 =====
+    /** 冻结后不可修改，可在多个地牢之间共享 */
+    private boolean frozen;
+    /** 冻结后缓存的调色板数组，放置时不再每次 toArray */
+    private IBlockState[] paletteArray;
+    /** 变体与原始模板共享 blockData，按原始模板的宽/长寻址 */
+    private boolean transformed;
+    private Rotation rotation = Rotation.NONE;
+    private Mirror mirror = Mirror.NONE;
+    private int dataWidth;
+    private int dataLength;
+    /** 已生成的旋转/镜像变体，下标 rotation * 3 + mirror */
+    private Schematic[] variants;
     public List<NBTTagCompound> tileEntities = new ArrayList<>();
     public List<NBTTagCompound> entities = new ArrayList<>();
 
@@ -90,7 +111,7 @@ public class Schematic {
         this.width = width;
         this.height = height;
         this.length = length;
-        blockData = new short[width][height][length];
+        blockData = new PackedBlockData(width * height * length);
         palette.add(Blocks.AIR.getDefaultState());
         paletteMax++;
         creationDate = System.currentTimeMillis();
@@ -181,34 +202,20 @@ public class Schematic {
             schematic.paletteMax = schematic.palette.size() - 1;
         }
 
-        byte[] blockDataIntArray = nbt.getByteArray("BlockData");
-        schematic.blockData = new short[schematic.width][schematic.height][schematic.length];
+        // 直接解码到紧凑存储，不再展开成三维数组
+        byte[] blockDataBytes = nbt.getByteArray("BlockData");
+        int volume = schematic.width * schematic.height * schematic.length;
+        schematic.blockData = new PackedBlockData(volume, Math.max(schematic.paletteMax, schematic.palette.size() - 1));
 
         // 1.13+ schematic 使用 varint 编码
         if (schematic.version >= 2 && schematic.paletteMax > 127) {
-            // 使用 varint 解码
-            int[] decodedData = decodeVarintBlockData(blockDataIntArray, schematic.width * schematic.height * schematic.length);
-            int idx = 0;
-            for (int y = 0; y < schematic.height; y++) {
-                for (int z = 0; z < schematic.length; z++) {
-                    for (int x = 0; x < schematic.width; x++) {
-                        if (idx < decodedData.length) {
-                            schematic.blockData[x][y][z] = (short) decodedData[idx++];
-                        }
-                    }
-                }
-            }
+            decodeVarintBlockData(blockDataBytes, schematic.blockData);
         } else {
             // 标准格式或小调色板
-            for (int x = 0; x < schematic.width; x++) {
-                for (int y = 0; y < schematic.height; y++) {
-                    for (int z = 0; z < schematic.length; z++) {
-                        int idx = x + z * schematic.width + y * schematic.width * schematic.length;
-                        if (idx < blockDataIntArray.length) {
-                            schematic.blockData[x][y][z] = (short) (blockDataIntArray[idx] & 0xFF);
-                        }
-                    }
-                }
+            int count = Math.min(volume, blockDataBytes.length);
+            for (int i = 0; i < count; i++) {
+                int id = blockDataBytes[i] & 0xFF;
+                if (id != 0) schematic.blockData.set(i, id);
             }
         }
 
@@ -260,15 +267,15 @@ public class Schematic {
         }
         nbt.setTag("Palette", paletteNBT);
 
-        byte[] blockDataIntArray = new byte[width * height * length];
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                for (int z = 0; z < length; z++) {
-                    blockDataIntArray[x + z * width + y * width * length] = (byte) blockData[x][y][z];
+        byte[] blockDataBytes = new byte[width * height * length];
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    blockDataBytes[index(x, y, z)] = (byte) blockData.get(dataIndex(x, y, z));
                 }
             }
         }
-        nbt.setByteArray("BlockData", blockDataIntArray);
+        nbt.setByteArray("BlockData", blockDataBytes);
 
         NBTTagList tileEntitiesTagList = new NBTTagList();
         for (NBTTagCompound tileEntityTagCompound : tileEntities) {
@@ -391,8 +398,19 @@ public class Schematic {
     }
 
     public void place(World world, int xBase, int yBase, int zBase) {
+        BulkBlockWriter writer = new BulkBlockWriter(world);
+        place(writer, xBase, yBase, zBase);
+        writer.finish();
+    }
+
+    /**
+     * 写入共享的批量写入器（光照重算与区块重发由调用方统一 finish）
+     */
+    public void place(BulkBlockWriter writer, int xBase, int yBase, int zBase) {
+        World world = writer.getWorld();
+
         // 放置方块
-        setBlocks(world, xBase, yBase, zBase);
+        setBlocks(writer, xBase, yBase, zBase);
 
         // 设置TileEntity数据
         for (NBTTagCompound tileEntityNBT : tileEntities) {
@@ -440,7 +458,7 @@ public class Schematic {
         if (x < 0 || x >= width || y < 0 || y >= height || z < 0 || z >= length) {
             return Blocks.AIR.getDefaultState();
         }
-        return palette.get(blockData[x][y][z]);
+        return palette.get(blockData.get(dataIndex(x, y, z)));
     }
 
     public void setBlockState(int x, int y, int z, IBlockState state) {
@@ -450,84 +468,213 @@ public class Schematic {
             // System.err.println("[Schematic] 警告: 方块越界 (" + x + ", " + y + ", " + z + ") 范围: (" + width + ", " + height + ", " + length + ")");
             return;
         }
-        if (palette.contains(state)) {
-            blockData[x][y][z] = (short) palette.indexOf(state);
-        } else {
-            palette.add(state);
-            blockData[x][y][z] = (short) ++paletteMax;
+        if (frozen) {
+            throw new IllegalStateException("Schematic 已冻结，不能修改: " + name);
+        }
+        blockData.set(index(x, y, z), paletteId(state));
+    }
+
+    /** 紧凑存储中的下标（与文件中的 BlockData 顺序一致） */
+    private int index(int x, int y, int z) {
+        return x + z * width + y * width * length;
+    }
+
+    /** 本模板坐标对应的存储下标；变体先逆变换回原始模板坐标 */
+    private int dataIndex(int x, int y, int z) {
+        if (!transformed) return index(x, y, z);
+
+        int sx, sz;
+        switch (rotation) {
+            case CLOCKWISE_90:
+                sx = z;
+                sz = dataLength - 1 - x;
+                break;
+            case COUNTERCLOCKWISE_90:
+                sx = dataWidth - 1 - z;
+                sz = x;
+                break;
+            case CLOCKWISE_180:
+                sx = dataWidth - 1 - x;
+                sz = dataLength - 1 - z;
+                break;
+            default:
+                sx = x;
+                sz = z;
+        }
+        if (mirror == Mirror.LEFT_RIGHT) {
+            sz = dataLength - 1 - sz;
+        } else if (mirror == Mirror.FRONT_BACK) {
+            sx = dataWidth - 1 - sx;
+        }
+        return sx + sz * dataWidth + y * dataWidth * dataLength;
+    }
+
+    /** 状态对应的调色板ID，不存在时追加 */
+    private int paletteId(IBlockState state) {
+        if (paletteLookup == null || paletteLookupSize != palette.size()) {
+            paletteLookup = new HashMap<>();
+            for (int i = 0; i < palette.size(); i++) paletteLookup.putIfAbsent(palette.get(i), i);
+            paletteLookupSize = palette.size();
         }
+        Integer id = paletteLookup.get(state);
+        if (id != null) return id;
+
+        int newId = palette.size();
+        palette.add(state);
+        paletteLookup.put(state, newId);
+        paletteLookupSize = palette.size();
+        paletteMax = Math.max(paletteMax, newId);
+        return newId;
+    }
+
+    /** 方块数据占用的字节数（紧凑存储） */
+    public int getBlockDataBytes() {
+        return blockData.getDataBytes();
     }
 
     /**
-     * 优化的方块放置方法 - 只使用标准Minecraft chunk系统
+     * 优化的方块放置方法 - 按区段直接写入 ExtendedBlockStorage
+     * 空气只覆盖已有区段，不会为纯空气创建新区段
      */
-    private void setBlocks(World world, int xBase, int yBase, int zBase) {
-        long setTime = 0;
-        long relightTime = 0;
-
-        System.out.println("[moremod] 开始放置 schematic 方块...");
-
-        // 使用标准的chunk系统
-        for (int chunkX = 0; chunkX <= (width >> 4) + 1; chunkX++) {
-            for (int chunkZ = 0; chunkZ <= (length >> 4) + 1; chunkZ++) {
-                long setStart = System.nanoTime();
-
-                // 获取chunk - 使用兼容1.12.2的方法
-                Chunk chunk = world.getChunk((xBase >> 4) + chunkX, (zBase >> 4) + chunkZ);
-                ExtendedBlockStorage[] storageArray = chunk.getBlockStorageArray();
-
-                for (int storageY = 0; storageY <= (height >> 4) + 1; storageY++) {
-                    // 获取或创建存储区
-                    int storageIndex = (yBase >> 4) + storageY;
-                    if (storageIndex < 0 || storageIndex >= 16) continue;
-
-                    ExtendedBlockStorage storage = storageArray[storageIndex];
-                    boolean needsNewStorage = (storage == null);
-
-                    for (int x = 0; x < 16; x++) {
-                        for (int y = 0; y < 16; y++) {
-                            for (int z = 0; z < 16; z++) {
-                                int sx = (chunkX << 4) + x - (xBase & 0x0F);
-                                int sy = (storageY << 4) + y - (yBase & 0x0F);
-                                int sz = (chunkZ << 4) + z - (zBase & 0x0F);
-
-                                if (sx >= 0 && sy >= 0 && sz >= 0 && sx < width && sy < height && sz < length) {
-                                    IBlockState state = palette.get(blockData[sx][sy][sz]);
-
-                                    if (!state.getBlock().equals(Blocks.AIR)) {
-                                        if (needsNewStorage) {
-                                            storage = new ExtendedBlockStorage(storageY << 4, world.provider.hasSkyLight());
-                                            storageArray[storageIndex] = storage;
-                                            needsNewStorage = false;
-                                        }
-                                        storage.set(x, y, z, state);
-                                    } else if (storage != null) {
-                                        storage.set(x, y, z, state);
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
+    private void setBlocks(BulkBlockWriter writer, int xBase, int yBase, int zBase) {
+        IBlockState[] states = paletteArray != null ? paletteArray : palette.toArray(new IBlockState[0]);
+        PackedBlockData data = blockData;
+        int maxX = xBase + width - 1, maxY = yBase + height - 1, maxZ = zBase + length - 1;
+        if (transformed) {
+            writer.apply(xBase, yBase, zBase, maxX, maxY, maxZ,
+                    (x, y, z) -> states[data.get(dataIndex(x - xBase, y - yBase, z - zBase))]);
+            return;
+        }
+        int w = width, wl = width * length;
+        writer.apply(xBase, yBase, zBase, maxX, maxY, maxZ,
+                (x, y, z) -> states[data.get((x - xBase) + (z - zBase) * w + (y - yBase) * wl)]);
+    }
+
+    // ==================== 冻结与变体 ====================
+
+    /**
+     * 冻结模板：之后 setBlockState 会抛异常，调色板/TileEntity/实体列表变为只读。
+     * 冻结的模板可以被多个地牢、多个变体共享。
+     */
+    public Schematic freeze() {
+        if (frozen) return this;
+        frozen = true;
+        paletteArray = palette.toArray(new IBlockState[0]);
+        palette = Collections.unmodifiableList(palette);
+        tileEntities = Collections.unmodifiableList(tileEntities);
+        entities = Collections.unmodifiableList(entities);
+        paletteLookup = null;
+        return this;
+    }
 
-                setTime += System.nanoTime() - setStart;
+    public boolean isFrozen() {
+        return frozen;
+    }
 
-                // 更新光照
-                long relightStart = System.nanoTime();
-                chunk.setLightPopulated(false);
-                chunk.setTerrainPopulated(true);
-                chunk.resetRelightChecks();
-                chunk.checkLight();
-                relightTime += System.nanoTime() - relightStart;
+    /**
+     * 旋转/镜像变体（先镜像后旋转，与原版 Template 一致）
+     *
+     * 变体与原始模板共享方块数据，只变换调色板（每个状态一次）和 TileEntity/实体坐标，
+     * 放置时按坐标逆变换读取。结果会缓存，原始模板随之冻结。
+     */
+    public Schematic variant(Rotation rotation, Mirror mirror) {
+        if (rotation == Rotation.NONE && mirror == Mirror.NONE) return freeze();
+        if (transformed) {
+            throw new IllegalStateException("变体只能从原始模板创建: " + name);
+        }
+
+        if (variants == null) variants = new Schematic[Rotation.values().length * Mirror.values().length];
+        int key = rotation.ordinal() * Mirror.values().length + mirror.ordinal();
+        Schematic v = variants[key];
+        if (v == null) {
+            v = createVariant(rotation, mirror, null);
+            variants[key] = v;
+        }
+        return v;
+    }
 
-                chunk.markDirty();
+    /**
+     * 旋转/镜像并替换调色板的变体（不缓存，替换函数对每个调色板状态调用一次）
+     */
+    public Schematic variant(Rotation rotation, Mirror mirror, UnaryOperator<IBlockState> paletteSwap) {
+        if (transformed) {
+            throw new IllegalStateException("变体只能从原始模板创建: " + name);
+        }
+        return createVariant(rotation, mirror, paletteSwap);
+    }
+
+    private Schematic createVariant(Rotation rotation, Mirror mirror, @Nullable UnaryOperator<IBlockState> paletteSwap) {
+        freeze();
+
+        boolean swapAxes = rotation == Rotation.CLOCKWISE_90 || rotation == Rotation.COUNTERCLOCKWISE_90;
+        Schematic v = new Schematic();
+        v.version = version;
+        v.name = name;
+        v.author = author;
+        v.creationDate = creationDate;
+        v.requiredMods = requiredMods;
+        v.offset = offset.clone();
+        v.width = swapAxes ? length : width;
+        v.height = height;
+        v.length = swapAxes ? width : length;
+
+        v.transformed = true;
+        v.rotation = rotation;
+        v.mirror = mirror;
+        v.dataWidth = width;
+        v.dataLength = length;
+        v.blockData = blockData;
+
+        for (IBlockState state : palette) {
+            IBlockState s = state.withMirror(mirror).withRotation(rotation);
+            if (paletteSwap != null) s = paletteSwap.apply(s);
+            v.palette.add(s);
+        }
+        v.paletteMax = paletteMax;
+
+        for (NBTTagCompound te : tileEntities) {
+            NBTTagCompound copy = te.copy();
+            int[] xz = transformXZ(te.getInteger("x"), te.getInteger("z"), rotation, mirror);
+            copy.setInteger("x", xz[0]);
+            copy.setInteger("z", xz[1]);
+            v.tileEntities.add(copy);
+        }
+
+        // 实体只变换位置，朝向保持不变
+        for (NBTTagCompound entity : entities) {
+            NBTTagCompound copy = entity.copy();
+            NBTTagList posNBT = (NBTTagList) entity.getTag("Pos");
+            double x = posNBT.getDoubleAt(0), z = posNBT.getDoubleAt(2);
+            if (mirror == Mirror.LEFT_RIGHT) z = length - z;
+            else if (mirror == Mirror.FRONT_BACK) x = width - x;
+            double nx, nz;
+            switch (rotation) {
+                case CLOCKWISE_90: nx = length - z; nz = x; break;
+                case COUNTERCLOCKWISE_90: nx = z; nz = width - x; break;
+                case CLOCKWISE_180: nx = width - x; nz = length - z; break;
+                default: nx = x; nz = z;
             }
+            NBTTagList newPosNBT = new NBTTagList();
+            newPosNBT.appendTag(new NBTTagDouble(nx));
+            newPosNBT.appendTag(new NBTTagDouble(posNBT.getDoubleAt(1)));
+            newPosNBT.appendTag(new NBTTagDouble(nz));
+            copy.setTag("Pos", newPosNBT);
+            v.entities.add(copy);
         }
 
-        // 触发客户端更新
-        world.markBlockRangeForRenderUpdate(xBase, yBase, zBase, xBase + width, yBase + height, zBase + length);
+        return v.freeze();
+    }
 
-        System.out.println("[moremod] Schematic放置完成 - 方块设置: " + setTime / 1000000 + "ms, 光照计算: " + relightTime / 1000000 + "ms");
+    /** 原始模板坐标 → 变体坐标（dataIndex 的正变换） */
+    private int[] transformXZ(int x, int z, Rotation rotation, Mirror mirror) {
+        if (mirror == Mirror.LEFT_RIGHT) z = length - 1 - z;
+        else if (mirror == Mirror.FRONT_BACK) x = width - 1 - x;
+        switch (rotation) {
+            case CLOCKWISE_90: return new int[]{length - 1 - z, x};
+            case COUNTERCLOCKWISE_90: return new int[]{z, width - 1 - x};
+            case CLOCKWISE_180: return new int[]{width - 1 - x, length - 1 - z};
+            default: return new int[]{x, z};
+        }
     }
 
     /**
@@ -612,10 +759,10 @@ public class Schematic {
     }
 
     /**
-     * 解码 varint 编码的方块数据
+     * 解码 varint 编码的方块数据，顺序写入紧凑存储
      */
-    private static int[] decodeVarintBlockData(byte[] data, int expectedSize) {
-        int[] result = new int[expectedSize];
+    private static void decodeVarintBlockData(byte[] data, PackedBlockData out) {
+        int expectedSize = out.size();
         int resultIdx = 0;
         int dataIdx = 0;
 
@@ -631,10 +778,9 @@ public class Schematic {
                 shift += 7;
             }
 
-            result[resultIdx++] = value;
+            if (value != 0) out.set(resultIdx, value);
+            resultIdx++;
         }
-
-        return result;
     }
 
     /**
@@ -652,17 +798,24 @@ public class Schematic {
         sub.name = this.name + "_sub";
         sub.author = this.author;
 
-        for (int x = 0; x < w; x++) {
-            for (int y = 0; y < h; y++) {
-                for (int z = 0; z < l; z++) {
+        // 直接复制调色板ID，只把实际用到的状态放进子区域调色板
+        int[] remap = new int[palette.size()];
+        Arrays.fill(remap, -1);
+
+        for (int y = 0; y < h; y++) {
+            int srcY = startY + y;
+            if (srcY < 0 || srcY >= height) continue;
+            for (int z = 0; z < l; z++) {
+                int srcZ = startZ + z;
+                if (srcZ < 0 || srcZ >= length) continue;
+                for (int x = 0; x < w; x++) {
                     int srcX = startX + x;
-                    int srcY = startY + y;
-                    int srcZ = startZ + z;
+                    if (srcX < 0 || srcX >= width) continue;
 
-                    if (srcX >= 0 && srcX < width && srcY >= 0 && srcY < height && srcZ >= 0 && srcZ < length) {
-                        IBlockState state = getBlockState(srcX, srcY, srcZ);
-                        sub.setBlockState(x, y, z, state);
-                    }
+                    int id = blockData.get(dataIndex(srcX, srcY, srcZ));
+                    int mapped = remap[id];
+                    if (mapped < 0) mapped = remap[id] = sub.paletteId(palette.get(id));
+                    if (mapped != 0) sub.blockData.set(sub.index(x, y, z), mapped);
                 }
             }
         }
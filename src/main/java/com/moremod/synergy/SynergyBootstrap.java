@@ -84,9 +84,10 @@ public class SynergyBootstrap {
         try {
             System.out.println("[Synergy] Shutting down Synergy system...");
 
-            // 注销事件处理器
+            // 注销事件处理器和周期任务
             if (eventHandler != null) {
                 MinecraftForge.EVENT_BUS.unregister(eventHandler);
+                eventHandler.unregisterTasks();
                 eventHandler = null;
             }
 
@@ -101,6 +102,15 @@ public class SynergyBootstrap {
         }
     }
 
+    /**
+     * 注册 Synergy 的玩家周期任务（系统未初始化时不做任何事）
+     */
+    public static void registerTasks() {
+        if (eventHandler != null) {
+            eventHandler.registerTasks();
+        }
+    }
+
     /**
      * 检查 Synergy 系统是否已初始化
      */
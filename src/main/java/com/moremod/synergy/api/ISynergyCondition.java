@@ -44,6 +44,18 @@ public interface ISynergyCondition {
         return this.getClass().getSimpleName().toLowerCase().replace("condition", "");
     }
 
+    /**
+     * 结果是否可以在同一次事件分发内复用
+     *
+     * 多个 Synergy 共用同一条件实例时，只计算一次；任何效果执行后缓存即失效。
+     * 每次调用结果都可能不同的条件（如随机概率）应返回 false。
+     *
+     * @return true 如果可以缓存
+     */
+    default boolean isMemoizable() {
+        return true;
+    }
+
     // ==================== 组合器 ====================
 
     /**
@@ -64,6 +76,11 @@ public interface ISynergyCondition {
             public String getDescription() {
                 return "(" + self.getDescription() + " AND " + other.getDescription() + ")";
             }
+
+            @Override
+            public boolean isMemoizable() {
+                return self.isMemoizable() && other.isMemoizable();
+            }
         };
     }
 
@@ -85,6 +102,11 @@ public interface ISynergyCondition {
             public String getDescription() {
                 return "(" + self.getDescription() + " OR " + other.getDescription() + ")";
             }
+
+            @Override
+            public boolean isMemoizable() {
+                return self.isMemoizable() && other.isMemoizable();
+            }
         };
     }
 
@@ -105,6 +127,11 @@ public interface ISynergyCondition {
             public String getDescription() {
                 return "NOT(" + self.getDescription() + ")";
             }
+
+            @Override
+            public boolean isMemoizable() {
+                return self.isMemoizable();
+            }
         };
     }
 
@@ -6,6 +6,7 @@ import com.moremod.item.ItemMechanicalCoreExtended.UpgradeCategory;
 import com.moremod.item.ItemMechanicalCoreExtended.UpgradeInfo;
 import com.moremod.synergy.api.IInstalledModuleView;
 import com.moremod.synergy.api.IModuleProvider;
+import com.moremod.util.PlayerEquipmentIndex;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.energy.IEnergyStorage;
@@ -42,22 +43,15 @@ public class ExistingModuleBridge implements IModuleProvider {
     /**
      * 获取玩家的机械核心
      *
-     * 使用 ItemMechanicalCoreExtended.getCoreFromPlayer() 或
-     * ItemMechanicalCore.getCoreFromPlayer() 来获取
+     * 通过 PlayerEquipmentIndex 获取（与 ItemMechanicalCore.getCoreFromPlayer() 结果一致）
      */
     @Override
     @Nullable
     public ItemStack getMechanicalCore(@Nonnull EntityPlayer player) {
         try {
-            // 优先使用 Extended 的方法
-            ItemStack core = ItemMechanicalCoreExtended.getCoreFromPlayer(player);
-            if (core != null && !core.isEmpty()) {
-                return core;
-            }
-
-            // 备选：使用主核心的方法
-            core = ItemMechanicalCore.getCoreFromPlayer(player);
-            return (core != null && !core.isEmpty()) ? core : null;
+            // 装备索引：槽位未变化时为 O(1)
+            ItemStack core = PlayerEquipmentIndex.getCore(player);
+            return core.isEmpty() ? null : core;
         } catch (Exception e) {
             System.err.println("[SynergyBridge] Error getting mechanical core: " + e.getMessage());
             return null;
@@ -296,10 +290,26 @@ public class ExistingModuleBridge implements IModuleProvider {
      * @return 能量百分比 (0-100)
      */
     public float getEnergyPercent(@Nonnull EntityPlayer player) {
-        int current = getCurrentEnergy(player);
-        int max = getMaxEnergy(player);
-        if (max <= 0) return 0f;
-        return (current / (float) max) * 100f;
+        return getEnergyPercent(getMechanicalCore(player));
+    }
+
+    /**
+     * 获取指定机械核心的能量百分比（只读取一次能量存储）
+     *
+     * @param core 机械核心
+     * @return 能量百分比 (0-100)
+     */
+    public float getEnergyPercent(@Nullable ItemStack core) {
+        if (core == null || core.isEmpty()) {
+            return 0f;
+        }
+        try {
+            IEnergyStorage storage = ItemMechanicalCore.getEnergyStorage(core);
+            if (storage == null || storage.getMaxEnergyStored() <= 0) return 0f;
+            return (storage.getEnergyStored() / (float) storage.getMaxEnergyStored()) * 100f;
+        } catch (Exception e) {
+            return 0f;
+        }
     }
 
     /**
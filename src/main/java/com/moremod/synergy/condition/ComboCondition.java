@@ -19,7 +19,7 @@ public class ComboCondition implements ISynergyCondition {
 
     @Override
     public boolean test(SynergyContext context) {
-        SynergyPlayerState state = SynergyPlayerState.get(context.getPlayer());
+        SynergyPlayerState state = context.getPlayerState();
         return state.getComboCount() >= requiredHits;
     }
 
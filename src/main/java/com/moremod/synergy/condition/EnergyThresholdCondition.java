@@ -11,6 +11,9 @@ import com.moremod.synergy.core.SynergyContext;
  */
 public class EnergyThresholdCondition implements ISynergyCondition {
 
+    /** 同一上下文内各能量条件共享的能量百分比 */
+    private static final String ENERGY_PERCENT_KEY = "energy_percent";
+
     public enum CompareType {
         GREATER_THAN,
         GREATER_OR_EQUAL,
@@ -38,8 +41,8 @@ public class EnergyThresholdCondition implements ISynergyCondition {
 
     @Override
     public boolean test(SynergyContext context) {
-        ExistingModuleBridge bridge = ExistingModuleBridge.getInstance();
-        float currentPercent = bridge.getEnergyPercent(context.getPlayer());
+        float currentPercent = context.getOrCompute(ENERGY_PERCENT_KEY,
+                c -> ExistingModuleBridge.getInstance().getEnergyPercent(c.getMechanicalCore()));
 
         switch (compareType) {
             case GREATER_THAN:
@@ -6,6 +6,7 @@ import com.moremod.synergy.core.SynergyContext;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -38,31 +39,22 @@ public class HasModulesCondition implements ISynergyCondition {
             return true;
         }
 
+        // ID 已在构造时转为大写，直接查快照中的集合
+        Set<String> ids = requireActive ? context.getActiveModuleIds() : context.getInstalledModuleIds();
+
         if (requireAll) {
             // 检查是否拥有所有模块
             for (String moduleId : requiredModules) {
-                if (requireActive) {
-                    if (!context.hasActiveModule(moduleId)) {
-                        return false;
-                    }
-                } else {
-                    if (context.getModule(moduleId) == null) {
-                        return false;
-                    }
+                if (!ids.contains(moduleId)) {
+                    return false;
                 }
             }
             return true;
         } else {
             // 检查是否拥有任意一个模块
             for (String moduleId : requiredModules) {
-                if (requireActive) {
-                    if (context.hasActiveModule(moduleId)) {
-                        return true;
-                    }
-                } else {
-                    if (context.getModule(moduleId) != null) {
-                        return true;
-                    }
+                if (ids.contains(moduleId)) {
+                    return true;
                 }
             }
             return false;
@@ -28,6 +28,11 @@ public class RandomChanceCondition implements ISynergyCondition {
         return RANDOM.nextFloat() < chance;
     }
 
+    @Override
+    public boolean isMemoizable() {
+        return false;  // 每个 Synergy 独立掷骰
+    }
+
     @Override
     public String getDescription() {
         return String.format("%.0f%% chance", chance * 100);
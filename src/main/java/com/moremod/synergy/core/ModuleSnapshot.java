@@ -0,0 +1,149 @@
+package com.moremod.synergy.core;
+
+import com.moremod.item.MechanicalCoreSnapshot;
+import com.moremod.synergy.api.IInstalledModuleView;
+import com.moremod.synergy.api.IModuleProvider;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 玩家模块快照（只读）
+ *
+ * 把桥接层返回的模块视图一次性整理成：列表 / 按 ID 索引 / 已安装 ID 集合 / 激活 ID 集合。
+ * 按玩家缓存，满足以下全部条件时直接复用：
+ *  - 同一个核心 ItemStack 与同一个 NBT 实例
+ *  - 核心升级快照（{@link MechanicalCoreSnapshot}）未重新编译，即升级/禁用/暂停键未变化
+ *  - 同一个世界 tick（激活状态还取决于能量，跨 tick 必须重建）
+ *
+ * 每次重建分配新的版本号；Synergy 效果执行后由 SynergyManager 主动失效。
+ */
+public final class ModuleSnapshot {
+
+    private static final Map<UUID, ModuleSnapshot> CACHE = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_VERSION = new AtomicInteger();
+
+    private final ItemStack core;
+    @Nullable private final NBTTagCompound tag;
+    @Nullable private final MechanicalCoreSnapshot upgrades;
+    private final long worldTime;
+    private final int version;
+
+    private final List<IInstalledModuleView> modules;
+    private final Map<String, IInstalledModuleView> byId;
+    private final Set<String> activeIds;
+
+    private ModuleSnapshot(ItemStack core, @Nullable MechanicalCoreSnapshot upgrades, long worldTime,
+                           List<IInstalledModuleView> modules) {
+        this.core = core;
+        this.tag = core.getTagCompound();
+        this.upgrades = upgrades;
+        this.worldTime = worldTime;
+        this.version = NEXT_VERSION.incrementAndGet();
+        this.modules = Collections.unmodifiableList(new ArrayList<>(modules));
+
+        Map<String, IInstalledModuleView> index = new HashMap<>();
+        Set<String> active = new HashSet<>();
+        for (IInstalledModuleView module : this.modules) {
+            String id = module.getModuleId().toUpperCase(Locale.ROOT);
+            index.putIfAbsent(id, module);  // 与旧的线性查找一致：同 ID 取第一个
+            if (module.isActive()) {
+                active.add(id);
+            }
+        }
+        this.byId = Collections.unmodifiableMap(index);
+        this.activeIds = Collections.unmodifiableSet(active);
+    }
+
+    // ==================== 获取 ====================
+
+    /**
+     * 获取玩家当前的模块快照（未佩戴核心返回 null）
+     */
+    @Nullable
+    public static ModuleSnapshot of(@Nonnull EntityPlayer player, @Nonnull IModuleProvider provider) {
+        UUID playerId = player.getUniqueID();
+        ItemStack core = provider.getMechanicalCore(player);
+        if (core == null || core.isEmpty()) {
+            CACHE.remove(playerId);
+            return null;
+        }
+
+        MechanicalCoreSnapshot upgrades = core.hasTagCompound() ? MechanicalCoreSnapshot.of(core) : null;
+        long worldTime = player.world.getTotalWorldTime();
+
+        ModuleSnapshot cached = CACHE.get(playerId);
+        if (cached != null && cached.isValidFor(core, upgrades, worldTime)) {
+            return cached;
+        }
+
+        ModuleSnapshot snapshot = new ModuleSnapshot(core, upgrades, worldTime, provider.getInstalledModules(core));
+        CACHE.put(playerId, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * 由现成的模块列表构建（不缓存，供 SynergyContext.Builder 使用）
+     */
+    @Nonnull
+    static ModuleSnapshot of(@Nonnull ItemStack core, @Nonnull List<IInstalledModuleView> modules) {
+        return new ModuleSnapshot(core, null, -1L, modules);
+    }
+
+    private boolean isValidFor(ItemStack core, @Nullable MechanicalCoreSnapshot upgrades, long worldTime) {
+        return this.core == core
+                && this.tag == core.getTagCompound()
+                && this.upgrades == upgrades
+                && this.worldTime == worldTime;
+    }
+
+    /** 核心状态可能已变化（效果执行后等），下次访问时重建 */
+    public static void invalidate(@Nonnull UUID playerId) {
+        CACHE.remove(playerId);
+    }
+
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    // ==================== 查询 ====================
+
+    /** 每次重建递增的版本号 */
+    public int getVersion() {
+        return version;
+    }
+
+    @Nonnull
+    public ItemStack getCore() {
+        return core;
+    }
+
+    @Nonnull
+    public List<IInstalledModuleView> getModules() {
+        return modules;
+    }
+
+    /** 激活模块 ID（大写） */
+    @Nonnull
+    public Set<String> getActiveIds() {
+        return activeIds;
+    }
+
+    /** 已安装模块 ID（大写，不论是否激活） */
+    @Nonnull
+    public Set<String> getInstalledIds() {
+        return byId.keySet();
+    }
+
+    /** 按大写 ID 查找模块视图 */
+    @Nullable
+    public IInstalledModuleView get(@Nonnull String normalizedId) {
+        return byId.get(normalizedId);
+    }
+}
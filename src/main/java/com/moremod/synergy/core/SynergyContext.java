@@ -1,6 +1,7 @@
 package com.moremod.synergy.core;
 
 import com.moremod.synergy.api.IInstalledModuleView;
+import com.moremod.synergy.api.ISynergyCondition;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
@@ -10,57 +11,154 @@ import net.minecraftforge.fml.common.eventhandler.Event;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Synergy 上下文
  *
  * 封装 Synergy 条件判断和效果执行所需的所有信息。
- * 这是一个不可变的数据传输对象。
+ * 对外只读；SynergyManager 分发事件时从线程内的对象池取用，分发结束后归还，
+ * 因此条件/效果不应在 apply 之外持有上下文引用。
  *
  * 包含：
  * - 触发事件
  * - 玩家信息
- * - 已安装模块快照
+ * - 已安装模块快照（{@link ModuleSnapshot}，按玩家缓存）
  * - 目标实体（如果有）
  * - 自定义数据存储
+ * - 单次分发内的条件结果缓存
  */
 public class SynergyContext {
 
     // ==================== 核心字段 ====================
 
-    private final EntityPlayer player;
-    private final ItemStack mechanicalCore;
-    private final List<IInstalledModuleView> modules;
-    private final Set<String> activeModuleIds;
-    private final Event triggerEvent;
-    private final SynergyEventType eventType;
+    private EntityPlayer player;
+    private ModuleSnapshot snapshot;
+    private Event triggerEvent;
+    private SynergyEventType eventType;
 
     // ==================== 可选字段 ====================
 
-    private final EntityLivingBase target;
-    private final float originalDamage;
-    private final Map<String, Object> customData;
+    private EntityLivingBase target;
+    private float originalDamage;
+    private Map<String, Object> customData;
+
+    // ==================== 分发内缓存 ====================
+
+    /** 条件实例 → 结果（按身份比较），有效期为一次分发内、下一次效果执行前 */
+    private final Map<ISynergyCondition, Boolean> conditionResults = new IdentityHashMap<>();
+
+    /** 条件间共享的中间结果（如能量百分比），与 conditionResults 同时失效 */
+    private final Map<String, Object> computed = new HashMap<>();
+
+    private SynergyPlayerState playerState;
 
     // ==================== 构造器 ====================
 
+    private SynergyContext() {
+    }
+
     private SynergyContext(Builder builder) {
         this.player = builder.player;
-        this.mechanicalCore = builder.mechanicalCore;
-        this.modules = Collections.unmodifiableList(new ArrayList<>(builder.modules));
+        this.snapshot = ModuleSnapshot.of(builder.mechanicalCore, builder.modules);
         this.triggerEvent = builder.triggerEvent;
         this.eventType = builder.eventType;
         this.target = builder.target;
         this.originalDamage = builder.originalDamage;
         this.customData = Collections.unmodifiableMap(new HashMap<>(builder.customData));
+    }
 
-        // 预计算激活模块 ID 集合
-        Set<String> activeIds = new HashSet<>();
-        for (IInstalledModuleView module : this.modules) {
-            if (module.isActive()) {
-                activeIds.add(module.getModuleId().toUpperCase(Locale.ROOT));
-            }
+    // ==================== 对象池 ====================
+
+    /** 每个线程一个池；事件分发可能嵌套（效果造成伤害 → 再次触发事件），按深度取用 */
+    private static final ThreadLocal<Pool> POOL = ThreadLocal.withInitial(Pool::new);
+
+    private static final class Pool {
+        SynergyContext[] contexts = new SynergyContext[4];
+        int depth;
+    }
+
+    /**
+     * 从池中取出一个上下文并填充（必须与 {@link #release()} 成对调用）
+     */
+    static SynergyContext acquire(EntityPlayer player, ModuleSnapshot snapshot, SynergyEventType eventType,
+                                  @Nullable Event event, @Nullable EntityLivingBase target, float damage) {
+        Pool pool = POOL.get();
+        if (pool.depth == pool.contexts.length) {
+            pool.contexts = Arrays.copyOf(pool.contexts, pool.depth * 2);
+        }
+        SynergyContext context = pool.contexts[pool.depth];
+        if (context == null) {
+            context = new SynergyContext();
+            pool.contexts[pool.depth] = context;
         }
-        this.activeModuleIds = Collections.unmodifiableSet(activeIds);
+        pool.depth++;
+
+        context.player = player;
+        context.snapshot = snapshot;
+        context.eventType = eventType != null ? eventType : SynergyEventType.TICK;
+        context.triggerEvent = event;
+        context.target = target;
+        context.originalDamage = damage;
+        context.customData = Collections.emptyMap();
+        return context;
+    }
+
+    /**
+     * 归还到池中，清除所有引用
+     */
+    void release() {
+        Pool pool = POOL.get();
+        if (pool.depth > 0 && pool.contexts[pool.depth - 1] == this) {
+            pool.depth--;
+        }
+        player = null;
+        snapshot = null;
+        triggerEvent = null;
+        target = null;
+        customData = null;
+        playerState = null;
+        invalidateCache();
+    }
+
+    // ==================== 条件缓存 ====================
+
+    /**
+     * 判断条件，同一次分发内相同的条件实例只计算一次
+     *
+     * {@link ISynergyCondition#isMemoizable()} 为 false 的条件（如随机概率）每次重新计算。
+     */
+    public boolean testCondition(ISynergyCondition condition) {
+        if (!condition.isMemoizable()) {
+            return condition.test(this);
+        }
+        Boolean cached = conditionResults.get(condition);
+        if (cached == null) {
+            cached = condition.test(this);
+            conditionResults.put(condition, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * 获取（或计算并缓存）条件间共享的中间结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrCompute(String key, Function<SynergyContext, T> compute) {
+        Object value = computed.get(key);
+        if (value == null) {
+            value = compute.apply(this);
+            computed.put(key, value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * 效果执行后调用：玩家状态可能已改变，丢弃已缓存的条件结果
+     */
+    void invalidateCache() {
+        conditionResults.clear();
+        computed.clear();
     }
 
     // ==================== 访问器 ====================
@@ -78,7 +176,7 @@ public class SynergyContext {
      */
     @Nullable
     public ItemStack getMechanicalCore() {
-        return mechanicalCore;
+        return snapshot.getCore();
     }
 
     /**
@@ -86,7 +184,7 @@ public class SynergyContext {
      */
     @Nonnull
     public List<IInstalledModuleView> getModules() {
-        return modules;
+        return snapshot.getModules();
     }
 
     /**
@@ -94,7 +192,34 @@ public class SynergyContext {
      */
     @Nonnull
     public Set<String> getActiveModuleIds() {
-        return activeModuleIds;
+        return snapshot.getActiveIds();
+    }
+
+    /**
+     * 获取所有已安装模块的 ID 集合（大写，不论是否激活）
+     */
+    @Nonnull
+    public Set<String> getInstalledModuleIds() {
+        return snapshot.getInstalledIds();
+    }
+
+    /**
+     * 获取模块快照
+     */
+    @Nonnull
+    public ModuleSnapshot getModuleSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 获取玩家的 Synergy 状态（同一上下文内只查找一次）
+     */
+    @Nonnull
+    public SynergyPlayerState getPlayerState() {
+        if (playerState == null) {
+            playerState = SynergyPlayerState.get(player);
+        }
+        return playerState;
     }
 
     /**
@@ -137,7 +262,7 @@ public class SynergyContext {
      * @return true 如果模块激活
      */
     public boolean hasActiveModule(String moduleId) {
-        return activeModuleIds.contains(moduleId.toUpperCase(Locale.ROOT));
+        return snapshot.getActiveIds().contains(moduleId.toUpperCase(Locale.ROOT));
     }
 
     /**
@@ -177,13 +302,8 @@ public class SynergyContext {
      * @return 模块等级，未安装返回 0
      */
     public int getModuleLevel(String moduleId) {
-        String normalizedId = moduleId.toUpperCase(Locale.ROOT);
-        for (IInstalledModuleView module : modules) {
-            if (module.getModuleId().toUpperCase(Locale.ROOT).equals(normalizedId)) {
-                return module.getLevel();
-            }
-        }
-        return 0;
+        IInstalledModuleView module = snapshot.get(moduleId.toUpperCase(Locale.ROOT));
+        return module != null ? module.getLevel() : 0;
     }
 
     /**
@@ -194,13 +314,7 @@ public class SynergyContext {
      */
     @Nullable
     public IInstalledModuleView getModule(String moduleId) {
-        String normalizedId = moduleId.toUpperCase(Locale.ROOT);
-        for (IInstalledModuleView module : modules) {
-            if (module.getModuleId().toUpperCase(Locale.ROOT).equals(normalizedId)) {
-                return module;
-            }
-        }
-        return null;
+        return snapshot.get(moduleId.toUpperCase(Locale.ROOT));
     }
 
     /**
@@ -224,7 +338,7 @@ public class SynergyContext {
      * 获取激活模块的数量
      */
     public int getActiveModuleCount() {
-        return activeModuleIds.size();
+        return snapshot.getActiveIds().size();
     }
 
     /**
@@ -1,6 +1,5 @@
 package com.moremod.synergy.core;
 
-import com.moremod.synergy.api.IInstalledModuleView;
 import com.moremod.synergy.api.ISynergyCondition;
 import com.moremod.synergy.api.ISynergyEffect;
 
@@ -153,7 +152,7 @@ public class SynergyDefinition {
 
         // 3. 检查所有条件
         for (ISynergyCondition condition : conditions) {
-            if (!condition.test(context)) {
+            if (!context.testCondition(condition)) {
                 return false;
             }
         }
@@ -183,7 +182,7 @@ public class SynergyDefinition {
 
         Set<String> playerModules = requireAllModulesActive
                 ? context.getActiveModuleIds()
-                : getAllPlayerModuleIds(context);
+                : context.getInstalledModuleIds();
 
         for (String required : requiredModules) {
             if (!playerModules.contains(required.toUpperCase(Locale.ROOT))) {
@@ -194,14 +193,6 @@ public class SynergyDefinition {
         return true;
     }
 
-    private Set<String> getAllPlayerModuleIds(SynergyContext context) {
-        Set<String> ids = new HashSet<>();
-        for (IInstalledModuleView module : context.getModules()) {
-            ids.add(module.getModuleId().toUpperCase(Locale.ROOT));
-        }
-        return ids;
-    }
-
     /**
      * 执行此 Synergy 的所有效果
      *
@@ -1,8 +1,10 @@
 package com.moremod.synergy.core;
 
 import com.moremod.synergy.bridge.ExistingModuleBridge;
+import com.moremod.util.PlayerTickScheduler;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.text.TextComponentString;
@@ -13,7 +15,6 @@ import net.minecraftforge.event.entity.living.LivingHurtEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.PlayerEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 import java.util.Set;
 
@@ -63,6 +64,23 @@ public class SynergyEventHandler {
      */
     private static final int SCALING_COST_PER_SYNERGY = 25;
 
+    private static final String TICK_TASK = "synergy_tick";
+    private static final String ENERGY_TASK = "synergy_energy";
+
+    /**
+     * 周期任务交给调度器，按玩家错峰，避免所有玩家挤在同一 tick
+     * （由 SynergyBootstrap.registerTasks 在模组初始化时统一调用）
+     */
+    public void registerTasks() {
+        PlayerTickScheduler.register(TICK_TASK, TICK_INTERVAL, this::onPlayerTick);
+        PlayerTickScheduler.register(ENERGY_TASK, ENERGY_DRAIN_INTERVAL, this::processSynergyEnergyMaintenance);
+    }
+
+    public void unregisterTasks() {
+        PlayerTickScheduler.unregister(TICK_TASK);
+        PlayerTickScheduler.unregister(ENERGY_TASK);
+    }
+
     /** 能量不足时是否自动停用 Synergy */
     private static final boolean AUTO_DEACTIVATE_ON_LOW_ENERGY = true;
 
@@ -91,39 +109,20 @@ public class SynergyEventHandler {
     }
 
     /**
-     * 玩家 Tick 事件
+     * 玩家周期 Tick（由 PlayerTickScheduler 每秒按玩家错峰调用）
      *
-     * 每秒检测一次 TICK 类型的 Synergy
-     * 每5秒处理一次能量维护消耗
+     * 检测 TICK 类型的 Synergy
      */
-    @SubscribeEvent
-    public void onPlayerTick(TickEvent.PlayerTickEvent event) {
-        // 只在服务端 END 阶段处理
-        if (event.phase != TickEvent.Phase.END) return;
-        if (event.player.world.isRemote) return;
-
+    private void onPlayerTick(EntityPlayerMP player) {
         if (!manager.isInitialized() || !manager.isEnabled()) return;
 
-        long worldTime = event.player.world.getTotalWorldTime();
-
-        // 每秒触发一次（每 20 tick）处理 Synergy TICK 事件
-        if (worldTime % TICK_INTERVAL == 0) {
-            try {
-                manager.processEvent(
-                        event.player,
-                        SynergyEventType.TICK
-                );
-            } catch (Exception e) {
-                if (manager.isDebugMode()) {
-                    System.err.println("[Synergy] Error in tick event: " + e.getMessage());
-                }
+        try {
+            manager.processEvent(player, SynergyEventType.TICK);
+        } catch (Exception e) {
+            if (manager.isDebugMode()) {
+                System.err.println("[Synergy] Error in tick event: " + e.getMessage());
             }
         }
-
-        // 每5秒处理一次 Synergy 能量维护消耗
-        if (worldTime % ENERGY_DRAIN_INTERVAL == 0) {
-            processSynergyEnergyMaintenance(event.player);
-        }
     }
 
     /**
@@ -144,6 +143,8 @@ public class SynergyEventHandler {
      * @param player 玩家
      */
     private void processSynergyEnergyMaintenance(EntityPlayer player) {
+        if (!manager.isInitialized() || !manager.isEnabled()) return;
+
         try {
             // 获取玩家已激活的 Synergy
             Set<String> activeSynergies = manager.getActivatedSynergiesForPlayer(player);
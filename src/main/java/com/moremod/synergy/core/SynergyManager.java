@@ -1,10 +1,8 @@
 package com.moremod.synergy.core;
 
-import com.moremod.synergy.api.IInstalledModuleView;
 import com.moremod.synergy.api.IModuleProvider;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.item.ItemStack;
 import net.minecraftforge.fml.common.eventhandler.Event;
 
 import javax.annotation.Nonnull;
@@ -41,6 +39,20 @@ public class SynergyManager {
     /** 按事件类型索引的 Synergy（用于快速查找） */
     private final Map<SynergyEventType, List<SynergyDefinition>> eventIndex = new ConcurrentHashMap<>();
 
+    /**
+     * 分发表：按事件类型下标（ordinal），已合并 ANY 类型并按优先级排好序
+     * 注册/注销时整体重建
+     */
+    private volatile SynergyDefinition[][] dispatchTable = new SynergyDefinition[0][];
+
+    /** 分发表或激活规则的版本号，变化后所有玩家的候选缓存失效 */
+    private volatile int dispatchVersion = 0;
+
+    /** 玩家 → 各事件类型的候选 Synergy（分发表与该玩家已激活集合的交集） */
+    private final Map<UUID, PlayerDispatch> playerDispatch = new ConcurrentHashMap<>();
+
+    private static final SynergyDefinition[] NO_CANDIDATES = new SynergyDefinition[0];
+
     /** 模块提供者（桥接层） */
     private IModuleProvider moduleProvider;
 
@@ -72,6 +84,7 @@ public class SynergyManager {
         for (SynergyEventType type : SynergyEventType.values()) {
             eventIndex.put(type, new ArrayList<>());
         }
+        rebuildDispatchTable();
     }
 
     // ==================== 初始化 ====================
@@ -115,6 +128,7 @@ public class SynergyManager {
         for (SynergyEventType eventType : definition.getTriggerEvents()) {
             eventIndex.get(eventType).add(definition);
         }
+        rebuildDispatchTable();
 
         log("Registered Synergy: " + id + " (triggers: " + definition.getTriggerEvents() + ")");
     }
@@ -133,6 +147,7 @@ public class SynergyManager {
             for (SynergyEventType eventType : removed.getTriggerEvents()) {
                 eventIndex.get(eventType).remove(removed);
             }
+            rebuildDispatchTable();
             log("Unregistered Synergy: " + id);
         }
         return removed;
@@ -146,6 +161,7 @@ public class SynergyManager {
         for (List<SynergyDefinition> list : eventIndex.values()) {
             list.clear();
         }
+        rebuildDispatchTable();
         log("Cleared all Synergies");
     }
 
@@ -180,12 +196,73 @@ public class SynergyManager {
      */
     @Nonnull
     public List<SynergyDefinition> getByEventType(@Nonnull SynergyEventType eventType) {
-        List<SynergyDefinition> result = new ArrayList<>(eventIndex.getOrDefault(eventType, Collections.emptyList()));
-        // 添加 ANY 类型的 Synergy
-        if (eventType != SynergyEventType.ANY) {
-            result.addAll(eventIndex.getOrDefault(SynergyEventType.ANY, Collections.emptyList()));
+        // 分发表中已合并 ANY 类型并按优先级排序
+        return new ArrayList<>(Arrays.asList(dispatchTable[eventType.ordinal()]));
+    }
+
+    /**
+     * 重建分发表：每种事件类型 = 该类型 + ANY 类型的 Synergy，按优先级稳定排序
+     */
+    private synchronized void rebuildDispatchTable() {
+        SynergyEventType[] types = SynergyEventType.values();
+        SynergyDefinition[][] table = new SynergyDefinition[types.length][];
+        for (SynergyEventType type : types) {
+            List<SynergyDefinition> list = new ArrayList<>(eventIndex.getOrDefault(type, Collections.emptyList()));
+            if (type != SynergyEventType.ANY) {
+                list.addAll(eventIndex.getOrDefault(SynergyEventType.ANY, Collections.emptyList()));
+            }
+            list.sort(Comparator.comparingInt(SynergyDefinition::getPriority));
+            table[type.ordinal()] = list.toArray(NO_CANDIDATES);
+        }
+        dispatchTable = table;
+        dispatchVersion++;
+    }
+
+    /**
+     * 玩家在某事件类型下的候选 Synergy（已按优先级排序，已过滤未激活的）
+     */
+    private SynergyDefinition[] getCandidates(EntityPlayer player, SynergyEventType eventType) {
+        SynergyDefinition[] all = dispatchTable[eventType.ordinal()];
+        if (all.length == 0) return NO_CANDIDATES;
+        if (!requireBlockActivation) return all;
+
+        UUID playerId = player.getUniqueID();
+        Set<String> activated = playerActivatedSynergies.get(playerId);
+        if (activated == null || activated.isEmpty()) return NO_CANDIDATES;
+
+        PlayerDispatch dispatch = playerDispatch.get(playerId);
+        if (dispatch == null || dispatch.version != dispatchVersion) {
+            dispatch = new PlayerDispatch(dispatchVersion);
+            playerDispatch.put(playerId, dispatch);
+        }
+
+        SynergyDefinition[] candidates = dispatch.byEvent[eventType.ordinal()];
+        if (candidates == null) {
+            List<SynergyDefinition> list = new ArrayList<>();
+            for (SynergyDefinition def : all) {
+                if (activated.contains(def.getId())) list.add(def);
+            }
+            candidates = list.isEmpty() ? NO_CANDIDATES : list.toArray(NO_CANDIDATES);
+            dispatch.byEvent[eventType.ordinal()] = candidates;
+        }
+        return candidates;
+    }
+
+    /** 玩家激活集合变化：丢弃该玩家的候选缓存 */
+    private void invalidatePlayerDispatch(UUID playerId) {
+        playerDispatch.remove(playerId);
+    }
+
+    /**
+     * 单个玩家的候选缓存（按事件类型懒构建）
+     */
+    private static final class PlayerDispatch {
+        final int version;
+        final SynergyDefinition[][] byEvent = new SynergyDefinition[SynergyEventType.values().length][];
+
+        PlayerDispatch(int version) {
+            this.version = version;
         }
-        return result;
     }
 
     /**
@@ -202,15 +279,17 @@ public class SynergyManager {
             return Collections.emptyList();
         }
 
+        // 分发表已按优先级排序
         List<SynergyDefinition> result = new ArrayList<>();
-        for (SynergyDefinition def : getByEventType(eventType)) {
-            if (def.matches(context)) {
-                result.add(def);
+        try {
+            for (SynergyDefinition def : dispatchTable[eventType.ordinal()]) {
+                if (def.matches(context)) {
+                    result.add(def);
+                }
             }
+        } finally {
+            context.release();
         }
-
-        // 按优先级排序
-        result.sort(Comparator.comparingInt(SynergyDefinition::getPriority));
         return result;
     }
 
@@ -237,35 +316,38 @@ public class SynergyManager {
             return 0;
         }
 
+        // 候选已按优先级排序，且只包含玩家已通过方块激活的 Synergy
+        SynergyDefinition[] candidates = getCandidates(player, eventType);
+        if (candidates.length == 0) {
+            return 0;
+        }
+
         SynergyContext context = createContext(player, eventType, event, target, damage);
         if (context == null) {
             return 0;
         }
 
         int triggered = 0;
-        List<SynergyDefinition> candidates = getByEventType(eventType);
-
-        // 按优先级排序
-        candidates.sort(Comparator.comparingInt(SynergyDefinition::getPriority));
-
-        for (SynergyDefinition def : candidates) {
-            try {
-                // 检查玩家是否已通过方块激活此 Synergy
-                if (!isSynergyActivatedForPlayer(player, def.getId())) {
-                    continue; // 未激活，跳过
-                }
-
-                if (def.matches(context)) {
-                    if (debugMode) {
-                        log("Triggering Synergy: " + def.getId() + " for player " + player.getName());
+        try {
+            for (SynergyDefinition def : candidates) {
+                try {
+                    if (def.matches(context)) {
+                        if (debugMode) {
+                            log("Triggering Synergy: " + def.getId() + " for player " + player.getName());
+                        }
+                        def.execute(context);
+                        triggered++;
+                        // 效果可能改变了能量/模块/玩家状态：后续候选重新判断，下次事件重建快照
+                        context.invalidateCache();
+                        ModuleSnapshot.invalidate(player.getUniqueID());
                     }
-                    def.execute(context);
-                    triggered++;
+                } catch (Exception e) {
+                    System.err.println("[Synergy] Error processing " + def.getId() + ": " + e.getMessage());
+                    e.printStackTrace();
                 }
-            } catch (Exception e) {
-                System.err.println("[Synergy] Error processing " + def.getId() + ": " + e.getMessage());
-                e.printStackTrace();
             }
+        } finally {
+            context.release();
         }
 
         return triggered;
@@ -280,6 +362,9 @@ public class SynergyManager {
 
     /**
      * 创建 Synergy 上下文
+     *
+     * 模块信息来自按玩家缓存的 {@link ModuleSnapshot}；上下文从对象池取出，
+     * 调用方用完后必须 {@link SynergyContext#release()}。
      */
     @Nullable
     private SynergyContext createContext(EntityPlayer player,
@@ -291,21 +376,12 @@ public class SynergyManager {
             return null;
         }
 
-        ItemStack core = moduleProvider.getMechanicalCore(player);
-        if (core == null || core.isEmpty()) {
+        ModuleSnapshot snapshot = ModuleSnapshot.of(player, moduleProvider);
+        if (snapshot == null) {
             return null;
         }
 
-        List<IInstalledModuleView> modules = moduleProvider.getInstalledModules(player);
-
-        return SynergyContext.builder(player)
-                .mechanicalCore(core)
-                .modules(modules)
-                .eventType(eventType)
-                .triggerEvent(event)
-                .target(target)
-                .originalDamage(damage)
-                .build();
+        return SynergyContext.acquire(player, snapshot, eventType, event, target, damage);
     }
 
     // ==================== 配置 ====================
@@ -341,6 +417,7 @@ public class SynergyManager {
      */
     public void setRequireBlockActivation(boolean require) {
         this.requireBlockActivation = require;
+        playerDispatch.clear();
         log("Block activation requirement: " + (require ? "enabled" : "disabled"));
     }
 
@@ -368,6 +445,9 @@ public class SynergyManager {
         UUID playerId = player.getUniqueID();
         Set<String> activated = playerActivatedSynergies.computeIfAbsent(playerId, k -> new CopyOnWriteArraySet<>());
         boolean added = activated.add(synergyId);
+        if (added) {
+            invalidatePlayerDispatch(playerId);
+        }
 
         if (added && debugMode) {
             log("Activated synergy '" + synergyId + "' for player " + player.getName());
@@ -389,6 +469,9 @@ public class SynergyManager {
         }
 
         boolean removed = activated.remove(synergyId);
+        if (removed) {
+            invalidatePlayerDispatch(playerId);
+        }
         if (removed && debugMode) {
             log("Deactivated synergy '" + synergyId + "' for player " + player.getName());
         }
@@ -402,6 +485,7 @@ public class SynergyManager {
     public void deactivateAllSynergiesForPlayer(@Nonnull EntityPlayer player) {
         UUID playerId = player.getUniqueID();
         playerActivatedSynergies.remove(playerId);
+        invalidatePlayerDispatch(playerId);
         if (debugMode) {
             log("Deactivated all synergies for player " + player.getName());
         }
@@ -441,6 +525,8 @@ public class SynergyManager {
      */
     public void cleanupPlayer(@Nonnull UUID playerId) {
         playerActivatedSynergies.remove(playerId);
+        invalidatePlayerDispatch(playerId);
+        ModuleSnapshot.invalidate(playerId);
     }
 
     // ==================== 统计 ====================
@@ -1,10 +1,7 @@
 // FleshRejectionEventSystem.java - 干净版本
 package com.moremod.system;
 
-import com.moremod.network.PacketHandler;
-import com.moremod.network.PacketSyncRejectionData;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.event.entity.living.LivingHurtEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -77,19 +74,6 @@ public class FleshRejectionEventSystem {
         return player.getEntityData().getCompoundTag(REJECTION_TAG);
     }
 
-    public static void syncIfDirty(EntityPlayer player) {
-        if (player.world.isRemote) return;
-
-        NBTTagCompound data = ensureRejectionData(player);
-        if (!data.getBoolean("Dirty")) return;
-
-        data.setBoolean("Dirty", false);
-        PacketHandler.INSTANCE.sendTo(
-                new PacketSyncRejectionData(data.copy()),
-                (EntityPlayerMP) player
-        );
-    }
-
     public static void clearEventRejection(EntityPlayer player) {
         NBTTagCompound data = ensureRejectionData(player);
         data.setFloat(NBT_EVENT_REJECTION, 0f);
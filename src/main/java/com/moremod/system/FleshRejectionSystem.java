@@ -5,8 +5,9 @@ import com.moremod.item.ItemMechanicalCore;
 import com.moremod.item.ItemMechanicalCore.UpgradeType;
 import com.moremod.item.ItemMechanicalCoreExtended;
 import com.moremod.item.ItemMechanicalCoreExtended.UpgradeInfo;
+import com.moremod.network.PacketHandler;
+import com.moremod.network.PacketSyncRejectionData;
 import com.moremod.system.humanity.HumanitySpectrumSystem;
-import com.moremod.util.BaublesSyncUtil;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.ItemStack;
@@ -54,6 +55,15 @@ public class FleshRejectionSystem {
     
     /** 强制同步间隔：5tick = 0.25秒（用于关键变化） */
     private static final int FORCE_SYNC_INTERVAL = 5;
+
+    /** 参与增量同步的排异字段数（编号见 getSyncField） */
+    public static final int SYNC_FIELD_COUNT = 5;
+
+    /** 以 float 编码的字段（按位）：排异值、适应度 */
+    public static final int SYNC_FLOAT_FIELDS = (1 << 0) | (1 << 1);
+
+    /** 服务端：上次发给客户端的排异字段值，没有记录时发全量 */
+    private static final Map<UUID, long[]> syncShadows = new HashMap<>();
     
     /**
      * 每tick调用一次，处理批量同步
@@ -124,10 +134,59 @@ public class FleshRejectionSystem {
     
     /**
      * 执行实际的同步操作
+     *
+     * 只发送变化的排异字段，客户端直接写回本地核心的 NBT，
+     * 不再为几个数值重发所有饰品槽位
      */
     private static void performSync(EntityPlayerMP player) {
-        // 使用优化后的同步工具
-        BaublesSyncUtil.safeSyncAll(player);
+        ItemStack core = ItemMechanicalCore.getCoreFromPlayer(player);
+        if (core.isEmpty()) return;
+
+        NBTTagCompound rejData = core.getOrCreateSubCompound(NBT_GROUP);
+        long[] shadow = syncShadows.get(player.getUniqueID());
+        boolean full = shadow == null;
+        if (full) {
+            shadow = new long[SYNC_FIELD_COUNT];
+            syncShadows.put(player.getUniqueID(), shadow);
+        }
+
+        int mask = 0;
+        for (int i = 0; i < SYNC_FIELD_COUNT; i++) {
+            long value = getSyncField(rejData, i);
+            if (full || value != shadow[i]) {
+                shadow[i] = value;
+                mask |= 1 << i;
+            }
+        }
+
+        if (mask != 0) {
+            PacketHandler.INSTANCE.sendTo(new PacketSyncRejectionData(mask, shadow), player);
+        }
+    }
+
+    public static long getSyncField(NBTTagCompound rejData, int index) {
+        switch (index) {
+            case 0: return Float.floatToIntBits(rejData.getFloat(NBT_REJECTION));
+            case 1: return Float.floatToIntBits(rejData.getFloat(NBT_ADAPTATION));
+            case 2: return rejData.getBoolean(NBT_TRANSCENDED) ? 1 : 0;
+            case 3: return rejData.getInteger(NBT_BLEEDING_TICKS);
+            case 4: return rejData.getLong(NBT_LAST_STABILIZER);
+            default: return 0;
+        }
+    }
+
+    /**
+     * 客户端收包时把字段写回本地核心
+     */
+    public static void setSyncField(ItemStack core, int index, long value) {
+        NBTTagCompound rejData = core.getOrCreateSubCompound(NBT_GROUP);
+        switch (index) {
+            case 0: rejData.setFloat(NBT_REJECTION, Float.intBitsToFloat((int) value)); break;
+            case 1: rejData.setFloat(NBT_ADAPTATION, Float.intBitsToFloat((int) value)); break;
+            case 2: rejData.setBoolean(NBT_TRANSCENDED, value != 0); break;
+            case 3: rejData.setInteger(NBT_BLEEDING_TICKS, (int) value); break;
+            case 4: rejData.setLong(NBT_LAST_STABILIZER, value); break;
+        }
     }
 
     // ========== 核心检查 ==========
@@ -562,6 +621,7 @@ public class FleshRejectionSystem {
         dirtyPlayers.remove(playerId);
         forceSyncPlayers.remove(playerId);
         syncCooldown.remove(playerId);
+        syncShadows.remove(playerId);
     }
     
     /**
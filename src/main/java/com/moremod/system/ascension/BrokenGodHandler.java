@@ -4,10 +4,10 @@ import com.moremod.config.BrokenGodConfig;
 import com.moremod.item.ItemMechanicalCore;
 import com.moremod.network.PacketAscensionAnimation;
 import com.moremod.network.PacketHandler;
-import com.moremod.network.PacketSyncHumanityData;
 import com.moremod.system.humanity.AscensionRoute;
 import com.moremod.system.humanity.HumanityCapabilityHandler;
 import com.moremod.system.humanity.HumanityEffectsManager;
+import com.moremod.system.humanity.HumanitySpectrumSystem;
 import com.moremod.system.humanity.IHumanityData;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -139,7 +139,7 @@ public class BrokenGodHandler {
             data.setShutdownTimer(shutdownTicks);
             // 同步到客户端（用于显示 overlay）
             if (player instanceof EntityPlayerMP) {
-                PacketHandler.INSTANCE.sendTo(new PacketSyncHumanityData(data), (EntityPlayerMP) player);
+                HumanitySpectrumSystem.syncNow(player);
             }
         }
 
@@ -209,7 +209,7 @@ public class BrokenGodHandler {
             data.setShutdownTimer(timer);
             // 每5tick同步到客户端（用于 overlay 进度更新）
             if (timer % 5 == 0 && player instanceof EntityPlayerMP) {
-                PacketHandler.INSTANCE.sendTo(new PacketSyncHumanityData(data), (EntityPlayerMP) player);
+                HumanitySpectrumSystem.syncNow(player);
             }
         }
 
@@ -271,7 +271,7 @@ public class BrokenGodHandler {
             data.setShutdownTimer(0);
             // 同步到客户端
             if (player instanceof EntityPlayerMP) {
-                PacketHandler.INSTANCE.sendTo(new PacketSyncHumanityData(data), (EntityPlayerMP) player);
+                HumanitySpectrumSystem.syncNow(player);
             }
         }
 
@@ -103,7 +103,7 @@ public class HumanityCapabilityHandler {
             EntityPlayerMP player = (EntityPlayerMP) event.player;
             // 延迟1tick同步，确保客户端准备好
             player.getServerWorld().addScheduledTask(() -> {
-                HumanitySpectrumSystem.syncNow(player);
+                HumanitySpectrumSystem.syncFull(player);
             });
         }
     }
@@ -118,7 +118,7 @@ public class HumanityCapabilityHandler {
             EntityPlayerMP player = (EntityPlayerMP) event.player;
             // 延迟同步，确保维度切换完成
             player.getServerWorld().addScheduledTask(() -> {
-                HumanitySpectrumSystem.syncNow(player);
+                HumanitySpectrumSystem.syncFull(player);
             });
         }
     }
@@ -133,7 +133,7 @@ public class HumanityCapabilityHandler {
             EntityPlayerMP player = (EntityPlayerMP) event.player;
             // 延迟同步，确保客户端完全加载
             player.getServerWorld().addScheduledTask(() -> {
-                HumanitySpectrumSystem.syncNow(player);
+                HumanitySpectrumSystem.syncFull(player);
             });
         }
     }
@@ -530,6 +530,52 @@ public class HumanityDataImpl implements IHumanityData {
         }
     }
 
+    // ========== 增量同步 ==========
+
+    @Override
+    public long getSyncField(int index) {
+        switch (index) {
+            case 0: return Float.floatToIntBits(humanity);
+            case 1: return systemActive ? 1 : 0;
+            case 2: return dissolutionActive ? 1 : 0;
+            case 3: return dissolutionTicks;
+            case 4: return existenceAnchorUntil;
+            case 5: return lastCombatTime;
+            case 6: return lastSleepTime;
+            case 7: return ticksSinceSleep;
+            case 8: return ascensionRoute.ordinal();
+            case 9: return dissolutionSurvivals;
+            case 10: return lowHumanityTicks;
+            case 11: return highHumanityTicks;
+            case 12: return operationValue;
+            case 13: return shutdownTimer;
+            default: return 0;
+        }
+    }
+
+    @Override
+    public void setSyncField(int index, long value) {
+        switch (index) {
+            case 0: humanity = Float.intBitsToFloat((int) value); break;
+            case 1: systemActive = value != 0; break;
+            case 2: dissolutionActive = value != 0; break;
+            case 3: dissolutionTicks = (int) value; break;
+            case 4: existenceAnchorUntil = value; break;
+            case 5: lastCombatTime = value; break;
+            case 6: lastSleepTime = value; break;
+            case 7: ticksSinceSleep = value; break;
+            case 8:
+                AscensionRoute[] routes = AscensionRoute.values();
+                ascensionRoute = value >= 0 && value < routes.length ? routes[(int) value] : AscensionRoute.NONE;
+                break;
+            case 9: dissolutionSurvivals = (int) value; break;
+            case 10: lowHumanityTicks = value; break;
+            case 11: highHumanityTicks = value; break;
+            case 12: operationValue = (int) value; break;
+            case 13: shutdownTimer = (int) value; break;
+        }
+    }
+
     // ========== NBT序列化 ==========
 
     @Override
@@ -545,6 +591,27 @@ public class HumanityDataImpl implements IHumanityData {
         nbt.setInteger(NBT_DISSOLUTION_TICKS, dissolutionTicks);
         nbt.setLong(NBT_EXISTENCE_ANCHOR_UNTIL, existenceAnchorUntil);
 
+        // 状态追踪
+        nbt.setLong(NBT_LAST_COMBAT_TIME, lastCombatTime);
+        nbt.setLong(NBT_LAST_SLEEP_TIME, lastSleepTime);
+        nbt.setLong(NBT_TICKS_SINCE_SLEEP, ticksSinceSleep);
+
+        // 升格系统
+        nbt.setString(NBT_ASCENSION_ROUTE, ascensionRoute.getId());
+        nbt.setInteger(NBT_DISSOLUTION_SURVIVALS, dissolutionSurvivals);
+        nbt.setLong(NBT_LOW_HUMANITY_TICKS, lowHumanityTicks);
+        nbt.setLong(NBT_HIGH_HUMANITY_TICKS, highHumanityTicks);
+        nbt.setInteger(NBT_OPERATION_VALUE, operationValue);
+        nbt.setInteger(NBT_SHUTDOWN_TIMER, shutdownTimer);
+
+        nbt.merge(serializeCollectionsNBT());
+        return nbt;
+    }
+
+    @Override
+    public NBTTagCompound serializeCollectionsNBT() {
+        NBTTagCompound nbt = new NBTTagCompound();
+
         // 生物档案
         NBTTagList profileList = new NBTTagList();
         for (Map.Entry<ResourceLocation, BiologicalProfile> entry : profiles.entrySet()) {
@@ -567,19 +634,6 @@ public class HumanityDataImpl implements IHumanityData {
             nbt.setString(NBT_ANALYZING_ENTITY, analyzingEntity.toString());
         }
 
-        // 状态追踪
-        nbt.setLong(NBT_LAST_COMBAT_TIME, lastCombatTime);
-        nbt.setLong(NBT_LAST_SLEEP_TIME, lastSleepTime);
-        nbt.setLong(NBT_TICKS_SINCE_SLEEP, ticksSinceSleep);
-
-        // 升格系统
-        nbt.setString(NBT_ASCENSION_ROUTE, ascensionRoute.getId());
-        nbt.setInteger(NBT_DISSOLUTION_SURVIVALS, dissolutionSurvivals);
-        nbt.setLong(NBT_LOW_HUMANITY_TICKS, lowHumanityTicks);
-        nbt.setLong(NBT_HIGH_HUMANITY_TICKS, highHumanityTicks);
-        nbt.setInteger(NBT_OPERATION_VALUE, operationValue);
-        nbt.setInteger(NBT_SHUTDOWN_TIMER, shutdownTimer);
-
         // 高人性情报系统
         NBTTagList intelList = new NBTTagList();
         for (Map.Entry<ResourceLocation, Integer> entry : learnedIntel.entrySet()) {
@@ -607,6 +661,24 @@ public class HumanityDataImpl implements IHumanityData {
         this.dissolutionTicks = nbt.getInteger(NBT_DISSOLUTION_TICKS);
         this.existenceAnchorUntil = nbt.getLong(NBT_EXISTENCE_ANCHOR_UNTIL);
 
+        // 状态追踪
+        this.lastCombatTime = nbt.getLong(NBT_LAST_COMBAT_TIME);
+        this.lastSleepTime = nbt.getLong(NBT_LAST_SLEEP_TIME);
+        this.ticksSinceSleep = nbt.getLong(NBT_TICKS_SINCE_SLEEP);
+
+        // 升格系统
+        this.ascensionRoute = AscensionRoute.fromId(nbt.getString(NBT_ASCENSION_ROUTE));
+        this.dissolutionSurvivals = nbt.getInteger(NBT_DISSOLUTION_SURVIVALS);
+        this.lowHumanityTicks = nbt.getLong(NBT_LOW_HUMANITY_TICKS);
+        this.highHumanityTicks = nbt.getLong(NBT_HIGH_HUMANITY_TICKS);
+        this.operationValue = nbt.hasKey(NBT_OPERATION_VALUE) ? nbt.getInteger(NBT_OPERATION_VALUE) : 100;
+        this.shutdownTimer = nbt.getInteger(NBT_SHUTDOWN_TIMER);
+
+        deserializeCollectionsNBT(nbt);
+    }
+
+    @Override
+    public void deserializeCollectionsNBT(NBTTagCompound nbt) {
         // 生物档案
         this.profiles.clear();
         NBTTagList profileList = nbt.getTagList(NBT_PROFILES, Constants.NBT.TAG_COMPOUND);
@@ -636,19 +708,6 @@ public class HumanityDataImpl implements IHumanityData {
             this.analyzingEntity = null;
         }
 
-        // 状态追踪
-        this.lastCombatTime = nbt.getLong(NBT_LAST_COMBAT_TIME);
-        this.lastSleepTime = nbt.getLong(NBT_LAST_SLEEP_TIME);
-        this.ticksSinceSleep = nbt.getLong(NBT_TICKS_SINCE_SLEEP);
-
-        // 升格系统
-        this.ascensionRoute = AscensionRoute.fromId(nbt.getString(NBT_ASCENSION_ROUTE));
-        this.dissolutionSurvivals = nbt.getInteger(NBT_DISSOLUTION_SURVIVALS);
-        this.lowHumanityTicks = nbt.getLong(NBT_LOW_HUMANITY_TICKS);
-        this.highHumanityTicks = nbt.getLong(NBT_HIGH_HUMANITY_TICKS);
-        this.operationValue = nbt.hasKey(NBT_OPERATION_VALUE) ? nbt.getInteger(NBT_OPERATION_VALUE) : 100;
-        this.shutdownTimer = nbt.getInteger(NBT_SHUTDOWN_TIMER);
-
         // 高人性情报系统
         this.learnedIntel.clear();
         if (nbt.hasKey(NBT_LEARNED_INTEL)) {
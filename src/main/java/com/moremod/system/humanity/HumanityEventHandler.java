@@ -5,6 +5,7 @@ import com.moremod.item.ItemMechanicalCore;
 import com.moremod.moremod;
 import com.moremod.system.FleshRejectionSystem;
 import com.moremod.system.ascension.BrokenGodHandler;
+import com.moremod.util.BaublesSyncUtil;
 import net.minecraft.item.ItemStack;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.passive.EntityAnimal;
@@ -547,5 +548,6 @@ public class HumanityEventHandler {
     public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
         HumanitySpectrumSystem.cleanupPlayer(event.player.getUniqueID());
         FleshRejectionSystem.cleanupPlayer(event.player.getUniqueID());
+        BaublesSyncUtil.cleanupPlayer(event.player.getUniqueID());
     }
 }
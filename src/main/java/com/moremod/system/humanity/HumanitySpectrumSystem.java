@@ -15,6 +15,7 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.init.MobEffects;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.potion.PotionEffect;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.EnumParticleTypes;
@@ -54,6 +55,14 @@ public class HumanitySpectrumSystem {
     /** 强制同步间隔：5tick = 0.25秒 */
     private static final int FORCE_SYNC_INTERVAL = 5;
 
+    /** 服务端：上次发给客户端的内容（增量同步基线），没有基线时发全量 */
+    private static final Map<UUID, SyncShadow> syncShadows = new HashMap<>();
+
+    private static final class SyncShadow {
+        final long[] fields = new long[IHumanityData.SYNC_FIELD_COUNT];
+        NBTTagCompound collections;
+    }
+
     /** 战斗状态超时（tick）：5秒 */
     public static final int COMBAT_TIMEOUT = 100;
 
@@ -131,6 +140,14 @@ public class HumanitySpectrumSystem {
         markForceSync(player);
     }
 
+    /**
+     * 立即全量同步（客户端玩家实体重建后：登录、重生、换维度）
+     */
+    public static void syncFull(EntityPlayer player) {
+        syncShadows.remove(player.getUniqueID());
+        syncNow(player);
+    }
+
     /**
      * 立即同步玩家的人性值数据到客户端（不等待 tick）
      * 用于命令等需要即时反馈的场景
@@ -146,12 +163,38 @@ public class HumanitySpectrumSystem {
     }
 
     private static void performSync(EntityPlayerMP player) {
-        BaublesSyncUtil.safeSyncAll(player);
+        // 只重发内容确实变过的饰品槽
+        BaublesSyncUtil.syncChangedSlots(player);
 
-        // 同步人性值数据到客户端
+        // 同步人性值数据到客户端（只发变化的字段）
         IHumanityData data = HumanityCapabilityHandler.getData(player);
-        if (data != null) {
-            PacketHandler.INSTANCE.sendTo(new PacketSyncHumanityData(data), player);
+        if (data == null) return;
+
+        SyncShadow shadow = syncShadows.get(player.getUniqueID());
+        boolean full = shadow == null;
+        if (full) {
+            shadow = new SyncShadow();
+            syncShadows.put(player.getUniqueID(), shadow);
+        }
+
+        int mask = 0;
+        for (int i = 0; i < IHumanityData.SYNC_FIELD_COUNT; i++) {
+            long value = data.getSyncField(i);
+            if (full || value != shadow.fields[i]) {
+                shadow.fields[i] = value;
+                mask |= 1 << i;
+            }
+        }
+
+        NBTTagCompound collections = data.serializeCollectionsNBT();
+        if (collections.equals(shadow.collections)) {
+            collections = null;
+        } else {
+            shadow.collections = collections;
+        }
+
+        if (mask != 0 || collections != null) {
+            PacketHandler.INSTANCE.sendTo(new PacketSyncHumanityData(mask, data, collections), player);
         }
     }
 
@@ -159,6 +202,7 @@ public class HumanitySpectrumSystem {
         dirtyPlayers.remove(playerId);
         forceSyncPlayers.remove(playerId);
         syncCooldown.remove(playerId);
+        syncShadows.remove(playerId);
     }
 
     // ========== 核心检查 ==========
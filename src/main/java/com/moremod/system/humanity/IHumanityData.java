@@ -340,6 +340,34 @@ public interface IHumanityData {
      */
     void copyFrom(IHumanityData other);
 
+    // ========== 增量同步 ==========
+
+    /** 参与增量同步的标量字段数（编号见 {@link #getSyncField(int)}） */
+    int SYNC_FIELD_COUNT = 14;
+
+    /** 以 float 编码的字段（按位） */
+    int SYNC_FLOAT_FIELDS = 1;
+
+    /**
+     * 读取第 index 个同步字段（float 取位模式，boolean 取 0/1）
+     */
+    long getSyncField(int index);
+
+    /**
+     * 写入第 index 个同步字段（客户端收包时调用，不触发任何状态切换逻辑）
+     */
+    void setSyncField(int index, long value);
+
+    /**
+     * 只序列化集合部分（档案、激活档案、分析目标、情报），变化时整体同步
+     */
+    NBTTagCompound serializeCollectionsNBT();
+
+    /**
+     * 只反序列化集合部分
+     */
+    void deserializeCollectionsNBT(NBTTagCompound nbt);
+
     // ========== 高人性情报系统 (High Humanity Intel System) ==========
 
     /**
@@ -5,6 +5,7 @@ import com.moremod.init.ModItems;
 import com.moremod.item.energy.ItemOilProspector;
 import com.moremod.item.energy.ItemSpeedUpgrade;
 import com.moremod.multiblock.MultiblockOilExtractor;
+import com.moremod.multiblock.MultiblockRegistry;
 import net.minecraft.init.Items;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
@@ -136,6 +137,14 @@ public class TileEntityOilExtractorCore extends TileEntity implements ITickable
     private boolean isRunning = false;
     private int tickCounter = 0;
 
+    // 结构监视（只有结构范围内方块变化后才重新检查）
+    private MultiblockRegistry.Watch<Boolean> structureWatch;
+
+    private MultiblockRegistry.Watch<Boolean> getStructureWatch() {
+        structureWatch = MultiblockRegistry.ensure(structureWatch, world, pos, MultiblockOilExtractor.FOOTPRINT, MultiblockOilExtractor::checkStructure);
+        return structureWatch;
+    }
+
     @Override
     public void update() {
         if (world == null || world.isRemote) return;
@@ -144,7 +153,7 @@ public class TileEntityOilExtractorCore extends TileEntity implements ITickable
 
         // 每10tick檢測一次結構
         if (tickCounter % 10 == 0) {
-            boolean structureValid = MultiblockOilExtractor.checkStructure(world, pos);
+            boolean structureValid = getStructureWatch().get();
             boolean hasOil = hasOilInChunk();
             boolean hasEnergy = energy.getEnergyStored() >= ENERGY_PER_TICK;
             int currentFluid = fluidTank.getFluidAmount();
@@ -374,4 +383,16 @@ public class TileEntityOilExtractorCore extends TileEntity implements ITickable
     public void handleUpdateTag(NBTTagCompound tag) {
         readFromNBT(tag);
     }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        if (structureWatch != null) structureWatch.remove();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        if (structureWatch != null) structureWatch.remove();
+    }
 }
@@ -1,5 +1,6 @@
 package com.moremod.tile;
 
+import com.moremod.multiblock.MultiblockRegistry;
 import com.moremod.multiblock.MultiblockRespawnChamber;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -44,6 +45,19 @@ public class TileEntityRespawnChamberCore extends TileEntity implements ITickabl
     private int structureTier = 1;
     private int tickCounter = 0;
 
+    // 结构监视（只有结构范围内方块变化后才重新检查）
+    private MultiblockRegistry.Watch<Integer> structureWatch;
+
+    private MultiblockRegistry.Watch<Integer> getStructureWatch() {
+        structureWatch = MultiblockRegistry.ensure(structureWatch, world, pos, MultiblockRespawnChamber.FOOTPRINT, TileEntityRespawnChamberCore::evaluateStructure);
+        return structureWatch;
+    }
+
+    /** 结构完整时返回框架等级，否则 0 */
+    private static int evaluateStructure(World world, BlockPos corePos) {
+        return MultiblockRespawnChamber.checkStructure(world, corePos) ? MultiblockRespawnChamber.getFrameTier(world, corePos) : 0;
+    }
+
     @Override
     public void update() {
         if (world == null || world.isRemote) return;
@@ -66,8 +80,9 @@ public class TileEntityRespawnChamberCore extends TileEntity implements ITickabl
      */
     private void updateStructureStatus() {
         boolean wasValid = structureValid;
-        structureValid = MultiblockRespawnChamber.checkStructure(world, pos);
-        structureTier = structureValid ? MultiblockRespawnChamber.getFrameTier(world, pos) : 1;
+        int tier = getStructureWatch().get();
+        structureValid = tier > 0;
+        structureTier = structureValid ? tier : 1;
 
         // 結構變為無效時，清除全局綁定
         if (wasValid && !structureValid && boundPlayerUUID != null) {
@@ -399,6 +414,13 @@ public class TileEntityRespawnChamberCore extends TileEntity implements ITickabl
         if (!world.isRemote && boundPlayerUUID != null) {
             BOUND_CHAMBERS.remove(boundPlayerUUID);
         }
+        if (structureWatch != null) structureWatch.remove();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        if (structureWatch != null) structureWatch.remove();
     }
 
     // ========== 網絡同步 ==========
@@ -4,9 +4,10 @@ import com.moremod.core.CurseDeathHook;
 import com.moremod.entity.EntityRitualSeat;
 import com.moremod.entity.curse.EmbeddedCurseManager;
 import com.moremod.entity.curse.EmbeddedCurseManager.EmbeddedRelicType;
+import com.moremod.multiblock.MultiblockRegistry;
 import com.moremod.ritual.AltarTier;
-import com.moremod.ritual.RitualInfusionAPI;
 import com.moremod.ritual.RitualInfusionRecipe;
+import com.moremod.ritual.RitualRecipeIndex;
 import com.moremod.ritual.TierRitualHandler;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.enchantment.Enchantment;
@@ -74,6 +75,18 @@ public class TileEntityRitualCore extends TileEntity implements ITickable {
     private AltarTier currentTier = AltarTier.TIER_1;
     private int tierCheckTimer = 0;
 
+    // 祭坛阶层监视（只有阶层检测范围内方块变化后才重新检测）
+    private MultiblockRegistry.Watch<AltarTier> tierWatch;
+
+    // 配方匹配缓存（核心与基座物品不变时复用上次结果，不再逐配方检查）
+    private ItemStack[] matchInputs;
+    private int matchVersion = -1;
+    private AltarTier matchTier;
+    @Nullable private RitualInfusionRecipe matchResult;
+    private int matchBlockedTier;
+    private ItemStack[] validatedInputs;
+    @Nullable private RitualInfusionRecipe validatedRecipe;
+
     // 嵌入仪式系统
     private boolean embeddingRitualActive = false;
     private int embeddingProgress = 0;
@@ -161,7 +174,8 @@ public class TileEntityRitualCore extends TileEntity implements ITickable {
         tierCheckTimer++;
         if (tierCheckTimer >= 40) { // 每2秒检测一次
             tierCheckTimer = 0;
-            AltarTier newTier = AltarTier.detectTier(world, pos);
+            tierWatch = MultiblockRegistry.ensure(tierWatch, world, pos, AltarTier.FOOTPRINT, AltarTier::detectTier);
+            AltarTier newTier = tierWatch.get();
             if (newTier != currentTier) {
                 currentTier = newTier;
                 notifyTierChange();
@@ -454,25 +468,72 @@ public class TileEntityRitualCore extends TileEntity implements ITickable {
     private boolean isValidRitualStructure(List<TileEntityPedestal> peds, RitualInfusionRecipe recipe) {
         List<ItemStack> stacks = new ArrayList<>();
         for (TileEntityPedestal p : peds) stacks.add(p.getInv().getStackInSlot(0));
-        return recipe.matchPedestalStacks(stacks);
+
+        ItemStack core = inv.getStackInSlot(0);
+        if (recipe == validatedRecipe && RitualRecipeIndex.isStateless(recipe) && sameInputs(validatedInputs, core, stacks)) {
+            return true;
+        }
+        boolean valid = recipe.matchPedestalStacks(stacks);
+        validatedRecipe = valid ? recipe : null;
+        validatedInputs = valid ? snapshotInputs(core, stacks) : null;
+        return valid;
     }
 
     private RitualInfusionRecipe findMatchingRecipe(List<TileEntityPedestal> peds) {
         List<ItemStack> stacks = new ArrayList<>();
         for (TileEntityPedestal p : peds) stacks.add(p.getInv().getStackInSlot(0));
+        ItemStack core = inv.getStackInSlot(0);
+
+        int version = RitualRecipeIndex.version();
+        if (version == matchVersion && currentTier == matchTier && sameInputs(matchInputs, core, stacks)) {
+            if (matchResult == null) {
+                if (matchBlockedTier > 0) notifyTierTooLow(matchBlockedTier);
+                return null;
+            }
+            // 部分配方在匹配时记录输入物品，命中缓存时仍重新确认这一个配方
+            if (matchResult.getCore().apply(core) && matchResult.matchPedestalStacks(stacks)) {
+                return matchResult;
+            }
+        }
 
-        for (RitualInfusionRecipe r : RitualInfusionAPI.RITUAL_RECIPES) {
-            if (r.getCore().apply(inv.getStackInSlot(0)) && r.matchPedestalStacks(stacks)) {
+        RitualInfusionRecipe found = null;
+        int blockedTier = 0;
+        for (RitualInfusionRecipe r : RitualRecipeIndex.candidates(core, stacks)) {
+            if (r.getCore().apply(core) && r.matchPedestalStacks(stacks)) {
                 // 检查祭坛阶层是否满足配方要求
                 if (!r.canCraftAtTier(currentTier)) {
                     // 配方匹配但阶层不足，通知玩家
                     notifyTierTooLow(r.getRequiredTier());
+                    blockedTier = r.getRequiredTier();
                     continue;
                 }
-                return r;
+                found = r;
+                break;
             }
         }
-        return null;
+
+        matchInputs = snapshotInputs(core, stacks);
+        matchVersion = version;
+        matchTier = currentTier;
+        matchResult = found;
+        matchBlockedTier = found == null ? blockedTier : 0;
+        return found;
+    }
+
+    private static ItemStack[] snapshotInputs(ItemStack core, List<ItemStack> stacks) {
+        ItemStack[] snapshot = new ItemStack[stacks.size() + 1];
+        snapshot[0] = core.copy();
+        for (int i = 0; i < stacks.size(); i++) snapshot[i + 1] = stacks.get(i).copy();
+        return snapshot;
+    }
+
+    private static boolean sameInputs(@Nullable ItemStack[] snapshot, ItemStack core, List<ItemStack> stacks) {
+        if (snapshot == null || snapshot.length != stacks.size() + 1) return false;
+        if (!ItemStack.areItemStacksEqual(snapshot[0], core)) return false;
+        for (int i = 0; i < stacks.size(); i++) {
+            if (!ItemStack.areItemStacksEqual(snapshot[i + 1], stacks.get(i))) return false;
+        }
+        return true;
     }
 
     /**
@@ -2594,4 +2655,16 @@ public class TileEntityRitualCore extends TileEntity implements ITickable {
             pos.getX() + 0.5, pos.getY() + 1.5, pos.getZ() + 0.5,
             10, 0.5, 0.3, 0.5, 0.0);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        if (tierWatch != null) tierWatch.remove();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        if (tierWatch != null) tierWatch.remove();
+    }
+}
@@ -4,7 +4,9 @@ import baubles.api.BaublesApi;
 import baubles.api.cap.IBaublesItemHandler;
 import com.moremod.item.ItemMechanicalCore;
 import com.moremod.item.ItemMechanicalCoreExtended;
+import com.moremod.item.MechanicalCoreSnapshot;
 import com.moremod.item.upgrades.ItemUpgradeComponent;
+import com.moremod.multiblock.MultiblockRegistry;
 import com.moremod.multiblock.MultiblockUpgradeChamber;
 import com.moremod.util.UpgradeKeys;
 import net.minecraft.entity.player.EntityPlayer;
@@ -94,6 +96,14 @@ public class TileEntityUpgradeChamberCore extends TileEntity implements ITickabl
     // 冷卻時間（防止連續升級）
     private int cooldown = 0;
 
+    // 结构监视（只有结构范围内方块变化后才重新检查）
+    private MultiblockRegistry.Watch<Boolean> structureWatch;
+
+    private MultiblockRegistry.Watch<Boolean> getStructureWatch() {
+        structureWatch = MultiblockRegistry.ensure(structureWatch, world, pos, MultiblockUpgradeChamber.FOOTPRINT, MultiblockUpgradeChamber::checkStructure);
+        return structureWatch;
+    }
+
     @Override
     public void update() {
         if (world == null || world.isRemote) return;
@@ -120,7 +130,7 @@ public class TileEntityUpgradeChamberCore extends TileEntity implements ITickabl
         }
 
         // 檢查結構
-        if (!MultiblockUpgradeChamber.checkStructure(world, pos)) {
+        if (!getStructureWatch().get()) {
             if (isUpgrading) {
                 cancelUpgrade("結構被破壞！");
             }
@@ -530,6 +540,7 @@ public class TileEntityUpgradeChamberCore extends TileEntity implements ITickabl
         nbt.setInteger("upgrade_" + moduleId, value);
         nbt.setInteger("upgrade_" + moduleId.toUpperCase(), value);
         nbt.setInteger("upgrade_" + moduleId.toLowerCase(), value);
+        MechanicalCoreSnapshot.markDirty();
 
         try {
             ItemMechanicalCoreExtended.setUpgradeLevel(coreStack, moduleId, value);
@@ -1161,4 +1172,16 @@ public class TileEntityUpgradeChamberCore extends TileEntity implements ITickabl
             world.notifyBlockUpdate(pos, world.getBlockState(pos), world.getBlockState(pos), 3);
         }
     }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        if (structureWatch != null) structureWatch.remove();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        if (structureWatch != null) structureWatch.remove();
+    }
 }
@@ -1,6 +1,7 @@
 package com.moremod.tile;
 
 import com.moremod.config.ModConfig1;
+import com.moremod.multiblock.MultiblockRegistry;
 import com.moremod.multiblock.MultiblockWisdomFountain;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.item.EntityXPOrb;
@@ -67,6 +68,14 @@ public class TileEntityWisdomFountain extends TileEntity implements ITickable {
     // 村民交易解锁
     private int villagerUnlockTimer = 0;
 
+    // 结构监视（只有结构范围内方块变化后才重新检查）
+    private MultiblockRegistry.Watch<Boolean> structureWatch;
+
+    private MultiblockRegistry.Watch<Boolean> getStructureWatch() {
+        structureWatch = MultiblockRegistry.ensure(structureWatch, world, pos, MultiblockWisdomFountain.FOOTPRINT, MultiblockWisdomFountain::checkStructure);
+        return structureWatch;
+    }
+
     @Override
     public void update() {
         if (world == null || pos == null) return;
@@ -128,7 +137,7 @@ public class TileEntityWisdomFountain extends TileEntity implements ITickable {
 
     private void updateStructureStatus() {
         wasFormed = isFormed;
-        isFormed = MultiblockWisdomFountain.checkStructure(world, pos);
+        isFormed = getStructureWatch().get();
 
         if (isFormed != wasFormed) {
             markDirty();
@@ -1367,5 +1376,12 @@ public class TileEntityWisdomFountain extends TileEntity implements ITickable {
         super.invalidate();
         isFormed = false;
         clearAllPlayerBuffs();
+        if (structureWatch != null) structureWatch.remove();
+    }
+
+    @Override
+    public void onChunkUnload() {
+        super.onChunkUnload();
+        if (structureWatch != null) structureWatch.remove();
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.moremod.upgrades;
 
 import com.moremod.item.ItemMechanicalCore;
+import com.moremod.item.MechanicalCoreSnapshot;
 import com.moremod.potion.ModPotions;
 
 import net.minecraft.block.material.Material;
@@ -684,6 +685,7 @@ public class WaterproofUpgrade {
         }
         nbt.setInteger("waterproofLevel", level);
         nbt.setBoolean("hasWaterproofModule", level > 0);
+        MechanicalCoreSnapshot.markDirty();
     }
 
     public static void setWaterproofDisabled(ItemStack coreStack, boolean disabled) {
@@ -695,6 +697,7 @@ public class WaterproofUpgrade {
         for (String id : WATERPROOF_IDS) {
             nbt.setBoolean("Disabled_" + id, disabled);
         }
+        MechanicalCoreSnapshot.markDirty();
         if (DEBUG_MODE) System.out.println("[WaterproofUpgrade] disabled=" + disabled);
     }
 
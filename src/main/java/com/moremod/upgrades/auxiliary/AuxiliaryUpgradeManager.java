@@ -24,16 +24,13 @@ import net.minecraft.util.EnumParticleTypes;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.text.TextComponentString;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.world.World;
-import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.energy.IEnergyStorage;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.player.PlayerPickupXpEvent;
-import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -73,22 +70,14 @@ public class AuxiliaryUpgradeManager {
         private static final Set<Block> ALL_ORE_BLOCKS = new HashSet<>();
         private static final List<Block> DISCOVERED_ORE_TYPES = new ArrayList<>();
         private static final Map<Block, String> ORE_DISPLAY_NAMES = new HashMap<>();
-        private static final Map<BlockPos, Block> oreCache = new ConcurrentHashMap<>();
-        private static final Set<ChunkPos> scannedChunks = new HashSet<>();
 
         private static boolean initialized = false;
         private static boolean renderingOres = false;
         private static boolean wasActiveLastTick = false;
-        private static EntityPlayer currentPlayer = null;
         private static int currentLevel = 0;
 
-        private static long lastFullScanTime = 0;
-        private static long lastQuickScan = 0;
         private static long lastEnergyCheck = 0;
-        private static BlockPos lastPlayerPos = BlockPos.ORIGIN;
 
-        private static final long FULL_SCAN_COOLDOWN = 5000L;
-        private static final long QUICK_SCAN_INTERVAL = 10L;
         private static final int MAX_RENDER_DISTANCE = 48;
         private static final int MAX_ORES_TO_RENDER = 500;
         private static int selectedOreIndex = -1;
@@ -111,26 +100,14 @@ public class AuxiliaryUpgradeManager {
             ORE_DISPLAY_NAMES.put(Blocks.QUARTZ_ORE, "石英");
         }
 
-        @SubscribeEvent
-        public static void onBlockPlace(BlockEvent.PlaceEvent event) {
-            if (event.getWorld().isRemote || event.getPlayer() == null) return;
-            Block b = event.getPlacedBlock().getBlock();
-            if (!ALL_ORE_BLOCKS.contains(b)) return;
-            if (!renderingOres || currentPlayer == null) return;
-
-            BlockPos pos = event.getPos();
-            int range = 8 * currentLevel;
-            if (pos.distanceSq(currentPlayer.getPosition()) <= range * range) {
-                oreCache.put(pos, b);
-                if (!DISCOVERED_ORE_TYPES.contains(b)) DISCOVERED_ORE_TYPES.add(b);
-                debug("玩家放置矿物已添加到透视: " + pos);
-            }
+        /** 扫描器判定用：是否为已登记的矿物方块 */
+        static boolean isOreBlock(Block b) {
+            return ALL_ORE_BLOCKS.contains(b);
         }
 
-        @SubscribeEvent
-        public static void onBlockBreak(BlockEvent.BreakEvent event) {
-            if (event.getWorld().isRemote) return;
-            oreCache.remove(event.getPos());
+        /** 扫描器发现矿物时回调，维护矿物种类列表 */
+        static void onOreDiscovered(Block b) {
+            if (!DISCOVERED_ORE_TYPES.contains(b)) updateDiscoveredOres(Collections.singleton(b));
         }
 
         public static void initializeOreDictionary() {
@@ -216,8 +193,7 @@ public class AuxiliaryUpgradeManager {
             if (!ItemMechanicalCore.isUpgradeEnabled(core, "ORE_VISION")) {
                 if (renderingOres) {
                     renderingOres = false;
-                    oreCache.clear();
-                    scannedChunks.clear();
+                    OreVisionScanner.stop(player);
                     lastEnergyCheck = 0;
                     wasActiveLastTick = false;
                 }
@@ -228,8 +204,7 @@ public class AuxiliaryUpgradeManager {
             if (now - lastEnergyCheck > 1000) {
                 if (!ItemMechanicalCore.consumeEnergyForUpgrade(core, "ORE_VISION", 50 + (level * 10))) {
                     renderingOres = false;
-                    oreCache.clear();
-                    scannedChunks.clear();
+                    OreVisionScanner.stop(player);
                     lastEnergyCheck = 0;
                     wasActiveLastTick = false;
                     return;
@@ -239,78 +214,8 @@ public class AuxiliaryUpgradeManager {
 
             if (!initialized) initializeOreDictionary();
 
-            currentPlayer = player;
             currentLevel = level;
-
-            boolean needFull = forceRescan || (now - lastFullScanTime > FULL_SCAN_COOLDOWN)
-                    || player.getPosition().distanceSq(lastPlayerPos) > 256;
-
-            if (needFull) {
-                performFullScan(player, level);
-                lastFullScanTime = now;
-                lastPlayerPos = player.getPosition();
-            } else if (now - lastQuickScan > QUICK_SCAN_INTERVAL) {
-                performQuickScan(player, level);
-                lastQuickScan = now;
-            }
-        }
-
-        private static void performFullScan(EntityPlayer player, int level) {
-            int range = 8 * level;
-            BlockPos pp = player.getPosition();
-
-            oreCache.entrySet().removeIf(e -> e.getKey().distanceSq(pp) > range * range * 2);
-            scannedChunks.clear();
-            Set<Block> found = new HashSet<>();
-
-            int chunkRange = (range >> 4) + 1;
-            for (int cx = -chunkRange; cx <= chunkRange; cx++) {
-                for (int cz = -chunkRange; cz <= chunkRange; cz++) {
-                    ChunkPos cp = new ChunkPos((pp.getX() >> 4) + cx, (pp.getZ() >> 4) + cz);
-                    if (!player.world.isBlockLoaded(new BlockPos(cp.x << 4, 64, cp.z << 4))) continue;
-                    scanChunk(player, cp, pp, range, found);
-                    scannedChunks.add(cp);
-                }
-            }
-            if (!found.isEmpty()) updateDiscoveredOres(found);
-        }
-
-        private static void performQuickScan(EntityPlayer player, int level) {
-            BlockPos pp = player.getPosition();
-            int r = Math.min(16, 8 * level);
-            Set<Block> found = new HashSet<>();
-            for (int x = -r; x <= r; x++) for (int y = -r; y <= r; y++) for (int z = -r; z <= r; z++) {
-                BlockPos pos = pp.add(x, y, z);
-                if (oreCache.containsKey(pos)) continue;
-                IBlockState st = player.world.getBlockState(pos);
-                Block b = st.getBlock();
-                if (ALL_ORE_BLOCKS.contains(b)) {
-                    oreCache.put(pos, b);
-                    found.add(b);
-                }
-            }
-            if (!found.isEmpty()) updateDiscoveredOres(found);
-        }
-
-        private static void scanChunk(EntityPlayer player, ChunkPos cp, BlockPos pp, int range, Set<Block> found) {
-            Chunk ch = player.world.getChunk(cp.x, cp.z);
-            if (ch == null || !ch.isLoaded()) return;
-            int baseX = cp.x << 4, baseZ = cp.z << 4;
-            int minY = Math.max(0, pp.getY() - range);
-            int maxY = Math.min(255, pp.getY() + range);
-
-            for (int x = 0; x < 16; x++)
-                for (int z = 0; z < 16; z++)
-                    for (int y = minY; y <= maxY; y++) {
-                        BlockPos pos = new BlockPos(baseX + x, y, baseZ + z);
-                        if (pos.distanceSq(pp) > range * range) continue;
-                        IBlockState st = ch.getBlockState(pos);
-                        Block b = st.getBlock();
-                        if (ALL_ORE_BLOCKS.contains(b)) {
-                            oreCache.put(pos, b);
-                            found.add(b);
-                        }
-                    }
+            OreVisionScanner.update(player, 8 * level, forceRescan);
         }
 
         private static void updateDiscoveredOres(Set<Block> found) {
@@ -334,9 +239,9 @@ public class AuxiliaryUpgradeManager {
         @SideOnly(Side.CLIENT)
         @SubscribeEvent
         public static void onRenderWorldLast(RenderWorldLastEvent event) {
-            if (!renderingOres || oreCache.isEmpty() || currentPlayer == null) return;
+            if (!renderingOres) return;
             EntityPlayer player = Minecraft.getMinecraft().player;
-            if (player == null) return;
+            if (player == null || OreVisionScanner.getOreCount(player) == 0) return;
 
             float pt = event.getPartialTicks();
             GlStateManager.pushMatrix();
@@ -353,12 +258,9 @@ public class AuxiliaryUpgradeManager {
             double pz = player.lastTickPosZ + (player.posZ - player.lastTickPosZ) * pt;
 
             List<Map.Entry<BlockPos, Block>> list = new ArrayList<>();
-            for (Map.Entry<BlockPos, Block> e : oreCache.entrySet()) {
-                if (!shouldRenderOre(e.getValue())) continue;
-                BlockPos pos = e.getKey();
-                double d2 = player.getDistanceSq(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
-                if (d2 <= MAX_RENDER_DISTANCE * MAX_RENDER_DISTANCE) list.add(e);
-            }
+            OreVisionScanner.forEachOre(player, Math.min(MAX_RENDER_DISTANCE, 8 * currentLevel), (pos, b) -> {
+                if (shouldRenderOre(b)) list.add(new AbstractMap.SimpleImmutableEntry<>(pos, b));
+            });
             list.sort(Comparator.comparingDouble(a -> player.getDistanceSq(a.getKey())));
 
             int rendered = 0;
@@ -427,8 +329,7 @@ public class AuxiliaryUpgradeManager {
             } else {
                 if (wasActiveLastTick) p.sendStatusMessage(new TextComponentString(TextFormatting.GRAY + "矿物透视已关闭"), true);
                 renderingOres = false;
-                oreCache.clear();
-                scannedChunks.clear();
+                OreVisionScanner.stop(p);
                 lastEnergyCheck = 0;
                 wasActiveLastTick = false;
             }
@@ -460,16 +361,17 @@ public class AuxiliaryUpgradeManager {
 
         @SideOnly(Side.CLIENT)
         public static void updateScan(EntityPlayer p, int level) {
-            if (renderingOres && p.world.getTotalWorldTime() % 40 == 0) scanForOres(p, level, false);
+            if (!renderingOres) return;
+            // 能量/开关检查仍按 40 tick；扫描中心每 tick 跟随（只在跨区段时重新排队）
+            if (p.world.getTotalWorldTime() % 40 == 0) scanForOres(p, level, false);
+            else OreVisionScanner.update(p, 8 * level, false);
         }
 
         public static void reset() {
             selectedOreIndex = -1;
             DISCOVERED_ORE_TYPES.clear();
-            oreCache.clear();
-            scannedChunks.clear();
-            lastFullScanTime = 0;
-            lastPlayerPos = BlockPos.ORIGIN;
+            OreVisionScanner.clearAll();
+            currentLevel = 0;
             lastEnergyCheck = 0;
             renderingOres = false;
             wasActiveLastTick = false;
@@ -1069,7 +971,7 @@ public class AuxiliaryUpgradeManager {
             int oreLevel = ItemMechanicalCore.getUpgradeLevel(core, "ORE_VISION");
             boolean oreActive = OreVisionSystem.isOreVisionActive();
             sb.append("矿物透视: 等级").append(oreLevel).append(" 状态:").append(oreActive ? "激活" : "关闭");
-            if (oreActive) sb.append(" (缓存:").append(OreVisionSystem.oreCache.size()).append("个矿物)");
+            if (oreActive) sb.append(" (缓存:").append(OreVisionScanner.getOreCount(p)).append("个矿物)");
             sb.append("\n");
 
             int expLevel = ItemMechanicalCore.getUpgradeLevel(core, "EXP_AMPLIFIER");
@@ -0,0 +1,427 @@
+package com.moremod.upgrades.auxiliary;
+
+import com.moremod.config.PerformanceConfig;
+import com.moremod.util.BlockChangeDispatcher;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.BlockStatePaletteRegistry;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IBlockStatePalette;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 矿物透视扫描器 - 按玩家、按区段（16x16x16）增量扫描
+ *
+ * 1. 每个玩家独立的扫描状态：已扫描区段 → 区段内矿物
+ * 2. 待扫描区段按距离排队，每 tick 在共享的微秒预算内处理（见 {@link PerformanceConfig}）
+ * 3. 先查区段调色板，调色板里没有矿物的区段整段跳过；全局调色板或反射失败时逐方块扫描
+ * 4. 玩家移动只补扫新进入范围的区段；方块变化通过世界监听器原地更新结果，不再整体重扫
+ *
+ * 服务端与客户端分开存放（单人游戏中两边的玩家UUID相同）。
+ */
+@Mod.EventBusSubscriber(modid = "moremod")
+public final class OreVisionScanner {
+
+    private OreVisionScanner() {}
+
+    /** 离开扫描范围超过该区段数后才丢弃结果（避免边界来回抖动时反复扫描） */
+    private static final int KEEP_MARGIN_SECTIONS = 1;
+
+    private static final Map<UUID, ScanState> SERVER = new ConcurrentHashMap<>();
+    private static final Map<UUID, ScanState> CLIENT = new ConcurrentHashMap<>();
+
+    /** 没有矿物的区段共用的空结果 */
+    private static final Map<BlockPos, Block> NO_ORES = Collections.emptyMap();
+
+    private static Field paletteField;
+    private static boolean paletteReflectionFailed = false;
+
+    /** 单个玩家的扫描状态 */
+    private static final class ScanState {
+        World world;
+        int range;
+        int centerX, centerY, centerZ;
+        int centerSX = Integer.MIN_VALUE, centerSY, centerSZ;
+
+        /** 已扫描区段 → 区段内矿物 */
+        final Map<Long, Map<BlockPos, Block>> sections = new HashMap<>();
+        /** 待扫描区段（按距离排序后入队） */
+        final ArrayDeque<Long> queue = new ArrayDeque<>();
+        final Set<Long> queued = new HashSet<>();
+        int oreCount;
+    }
+
+    // ==================== 查询 / 控制 ====================
+
+    /**
+     * 更新玩家的扫描中心与半径；所在区段或半径变化时重新计算待扫描区段
+     *
+     * @param force 丢弃已有结果，全部重新排队
+     */
+    public static void update(EntityPlayer player, int range, boolean force) {
+        if (player == null || range <= 0) return;
+        ScanState s = map(player).computeIfAbsent(player.getUniqueID(), k -> new ScanState());
+
+        if (s.world != player.world || force) {
+            clearResults(s);
+            s.world = player.world;
+            s.centerSX = Integer.MIN_VALUE;
+        }
+
+        s.centerX = (int) Math.floor(player.posX);
+        s.centerY = (int) Math.floor(player.posY);
+        s.centerZ = (int) Math.floor(player.posZ);
+        int sx = s.centerX >> 4, sy = s.centerY >> 4, sz = s.centerZ >> 4;
+        if (sx == s.centerSX && sy == s.centerSY && sz == s.centerSZ && range == s.range) return;
+
+        s.centerSX = sx;
+        s.centerSY = sy;
+        s.centerSZ = sz;
+        s.range = range;
+        rebuildQueue(s);
+    }
+
+    /** 停止并丢弃该玩家的扫描状态 */
+    public static void stop(EntityPlayer player) {
+        if (player == null) return;
+        map(player).remove(player.getUniqueID());
+    }
+
+    /** 丢弃所有扫描状态 */
+    public static void clearAll() {
+        SERVER.clear();
+        CLIENT.clear();
+    }
+
+    /** 当前缓存的矿物数量 */
+    public static int getOreCount(EntityPlayer player) {
+        ScanState s = state(player);
+        return s == null ? 0 : s.oreCount;
+    }
+
+    /** 尚未扫描的区段数量 */
+    public static int getPendingSections(EntityPlayer player) {
+        ScanState s = state(player);
+        return s == null ? 0 : s.queue.size();
+    }
+
+    /** 遍历距离玩家 radius 以内的已知矿物（整段在范围外的区段直接跳过） */
+    public static void forEachOre(EntityPlayer player, double radius, BiConsumer<BlockPos, Block> action) {
+        ScanState s = state(player);
+        if (s == null || s.world != player.world) return;
+
+        double r2 = radius * radius;
+        for (Map.Entry<Long, Map<BlockPos, Block>> e : s.sections.entrySet()) {
+            Map<BlockPos, Block> ores = e.getValue();
+            if (ores.isEmpty()) continue;
+            long key = e.getKey();
+            if (sectionDistSq(unpackX(key), unpackY(key), unpackZ(key), player.posX, player.posY, player.posZ) > r2) continue;
+            for (Map.Entry<BlockPos, Block> o : ores.entrySet()) {
+                BlockPos p = o.getKey();
+                if (player.getDistanceSq(p.getX() + 0.5, p.getY() + 0.5, p.getZ() + 0.5) <= r2) {
+                    action.accept(p, o.getValue());
+                }
+            }
+        }
+    }
+
+    // ==================== 排队 ====================
+
+    private static void rebuildQueue(ScanState s) {
+        int r = s.range;
+        double keepR = r + 16.0 * KEEP_MARGIN_SECTIONS;
+        double keepR2 = keepR * keepR;
+        double r2 = (double) r * r;
+
+        // 丢弃远离范围的结果
+        Iterator<Map.Entry<Long, Map<BlockPos, Block>>> it = s.sections.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Map<BlockPos, Block>> e = it.next();
+            long key = e.getKey();
+            if (sectionDistSq(unpackX(key), unpackY(key), unpackZ(key), s.centerX, s.centerY, s.centerZ) > keepR2) {
+                s.oreCount -= e.getValue().size();
+                it.remove();
+            }
+        }
+
+        // 收集范围内未扫描的区段，由近到远排序
+        s.queue.clear();
+        s.queued.clear();
+        List<long[]> wanted = new ArrayList<>();
+        int minSX = (s.centerX - r) >> 4, maxSX = (s.centerX + r) >> 4;
+        int minSZ = (s.centerZ - r) >> 4, maxSZ = (s.centerZ + r) >> 4;
+        int minSY = Math.max(0, (s.centerY - r) >> 4), maxSY = Math.min(15, (s.centerY + r) >> 4);
+        for (int sx = minSX; sx <= maxSX; sx++) {
+            for (int sz = minSZ; sz <= maxSZ; sz++) {
+                for (int sy = minSY; sy <= maxSY; sy++) {
+                    double d2 = sectionDistSq(sx, sy, sz, s.centerX, s.centerY, s.centerZ);
+                    if (d2 > r2) continue;
+                    long key = pack(sx, sy, sz);
+                    if (s.sections.containsKey(key)) continue;
+                    wanted.add(new long[]{key, (long) d2});
+                }
+            }
+        }
+        wanted.sort(Comparator.comparingLong(a -> a[1]));
+        for (long[] w : wanted) {
+            s.queue.add(w[0]);
+            s.queued.add(w[0]);
+        }
+    }
+
+    /** 区块（重新）载入：该区块内范围内的区段重新排队 */
+    private static void requeueChunk(ScanState s, int cx, int cz) {
+        if (s.centerSX == Integer.MIN_VALUE) return;
+        double r2 = (double) s.range * s.range;
+        for (int sy = 0; sy < 16; sy++) {
+            if (sectionDistSq(cx, sy, cz, s.centerX, s.centerY, s.centerZ) > r2) continue;
+            long key = pack(cx, sy, cz);
+            Map<BlockPos, Block> old = s.sections.remove(key);
+            if (old != null) s.oreCount -= old.size();
+            if (s.queued.add(key)) s.queue.addFirst(key);
+        }
+    }
+
+    private static void dropChunk(ScanState s, int cx, int cz) {
+        for (int sy = 0; sy < 16; sy++) {
+            Map<BlockPos, Block> old = s.sections.remove(pack(cx, sy, cz));
+            if (old != null) s.oreCount -= old.size();
+        }
+    }
+
+    private static void clearResults(ScanState s) {
+        s.sections.clear();
+        s.queue.clear();
+        s.queued.clear();
+        s.oreCount = 0;
+    }
+
+    // ==================== 扫描 ====================
+
+    /** 在预算内轮流为每个玩家扫描一个区段，直到队列清空或预算用完 */
+    private static void process(Map<UUID, ScanState> states) {
+        if (states.isEmpty()) return;
+        long deadline = System.nanoTime() + PerformanceConfig.oreVision.scanBudgetMicros * 1000L;
+
+        boolean worked = true;
+        while (worked) {
+            worked = false;
+            for (ScanState s : states.values()) {
+                Long key = s.queue.pollFirst();
+                if (key == null) continue;
+                s.queued.remove(key);
+                scanSection(s, key);
+                worked = true;
+                if (System.nanoTime() >= deadline) return;
+            }
+        }
+    }
+
+    private static void scanSection(ScanState s, long key) {
+        if (s.world == null) return;
+        int cx = unpackX(key), sy = unpackY(key), cz = unpackZ(key);
+
+        // 未载入的区块等 ChunkEvent.Load 时再排队
+        Chunk chunk = s.world.getChunkProvider().getLoadedChunk(cx, cz);
+        if (chunk == null) return;
+
+        Map<BlockPos, Block> ores = NO_ORES;
+        ExtendedBlockStorage ebs = chunk.getBlockStorageArray()[sy];
+        if (ebs != Chunk.NULL_BLOCK_STORAGE && !ebs.isEmpty() && mayContainOre(ebs.getData())) {
+            int bx = cx << 4, by = sy << 4, bz = cz << 4;
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        Block b = ebs.get(x, y, z).getBlock();
+                        if (!AuxiliaryUpgradeManager.OreVisionSystem.isOreBlock(b)) continue;
+                        if (ores == NO_ORES) ores = new HashMap<>();
+                        ores.put(new BlockPos(bx + x, by + y, bz + z), b);
+                        AuxiliaryUpgradeManager.OreVisionSystem.onOreDiscovered(b);
+                    }
+                }
+            }
+        }
+
+        Map<BlockPos, Block> old = s.sections.put(key, ores);
+        if (old != null) s.oreCount -= old.size();
+        s.oreCount += ores.size();
+    }
+
+    /**
+     * 调色板预检：调色板里没有任何矿物状态时整段跳过
+     * 调色板可能残留已不存在的状态，只会导致多扫一次，不会漏扫。
+     */
+    private static boolean mayContainOre(BlockStateContainer data) {
+        if (!PerformanceConfig.oreVision.paletteSkip) return true;
+        IBlockStatePalette palette = getPalette(data);
+        if (palette == null || palette instanceof BlockStatePaletteRegistry) return true;
+
+        // 线性/哈希调色板最多 256 项，超出已用编号时返回 null
+        for (int id = 0; id < 256; id++) {
+            IBlockState st = palette.getBlockState(id);
+            if (st == null) break;
+            if (AuxiliaryUpgradeManager.OreVisionSystem.isOreBlock(st.getBlock())) return true;
+        }
+        return false;
+    }
+
+    @Nullable
+    private static IBlockStatePalette getPalette(BlockStateContainer data) {
+        if (paletteReflectionFailed) return null;
+        try {
+            if (paletteField == null) {
+                paletteField = ReflectionHelper.findField(BlockStateContainer.class, "palette", "field_186022_c");
+            }
+            return (IBlockStatePalette) paletteField.get(data);
+        } catch (Exception e) {
+            paletteReflectionFailed = true;
+            System.err.println("[OreVisionScanner] 无法读取区段调色板，改为逐方块扫描: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ==================== 方块变化 ====================
+
+    private static void onBlockChanged(World world, BlockPos pos, IBlockState newState) {
+        Map<UUID, ScanState> states = world.isRemote ? CLIENT : SERVER;
+        if (states.isEmpty()) return;
+
+        long key = pack(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4);
+        Block b = newState.getBlock();
+        boolean ore = AuxiliaryUpgradeManager.OreVisionSystem.isOreBlock(b);
+
+        for (ScanState s : states.values()) {
+            if (s.world != world) continue;
+            Map<BlockPos, Block> ores = s.sections.get(key);
+            if (ores == null) continue; // 未扫描：排队中的区段扫描时自然看到新状态
+
+            if (ore) {
+                if (ores == NO_ORES) {
+                    ores = new HashMap<>();
+                    s.sections.put(key, ores);
+                }
+                if (ores.put(pos.toImmutable(), b) == null) s.oreCount++;
+                AuxiliaryUpgradeManager.OreVisionSystem.onOreDiscovered(b);
+            } else if (!ores.isEmpty() && ores.remove(pos) != null) {
+                s.oreCount--;
+            }
+        }
+    }
+
+    private static void onChunkRefreshed(World world, int cx, int cz) {
+        Map<UUID, ScanState> states = world.isRemote ? CLIENT : SERVER;
+        for (ScanState s : states.values()) {
+            if (s.world == world) requeueChunk(s, cx, cz);
+        }
+    }
+
+    /** 方块变化订阅（在模组初始化时注册到 {@link BlockChangeDispatcher}） */
+    public static final BlockChangeDispatcher.Subscriber BLOCK_CHANGES = new BlockChangeDispatcher.Subscriber() {
+        @Override
+        public void onBlockChanged(World world, BlockPos pos, IBlockState oldState, IBlockState newState) {
+            if (oldState.getBlock() == newState.getBlock()) return;
+            OreVisionScanner.onBlockChanged(world, pos, newState);
+        }
+
+        @Override
+        public void onChunkRefreshed(World world, int cx, int cz) {
+            OreVisionScanner.onChunkRefreshed(world, cx, cz);
+        }
+    };
+
+    // ==================== 事件 ====================
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        World world = event.getWorld();
+        Map<UUID, ScanState> states = world.isRemote ? CLIENT : SERVER;
+        states.values().removeIf(s -> s.world == world);
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        Chunk c = event.getChunk();
+        onChunkRefreshed(event.getWorld(), c.x, c.z);
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        World world = event.getWorld();
+        Map<UUID, ScanState> states = world.isRemote ? CLIENT : SERVER;
+        Chunk c = event.getChunk();
+        for (ScanState s : states.values()) {
+            if (s.world == world) dropChunk(s, c.x, c.z);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) process(SERVER);
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) process(CLIENT);
+    }
+
+    @SubscribeEvent
+    public static void onLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        stop(event.player);
+    }
+
+    @SubscribeEvent
+    public static void onClientDisconnect(FMLNetworkEvent.ClientDisconnectionFromServerEvent event) {
+        CLIENT.clear();
+    }
+
+    // ==================== 工具 ====================
+
+    private static Map<UUID, ScanState> map(Entity entity) {
+        return entity.world != null && entity.world.isRemote ? CLIENT : SERVER;
+    }
+
+    @Nullable
+    private static ScanState state(EntityPlayer player) {
+        return player == null ? null : map(player).get(player.getUniqueID());
+    }
+
+    /** 区段包围盒到点的最近距离平方 */
+    private static double sectionDistSq(int sx, int sy, int sz, double x, double y, double z) {
+        double dx = axisDist(sx << 4, x), dy = axisDist(sy << 4, y), dz = axisDist(sz << 4, z);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double axisDist(int min, double v) {
+        if (v < min) return min - v;
+        if (v > min + 16) return v - (min + 16);
+        return 0;
+    }
+
+    /** x/z 各 28 位（有符号），y 8 位 */
+    private static long pack(int sx, int sy, int sz) {
+        return ((sx & 0xFFFFFFFL) << 36) | ((sz & 0xFFFFFFFL) << 8) | (sy & 0xFFL);
+    }
+
+    private static int unpackX(long key) { return (int) (key >> 36); }
+    private static int unpackZ(long key) { return (int) ((key << 28) >> 36); }
+    private static int unpackY(long key) { return (int) (key & 0xFFL); }
+}
@@ -6,6 +6,7 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -48,6 +49,11 @@ public final class BaublesSyncUtil {
     
     /** 最小同步间隔（tick） */
     private static final int MIN_SYNC_INTERVAL = 2; // 0.1秒
+
+    // ========== 变化检测 ==========
+
+    /** 玩家 → 各槽位上次同步出去的物品快照 */
+    private static final Map<UUID, ItemStack[]> lastSyncedStacks = new HashMap<>();
     
     /**
      * 同步所有 baubles 槽位（尽量只在服务端调用）
@@ -90,6 +96,32 @@ public final class BaublesSyncUtil {
         }
     }
     
+    /**
+     * 只同步与上次同步时内容不同的槽位（首次调用时同步所有非空槽位）
+     *
+     * 用于周期性同步：饰品没变时不发任何包
+     */
+    public static void syncChangedSlots(EntityPlayer player) {
+        IBaublesItemHandler h = BaublesApi.getBaublesHandler(player);
+        if (h == null) return;
+
+        int slots = h.getSlots();
+        ItemStack[] last = lastSyncedStacks.get(player.getUniqueID());
+        if (last == null || last.length != slots) {
+            last = new ItemStack[slots];
+            Arrays.fill(last, ItemStack.EMPTY);
+            lastSyncedStacks.put(player.getUniqueID(), last);
+        }
+
+        for (int i = 0; i < slots; i++) {
+            ItemStack cur = h.getStackInSlot(i);
+            if (ItemStack.areItemStacksEqual(cur, last[i])) continue;
+
+            last[i] = cur.copy();
+            safeSyncSlot(player, i);
+        }
+    }
+
     /**
      * 同步单个槽位
      * 
@@ -237,6 +269,7 @@ public final class BaublesSyncUtil {
      */
     public static void cleanupPlayer(UUID playerId) {
         lastSyncTick.remove(playerId);
+        lastSyncedStacks.remove(playerId);
     }
     
     /**
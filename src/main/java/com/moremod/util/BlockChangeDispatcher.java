@@ -0,0 +1,93 @@
+package com.moremod.util;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 方块变化分发器
+ *
+ * 每个世界只挂一个 IWorldEventListener，把方块变化和整区块刷新转发给所有订阅者
+ * （矿物透视扫描器、多方块结构注册表等），订阅者不再各自往世界里加监听器。
+ * 订阅在模组初始化时完成。
+ */
+@Mod.EventBusSubscriber(modid = "moremod")
+public final class BlockChangeDispatcher {
+
+    private BlockChangeDispatcher() {}
+
+    /** 订阅者 */
+    public interface Subscriber {
+        /** 单个方块状态变化（notifyBlockUpdate） */
+        void onBlockChanged(World world, BlockPos pos, IBlockState oldState, IBlockState newState);
+
+        /** 整个区块柱被刷新（客户端收到区块数据包） */
+        void onChunkRefreshed(World world, int cx, int cz);
+    }
+
+    private static final List<Subscriber> SUBSCRIBERS = new CopyOnWriteArrayList<>();
+
+    public static void subscribe(Subscriber subscriber) {
+        if (!SUBSCRIBERS.contains(subscriber)) {
+            SUBSCRIBERS.add(subscriber);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldLoad(WorldEvent.Load event) {
+        World world = event.getWorld();
+        world.addEventListener(new Listener(world));
+    }
+
+    /** 世界监听器：只关心方块变化和整区块刷新 */
+    private static final class Listener implements IWorldEventListener {
+        private final World world;
+
+        Listener(World world) {
+            this.world = world;
+        }
+
+        @Override
+        public void notifyBlockUpdate(World world, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+            for (Subscriber subscriber : SUBSCRIBERS) {
+                subscriber.onBlockChanged(world, pos, oldState, newState);
+            }
+        }
+
+        @Override
+        public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+            // 客户端收到区块数据包时会标记整个区块柱；单方块变化已由 notifyBlockUpdate 处理
+            if (x2 - x1 < 15 || z2 - z1 < 15 || y2 - y1 < 255) return;
+            for (int cx = x1 >> 4; cx <= x2 >> 4; cx++) {
+                for (int cz = z1 >> 4; cz <= z2 >> 4; cz++) {
+                    for (Subscriber subscriber : SUBSCRIBERS) {
+                        subscriber.onChunkRefreshed(world, cx, cz);
+                    }
+                }
+            }
+        }
+
+        @Override public void notifyLightSet(BlockPos pos) {}
+        @Override public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent sound, SoundCategory category, double x, double y, double z, float volume, float pitch) {}
+        @Override public void playRecord(SoundEvent sound, BlockPos pos) {}
+        @Override public void spawnParticle(int particleID, boolean ignoreRange, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {}
+        @Override public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {}
+        @Override public void onEntityAdded(Entity entity) {}
+        @Override public void onEntityRemoved(Entity entity) {}
+        @Override public void broadcastSound(int soundID, BlockPos pos, int data) {}
+        @Override public void playEvent(EntityPlayer player, int type, BlockPos pos, int data) {}
+        @Override public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {}
+    }
+}
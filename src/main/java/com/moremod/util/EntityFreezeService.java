@@ -0,0 +1,190 @@
+package com.moremod.util;
+
+import com.moremod.mixin.fermiummixins.IEntityDuck;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.boss.EntityDragon;
+import net.minecraftforge.event.entity.living.LivingEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 统一的实体冻结服务（服务端）
+ *
+ * 时序织印的时停领域、TimeStopHandler 的时停区域都通过这里冻结实体：
+ *  - 冻结状态挂在实体字段上（{@link IEntityDuck}），未冻结实体的 LivingUpdateEvent 只有一次字段读取
+ *  - 限时冻结由 {@link ServerTimers} 在服务端 tick 中到期，不再开线程 sleep
+ *  - 同一实体只有一个冻结状态，后冻结者接管；解冻时只有持有者能解除
+ */
+@Mod.EventBusSubscriber(modid = "moremod")
+public final class EntityFreezeService {
+
+    private EntityFreezeService() {}
+
+    /** 冻结期间每 tick 的处理（替代被取消的实体更新），以及解冻时的收尾 */
+    public interface FrozenTickHandler {
+        void onFrozenTick(EntityLivingBase entity, FreezeState state);
+
+        default void onRelease(EntityLivingBase entity, FreezeState state) {}
+    }
+
+    /** 单个实体的冻结状态（冻结瞬间的朝向与速度快照） */
+    public static final class FreezeState {
+        public final Object owner;
+        public final FrozenTickHandler handler;
+        public final float yaw, pitch, yawHead;
+        public final double motionX, motionY, motionZ;
+        TickTimerWheel.Timeout expiry;
+
+        FreezeState(EntityLivingBase entity, Object owner, FrozenTickHandler handler) {
+            this.owner = owner;
+            this.handler = handler;
+            this.yaw = entity.rotationYaw;
+            this.pitch = entity.rotationPitch;
+            this.yawHead = entity.rotationYawHead;
+            this.motionX = entity.motionX;
+            this.motionY = entity.motionY;
+            this.motionZ = entity.motionZ;
+        }
+    }
+
+    /** Mixin 未生效时的兜底存储 */
+    private static final Map<Entity, FreezeState> FALLBACK = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // ==================== 冻结 / 解冻 ====================
+
+    /**
+     * 冻结实体，直到持有者调用 {@link #unfreeze(Entity, Object)}
+     */
+    @Nullable
+    public static FreezeState freeze(EntityLivingBase entity, Object owner, FrozenTickHandler handler) {
+        if (entity.world.isRemote) return null;
+
+        FreezeState previous = getState(entity);
+        if (previous != null && previous.expiry != null) {
+            previous.expiry.cancel();
+        }
+
+        FreezeState state = new FreezeState(entity, owner, handler);
+        setState(entity, state);
+        return state;
+    }
+
+    /**
+     * 冻结实体 durationTicks 个 tick，到期自动解冻
+     */
+    @Nullable
+    public static FreezeState freeze(EntityLivingBase entity, Object owner, int durationTicks, FrozenTickHandler handler) {
+        FreezeState state = freeze(entity, owner, handler);
+        if (state != null) {
+            state.expiry = ServerTimers.schedule(durationTicks, () -> release(entity, state));
+        }
+        return state;
+    }
+
+    /**
+     * 由持有者解冻；实体已被其他来源接管时不做任何事
+     */
+    @Nullable
+    public static FreezeState unfreeze(Entity entity, Object owner) {
+        FreezeState state = getState(entity);
+        if (state == null || state.owner != owner) return null;
+        release(entity, state);
+        return state;
+    }
+
+    /**
+     * 无条件解冻
+     */
+    @Nullable
+    public static FreezeState unfreeze(Entity entity) {
+        FreezeState state = getState(entity);
+        if (state != null) {
+            release(entity, state);
+        }
+        return state;
+    }
+
+    private static void release(Entity entity, FreezeState state) {
+        if (getState(entity) != state) return;
+
+        setState(entity, null);
+        if (state.expiry != null) {
+            state.expiry.cancel();
+        }
+        if (entity instanceof EntityLivingBase) {
+            state.handler.onRelease((EntityLivingBase) entity, state);
+        }
+    }
+
+    // ==================== 查询 ====================
+
+    public static boolean isFrozen(Entity entity) {
+        return getState(entity) != null;
+    }
+
+    /** 是否被指定持有者冻结 */
+    public static boolean isFrozenBy(Entity entity, Object owner) {
+        FreezeState state = getState(entity);
+        return state != null && state.owner == owner;
+    }
+
+    @Nullable
+    public static FreezeState getState(Entity entity) {
+        if (entity instanceof IEntityDuck) {
+            return ((IEntityDuck) entity).moremod$getFreezeState();
+        }
+        return FALLBACK.isEmpty() ? null : FALLBACK.get(entity);
+    }
+
+    private static void setState(Entity entity, @Nullable FreezeState state) {
+        if (entity instanceof IEntityDuck) {
+            ((IEntityDuck) entity).moremod$setFreezeState(state);
+        } else if (state != null) {
+            FALLBACK.put(entity, state);
+        } else {
+            FALLBACK.remove(entity);
+        }
+    }
+
+    // ==================== 事件 ====================
+
+    /**
+     * 拦截冻结实体的更新（模仿AS的做法）
+     */
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public static void onLivingUpdate(LivingEvent.LivingUpdateEvent event) {
+        EntityLivingBase entity = event.getEntityLiving();
+        FreezeState state = getState(entity);
+        if (state == null) return;
+
+        // 特殊情况：实体死亡（含末影龙死亡动画）时让更新继续
+        if (entity.isDead || entity.getHealth() <= 0
+                || (entity instanceof EntityDragon && ((EntityDragon) entity).getHealth() <= 0)) {
+            setState(entity, null);
+            if (state.expiry != null) {
+                state.expiry.cancel();
+            }
+            return;
+        }
+
+        event.setCanceled(true);
+        state.handler.onFrozenTick(entity, state);
+    }
+
+    /**
+     * 阻止冻结实体跳跃
+     */
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public static void onLivingJump(LivingEvent.LivingJumpEvent event) {
+        if (isFrozen(event.getEntityLiving())) {
+            event.getEntityLiving().motionY = 0;
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package com.moremod.util;
+
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.Event;
+import net.minecraftforge.fml.common.eventhandler.EventBus;
+import net.minecraftforge.fml.common.eventhandler.IEventListener;
+import net.minecraftforge.fml.common.eventhandler.ListenerList;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 模组内置性能采样器（默认关闭）
+ *
+ * 两类采样点：
+ *  - 事件处理器：开启时把 MinecraftForge.EVENT_BUS 上属于 com.moremod 的监听器在原优先级列表的同一位置
+ *    替换为计时包装，关闭时原位换回 —— 监听器顺序不变，关闭状态下没有任何额外开销
+ *  - 方块实体：{@code MixinWorldTileProfiler} 在 World#updateEntities 中包住本模组方块实体的
+ *    ITickable.update()，关闭时只有一次 volatile 读
+ *
+ * 每个采样点记录调用次数、总/最大耗时（纳秒，包含嵌套触发的事件）以及线程分配字节数估算
+ * （依赖 HotSpot 的 com.sun.management.ThreadMXBean，不支持时显示为 -）。
+ */
+@Mod.EventBusSubscriber(modid = "moremod")
+public final class ModProfiler {
+
+    private ModProfiler() {}
+
+    private static final String OWNER_PACKAGE = "com.moremod.";
+
+    private static volatile boolean enabled = false;
+    private static long startedAt;
+    private static long windowEndsAt;
+
+    private static final Map<Object, Stats> STATS = new ConcurrentHashMap<>();
+
+    /** 包装后的监听器 → 原监听器（用于还原） */
+    private static final List<Installed> INSTALLED = new ArrayList<>();
+
+    /** 每线程的分配计数起点栈（方块实体嵌套极少，深度很浅） */
+    private static final ThreadLocal<long[]> ALLOC_STACK = ThreadLocal.withInitial(() -> new long[9]);
+
+    // ==================== 统计 ====================
+
+    public static final class Stats {
+        final String name;
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final AtomicLong maxNanos = new AtomicLong();
+        final AtomicLong allocBytes = new AtomicLong();
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos, long alloc) {
+            calls.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            long max;
+            while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+                // 重试
+            }
+            if (alloc > 0) allocBytes.addAndGet(alloc);
+        }
+
+        public String getName() { return name; }
+        public long getCalls() { return calls.get(); }
+        public long getTotalNanos() { return totalNanos.get(); }
+        public long getMaxNanos() { return maxNanos.get(); }
+        public long getAllocBytes() { return allocBytes.get(); }
+    }
+
+    // ==================== 开关 ====================
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 开始采样
+     *
+     * @param seconds 采样窗口（秒），0 = 直到手动停止
+     * @return 包装的事件监听器数量
+     */
+    public static synchronized int enable(int seconds) {
+        if (enabled) disable();
+        STATS.clear();
+        int wrapped = installEventWrappers();
+        startedAt = System.nanoTime();
+        windowEndsAt = seconds > 0 ? startedAt + seconds * 1_000_000_000L : 0L;
+        enabled = true;
+        return wrapped;
+    }
+
+    /**
+     * 停止采样并还原所有事件监听器（已收集的数据保留）
+     */
+    public static synchronized void disable() {
+        if (!enabled) return;
+        enabled = false;
+        uninstallEventWrappers();
+        windowEndsAt = System.nanoTime();
+    }
+
+    /**
+     * 采样窗口到期时自动停止
+     */
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (!enabled || event.phase != TickEvent.Phase.END) return;
+        if (windowEndsAt > 0 && System.nanoTime() >= windowEndsAt) {
+            disable();
+            System.out.println("[ModProfiler] 采样窗口结束，共 " + STATS.size() + " 个采样点，使用 /moreprof report 查看");
+        }
+    }
+
+    /** 当前（或上一次）采样窗口的时长（纳秒） */
+    public static long getWindowNanos() {
+        if (startedAt == 0) return 0;
+        long end = enabled ? System.nanoTime() : windowEndsAt;
+        return Math.max(0, end - startedAt);
+    }
+
+    public static void reset() {
+        STATS.clear();
+        startedAt = enabled ? System.nanoTime() : 0;
+    }
+
+    /** 按总耗时降序返回所有采样点 */
+    public static List<Stats> snapshot() {
+        List<Stats> list = new ArrayList<>(STATS.values());
+        list.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return list;
+    }
+
+    // ==================== 方块实体采样点 ====================
+
+    /** 是否属于本模组（只采样本模组的方块实体） */
+    public static boolean isOwned(Object tile) {
+        return tile.getClass().getName().startsWith(OWNER_PACKAGE);
+    }
+
+    /**
+     * 方块实体 update() 之前调用
+     *
+     * @return 起始时间；未开启时返回 0
+     */
+    public static long start() {
+        if (!enabled) return 0L;
+        long[] stack = ALLOC_STACK.get();
+        int depth = (int) stack[0];
+        if (depth + 1 < stack.length) {
+            stack[depth + 1] = allocatedBytes();
+        }
+        stack[0] = depth + 1;
+        return System.nanoTime();
+    }
+
+    /**
+     * 方块实体 update() 之后调用（放在 finally 中）
+     */
+    public static void stop(Object tile, long start) {
+        if (start == 0L) return;
+        long nanos = System.nanoTime() - start;
+        long[] stack = ALLOC_STACK.get();
+        int depth = (int) stack[0];
+        long alloc = depth > 0 && depth < stack.length ? allocatedBytes() - stack[depth] : 0;
+        stack[0] = Math.max(0, depth - 1);
+        if (!enabled) return;
+
+        Class<?> type = tile.getClass();
+        Stats stats = STATS.get(type);
+        if (stats == null) {
+            stats = STATS.computeIfAbsent(type, t -> new Stats("tile " + type.getSimpleName()));
+        }
+        stats.record(nanos, alloc);
+    }
+
+    // ==================== 分配估算 ====================
+
+    private static final com.sun.management.ThreadMXBean ALLOC_BEAN = resolveAllocBean();
+
+    private static com.sun.management.ThreadMXBean resolveAllocBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+                if (sun.isThreadAllocatedMemorySupported()) {
+                    sun.setThreadAllocatedMemoryEnabled(true);
+                    return sun;
+                }
+            }
+        } catch (Throwable ignored) {
+        }
+        return null;
+    }
+
+    public static boolean isAllocationSupported() {
+        return ALLOC_BEAN != null;
+    }
+
+    private static long allocatedBytes() {
+        return ALLOC_BEAN != null ? ALLOC_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0L;
+    }
+
+    // ==================== 事件监听器包装 ====================
+
+    private static final class Installed {
+        final Object inst;
+        final List<IEventListener> bucket;
+        final IEventListener original;
+        final IEventListener wrapper;
+        final List<IEventListener> ownerList;
+
+        Installed(Object inst, List<IEventListener> bucket, IEventListener original,
+                  IEventListener wrapper, List<IEventListener> ownerList) {
+            this.inst = inst;
+            this.bucket = bucket;
+            this.original = original;
+            this.wrapper = wrapper;
+            this.ownerList = ownerList;
+        }
+    }
+
+    private static final class TimedListener implements IEventListener {
+        private final IEventListener delegate;
+        private final Stats stats;
+
+        TimedListener(IEventListener delegate, Stats stats) {
+            this.delegate = delegate;
+            this.stats = stats;
+        }
+
+        @Override
+        public void invoke(Event event) {
+            long alloc = allocatedBytes();
+            long start = System.nanoTime();
+            try {
+                delegate.invoke(event);
+            } finally {
+                stats.record(System.nanoTime() - start, allocatedBytes() - alloc);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
+    private static Field busIdField;
+    private static Field listenersField;
+    private static Field allListsField;
+    private static Field listsField;
+    private static Field prioritiesField;
+    private static Method forceRebuildMethod;
+
+    private static boolean resolveFields() {
+        if (busIdField != null) return true;
+        try {
+            busIdField = EventBus.class.getDeclaredField("busID");
+            busIdField.setAccessible(true);
+            listenersField = EventBus.class.getDeclaredField("listeners");
+            listenersField.setAccessible(true);
+            allListsField = ListenerList.class.getDeclaredField("allLists");
+            allListsField.setAccessible(true);
+            listsField = ListenerList.class.getDeclaredField("lists");
+            listsField.setAccessible(true);
+            Class<?> instClass = Class.forName(ListenerList.class.getName() + "$ListenerListInst");
+            prioritiesField = instClass.getDeclaredField("priorities");
+            prioritiesField.setAccessible(true);
+            forceRebuildMethod = instClass.getDeclaredMethod("forceRebuild");
+            forceRebuildMethod.setAccessible(true);
+            return true;
+        } catch (Exception e) {
+            System.err.println("[ModProfiler] 无法访问 EventBus 内部字段，事件采样不可用: " + e);
+            busIdField = null;
+            return false;
+        }
+    }
+
+    /**
+     * 把 EVENT_BUS 上属于本模组的监听器替换为计时包装
+     */
+    @SuppressWarnings("unchecked")
+    private static int installEventWrappers() {
+        if (!resolveFields()) return 0;
+        EventBus bus = MinecraftForge.EVENT_BUS;
+        try {
+            int busId = busIdField.getInt(bus);
+            Map<Object, ArrayList<IEventListener>> listeners = (Map<Object, ArrayList<IEventListener>>) listenersField.get(bus);
+            Collection<ListenerList> allLists = (Collection<ListenerList>) allListsField.get(null);
+
+            // 只处理本模组的监听器（排除采样器自身）
+            Map<IEventListener, List<IEventListener>> targets = new IdentityHashMap<>();
+            Map<IEventListener, String> owners = new IdentityHashMap<>();
+            for (Map.Entry<Object, ArrayList<IEventListener>> e : listeners.entrySet()) {
+                Object target = e.getKey();
+                Class<?> type = target instanceof Class ? (Class<?>) target : target.getClass();
+                if (!type.getName().startsWith(OWNER_PACKAGE) || type == ModProfiler.class) continue;
+                for (IEventListener listener : e.getValue()) {
+                    targets.put(listener, e.getValue());
+                    owners.put(listener, type.getSimpleName());
+                }
+            }
+            if (targets.isEmpty()) return 0;
+
+            // 在各事件 ListenerList 本身的优先级列表中原位替换（父事件继承来的监听器不在这些列表里）
+            for (ListenerList list : allLists) {
+                Object inst = Array.get(listsField.get(list), busId);
+                List<ArrayList<IEventListener>> priorities = (List<ArrayList<IEventListener>>) prioritiesField.get(inst);
+                boolean changed = false;
+                for (ArrayList<IEventListener> bucket : priorities) {
+                    for (int i = 0; i < bucket.size(); i++) {
+                        IEventListener listener = bucket.get(i);
+                        List<IEventListener> ownerList = targets.get(listener);
+                        if (ownerList == null) continue;
+
+                        Stats stats = new Stats("event " + describe(owners.get(listener), listener));
+                        STATS.put(listener, stats);
+                        TimedListener wrapper = new TimedListener(listener, stats);
+
+                        bucket.set(i, wrapper);
+                        replace(ownerList, listener, wrapper);
+                        INSTALLED.add(new Installed(inst, bucket, listener, wrapper, ownerList));
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    forceRebuildMethod.invoke(inst);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("[ModProfiler] 安装事件采样失败: " + e);
+            uninstallEventWrappers();
+        }
+        return INSTALLED.size();
+    }
+
+    private static void uninstallEventWrappers() {
+        if (INSTALLED.isEmpty()) return;
+        Set<Object> rebuild = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Installed installed : INSTALLED) {
+            replace(installed.bucket, installed.wrapper, installed.original);
+            replace(installed.ownerList, installed.wrapper, installed.original);
+            rebuild.add(installed.inst);
+        }
+        try {
+            for (Object inst : rebuild) {
+                forceRebuildMethod.invoke(inst);
+            }
+        } catch (Exception e) {
+            System.err.println("[ModProfiler] 还原事件监听器失败: " + e);
+        }
+        INSTALLED.clear();
+    }
+
+    /** 原位替换（也用于保持 EventBus.listeners 与实际注册一致，unregister(owner) 仍然有效） */
+    private static void replace(List<IEventListener> list, IEventListener from, IEventListener to) {
+        synchronized (list) {
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i) == from) {
+                    list.set(i, to);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * "ASM: <target> <method>(L.../SomeEvent;)V" → "Owner#method(SomeEvent)"
+     */
+    private static String describe(String owner, IEventListener listener) {
+        String readable = listener.toString();
+        int paren = readable.indexOf('(');
+        if (!readable.startsWith("ASM: ") || paren < 0) return owner;
+        int space = readable.lastIndexOf(' ', paren);
+        String method = readable.substring(space + 1, paren);
+        int close = readable.indexOf(';', paren);
+        String eventType = close > paren ? readable.substring(readable.lastIndexOf('/', close) + 1, close) : "?";
+        int inner = eventType.lastIndexOf('$');
+        if (inner >= 0) eventType = eventType.substring(inner + 1);
+        return owner + "#" + method + "(" + eventType + ")";
+    }
+}
@@ -0,0 +1,270 @@
+package com.moremod.util;
+
+import baubles.api.BaubleType;
+import baubles.api.BaublesApi;
+import baubles.api.IBauble;
+import baubles.api.cap.IBaublesItemHandler;
+import com.moremod.fabric.data.UpdatedFabricPlayerData;
+import com.moremod.fabric.system.FabricWeavingSystem;
+import com.moremod.item.ItemBatteryBauble;
+import com.moremod.item.ItemCreativeBatteryBauble;
+import com.moremod.item.ItemCreativeJetpackBauble;
+import com.moremod.item.ItemJetpackBauble;
+import com.moremod.item.ItemMechanicalCore;
+import com.moremod.item.battery.ItemBatteryBase;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.inventory.EntityEquipmentSlot;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent.Clone;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 玩家装备索引 - 统一回答"装备了哪个核心/电池/喷气背包/布料盔甲"
+ *
+ * 替代各处独立的 Baubles 全槽扫描：
+ * 1. 每个玩家缓存一次扫描结果（槽位 + 物品实例）
+ * 2. 命中时只校验缓存槽位里仍是同一个实例（O(1)）
+ * 3. 登录/重生/克隆/换维度、本模组饰品 onEquipped/onUnequipped、盔甲栏变化时失效；
+ *    条目记录所属的玩家实体，重生/换维度后换了实体（客户端收不到上面的服务端事件）时直接作废
+ * 4. 每 20 tick 兜底重扫一次（按实体ID错峰），覆盖其他模组直接写槽位的情况
+ *
+ * 服务端与客户端分开存放（单人游戏中两边的玩家UUID相同）。
+ */
+@Mod.EventBusSubscriber(modid = "moremod")
+public final class PlayerEquipmentIndex {
+
+    private PlayerEquipmentIndex() {}
+
+    /** 兜底重扫间隔（tick） */
+    private static final int RESCAN_INTERVAL = 20;
+
+    private static final int FABRIC_TYPES = UpdatedFabricPlayerData.FabricType.values().length;
+
+    private static final Map<UUID, Entry> SERVER = new ConcurrentHashMap<>();
+    private static final Map<UUID, Entry> CLIENT = new ConcurrentHashMap<>();
+
+    /** 单个玩家的索引条目 */
+    private static final class Entry {
+        final EntityPlayer owner;
+        IBaublesItemHandler handler;
+        boolean baublesDirty = true;
+        boolean armorDirty = true;
+
+        int coreSlot = -1;
+        ItemStack core = ItemStack.EMPTY;
+        int batterySlot = -1;
+        ItemStack battery = ItemStack.EMPTY;
+        int jetpackSlot = -1;
+        ItemStack jetpack = ItemStack.EMPTY;
+
+        final int[] fabricCounts = new int[FABRIC_TYPES];
+
+        Entry(EntityPlayer owner) {
+            this.owner = owner;
+        }
+    }
+
+    // ==================== 查询 ====================
+
+    /** 头部饰品栏中的机械核心（未装备返回 EMPTY） */
+    public static ItemStack getCore(EntityPlayer player) {
+        Entry e = baubles(player);
+        return e == null ? ItemStack.EMPTY : e.core;
+    }
+
+    /** 饰品栏中的电池（创造电池优先；未装备返回 EMPTY） */
+    public static ItemStack getBattery(EntityPlayer player) {
+        Entry e = baubles(player);
+        return e == null ? ItemStack.EMPTY : e.battery;
+    }
+
+    /** 饰品栏中的喷气背包（未装备返回 EMPTY） */
+    public static ItemStack getJetpack(EntityPlayer player) {
+        Entry e = baubles(player);
+        return e == null ? ItemStack.EMPTY : e.jetpack;
+    }
+
+    /** 盔甲栏中织入指定布料的件数 */
+    public static int getFabricCount(EntityPlayer player, UpdatedFabricPlayerData.FabricType type) {
+        if (player == null || type == null) return 0;
+        Entry e = entry(player);
+        if (e.armorDirty) rescanArmor(player, e);
+        return e.fabricCounts[type.ordinal()];
+    }
+
+    /** 是否穿戴任意布料盔甲 */
+    public static boolean hasAnyFabric(EntityPlayer player) {
+        if (player == null) return false;
+        Entry e = entry(player);
+        if (e.armorDirty) rescanArmor(player, e);
+        for (int c : e.fabricCounts) {
+            if (c > 0) return true;
+        }
+        return false;
+    }
+
+    // ==================== 失效 ====================
+
+    /** 饰品栏可能已变化：下次查询时重扫 */
+    public static void invalidate(Entity entity) {
+        if (!(entity instanceof EntityPlayer)) return;
+        Entry e = map(entity).get(entity.getUniqueID());
+        if (e != null) e.baublesDirty = true;
+    }
+
+    /** 丢弃整个条目（包括缓存的 Baubles handler） */
+    public static void remove(Entity entity) {
+        if (entity == null) return;
+        map(entity).remove(entity.getUniqueID());
+    }
+
+    // ==================== 内部实现 ====================
+
+    private static Map<UUID, Entry> map(Entity entity) {
+        return entity.world != null && entity.world.isRemote ? CLIENT : SERVER;
+    }
+
+    private static Entry entry(EntityPlayer player) {
+        Map<UUID, Entry> map = map(player);
+        Entry e = map.get(player.getUniqueID());
+        if (e == null || e.owner != player) {
+            // 同一 UUID 换了新的玩家实体：旧条目缓存的是旧实体的 Baubles handler，作废
+            e = new Entry(player);
+            map.put(player.getUniqueID(), e);
+        }
+        return e;
+    }
+
+    private static Entry baubles(EntityPlayer player) {
+        if (player == null) return null;
+        Entry e = entry(player);
+        if (e.baublesDirty || !stillInSlot(e, e.coreSlot, e.core)
+                || !stillInSlot(e, e.batterySlot, e.battery)
+                || !stillInSlot(e, e.jetpackSlot, e.jetpack)) {
+            rescanBaubles(player, e);
+        }
+        return e;
+    }
+
+    private static boolean stillInSlot(Entry e, int slot, ItemStack cached) {
+        if (cached.isEmpty()) return true;
+        if (e.handler == null || slot < 0 || slot >= e.handler.getSlots()) return false;
+        return e.handler.getStackInSlot(slot) == cached;
+    }
+
+    private static void rescanBaubles(EntityPlayer player, Entry e) {
+        e.baublesDirty = false;
+        e.coreSlot = e.batterySlot = e.jetpackSlot = -1;
+        e.core = e.battery = e.jetpack = ItemStack.EMPTY;
+
+        try {
+            e.handler = BaublesApi.getBaublesHandler(player);
+        } catch (Throwable t) {
+            e.handler = null;
+        }
+        if (e.handler == null) return;
+
+        for (int i = 0; i < e.handler.getSlots(); i++) {
+            ItemStack s = e.handler.getStackInSlot(i);
+            if (s.isEmpty()) continue;
+
+            if (e.core.isEmpty() && isHeadCore(s)) {
+                e.core = s;
+                e.coreSlot = i;
+            } else if (isBattery(s)) {
+                // 创造电池优先，否则取第一块
+                if (e.battery.isEmpty() || (s.getItem() instanceof ItemCreativeBatteryBauble
+                        && !(e.battery.getItem() instanceof ItemCreativeBatteryBauble))) {
+                    e.battery = s;
+                    e.batterySlot = i;
+                }
+            } else if (e.jetpack.isEmpty() && isJetpack(s)) {
+                e.jetpack = s;
+                e.jetpackSlot = i;
+            }
+        }
+    }
+
+    private static void rescanArmor(EntityPlayer player, Entry e) {
+        e.armorDirty = false;
+        java.util.Arrays.fill(e.fabricCounts, 0);
+        for (ItemStack armor : player.getArmorInventoryList()) {
+            UpdatedFabricPlayerData.FabricType type = FabricWeavingSystem.getFabricType(armor);
+            if (type != null) e.fabricCounts[type.ordinal()]++;
+        }
+    }
+
+    private static boolean isHeadCore(ItemStack s) {
+        return ItemMechanicalCore.isMechanicalCore(s) && s.getItem() instanceof IBauble
+                && ((IBauble) s.getItem()).getBaubleType(s) == BaubleType.HEAD;
+    }
+
+    private static boolean isBattery(ItemStack s) {
+        return s.getItem() instanceof ItemBatteryBase
+                || s.getItem() instanceof ItemBatteryBauble
+                || s.getItem() instanceof ItemCreativeBatteryBauble;
+    }
+
+    private static boolean isJetpack(ItemStack s) {
+        return s.getItem() instanceof ItemJetpackBauble || s.getItem() instanceof ItemCreativeJetpackBauble;
+    }
+
+    // ==================== 事件 ====================
+
+    @SubscribeEvent
+    public static void onLogin(PlayerEvent.PlayerLoggedInEvent event) {
+        remove(event.player);
+    }
+
+    @SubscribeEvent
+    public static void onLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        remove(event.player);
+    }
+
+    @SubscribeEvent
+    public static void onRespawn(PlayerEvent.PlayerRespawnEvent event) {
+        remove(event.player);
+    }
+
+    @SubscribeEvent
+    public static void onChangeDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        remove(event.player);
+    }
+
+    @SubscribeEvent
+    public static void onClone(Clone event) {
+        remove(event.getOriginal());
+        remove(event.getEntityPlayer());
+    }
+
+    @SubscribeEvent
+    public static void onClientDisconnect(FMLNetworkEvent.ClientDisconnectionFromServerEvent event) {
+        CLIENT.clear();
+    }
+
+    @SubscribeEvent
+    public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+        if (!(event.getEntityLiving() instanceof EntityPlayer)) return;
+        if (event.getSlot().getSlotType() != EntityEquipmentSlot.Type.ARMOR) return;
+        Entry e = map(event.getEntityLiving()).get(event.getEntityLiving().getUniqueID());
+        if (e != null) e.armorDirty = true;
+    }
+
+    @SubscribeEvent
+    public static void onPlayerTick(TickEvent.PlayerTickEvent event) {
+        if (event.phase != TickEvent.Phase.START) return;
+        EntityPlayer player = event.player;
+        if ((player.ticksExisted + player.getEntityId()) % RESCAN_INTERVAL != 0) return;
+        invalidate(player);
+    }
+}
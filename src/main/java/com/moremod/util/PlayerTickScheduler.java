@@ -0,0 +1,127 @@
+package com.moremod.util;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 玩家周期任务调度器（服务端）
+ *
+ * 旧写法 "worldTime % 20 == 0" 让所有玩家的每秒任务挤在同一个 tick 上，形成周期性 MSPT 尖峰。
+ * 这里按 (玩家UUID, 任务名) 计算一个固定相位，把同一任务分散到整个周期内：
+ *  - 注册的任务由 ServerTickEvent 的统一循环按注册顺序派发；任务只在模组初始化时
+ *    统一注册一次（见 moremod#registerPlayerTickTasks），服务器重启不需要重新注册
+ *  - 本来就逐玩家回调的地方（如饰品 onWornTick）用 {@link #isDue} 做同样的错峰判断
+ *
+ * 同一任务名下周期互为倍数时（20 / 100 / 200），相位一致，嵌套判断仍然成立。
+ */
+@Mod.EventBusSubscriber(modid = "moremod")
+public final class PlayerTickScheduler {
+
+    private PlayerTickScheduler() {}
+
+    /** 周期任务 */
+    public interface PlayerTask {
+        void run(EntityPlayerMP player);
+    }
+
+    private static final class Task {
+        final String name;
+        final int period;
+        final int salt;
+        final PlayerTask action;
+
+        Task(String name, int period, PlayerTask action) {
+            this.name = name;
+            this.period = period;
+            this.salt = name.hashCode();
+            this.action = action;
+        }
+    }
+
+    /** 任务名 → 任务（保持注册顺序；同名重复注册原位覆盖） */
+    private static final Map<String, Task> TASKS = new LinkedHashMap<>();
+    private static volatile Task[] taskArray = new Task[0];
+
+    /** 服务端 tick 计数（START 阶段自增） */
+    private static long serverTicks = 0;
+
+    // ==================== 注册 ====================
+
+    /**
+     * 注册一个按玩家错峰执行的周期任务
+     *
+     * @param name   任务名（同时作为相位种子）
+     * @param period 周期（tick）
+     * @param action 对每个在线玩家执行的逻辑
+     */
+    public static synchronized void register(String name, int period, PlayerTask action) {
+        if (period <= 0) throw new IllegalArgumentException("period must be positive: " + name);
+        TASKS.put(name, new Task(name, period, action));
+        taskArray = TASKS.values().toArray(new Task[0]);
+    }
+
+    public static synchronized void unregister(String name) {
+        if (TASKS.remove(name) != null) {
+            taskArray = TASKS.values().toArray(new Task[0]);
+        }
+    }
+
+    // ==================== 错峰判断 ====================
+
+    /**
+     * 该玩家的该任务本 tick 是否到期
+     *
+     * @param key 任务名；与 {@link #register} 使用同一名称时相位一致
+     */
+    public static boolean isDue(EntityPlayer player, int period, String key) {
+        return (serverTicks + phaseOf(player.getUniqueID(), key.hashCode())) % period == 0;
+    }
+
+    private static long phaseOf(UUID id, int salt) {
+        long h = id.getMostSignificantBits() ^ id.getLeastSignificantBits() ^ ((long) salt << 32 | (salt & 0xFFFFFFFFL));
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        return h & 0xFFFFL;
+    }
+
+    // ==================== 派发 ====================
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            serverTicks++;
+            return;
+        }
+
+        Task[] tasks = taskArray;
+        if (tasks.length == 0) return;
+
+        MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+        if (server == null) return;
+
+        List<EntityPlayerMP> players = server.getPlayerList().getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            EntityPlayerMP player = players.get(i);
+            UUID id = player.getUniqueID();
+            for (Task task : tasks) {
+                if ((serverTicks + phaseOf(id, task.salt)) % task.period != 0) continue;
+                try {
+                    task.action.run(player);
+                } catch (Exception e) {
+                    System.err.println("[PlayerTickScheduler] Task " + task.name + " failed for " + player.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+}
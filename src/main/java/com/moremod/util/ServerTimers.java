@@ -0,0 +1,73 @@
+package com.moremod.util;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.UUID;
+
+/**
+ * 服务端延迟任务（基于 tick 的分层时间轮）
+ *
+ * 取代"记下 System.currentTimeMillis() 截止时间 + 每个玩家 tick 轮询"的写法：
+ *  - 每 tick 只处理到期的任务，与在线玩家数、计时字段数无关
+ *  - 以游戏 tick 计时，服务器卡顿时效果时长不会被墙钟缩短
+ *  - 返回的 {@link TickTimerWheel.Timeout} 可取消，也可 {@link TickTimerWheel.Timeout#runNow()} 提前执行
+ *
+ * 只能在服务端主线程调用。任务只存在内存中；需要跨登出/停服保证的效果，
+ * 由调用方在登出/停服时 runNow() 收尾，或自行保存剩余 tick。
+ */
+@Mod.EventBusSubscriber(modid = "moremod")
+public final class ServerTimers {
+
+    private ServerTimers() {}
+
+    private static final TickTimerWheel WHEEL = new TickTimerWheel();
+
+    /**
+     * delayTicks 个 tick 后执行
+     */
+    public static TickTimerWheel.Timeout schedule(int delayTicks, Runnable task) {
+        return WHEEL.schedule(delayTicks, task);
+    }
+
+    /**
+     * delayTicks 个 tick 后对该玩家执行；到期时按 UUID 取当前实体（死亡重生后仍指向新实体），玩家已离线则跳过
+     */
+    public static TickTimerWheel.Timeout schedule(EntityPlayer player, int delayTicks, PlayerTickScheduler.PlayerTask task) {
+        UUID playerId = player.getUniqueID();
+        return WHEEL.schedule(delayTicks, () -> {
+            MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+            if (server == null) return;
+            EntityPlayerMP current = server.getPlayerList().getPlayerByUUID(playerId);
+            if (current != null) {
+                task.run(current);
+            }
+        });
+    }
+
+    /** 时间轮当前 tick */
+    public static long currentTick() {
+        return WHEEL.getTick();
+    }
+
+    public static int size() {
+        return WHEEL.size();
+    }
+
+    /** 丢弃所有未执行的任务（新服务器启动时调用，避免上一个存档的任务串过来） */
+    public static void clear() {
+        WHEEL.clear();
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            WHEEL.advance();
+        }
+    }
+}
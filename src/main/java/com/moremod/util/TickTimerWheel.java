@@ -0,0 +1,187 @@
+package com.moremod.util;
+
+import java.util.ArrayList;
+
+/**
+ * 基于 tick 的分层时间轮（单线程使用，由所属方在每个 tick 调用 {@link #advance()}）
+ *
+ * 4 层 × 64 槽：第 L 层每槽跨 64^L 个 tick，合计覆盖约 1677 万 tick（约 9.7 天）；更远的任务放在溢出表。
+ * 任务按到期 tick 的对应位段落入某层某槽，低层转完一圈时把上一层当前槽的任务重新下放。
+ * 调度/取消 O(1)，每 tick 只检查第 0 层的当前槽，开销与到期任务数成正比，与总任务数无关。
+ * 一切以 tick 计，服务器卡顿时时长按游戏时间而非墙钟时间计算。
+ */
+public final class TickTimerWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    /** 已调度任务的句柄 */
+    public static final class Timeout {
+        private final TickTimerWheel wheel;
+        final long deadline;
+        final Runnable task;
+        boolean cancelled;
+        boolean fired;
+
+        Timeout(TickTimerWheel wheel, long deadline, Runnable task) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /** 取消任务（惰性移除：所在槽位被推进到时丢弃） */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /** 尚未执行且未取消 */
+        public boolean isPending() {
+            return !cancelled && !fired;
+        }
+
+        /** 立即执行并从时间轮中作废（已执行/已取消时不做任何事） */
+        public void runNow() {
+            if (!isPending()) return;
+            cancelled = true;
+            fired = true;
+            wheel.run(this);
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /** 距离到期还剩的 tick 数 */
+        public long getRemainingTicks() {
+            return Math.max(0, deadline - wheel.tick);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private final ArrayList<Timeout>[][] wheels = new ArrayList[LEVELS][SLOTS];
+    private final ArrayList<Timeout> overflow = new ArrayList<>();
+    private long tick = 0;
+    private int pending = 0;
+
+    public TickTimerWheel() {
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = new ArrayList<>(2);
+            }
+        }
+    }
+
+    /**
+     * 在 delayTicks 个 tick 之后执行（至少 1 tick）
+     */
+    public Timeout schedule(long delayTicks, Runnable task) {
+        Timeout timeout = new Timeout(this, tick + Math.max(1, delayTicks), task);
+        place(timeout);
+        pending++;
+        return timeout;
+    }
+
+    private void place(Timeout timeout) {
+        long delta = timeout.deadline - tick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                wheels[level][(int) ((timeout.deadline >>> (SLOT_BITS * level)) & SLOT_MASK)].add(timeout);
+                return;
+            }
+        }
+        overflow.add(timeout);
+    }
+
+    /**
+     * 推进一个 tick 并执行到期任务
+     */
+    public void advance() {
+        tick++;
+
+        // 由高到低下放：本 tick 是第 L 层的槽边界时，把该层当前槽的任务重新放置
+        if ((tick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0 && !overflow.isEmpty()) {
+            cascade(overflow);
+        }
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                cascade(wheels[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)]);
+            }
+        }
+
+        ArrayList<Timeout> slot = wheels[0][(int) (tick & SLOT_MASK)];
+        if (slot.isEmpty()) return;
+
+        int i = 0;
+        while (i < slot.size()) {
+            Timeout timeout = slot.get(i);
+            if (!timeout.cancelled && timeout.deadline > tick) {
+                i++;
+                continue;
+            }
+
+            // 交换删除，当前位置换入末尾元素后重新检查
+            int last = slot.size() - 1;
+            slot.set(i, slot.get(last));
+            slot.remove(last);
+            pending--;
+
+            if (!timeout.cancelled) {
+                timeout.fired = true;
+                run(timeout);
+            }
+        }
+    }
+
+    private void cascade(ArrayList<Timeout> bucket) {
+        if (bucket.isEmpty()) return;
+        Timeout[] moving = bucket.toArray(new Timeout[0]);
+        bucket.clear();
+        for (Timeout timeout : moving) {
+            if (timeout.cancelled) {
+                pending--;
+            } else {
+                place(timeout);
+            }
+        }
+    }
+
+    private void run(Timeout timeout) {
+        try {
+            timeout.task.run();
+        } catch (Exception e) {
+            System.err.println("[TickTimerWheel] Task failed: " + e.getMessage());
+        }
+    }
+
+    /** 当前 tick 计数 */
+    public long getTick() {
+        return tick;
+    }
+
+    /** 未到期任务数（含已取消但尚未清理的） */
+    public int size() {
+        return pending;
+    }
+
+    public void clear() {
+        for (ArrayList<Timeout>[] level : wheels) {
+            for (ArrayList<Timeout> slot : level) {
+                for (Timeout timeout : slot) {
+                    timeout.cancelled = true;
+                }
+                slot.clear();
+            }
+        }
+        for (Timeout timeout : overflow) {
+            timeout.cancelled = true;
+        }
+        overflow.clear();
+        pending = 0;
+    }
+}
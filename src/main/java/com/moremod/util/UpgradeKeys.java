@@ -2,6 +2,7 @@ package com.moremod.util;
 
 import com.moremod.item.ItemMechanicalCore;
 import com.moremod.item.ItemMechanicalCoreExtended;
+import com.moremod.item.MechanicalCoreSnapshot;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 
@@ -147,6 +148,7 @@ public final class UpgradeKeys {
         NBTTagCompound nbt = getOrCreate(stack);
         String cid = canon(id);
         nbt.setInteger(kUpgrade(cid), Math.max(0, level));
+        MechanicalCoreSnapshot.markDirty();
     }
 
     /** 标准化：设置拥有、取消暂停、更新 OwnedMax、清空 LastLevel */
@@ -160,6 +162,7 @@ public final class UpgradeKeys {
             if (newLevel > owned) nbt.setInteger(kOwnedMax(cid), newLevel);
             if (nbt.hasKey(kLastLevel(cid))) nbt.removeTag(kLastLevel(cid));
         }
+        MechanicalCoreSnapshot.markDirty();
     }
 
     /** 标准化暂停：把当前等级记到 LastLevel，并把等级置0、置 Paused=true */
@@ -174,6 +177,7 @@ public final class UpgradeKeys {
         nbt.setInteger(kUpgrade(cid), 0);
         nbt.setBoolean(kPaused(cid), true);
         nbt.setBoolean(kHasUpgrade(cid), true);
+        MechanicalCoreSnapshot.markDirty();
     }
 
     // ===== 锁定/解锁方法 =====
@@ -251,6 +255,8 @@ public final class UpgradeKeys {
             }
         }
 
+        MechanicalCoreSnapshot.markDirty();
+
         // 恢复等级
         int currentLevel = getLevel(stack, id);
         System.out.println("[DEBUG] 修复前等级: " + currentLevel);
@@ -417,6 +423,7 @@ public final class UpgradeKeys {
                 nbt.setBoolean(kDisabled(wid), disabled);
             }
         }
+        MechanicalCoreSnapshot.markDirty();
     }
 
     /** 检查是否被手动禁用 */
@@ -519,6 +526,7 @@ public final class UpgradeKeys {
         for (String key : keysToRemove) {
             nbt.removeTag(key);
         }
+        MechanicalCoreSnapshot.markDirty();
 
         // 恢复效率倍率
         nbt.setFloat("EfficiencyMultiplier", 1.0f);
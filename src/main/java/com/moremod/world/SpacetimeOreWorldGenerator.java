@@ -54,8 +54,8 @@ public class SpacetimeOreWorldGenerator implements IWorldGenerator {
      * 检查位置是否靠近玩家空间
      */
     private boolean isNearPlayerSpace(int x, int z) {
-        // 获取所有玩家空间并检查距离
-        for (PersonalDimensionManager.PersonalSpace space : PersonalDimensionManager.getAllSpaces()) {
+        // 只检查附近网格中的玩家空间
+        for (PersonalDimensionManager.PersonalSpace space : PersonalDimensionManager.getSpacesNear(x, z, MIN_DISTANCE_FROM_SPAWN)) {
             double distance = Math.sqrt(
                     Math.pow(x - space.centerPos.getX(), 2) +
                             Math.pow(z - space.centerPos.getZ(), 2)
@@ -2,9 +2,7 @@ package com.moremod.world;
 
 import com.moremod.dimension.VoidStructureGenerator;
 import com.moremod.dimension.VoidStructureGenerator.StructureType;
-import com.moremod.dungeon.DungeonLayoutGenerator;
-import com.moremod.dungeon.DungeonTypes.DungeonLayout;
-import com.moremod.dungeon.TreeDungeonPlacer;
+import com.moremod.dungeon.DungeonGenerationJobs;
 import com.moremod.dimension.PersonalDimensionManager;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.math.BlockPos;
@@ -198,9 +196,8 @@ public class VoidStructureWorldGenerator implements IWorldGenerator {
             try {
                 if (t.isDungeon()) {
                     DungeonTask dt = (DungeonTask) t;
-                    generateDungeonInternal(w, dt.pos, dt.dungeonSeed);
-                    getDungeonIndex(t.dimId).add(t.pos);
-                    totalDungeonsGenerated.incrementAndGet();
+                    // 计数与索引在分帧任务完成时更新，见 onDungeonCompleted
+                    generateDungeonInternal(w, dt.pos, dt.dungeonSeed, dt.playerId);
                 } else {
                     VoidStructureGenerator.generateStructureOptimized(w, t.pos, t.type);
                     getVoidIndex(t.dimId).add(t.pos);
@@ -332,7 +329,8 @@ public class VoidStructureWorldGenerator implements IWorldGenerator {
     }
 
     private boolean isInAnyPlayerSpace(BlockPos pos) {
-        Collection<PersonalDimensionManager.PersonalSpace> spaces = PersonalDimensionManager.getAllSpaces();
+        // 空间外框 ±100 的缓冲区，只需查询附近网格中的空间
+        List<PersonalDimensionManager.PersonalSpace> spaces = PersonalDimensionManager.getSpacesNear(pos.getX(), pos.getZ(), 200);
         if (spaces.isEmpty()) return false;
         for (PersonalDimensionManager.PersonalSpace sp : spaces) {
             BlockPos min = sp.outerMinPos.add(-100, -50, -100);
@@ -346,22 +344,29 @@ public class VoidStructureWorldGenerator implements IWorldGenerator {
         return false;
     }
 
-    private void generateDungeonInternal(World world, BlockPos pos, long seed) {
+    private void generateDungeonInternal(World world, BlockPos pos, long seed, UUID playerId) {
         try {
             System.out.println("[地牢生成] 开始生成地牢于 " + pos + ", seed=" + seed);
-            DungeonLayoutGenerator gen = new DungeonLayoutGenerator();
             int size = 512;
             int floorCount = 3; // 三层地牢
-            DungeonLayout layout = gen.generateMultiFloorLayout(pos, size, seed, floorCount);
-            System.out.println("[地牢生成] 布局生成完成，房间数: " + layout.getRooms().size() + "，楼层: " + floorCount);
-            new TreeDungeonPlacer(world).placeDungeon(layout);
-            System.out.println("[地牢生成] 地牢放置完成");
+            // 布局立即生成；方块放置分摊到后续 tick，见 DungeonGenerationJobs
+            DungeonGenerationJobs.submit(world, pos, seed, size, floorCount, playerId);
         } catch (Exception e) {
             System.err.println("[地牢生成] 生成失败: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    /**
+     * 分帧地牢生成任务放置完成时调用（由 DungeonGenerationJobs 回调）。
+     * 恢复失败被丢弃的任务不会走到这里，因此不计入总数。
+     */
+    public static void onDungeonCompleted(int dimId, BlockPos pos) {
+        SpatialIndex index = DUNGEON_INDEX_BY_DIM.computeIfAbsent(dimId, k -> new SpatialIndex());
+        if (!index.hasNearby(pos, 1)) index.add(pos);
+        totalDungeonsGenerated.incrementAndGet();
+    }
+
     @SubscribeEvent
     public void onWorldLoad(WorldEvent.Load e) {
         if (e.getWorld().isRemote) return;